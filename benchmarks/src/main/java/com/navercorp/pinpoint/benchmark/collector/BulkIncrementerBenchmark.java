@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.benchmark.collector;
+
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementer;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.CallRowKey;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.CallerColumnName;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.ColumnName;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowKey;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.RowKeyMerge;
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.distributor.RangeOneByteSimpleHash;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Increment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application map statistics counting as done by the caller/callee daos for every span,
+ * and the periodic flush that merges the counters into HBase increments.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkIncrementerBenchmark {
+
+    private static final int APPLICATION_COUNT = 32;
+    private static final int HOST_COUNT = 8;
+    private static final short[] SLOT_NUMBERS = {100, 300, 500, 1000, 3000, 5000, 6000, -1};
+    private static final short SPRING_BOOT = 1210;
+    private static final long ROW_TIME_SLOT = 1554080400000L;
+
+    private final TableName tableName = TableName.valueOf(HBaseTables.MAP_STATISTICS_CALLER_VER2_STR);
+    private final RowKeyDistributorByHashPrefix rowKeyDistributor = new RowKeyDistributorByHashPrefix(new RangeOneByteSimpleHash(0, 36, 32));
+
+    private BulkIncrementer bulkIncrementer;
+    private BulkIncrementer flushIncrementer;
+
+    private RowKey[] rowKeys;
+    private ColumnName[] columnNames;
+
+    @Setup
+    public void setup() {
+        this.bulkIncrementer = new BulkIncrementer(new RowKeyMerge(HBaseTables.MAP_STATISTICS_CALLER_VER2_CF_COUNTER));
+        this.flushIncrementer = new BulkIncrementer(new RowKeyMerge(HBaseTables.MAP_STATISTICS_CALLER_VER2_CF_COUNTER));
+
+        this.rowKeys = new RowKey[APPLICATION_COUNT];
+        for (int i = 0; i < APPLICATION_COUNT; i++) {
+            rowKeys[i] = new CallRowKey("application-" + i, SPRING_BOOT, ROW_TIME_SLOT);
+        }
+        this.columnNames = new ColumnName[APPLICATION_COUNT * HOST_COUNT * SLOT_NUMBERS.length];
+        int index = 0;
+        for (int i = 0; i < APPLICATION_COUNT; i++) {
+            for (int j = 0; j < HOST_COUNT; j++) {
+                for (short slotNumber : SLOT_NUMBERS) {
+                    columnNames[index++] = new CallerColumnName(SPRING_BOOT, "caller-" + i, "10.113.20." + j + ":8080", slotNumber);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void increment() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final RowKey rowKey = rowKeys[random.nextInt(rowKeys.length)];
+        final ColumnName columnName = columnNames[random.nextInt(columnNames.length)];
+        bulkIncrementer.increment(tableName, rowKey, columnName);
+    }
+
+    /**
+     * One flush period worth of counters (1024 increments) merged into increments.
+     */
+    @Benchmark
+    @Threads(1)
+    public Map<TableName, List<Increment>> incrementAndFlush() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 1024; i++) {
+            final RowKey rowKey = rowKeys[random.nextInt(rowKeys.length)];
+            final ColumnName columnName = columnNames[random.nextInt(columnNames.length)];
+            flushIncrementer.increment(tableName, rowKey, columnName);
+        }
+        return flushIncrementer.getIncrements(rowKeyDistributor);
+    }
+}
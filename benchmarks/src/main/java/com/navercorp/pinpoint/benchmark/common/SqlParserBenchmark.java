@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.common;
+
+import com.navercorp.pinpoint.common.util.DefaultSqlParser;
+import com.navercorp.pinpoint.common.util.NormalizedSql;
+import com.navercorp.pinpoint.common.util.SqlParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlParserBenchmark {
+
+    @Param({"SELECT", "INSERT", "UPDATE", "COMMENT", "LONG_IN"})
+    public SqlFixture sqlFixture;
+
+    private final SqlParser sqlParser = new DefaultSqlParser();
+
+    private String sql;
+
+    @Setup
+    public void setup() {
+        this.sql = sqlFixture.getSql();
+    }
+
+    @Benchmark
+    public NormalizedSql normalizedSql() {
+        return sqlParser.normalizedSql(sql);
+    }
+
+    public enum SqlFixture {
+        SELECT("SELECT u.id, u.name, u.email, o.order_id, o.amount FROM users u INNER JOIN orders o ON u.id = o.user_id " +
+                "WHERE u.status = 'ACTIVE' AND o.created_at > '2019-01-01 00:00:00' AND o.amount >= 1500.25 ORDER BY o.created_at DESC LIMIT 20"),
+        INSERT("INSERT INTO order_item (order_id, product_id, quantity, price, discount, created_at) " +
+                "VALUES (1234567, 98765, 2, 19900, 0.15, '2019-04-01 12:30:45')"),
+        UPDATE("UPDATE account SET balance = balance - 25000, updated_at = now(), memo = 'transfer to 110-234-567890' " +
+                "WHERE account_id = 5512 AND version = 17"),
+        COMMENT("/* UserMapper.selectUser */ SELECT * FROM users -- primary lookup\n WHERE id = 42 AND name = 'pinpoint' /* trailing */"),
+        LONG_IN(longInSql());
+
+        private final String sql;
+
+        SqlFixture(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        private static String longInSql() {
+            final StringBuilder sql = new StringBuilder("SELECT id, status FROM shipment WHERE tracking_no IN (");
+            for (int i = 0; i < 100; i++) {
+                if (i != 0) {
+                    sql.append(", ");
+                }
+                sql.append('\'').append("TRK").append(1000000 + i).append('\'');
+            }
+            sql.append(") AND warehouse_id = 3");
+            return sql.toString();
+        }
+    }
+}
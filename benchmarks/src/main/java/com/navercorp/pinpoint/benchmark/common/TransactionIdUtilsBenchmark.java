@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.common;
+
+import com.navercorp.pinpoint.common.util.TransactionId;
+import com.navercorp.pinpoint.common.util.TransactionIdUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionIdUtilsBenchmark {
+
+    private static final String AGENT_ID = "order-api-prod-07";
+    private static final long AGENT_START_TIME = 1554076800000L;
+    private static final long TRANSACTION_SEQUENCE = 123456789L;
+
+    private TransactionId transactionId;
+    private String transactionIdString;
+    private byte[] transactionIdBytes;
+
+    @Setup
+    public void setup() {
+        this.transactionId = new TransactionId(AGENT_ID, AGENT_START_TIME, TRANSACTION_SEQUENCE);
+        this.transactionIdString = TransactionIdUtils.formatString(transactionId);
+        this.transactionIdBytes = TransactionIdUtils.formatBytes(AGENT_ID, AGENT_START_TIME, TRANSACTION_SEQUENCE);
+    }
+
+    @Benchmark
+    public String formatString() {
+        return TransactionIdUtils.formatString(transactionId);
+    }
+
+    @Benchmark
+    public byte[] formatBytes() {
+        return TransactionIdUtils.formatBytes(AGENT_ID, AGENT_START_TIME, TRANSACTION_SEQUENCE);
+    }
+
+    @Benchmark
+    public TransactionId parseString() {
+        return TransactionIdUtils.parseTransactionId(transactionIdString);
+    }
+
+    @Benchmark
+    public TransactionId parseBytes() {
+        return TransactionIdUtils.parseTransactionId(transactionIdBytes);
+    }
+}
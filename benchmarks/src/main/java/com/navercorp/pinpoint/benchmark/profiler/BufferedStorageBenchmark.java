@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import com.navercorp.pinpoint.profiler.context.DefaultSpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.context.storage.BufferedStorage;
+import com.navercorp.pinpoint.profiler.sender.DataSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storing the span events of one transaction, flushing span chunks every {@code bufferSize} events.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferedStorageBenchmark {
+
+    @Param({"8", "64"})
+    public int spanEventCount;
+
+    // profiler.io.buffering.buffersize default
+    @Param({"20"})
+    public int bufferSize;
+
+    private final CountingDataSender dataSender = new CountingDataSender();
+
+    private TraceRoot traceRoot;
+    private Span span;
+    private List<SpanEvent> spanEventList;
+
+    @Setup
+    public void setup() {
+        this.traceRoot = SpanFixtures.newTraceRoot(1);
+        this.spanEventList = SpanFixtures.newSpanEventList(traceRoot.getTraceStartTime(), spanEventCount);
+        this.span = SpanFixtures.newSpan(traceRoot, null);
+    }
+
+    @Benchmark
+    public long storeTransaction() {
+        final BufferedStorage storage = new BufferedStorage(new DefaultSpanChunkFactory(traceRoot), dataSender, bufferSize);
+        for (SpanEvent spanEvent : spanEventList) {
+            storage.store(spanEvent);
+        }
+        storage.store(span);
+        return dataSender.sendCount;
+    }
+
+    private static class CountingDataSender implements DataSender<Object> {
+        private long sendCount;
+
+        @Override
+        public boolean send(Object data) {
+            sendCount++;
+            return true;
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
+import com.navercorp.pinpoint.common.util.DefaultSqlParser;
+import com.navercorp.pinpoint.common.util.NormalizedSql;
+import com.navercorp.pinpoint.common.util.SqlParser;
+import com.navercorp.pinpoint.profiler.metadata.CachingSqlNormalizer;
+import com.navercorp.pinpoint.profiler.metadata.DefaultCachingSqlNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fresh {@link ParsingResult} is created for every prepared statement, so repeated sql goes through
+ * {@link CachingSqlNormalizer#normalizedSql(ParsingResult)} each time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachingSqlNormalizerBenchmark {
+
+    // hibernate / mybatis generated statements
+    private static final String[] ORM_SQL = {
+            "select member0_.id as id1_3_0_, member0_.created_at as created_2_3_0_, member0_.email as email3_3_0_, " +
+                    "member0_.name as name4_3_0_, member0_.status as status5_3_0_, member0_.team_id as team_id6_3_0_ " +
+                    "from member member0_ where member0_.id=?",
+            "select orders0_.member_id as member_i5_5_0_, orders0_.id as id1_5_0_, orders0_.id as id1_5_1_, " +
+                    "orders0_.amount as amount2_5_1_, orders0_.created_at as created_3_5_1_, orders0_.member_id as member_i5_5_1_, " +
+                    "orders0_.status as status4_5_1_ from orders orders0_ where orders0_.member_id=? order by orders0_.created_at desc",
+            "insert into order_item (amount, order_id, product_id, quantity, id) values (?, ?, ?, ?, ?)",
+            "update member set email=?, name=?, status=?, team_id=?, updated_at=? where id=? and version=?",
+            "SELECT id, product_name, price, stock FROM product WHERE category_id = ? AND price BETWEEN ? AND ? " +
+                    "AND deleted = 'N' ORDER BY price ASC LIMIT 20 OFFSET 40"
+    };
+
+    private final CachingSqlNormalizer sqlNormalizer = new DefaultCachingSqlNormalizer(1024);
+    private final SqlParser sqlParser = new DefaultSqlParser();
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        for (String sql : ORM_SQL) {
+            sqlNormalizer.normalizedSql(sqlNormalizer.wrapSql(sql));
+        }
+    }
+
+    private String nextSql() {
+        final int next = index++ & Integer.MAX_VALUE;
+        return ORM_SQL[next % ORM_SQL.length];
+    }
+
+    @Benchmark
+    public ParsingResult cachedNormalizedSql() {
+        final ParsingResult parsingResult = sqlNormalizer.wrapSql(nextSql());
+        sqlNormalizer.normalizedSql(parsingResult);
+        return parsingResult;
+    }
+
+    @Benchmark
+    public NormalizedSql parseOnly() {
+        return sqlParser.normalizedSql(nextSql());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import com.google.protobuf.GeneratedMessageV3;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.compress.GrpcSpanProcessorV2;
+import com.navercorp.pinpoint.profiler.context.grpc.GrpcSpanMessageConverter;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GrpcSpanMessageConverter} is not thread safe, so each benchmark thread owns its converter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrpcSpanMessageConverterBenchmark {
+
+    @Param({"8", "64"})
+    public int spanEventCount;
+
+    private GrpcSpanMessageConverter messageConverter;
+
+    private Span span;
+    private SpanChunk spanChunk;
+
+    @Setup
+    public void setup() {
+        this.messageConverter = new GrpcSpanMessageConverter(SpanFixtures.AGENT_ID, ServiceType.STAND_ALONE.getCode(), new GrpcSpanProcessorV2());
+
+        final TraceRoot traceRoot = SpanFixtures.newTraceRoot(1);
+        final long startTime = traceRoot.getTraceStartTime();
+        this.span = SpanFixtures.newSpan(traceRoot, SpanFixtures.newSpanEventList(startTime, spanEventCount));
+        this.spanChunk = new DefaultSpanChunkFactory(traceRoot).newSpanChunk(SpanFixtures.newSpanEventList(startTime, spanEventCount));
+    }
+
+    @Benchmark
+    public GeneratedMessageV3 convertSpan() {
+        return messageConverter.toMessage(span);
+    }
+
+    @Benchmark
+    public GeneratedMessageV3 convertSpanChunk() {
+        return messageConverter.toMessage(spanChunk);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerializeSpan() {
+        return messageConverter.toMessage(span).toByteArray();
+    }
+}
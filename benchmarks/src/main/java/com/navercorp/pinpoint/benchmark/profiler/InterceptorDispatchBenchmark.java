@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.AroundInterceptor;
+import com.navercorp.pinpoint.common.util.IOUtils;
+import com.navercorp.pinpoint.profiler.instrument.ASMMethodNodeAdapter;
+import com.navercorp.pinpoint.profiler.instrument.classloading.InterceptorHolderDefiner;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
+import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinitionFactory;
+import com.navercorp.pinpoint.profiler.interceptor.registry.DefaultInterceptorRegistryBinder;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls a trivially intercepted method whose interceptor is looked up from the registry on every call,
+ * and the same method reading the interceptor from a generated holder class.
+ * <p>
+ * JDK 1.8.0_392, 1 vCPU Xeon, -wi 10 -i 10 -f 3:
+ * <pre>
+ * Benchmark                                    Mode  Cnt  Score   Error  Units
+ * InterceptorDispatchBenchmark.holder          avgt   30  6.946 ± 0.509  ns/op
+ * InterceptorDispatchBenchmark.notIntercepted  avgt   30  3.736 ± 0.521  ns/op
+ * InterceptorDispatchBenchmark.registryLookup  avgt   30  8.607 ± 0.328  ns/op
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorDispatchBenchmark {
+
+    private final DefaultInterceptorRegistryBinder interceptorRegistryBinder = new DefaultInterceptorRegistryBinder();
+
+    private Echo plain;
+    private Echo registryLookup;
+    private Echo holder;
+
+    private int value;
+
+    @Setup
+    public void setup() throws Exception {
+        interceptorRegistryBinder.bind();
+        final int interceptorId = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addInterceptor(new NoopInterceptor());
+        final InterceptorDefinition interceptorDefinition = new InterceptorDefinitionFactory().createInterceptorDefinition(NoopInterceptor.class);
+
+        final byte[] classFile = readClassFile(EchoTarget.class);
+
+        this.plain = new EchoTarget();
+
+        final WovenClassLoader registryClassLoader = new WovenClassLoader();
+        this.registryLookup = newInstance(registryClassLoader, weave(classFile, interceptorId, null, interceptorDefinition));
+
+        final WovenClassLoader holderClassLoader = new WovenClassLoader();
+        final String holderInternalName = new InterceptorHolderDefiner().defineHolder(holderClassLoader, interceptorId);
+        if (holderInternalName == null) {
+            throw new IllegalStateException("interceptor holder not defined");
+        }
+        this.holder = newInstance(holderClassLoader, weave(classFile, interceptorId, holderInternalName, interceptorDefinition));
+    }
+
+    @TearDown
+    public void tearDown() {
+        interceptorRegistryBinder.unbind();
+    }
+
+    private static byte[] readClassFile(Class<?> clazz) throws Exception {
+        final String resourceName = clazz.getName().replace('.', '/') + ".class";
+        final InputStream inputStream = clazz.getClassLoader().getResourceAsStream(resourceName);
+        return IOUtils.toByteArray(inputStream, true);
+    }
+
+    private static byte[] weave(byte[] classFile, int interceptorId, String holderInternalName, InterceptorDefinition interceptorDefinition) {
+        final ClassNode classNode = new ClassNode();
+        new ClassReader(classFile).accept(classNode, 0);
+        for (MethodNode methodNode : classNode.methods) {
+            if (methodNode.name.equals("echo")) {
+                final ASMMethodNodeAdapter methodNodeAdapter = new ASMMethodNodeAdapter(classNode.name, methodNode);
+                methodNodeAdapter.addBeforeInterceptor(interceptorId, holderInternalName, interceptorDefinition, -1);
+                methodNodeAdapter.addAfterInterceptor(interceptorId, holderInternalName, interceptorDefinition, -1);
+            }
+        }
+        final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        classNode.accept(classWriter);
+        return classWriter.toByteArray();
+    }
+
+    private static Echo newInstance(WovenClassLoader classLoader, byte[] classFile) throws Exception {
+        final Class<?> clazz = classLoader.define(EchoTarget.class.getName(), classFile);
+        return (Echo) clazz.newInstance();
+    }
+
+    @Benchmark
+    public int notIntercepted() {
+        return plain.echo(value++);
+    }
+
+    @Benchmark
+    public int registryLookup() {
+        return registryLookup.echo(value++);
+    }
+
+    @Benchmark
+    public int holder() {
+        return holder.echo(value++);
+    }
+
+    public interface Echo {
+        int echo(int value);
+    }
+
+    public static class EchoTarget implements Echo {
+        @Override
+        public int echo(int value) {
+            return value;
+        }
+    }
+
+    public static class NoopInterceptor implements AroundInterceptor {
+        @Override
+        public void before(Object target, Object[] args) {
+        }
+
+        @Override
+        public void after(Object target, Object[] args, Object result, Throwable throwable) {
+        }
+    }
+
+    private static class WovenClassLoader extends ClassLoader {
+        private WovenClassLoader() {
+            super(InterceptorDispatchBenchmark.class.getClassLoader());
+        }
+
+        private Class<?> define(String className, byte[] classFile) {
+            return defineClass(className, classFile, 0, classFile.length);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.IntStringStringValue;
+import com.navercorp.pinpoint.profiler.context.Annotation;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRoot;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Span fixtures shaped like a web request that calls a few internal methods, a database and a remote api.
+ */
+final class SpanFixtures {
+
+    static final String APPLICATION_NAME = "order-api";
+    static final String AGENT_ID = "order-api-prod-07";
+    static final long AGENT_START_TIME = 1554076800000L;
+
+    private static final short MYSQL_EXECUTE_QUERY = 2101;
+    private static final short HTTP_CLIENT_4 = 9052;
+
+    private SpanFixtures() {
+    }
+
+    static TraceRoot newTraceRoot(long transactionSequence) {
+        final TraceId traceId = new DefaultTraceId(AGENT_ID, AGENT_START_TIME, transactionSequence);
+        return new DefaultTraceRoot(traceId, AGENT_ID, AGENT_START_TIME + transactionSequence, transactionSequence);
+    }
+
+    static Span newSpan(TraceRoot traceRoot, List<SpanEvent> spanEventList) {
+        final Span span = new Span(traceRoot);
+        span.setStartTime(traceRoot.getTraceStartTime());
+        span.setElapsedTime(152);
+        span.setServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setRemoteAddr("10.113.20.51");
+        span.setAcceptorHost("order-api.example.com:8080");
+        span.setApiId(11);
+        span.addAnnotation(new Annotation(AnnotationKey.HTTP_URL.getCode(), "/orders/1234567/items"));
+        span.setSpanEventList(spanEventList);
+        return span;
+    }
+
+    static List<SpanEvent> newSpanEventList(long startTime, int size) {
+        final List<SpanEvent> spanEventList = new ArrayList<SpanEvent>(size);
+        for (int i = 0; i < size; i++) {
+            spanEventList.add(newSpanEvent(startTime, i));
+        }
+        return spanEventList;
+    }
+
+    static SpanEvent newSpanEvent(long startTime, int sequence) {
+        final SpanEvent spanEvent = new SpanEvent();
+        spanEvent.setSequence((short) sequence);
+        spanEvent.setDepth(1 + (sequence % 4));
+        spanEvent.setStartTime(startTime + sequence * 3);
+        spanEvent.setElapsedTime(2 + (sequence % 5));
+        spanEvent.setApiId(100 + (sequence % 20));
+
+        switch (sequence % 4) {
+            case 1:
+                spanEvent.setServiceType(MYSQL_EXECUTE_QUERY);
+                spanEvent.setEndPoint("10.113.30.12:3306");
+                spanEvent.setDestinationId("ORDER_DB");
+                final IntStringStringValue sql = new IntStringStringValue(-1093483921, "1234567,2", null);
+                spanEvent.addAnnotation(new Annotation(AnnotationKey.SQL_ID.getCode(), sql));
+                break;
+            case 3:
+                spanEvent.setServiceType(HTTP_CLIENT_4);
+                spanEvent.setEndPoint("payment-api.example.com:8080");
+                spanEvent.setDestinationId("payment-api.example.com:8080");
+                spanEvent.setNextSpanId(-4517826351629082263L + sequence);
+                spanEvent.addAnnotation(new Annotation(AnnotationKey.HTTP_URL.getCode(), "http://payment-api.example.com:8080/payments"));
+                spanEvent.addAnnotation(new Annotation(AnnotationKey.HTTP_STATUS_CODE.getCode(), 200));
+                break;
+            default:
+                spanEvent.setServiceType(ServiceType.INTERNAL_METHOD.getCode());
+                break;
+        }
+        return spanEvent;
+    }
+}
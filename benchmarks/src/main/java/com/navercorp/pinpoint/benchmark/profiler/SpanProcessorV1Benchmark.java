@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.compress.SpanProcessorV1;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.context.thrift.DefaultTransactionIdEncoder;
+import com.navercorp.pinpoint.profiler.context.thrift.SpanThriftMessageConverter;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import org.apache.thrift.TBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thrift span conversion with the {@link SpanProcessorV1} post processing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpanProcessorV1Benchmark {
+
+    @Param({"8", "64"})
+    public int spanEventCount;
+
+    private final SpanProcessorV1 spanProcessor = new SpanProcessorV1();
+
+    private SpanThriftMessageConverter messageConverter;
+
+    private Span span;
+    private SpanChunk spanChunk;
+    private TSpan tSpan;
+    private long keyTime;
+
+    @Setup
+    public void setup() {
+        this.messageConverter = new SpanThriftMessageConverter(SpanFixtures.APPLICATION_NAME, SpanFixtures.AGENT_ID, SpanFixtures.AGENT_START_TIME,
+                ServiceType.STAND_ALONE.getCode(), new DefaultTransactionIdEncoder(SpanFixtures.AGENT_ID, SpanFixtures.AGENT_START_TIME), spanProcessor);
+
+        final TraceRoot traceRoot = SpanFixtures.newTraceRoot(1);
+        this.keyTime = traceRoot.getTraceStartTime();
+        final List<SpanEvent> spanEventList = SpanFixtures.newSpanEventList(keyTime, spanEventCount);
+        this.span = SpanFixtures.newSpan(traceRoot, spanEventList);
+        this.spanChunk = new DefaultSpanChunkFactory(traceRoot).newSpanChunk(SpanFixtures.newSpanEventList(keyTime, spanEventCount));
+        this.tSpan = (TSpan) messageConverter.toMessage(span);
+    }
+
+    @Benchmark
+    public TBase<?, ?> convertSpan() {
+        return messageConverter.toMessage(span);
+    }
+
+    @Benchmark
+    public TBase<?, ?> convertSpanChunk() {
+        return messageConverter.toMessage(spanChunk);
+    }
+
+    @Benchmark
+    public TSpan postProcess() {
+        spanProcessor.postProcess(span, tSpan);
+        return tSpan;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.ExecutionPolicy;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScopeInvocation;
+import com.navercorp.pinpoint.profiler.context.Binder;
+import com.navercorp.pinpoint.profiler.context.DefaultReference;
+import com.navercorp.pinpoint.profiler.context.Reference;
+import com.navercorp.pinpoint.profiler.context.ThreadLocalBinder;
+import com.navercorp.pinpoint.profiler.interceptor.scope.DefaultInterceptorScope;
+import com.navercorp.pinpoint.profiler.interceptor.scope.DefaultInterceptorScopeInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-thread agent state lookups of a request going through nested interceptors (servlet, spring bean, jdbc).
+ * Every interceptor reads the current trace and enters/leaves its scope, like the scoped interceptors of the plugins.
+ * <p>
+ * {@code threadLocalPerVariable} keeps the trace and each scope in a ThreadLocal of its own as before,
+ * {@code sharedThreadLocal} uses the current {@link ThreadLocalBinder} and {@link DefaultInterceptorScope}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreadStateBenchmark {
+
+    private static final String[] SCOPE_NAMES = {"SERVLET_SCOPE", "SPRING_BEAN_SCOPE", "JDBC_SCOPE"};
+    // thread locals of the application sharing the ThreadLocalMap of the thread
+    private static final int APPLICATION_THREAD_LOCAL_COUNT = 64;
+
+    private final List<ThreadLocal<Object>> applicationThreadLocals = new ArrayList<>();
+
+    private Binder<Object> threadLocalPerVariableBinder;
+    private InterceptorScope[] threadLocalPerVariableScopes;
+
+    private Binder<Object> sharedBinder;
+    private InterceptorScope[] sharedScopes;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < APPLICATION_THREAD_LOCAL_COUNT; i++) {
+            ThreadLocal<Object> threadLocal = new ThreadLocal<>();
+            threadLocal.set(i);
+            applicationThreadLocals.add(threadLocal);
+        }
+
+        this.threadLocalPerVariableBinder = new ThreadLocalPerVariableBinder<>();
+        this.threadLocalPerVariableScopes = new InterceptorScope[SCOPE_NAMES.length];
+        for (int i = 0; i < SCOPE_NAMES.length; i++) {
+            threadLocalPerVariableScopes[i] = new ThreadLocalPerVariableScope(SCOPE_NAMES[i]);
+        }
+        this.threadLocalPerVariableBinder.get().set(new Object());
+
+        this.sharedBinder = new ThreadLocalBinder<>();
+        this.sharedScopes = new InterceptorScope[SCOPE_NAMES.length];
+        for (int i = 0; i < SCOPE_NAMES.length; i++) {
+            sharedScopes[i] = new DefaultInterceptorScope(SCOPE_NAMES[i]);
+        }
+        this.sharedBinder.get().set(new Object());
+    }
+
+    @Benchmark
+    public int threadLocalPerVariable() {
+        return intercept(threadLocalPerVariableBinder, threadLocalPerVariableScopes, 0);
+    }
+
+    @Benchmark
+    public int sharedThreadLocal() {
+        return intercept(sharedBinder, sharedScopes, 0);
+    }
+
+    private static int intercept(Binder<Object> binder, InterceptorScope[] scopes, int depth) {
+        if (depth == scopes.length) {
+            return 1;
+        }
+        final InterceptorScope scope = scopes[depth];
+        int count = 0;
+
+        // before
+        final Object trace = binder.get().get();
+        final InterceptorScopeInvocation beforeInvocation = scope.getCurrentInvocation();
+        if (trace != null && beforeInvocation.tryEnter(ExecutionPolicy.BOUNDARY)) {
+            count++;
+        }
+
+        count += intercept(binder, scopes, depth + 1);
+
+        // after
+        final Object afterTrace = binder.get().get();
+        final InterceptorScopeInvocation afterInvocation = scope.getCurrentInvocation();
+        if (afterTrace != null && afterInvocation.canLeave(ExecutionPolicy.BOUNDARY)) {
+            afterInvocation.leave(ExecutionPolicy.BOUNDARY);
+            count++;
+        }
+        return count;
+    }
+
+    private static class ThreadLocalPerVariableBinder<T> implements Binder<T> {
+        private final ThreadLocal<Reference<T>> threadLocal = new ThreadLocal<Reference<T>>() {
+            @Override
+            protected Reference<T> initialValue() {
+                return new DefaultReference<>();
+            }
+        };
+
+        @Override
+        public Reference<T> get() {
+            return threadLocal.get();
+        }
+
+        @Override
+        public void remove() {
+            threadLocal.remove();
+        }
+    }
+
+    private static class ThreadLocalPerVariableScope implements InterceptorScope {
+        private final String name;
+        private final ThreadLocal<InterceptorScopeInvocation> threadLocal;
+
+        private ThreadLocalPerVariableScope(final String name) {
+            this.name = name;
+            this.threadLocal = new ThreadLocal<InterceptorScopeInvocation>() {
+                @Override
+                protected InterceptorScopeInvocation initialValue() {
+                    return new DefaultInterceptorScopeInvocation(name);
+                }
+            };
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public InterceptorScopeInvocation getCurrentInvocation() {
+            return threadLocal.get();
+        }
+    }
+}
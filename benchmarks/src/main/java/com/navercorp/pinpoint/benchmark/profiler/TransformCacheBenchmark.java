@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import com.navercorp.pinpoint.common.util.IOUtils;
+import com.navercorp.pinpoint.profiler.DefaultClassFileTransformerDispatcher;
+import com.navercorp.pinpoint.profiler.instrument.ASMClass;
+import com.navercorp.pinpoint.profiler.instrument.ASMClassNodeAdapter;
+import com.navercorp.pinpoint.profiler.instrument.ASMMethodNodeAdapter;
+import com.navercorp.pinpoint.profiler.instrument.cache.FileTransformCache;
+import com.navercorp.pinpoint.profiler.instrument.cache.TransformCache;
+import com.navercorp.pinpoint.profiler.instrument.cache.TransformCacheEntry;
+import com.navercorp.pinpoint.profiler.instrument.cache.TransformCacheKeyFactory;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of instrumenting a set of classes with a cold and a warm transform cache.
+ * <p>
+ * Both paths parse the class into a {@link ClassNode} because the plugin callback still runs on a cache hit.
+ * The cold path then computes frames and writes the class, the warm path hashes the class and reads the cached entry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformCacheBenchmark {
+
+    private static final Class<?>[] STARTUP_CLASSES = {
+            ASMClass.class, ASMClassNodeAdapter.class, ASMMethodNodeAdapter.class,
+            DefaultClassFileTransformerDispatcher.class, FileTransformCache.class,
+            java.util.concurrent.ConcurrentHashMap.class, java.util.HashMap.class, java.util.ArrayList.class,
+            java.lang.String.class, java.util.regex.Pattern.class
+    };
+
+    private final List<String> classNames = new ArrayList<>();
+    private final List<byte[]> classFiles = new ArrayList<>();
+
+    private File cacheDir;
+    private TransformCache transformCache;
+    private final TransformCacheKeyFactory keyFactory = new TransformCacheKeyFactory("benchmark");
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        cacheDir = Files.createTempDirectory("pinpoint-transform-cache").toFile();
+        transformCache = new FileTransformCache(cacheDir, "benchmark");
+
+        for (Class<?> clazz : STARTUP_CLASSES) {
+            final String internalName = clazz.getName().replace('.', '/');
+            final byte[] classFile = readClassFile(internalName);
+            classNames.add(internalName);
+            classFiles.add(classFile);
+
+            final String key = keyFactory.newKey(null, null, internalName, classFile);
+            transformCache.put(key, classFile, new TransformCacheEntry(new int[0], writeClass(parseClass(classFile))));
+        }
+    }
+
+    private static byte[] readClassFile(String internalName) throws IOException {
+        final InputStream in = ClassLoader.getSystemResourceAsStream(internalName + ".class");
+        if (in == null) {
+            throw new IllegalStateException(internalName + " not found");
+        }
+        return IOUtils.toByteArray(in, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        final File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        cacheDir.delete();
+    }
+
+    private static ClassNode parseClass(byte[] classFile) {
+        final ClassReader classReader = new ClassReader(classFile);
+        final ClassNode classNode = new ClassNode();
+        classReader.accept(classNode, 0);
+        return classNode;
+    }
+
+    private static byte[] writeClass(ClassNode classNode) {
+        final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        classNode.accept(classWriter);
+        return classWriter.toByteArray();
+    }
+
+    @Benchmark
+    public void coldCache(Blackhole blackhole) {
+        for (int i = 0; i < classFiles.size(); i++) {
+            final byte[] classFile = classFiles.get(i);
+            final String key = keyFactory.newKey(null, null, classNames.get(i), classFile);
+            blackhole.consume(key);
+            blackhole.consume(writeClass(parseClass(classFile)));
+        }
+    }
+
+    @Benchmark
+    public void warmCache(Blackhole blackhole) {
+        for (int i = 0; i < classFiles.size(); i++) {
+            final byte[] classFile = classFiles.get(i);
+            final String key = keyFactory.newKey(null, null, classNames.get(i), classFile);
+            blackhole.consume(parseClass(classFile));
+            blackhole.consume(transformCache.get(key, classFile).getBytecode());
+        }
+    }
+}
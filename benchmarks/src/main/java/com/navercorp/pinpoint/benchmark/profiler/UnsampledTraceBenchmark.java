@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.context.AsyncContext;
+import com.navercorp.pinpoint.bootstrap.context.AsyncState;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.profiler.context.AsyncContextFactory;
+import com.navercorp.pinpoint.profiler.context.AsyncId;
+import com.navercorp.pinpoint.profiler.context.BaseTraceFactory;
+import com.navercorp.pinpoint.profiler.context.CallStackFactoryV1;
+import com.navercorp.pinpoint.profiler.context.DefaultBaseTraceFactory;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanFactory;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.DefaultActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.EmptyActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.id.AtomicIdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceIdFactory;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceRootFactory;
+import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.context.recorder.DefaultRecorderFactory;
+import com.navercorp.pinpoint.profiler.context.storage.LogStorageFactory;
+import com.navercorp.pinpoint.profiler.metadata.DefaultSqlMetaDataService;
+import com.navercorp.pinpoint.profiler.metadata.DefaultStringMetaDataService;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ReuseResponseTimeCollector;
+import com.navercorp.pinpoint.profiler.sampler.SamplingRateSampler;
+import com.navercorp.pinpoint.profiler.sender.EmptyDataSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction throughput of the trace factory at several sampling rates,
+ * with unsampled transactions registered as active traces ({@code profiler.sampling.unsampled.activetrace.enable=true})
+ * and counted only ({@code false}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnsampledTraceBenchmark {
+
+    @Param({"1", "20", "100", "1000"})
+    private int samplingRate;
+
+    @Param({"true", "false"})
+    private boolean unsampledActiveTrace;
+
+    private BaseTraceFactory baseTraceFactory;
+
+    @Setup
+    public void setup() {
+        final String agentId = "agentId";
+        final IdGenerator idGenerator = new AtomicIdGenerator();
+        final DefaultTraceRootFactory traceRootFactory = new DefaultTraceRootFactory(agentId, new DefaultTraceIdFactory(agentId, System.currentTimeMillis()), idGenerator);
+
+        final EmptyDataSender dataSender = new EmptyDataSender();
+        final DefaultRecorderFactory recorderFactory = new DefaultRecorderFactory(new Provider<AsyncContextFactory>() {
+            @Override
+            public AsyncContextFactory get() {
+                return UnsupportedAsyncContextFactory.INSTANCE;
+            }
+        }, new DefaultStringMetaDataService(dataSender), new DefaultSqlMetaDataService(dataSender, 1024));
+
+        final ResponseTimeCollector responseTimeCollector = new ReuseResponseTimeCollector();
+        final ActiveTraceRepository activeTraceRepository = new DefaultActiveTraceRepository(responseTimeCollector);
+        final ActiveTraceRepository unsampledActiveTraceRepository;
+        if (unsampledActiveTrace) {
+            unsampledActiveTraceRepository = activeTraceRepository;
+        } else {
+            unsampledActiveTraceRepository = new EmptyActiveTraceRepository(responseTimeCollector);
+        }
+
+        this.baseTraceFactory = new DefaultBaseTraceFactory(traceRootFactory, new CallStackFactoryV1(64), new LogStorageFactory(),
+                new SamplingRateSampler(samplingRate), idGenerator, new DefaultSpanFactory(), recorderFactory,
+                activeTraceRepository, unsampledActiveTraceRepository);
+    }
+
+    @Benchmark
+    public boolean transaction() {
+        final Trace trace = baseTraceFactory.newTraceObject();
+        final boolean sampled = trace.canSampled();
+        if (sampled) {
+            trace.traceBlockBegin();
+            trace.traceBlockEnd();
+        }
+        trace.close();
+        return sampled;
+    }
+
+    private static class UnsupportedAsyncContextFactory implements AsyncContextFactory {
+        private static final AsyncContextFactory INSTANCE = new UnsupportedAsyncContextFactory();
+
+        @Override
+        public AsyncId newAsyncId() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncContext newAsyncContext(TraceRoot traceRoot, AsyncId asyncId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncContext newAsyncContext(TraceRoot traceRoot, AsyncId asyncId, AsyncState asyncState) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.benchmark.server;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.server.bo.JvmGcType;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.v2.CpuLoadCodecV2;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.v2.JvmGcCodecV2;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.v2.TransactionCodecV2;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of one agent stat batch (6 data points collected every 5 seconds) with the v2 codecs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgentStatCodecBenchmark {
+
+    private static final String AGENT_ID = "order-api-prod-07";
+    private static final long AGENT_START_TIMESTAMP = 1554076800000L;
+    private static final long COLLECT_INTERVAL = 5000L;
+    private static final int NUM_VALUES = 6;
+
+    private final AgentStatDataPointCodec dataPointCodec = new AgentStatDataPointCodec();
+    private final AgentStatCodec<CpuLoadBo> cpuLoadCodec = new CpuLoadCodecV2(dataPointCodec);
+    private final AgentStatCodec<JvmGcBo> jvmGcCodec = new JvmGcCodecV2(dataPointCodec);
+    private final AgentStatCodec<TransactionBo> transactionCodec = new TransactionCodecV2(dataPointCodec);
+
+    private List<CpuLoadBo> cpuLoadBos;
+    private List<JvmGcBo> jvmGcBos;
+    private List<TransactionBo> transactionBos;
+
+    private byte[] encodedCpuLoad;
+    private byte[] encodedJvmGc;
+    private byte[] encodedTransaction;
+
+    private long baseTimestamp;
+    private long timestampDelta;
+
+    @Setup
+    public void setup() {
+        final long initialTimestamp = AGENT_START_TIMESTAMP + 3600000L + 1234L;
+        this.baseTimestamp = AgentStatUtils.getBaseTimestamp(initialTimestamp);
+        this.timestampDelta = initialTimestamp - baseTimestamp;
+
+        this.cpuLoadBos = newCpuLoadBos(initialTimestamp);
+        this.jvmGcBos = newJvmGcBos(initialTimestamp);
+        this.transactionBos = newTransactionBos(initialTimestamp);
+
+        this.encodedCpuLoad = encode(cpuLoadCodec, cpuLoadBos).copyBuffer();
+        this.encodedJvmGc = encode(jvmGcCodec, jvmGcBos).copyBuffer();
+        this.encodedTransaction = encode(transactionCodec, transactionBos).copyBuffer();
+    }
+
+    @Benchmark
+    public Buffer encodeCpuLoad() {
+        return encode(cpuLoadCodec, cpuLoadBos);
+    }
+
+    @Benchmark
+    public List<CpuLoadBo> decodeCpuLoad() {
+        return cpuLoadCodec.decodeValues(new FixedBuffer(encodedCpuLoad), newDecodingContext());
+    }
+
+    @Benchmark
+    public Buffer encodeJvmGc() {
+        return encode(jvmGcCodec, jvmGcBos);
+    }
+
+    @Benchmark
+    public List<JvmGcBo> decodeJvmGc() {
+        return jvmGcCodec.decodeValues(new FixedBuffer(encodedJvmGc), newDecodingContext());
+    }
+
+    @Benchmark
+    public Buffer encodeTransaction() {
+        return encode(transactionCodec, transactionBos);
+    }
+
+    @Benchmark
+    public List<TransactionBo> decodeTransaction() {
+        return transactionCodec.decodeValues(new FixedBuffer(encodedTransaction), newDecodingContext());
+    }
+
+    private static <T> Buffer encode(AgentStatCodec<T> codec, List<T> agentStats) {
+        final Buffer valueBuffer = new AutomaticBuffer();
+        codec.encodeValues(valueBuffer, agentStats);
+        return valueBuffer;
+    }
+
+    private AgentStatDecodingContext newDecodingContext() {
+        final AgentStatDecodingContext decodingContext = new AgentStatDecodingContext();
+        decodingContext.setAgentId(AGENT_ID);
+        decodingContext.setBaseTimestamp(baseTimestamp);
+        decodingContext.setTimestampDelta(timestampDelta);
+        return decodingContext;
+    }
+
+    private static List<CpuLoadBo> newCpuLoadBos(long initialTimestamp) {
+        final List<CpuLoadBo> cpuLoadBos = new ArrayList<CpuLoadBo>(NUM_VALUES);
+        for (int i = 0; i < NUM_VALUES; i++) {
+            final CpuLoadBo cpuLoadBo = new CpuLoadBo();
+            cpuLoadBo.setAgentId(AGENT_ID);
+            cpuLoadBo.setStartTimestamp(AGENT_START_TIMESTAMP);
+            cpuLoadBo.setTimestamp(initialTimestamp + i * COLLECT_INTERVAL);
+            cpuLoadBo.setJvmCpuLoad(0.12 + i * 0.013);
+            cpuLoadBo.setSystemCpuLoad(0.31 + i * 0.021);
+            cpuLoadBos.add(cpuLoadBo);
+        }
+        return cpuLoadBos;
+    }
+
+    private static List<JvmGcBo> newJvmGcBos(long initialTimestamp) {
+        final List<JvmGcBo> jvmGcBos = new ArrayList<JvmGcBo>(NUM_VALUES);
+        for (int i = 0; i < NUM_VALUES; i++) {
+            final JvmGcBo jvmGcBo = new JvmGcBo();
+            jvmGcBo.setAgentId(AGENT_ID);
+            jvmGcBo.setStartTimestamp(AGENT_START_TIMESTAMP);
+            jvmGcBo.setTimestamp(initialTimestamp + i * COLLECT_INTERVAL);
+            jvmGcBo.setGcType(JvmGcType.G1);
+            jvmGcBo.setHeapUsed(812345678L + i * 1048576L);
+            jvmGcBo.setHeapMax(2147483648L);
+            jvmGcBo.setNonHeapUsed(123456789L + i * 4096L);
+            jvmGcBo.setNonHeapMax(-1L);
+            jvmGcBo.setGcOldCount(17 + i / 3);
+            jvmGcBo.setGcOldTime(2345L + (i / 3) * 120L);
+            jvmGcBos.add(jvmGcBo);
+        }
+        return jvmGcBos;
+    }
+
+    private static List<TransactionBo> newTransactionBos(long initialTimestamp) {
+        final List<TransactionBo> transactionBos = new ArrayList<TransactionBo>(NUM_VALUES);
+        for (int i = 0; i < NUM_VALUES; i++) {
+            final TransactionBo transactionBo = new TransactionBo();
+            transactionBo.setAgentId(AGENT_ID);
+            transactionBo.setStartTimestamp(AGENT_START_TIMESTAMP);
+            transactionBo.setTimestamp(initialTimestamp + i * COLLECT_INTERVAL);
+            transactionBo.setCollectInterval(COLLECT_INTERVAL);
+            transactionBo.setSampledNewCount(120 + i * 7);
+            transactionBo.setSampledContinuationCount(340 + i * 11);
+            transactionBo.setUnsampledNewCount(0);
+            transactionBo.setUnsampledContinuationCount(i % 2);
+            transactionBos.add(transactionBo);
+        }
+        return transactionBos;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.benchmark.server;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.OffsetFixedBuffer;
+import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoderV0;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncodingContext;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.IntStringStringValue;
+import com.navercorp.pinpoint.common.util.TransactionId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trace v2 span column encoding on the collector and decoding on the web.
+ * The *AutomaticBuffer methods encode into a new growing AutomaticBuffer, the path before the per-thread buffer.
+ * <p>
+ * JDK 1.8.0_392, 1 vCPU Xeon, -wi 10 -i 10 -f 3 -prof gc:
+ * <pre>
+ * Benchmark                                   (spanEventCount)  Mode  Cnt      Score      Error  Units  gc.alloc.rate.norm
+ * encodeSharedSpanColumnValue                                8  avgt   30   2332.171 ±  379.907  ns/op     2464 B/op
+ * encodeSpanColumnValue                                      8  avgt   30   2018.135 ±  252.345  ns/op     2997 B/op
+ * encodeSpanColumnValueAutomaticBuffer                       8  avgt   30   2298.435 ±  209.909  ns/op     4363 B/op
+ * encodeSharedSpanColumnValue                               64  avgt   30  14018.849 ± 1592.085  ns/op    15584 B/op
+ * encodeSpanColumnValue                                     64  avgt   30  12730.102 ± 1400.744  ns/op    18944 B/op
+ * encodeSpanColumnValueAutomaticBuffer                      64  avgt   30  12138.251 ± 1086.409  ns/op    23984 B/op
+ * encodeSharedSpanChunkColumnValue                           8  avgt   30   1735.872 ±  198.665  ns/op     1928 B/op
+ * encodeSpanChunkColumnValueAutomaticBuffer                  8  avgt   30   1729.289 ±  164.871  ns/op     2776 B/op
+ * encodeSharedSpanChunkColumnValue                          64  avgt   30  12034.268 ± 1288.117  ns/op    15048 B/op
+ * encodeSpanChunkColumnValueAutomaticBuffer                 64  avgt   30  13781.455 ± 1590.434  ns/op    23448 B/op
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpanCodecBenchmark {
+
+    private static final short MYSQL_EXECUTE_QUERY = 2101;
+    private static final short HTTP_CLIENT_4 = 9052;
+
+    @Param({"8", "64"})
+    public int spanEventCount;
+
+    private final SpanEncoder spanEncoder = new SpanEncoderV0();
+    // encodes into a new AutomaticBuffer growing from 256 bytes, the path before the per-thread buffer
+    private final SpanEncoder automaticBufferSpanEncoder = new SpanEncoderV0(false);
+    private final SpanDecoder spanDecoder = new SpanDecoderV0();
+    private final SpanDecoder lazySpanDecoder = new SpanDecoderV0(true);
+
+    private SpanEncodingContext<SpanBo> encodingContext;
+    private SpanEncodingContext<SpanChunkBo> chunkEncodingContext;
+    private TransactionId transactionId;
+    private long collectorAcceptTime;
+
+    private byte[] qualifier;
+    private byte[] columnValue;
+
+    @Setup
+    public void setup() {
+        final SpanBo spanBo = newSpanBo(spanEventCount);
+        this.transactionId = spanBo.getTransactionId();
+        this.collectorAcceptTime = spanBo.getCollectorAcceptTime();
+        this.encodingContext = new SpanEncodingContext<SpanBo>(spanBo);
+        this.chunkEncodingContext = new SpanEncodingContext<SpanChunkBo>(newSpanChunkBo(spanBo));
+
+        this.qualifier = toBytes(spanEncoder.encodeSpanQualifier(encodingContext));
+        this.columnValue = toBytes(spanEncoder.encodeSpanColumnValue(encodingContext));
+    }
+
+    private static byte[] toBytes(ByteBuffer byteBuffer) {
+        final byte[] bytes = new byte[byteBuffer.remaining()];
+        byteBuffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeSpanColumnValue() {
+        return spanEncoder.encodeSpanColumnValue(encodingContext);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeSharedSpanColumnValue() {
+        return spanEncoder.encodeSharedSpanColumnValue(encodingContext);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeSpanColumnValueAutomaticBuffer() {
+        return automaticBufferSpanEncoder.encodeSpanColumnValue(encodingContext);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeSharedSpanChunkColumnValue() {
+        return spanEncoder.encodeSharedSpanChunkColumnValue(chunkEncodingContext);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeSpanChunkColumnValueAutomaticBuffer() {
+        return automaticBufferSpanEncoder.encodeSpanChunkColumnValue(chunkEncodingContext);
+    }
+
+    @Benchmark
+    public List<SpanEventBo> decodeSpan() {
+        final SpanBo spanBo = decode(spanDecoder);
+        return spanBo.getSpanEventBoList();
+    }
+
+    @Benchmark
+    public int decodeSpanHeaderLazily() {
+        final SpanBo spanBo = decode(lazySpanDecoder);
+        return spanBo.getElapsed() + spanBo.getErrCode();
+    }
+
+    @Benchmark
+    public List<SpanEventBo> decodeSpanLazily() {
+        final SpanBo spanBo = decode(lazySpanDecoder);
+        return spanBo.getSpanEventBoList();
+    }
+
+    private SpanBo decode(SpanDecoder decoder) {
+        final Buffer qualifierBuffer = new OffsetFixedBuffer(qualifier, 0, qualifier.length);
+        final Buffer columnValueBuffer = new OffsetFixedBuffer(columnValue, 0, columnValue.length);
+
+        final SpanDecodingContext decodingContext = new SpanDecodingContext();
+        decodingContext.setTransactionId(transactionId);
+        decodingContext.setCollectorAcceptedTime(collectorAcceptTime);
+        return (SpanBo) decoder.decode(qualifierBuffer, columnValueBuffer, decodingContext);
+    }
+
+    static SpanBo newSpanBo(int spanEventCount) {
+        final long agentStartTime = 1554076800000L;
+        final long startTime = agentStartTime + 3600000L;
+
+        final SpanBo spanBo = new SpanBo();
+        spanBo.setVersion(1);
+        spanBo.setAgentId("order-api-prod-07");
+        spanBo.setApplicationId("order-api");
+        spanBo.setAgentStartTime(agentStartTime);
+        spanBo.setTransactionId(new TransactionId("order-api-prod-07", agentStartTime, 123456789L));
+        spanBo.setSpanId(7301547719851316224L);
+        spanBo.setParentSpanId(-1);
+        spanBo.setStartTime(startTime);
+        spanBo.setElapsed(152);
+        spanBo.setRpc("/orders/1234567/items");
+        spanBo.setServiceType(ServiceType.STAND_ALONE.getCode());
+        spanBo.setApplicationServiceType(ServiceType.STAND_ALONE.getCode());
+        spanBo.setEndPoint("order-api.example.com:8080");
+        spanBo.setRemoteAddr("10.113.20.51");
+        spanBo.setAcceptorHost("order-api.example.com:8080");
+        spanBo.setApiId(11);
+        spanBo.setCollectorAcceptTime(startTime + 200);
+
+        final List<AnnotationBo> annotationBoList = new ArrayList<AnnotationBo>();
+        annotationBoList.add(new AnnotationBo(AnnotationKey.HTTP_STATUS_CODE.getCode(), 200));
+        spanBo.setAnnotationBoList(annotationBoList);
+
+        for (int i = 0; i < spanEventCount; i++) {
+            spanBo.addSpanEvent(newSpanEventBo(i));
+        }
+        return spanBo;
+    }
+
+    private static SpanChunkBo newSpanChunkBo(SpanBo spanBo) {
+        final SpanChunkBo spanChunkBo = new SpanChunkBo();
+        spanChunkBo.setVersion(spanBo.getVersion());
+        spanChunkBo.setAgentId(spanBo.getAgentId());
+        spanChunkBo.setApplicationId(spanBo.getApplicationId());
+        spanChunkBo.setAgentStartTime(spanBo.getAgentStartTime());
+        spanChunkBo.setTransactionId(spanBo.getTransactionId());
+        spanChunkBo.setSpanId(spanBo.getSpanId());
+        spanChunkBo.setEndPoint(spanBo.getEndPoint());
+        spanChunkBo.setServiceType(spanBo.getServiceType());
+        spanChunkBo.setCollectorAcceptTime(spanBo.getCollectorAcceptTime());
+        spanChunkBo.addSpanEventBoList(spanBo.getSpanEventBoList());
+        return spanChunkBo;
+    }
+
+    private static SpanEventBo newSpanEventBo(int sequence) {
+        final SpanEventBo spanEventBo = new SpanEventBo();
+        spanEventBo.setSequence((short) sequence);
+        spanEventBo.setDepth(1 + (sequence % 4));
+        spanEventBo.setStartElapsed(sequence * 3);
+        spanEventBo.setEndElapsed(2 + (sequence % 5));
+        spanEventBo.setApiId(100 + (sequence % 20));
+
+        final List<AnnotationBo> annotationBoList = new ArrayList<AnnotationBo>();
+        switch (sequence % 4) {
+            case 1:
+                spanEventBo.setServiceType(MYSQL_EXECUTE_QUERY);
+                spanEventBo.setEndPoint("10.113.30.12:3306");
+                spanEventBo.setDestinationId("ORDER_DB");
+                annotationBoList.add(new AnnotationBo(AnnotationKey.SQL_ID.getCode(), new IntStringStringValue(-1093483921, "1234567,2", null)));
+                break;
+            case 3:
+                spanEventBo.setServiceType(HTTP_CLIENT_4);
+                spanEventBo.setEndPoint("payment-api.example.com:8080");
+                spanEventBo.setDestinationId("payment-api.example.com:8080");
+                spanEventBo.setNextSpanId(-4517826351629082263L + sequence);
+                annotationBoList.add(new AnnotationBo(AnnotationKey.HTTP_URL.getCode(), "http://payment-api.example.com:8080/payments"));
+                annotationBoList.add(new AnnotationBo(AnnotationKey.HTTP_STATUS_CODE.getCode(), 200));
+                break;
+            default:
+                spanEventBo.setServiceType(ServiceType.INTERNAL_METHOD.getCode());
+                break;
+        }
+        spanEventBo.setAnnotationBoList(annotationBoList);
+        return spanEventBo;
+    }
+}
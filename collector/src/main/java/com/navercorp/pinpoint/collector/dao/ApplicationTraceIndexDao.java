@@ -18,9 +18,13 @@ package com.navercorp.pinpoint.collector.dao;
 
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 
+import java.util.List;
+
 /**
  * @author emeroad
  */
 public interface ApplicationTraceIndexDao {
     void insert(SpanBo span);
+
+    void insert(List<SpanBo> spanList);
 }
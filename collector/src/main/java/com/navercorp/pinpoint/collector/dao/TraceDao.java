@@ -2,6 +2,10 @@ package com.navercorp.pinpoint.collector.dao;
 
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.util.TransactionId;
+
+import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -9,5 +13,12 @@ import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 public interface TraceDao {
     boolean insert(SpanBo span);
 
+    void insert(List<SpanBo> spanList);
+
     boolean insertSpanChunk(SpanChunkBo spanChunk);
+
+    /**
+     * inserts a span or span chunk column already encoded in the trace v2 format
+     */
+    boolean insert(TransactionId transactionId, long acceptedTime, ByteBuffer qualifier, ByteBuffer columnValue);
 }
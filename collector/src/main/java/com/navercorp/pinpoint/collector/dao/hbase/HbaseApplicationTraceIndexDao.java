@@ -34,6 +34,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * find traceids by application name
  * 
@@ -62,23 +66,48 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
             throw new NullPointerException("span must not be null");
         }
 
+        final long acceptedTime = acceptedTimeService.getAcceptedTime();
+        final Put put = createPut(span, acceptedTime);
+
+        final TableName applicationTraceIndexTableName = tableNameProvider.getTableName(APPLICATION_TRACE_INDEX_STR);
+        boolean success = hbaseTemplate.asyncPut(applicationTraceIndexTableName, put);
+        if (!success) {
+            hbaseTemplate.put(applicationTraceIndexTableName, put);
+        }
+    }
+
+    @Override
+    public void insert(List<SpanBo> spanList) {
+        Objects.requireNonNull(spanList, "spanList must not be null");
+        if (spanList.isEmpty()) {
+            return;
+        }
+
+        final List<Put> puts = new ArrayList<>(spanList.size());
+        for (SpanBo span : spanList) {
+            // may be called outside of the receiving thread. use the accepted time recorded in the span
+            puts.add(createPut(span, span.getCollectorAcceptTime()));
+        }
+
+        final TableName applicationTraceIndexTableName = tableNameProvider.getTableName(APPLICATION_TRACE_INDEX_STR);
+        final List<Put> rejectedPuts = hbaseTemplate.asyncPut(applicationTraceIndexTableName, puts);
+        if (!rejectedPuts.isEmpty()) {
+            hbaseTemplate.put(applicationTraceIndexTableName, rejectedPuts);
+        }
+    }
+
+    private Put createPut(SpanBo span, long acceptedTime) {
         final Buffer buffer = new AutomaticBuffer(10 + AGENT_NAME_MAX_LEN);
         buffer.putVInt(span.getElapsed());
         buffer.putSVInt(span.getErrCode());
         buffer.putPrefixedString(span.getAgentId());
         final byte[] value = buffer.getBuffer();
 
-        final long acceptedTime = acceptedTimeService.getAcceptedTime();
         final byte[] distributedKey = createRowKey(span, acceptedTime);
         final Put put = new Put(distributedKey);
 
         put.addColumn(APPLICATION_TRACE_INDEX_CF_TRACE, makeQualifier(span) , acceptedTime, value);
-
-        final TableName applicationTraceIndexTableName = tableNameProvider.getTableName(APPLICATION_TRACE_INDEX_STR);
-        boolean success = hbaseTemplate.asyncPut(applicationTraceIndexTableName, put);
-        if (!success) {
-            hbaseTemplate.put(applicationTraceIndexTableName, put);
-        }
+        return put;
     }
 
     private byte[] makeQualifier(final SpanBo span) {
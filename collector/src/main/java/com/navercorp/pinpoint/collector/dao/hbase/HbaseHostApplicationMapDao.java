@@ -16,10 +16,14 @@
 
 package com.navercorp.pinpoint.collector.dao.hbase;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.navercorp.pinpoint.collector.dao.CachedStatisticsDao;
 import com.navercorp.pinpoint.collector.dao.HostApplicationMapDao;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
-import com.navercorp.pinpoint.collector.util.AtomicLongUpdateMap;
+import com.navercorp.pinpoint.collector.util.TimeSlotDedupeBuffer;
 import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
 import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
@@ -28,19 +32,36 @@ import com.navercorp.pinpoint.common.util.TimeSlot;
 import com.navercorp.pinpoint.common.util.TimeUtils;
 import com.sematext.hbase.wd.AbstractRowKeyDistributor;
 import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * 
+ * Keys are deduplicated per time slot and written in batch by {@link #flushAll()} once their time slot is over.
+ * The current slot is flushed early while more than half of {@code maxPendingKeys} keys are pending.
+ * Keys of puts rejected by the async operation are kept for the next flush instead of being written synchronously.
+ *
  * @author netspider
  * @author emeroad
  */
 @Repository
-public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
+public class HbaseHostApplicationMapDao implements HostApplicationMapDao, CachedStatisticsDao, MetricSet {
+
+    private static final String HOST_APPLICATION_MAP = "collector.host.application.map";
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
@@ -60,8 +81,19 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
     @Qualifier("acceptApplicationRowKeyDistributor")
     private AbstractRowKeyDistributor rowKeyDistributor;
 
-    // FIXME should modify to save a cachekey at each 30~50 seconds instead of saving at each time
-    private final AtomicLongUpdateMap<CacheKey> updater = new AtomicLongUpdateMap<>();
+    @Value("#{pinpoint_collector_properties['collector.host.application.map.max.pending.keys'] ?: 100000}")
+    private int maxPendingKeys = 100000;
+
+    private TimeSlotDedupeBuffer<CacheKey> buffer;
+    private long lastDropCount;
+
+    private final AtomicLong earlyFlushCount = new AtomicLong();
+    private final AtomicLong requeueCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        this.buffer = new TimeSlotDedupeBuffer<>(maxPendingKeys);
+    }
 
 
     @Override
@@ -76,10 +108,7 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
         final long statisticsRowSlot = getSlotTime();
 
         final CacheKey cacheKey = new CacheKey(host, bindApplicationName, bindServiceType, parentApplicationName, parentServiceType);
-        final boolean needUpdate = updater.update(cacheKey, statisticsRowSlot);
-        if (needUpdate) {
-            insertHostVer2(host, bindApplicationName, bindServiceType, statisticsRowSlot, parentApplicationName, parentServiceType);
-        }
+        buffer.add(statisticsRowSlot, cacheKey);
     }
 
 
@@ -88,28 +117,111 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
         return timeSlot.getTimeSlot(acceptedTime);
     }
 
+    @Override
+    public void flushAll() {
+        long endTimeSlot = timeSlot.getTimeSlot(System.currentTimeMillis());
+        if (buffer.size() > buffer.getMaxSize() / 2) {
+            // flush the current slot early rather than dropping keys
+            endTimeSlot = Long.MAX_VALUE;
+            earlyFlushCount.incrementAndGet();
+        }
+        final Map<Long, Set<CacheKey>> drained = buffer.drain(endTimeSlot);
 
+        final long dropCount = buffer.getDropCount();
+        if (dropCount != lastDropCount) {
+            logger.warn("host-application map buffer is full. dropped:{}", dropCount - lastDropCount);
+            lastDropCount = dropCount;
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
 
-    private void insertHostVer2(String host, String bindApplicationName, short bindServiceType, long statisticsRowSlot, String parentApplicationName, short parentServiceType) {
+        final List<Put> puts = new ArrayList<>();
+        final Map<Put, SlotKey> slotKeys = new IdentityHashMap<>();
+        for (Map.Entry<Long, Set<CacheKey>> entry : drained.entrySet()) {
+            final long statisticsRowSlot = entry.getKey();
+            for (CacheKey cacheKey : entry.getValue()) {
+                final Put put = createPut(cacheKey, statisticsRowSlot);
+                puts.add(put);
+                slotKeys.put(put, new SlotKey(statisticsRowSlot, cacheKey));
+            }
+        }
         if (logger.isDebugEnabled()) {
-            logger.debug("Insert host-application map. host={}, bindApplicationName={}, bindServiceType={}, parentApplicationName={}, parentServiceType={}",
-                    host, bindApplicationName, bindServiceType, parentApplicationName, parentServiceType);
+            logger.debug("flush {} Put:{}", this.getClass().getSimpleName(), puts.size());
+        }
+
+        final TableName hostApplicationMapTableName = tableNameProvider.getTableName(HBaseTables.HOST_APPLICATION_MAP_VER2_STR);
+        final List<Put> rejectedPuts = hbaseTemplate.asyncPut(hostApplicationMapTableName, puts);
+        if (rejectedPuts != null && !rejectedPuts.isEmpty()) {
+            requeue(rejectedPuts, slotKeys);
+        }
+    }
+
+    // hbase is falling behind. a synchronous put would block the flush thread, the keys are retried on the next flush
+    private void requeue(List<Put> rejectedPuts, Map<Put, SlotKey> slotKeys) {
+        int requeued = 0;
+        for (Put rejectedPut : rejectedPuts) {
+            final SlotKey slotKey = slotKeys.get(rejectedPut);
+            if (slotKey != null && buffer.add(slotKey.timeSlot, slotKey.cacheKey)) {
+                requeued++;
+            }
         }
+        requeueCount.addAndGet(requeued);
+        logger.warn("host-application map puts rejected. rejected:{}, requeued:{}", rejectedPuts.size(), requeued);
+    }
+
+    public long getEarlyFlushCount() {
+        return earlyFlushCount.get();
+    }
+
+    public long getRequeueCount() {
+        return requeueCount.get();
+    }
+
+    int getPendingCount() {
+        return buffer.size();
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> gauges = new HashMap<>();
+        gauges.put(HOST_APPLICATION_MAP + ".pending.count", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return buffer.size();
+            }
+        });
+        gauges.put(HOST_APPLICATION_MAP + ".early.flush.count", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return getEarlyFlushCount();
+            }
+        });
+        gauges.put(HOST_APPLICATION_MAP + ".requeue.count", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return getRequeueCount();
+            }
+        });
+        gauges.put(HOST_APPLICATION_MAP + ".dropped.count", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return buffer.getDropCount();
+            }
+        });
+        return Collections.unmodifiableMap(gauges);
+    }
 
+    private Put createPut(CacheKey cacheKey, long statisticsRowSlot) {
         // TODO should consider to add bellow codes again later.
         //String parentAgentId = null;
         //final byte[] rowKey = createRowKey(parentApplicationName, parentServiceType, statisticsRowSlot, parentAgentId);
-        final byte[] rowKey = createRowKey(parentApplicationName, parentServiceType, statisticsRowSlot, null);
-
-        byte[] columnName = createColumnName(host, bindApplicationName, bindServiceType);
+        final byte[] rowKey = createRowKey(cacheKey.parentApplicationName, cacheKey.parentServiceType, statisticsRowSlot, null);
+        final byte[] columnName = createColumnName(cacheKey.host, cacheKey.applicationName, cacheKey.serviceType);
 
-        TableName hostApplicationMapTableName = tableNameProvider.getTableName(HBaseTables.HOST_APPLICATION_MAP_VER2_STR);
-        try {
-            hbaseTemplate.put(hostApplicationMapTableName, rowKey, HBaseTables.HOST_APPLICATION_MAP_VER2_CF_MAP, columnName, null);
-        } catch (Exception ex) {
-            logger.warn("retry one. Caused:{}", ex.getCause(), ex);
-            hbaseTemplate.put(hostApplicationMapTableName, rowKey, HBaseTables.HOST_APPLICATION_MAP_VER2_CF_MAP, columnName, null);
-        }
+        final Put put = new Put(rowKey);
+        put.addColumn(HBaseTables.HOST_APPLICATION_MAP_VER2_CF_MAP, columnName, null);
+        return put;
     }
 
     private byte[] createColumnName(String host, String bindApplicationName, short bindServiceType) {
@@ -140,6 +252,16 @@ public class HbaseHostApplicationMapDao implements HostApplicationMapDao {
         return rowKeyBuffer.getBuffer();
     }
 
+    private static final class SlotKey {
+        private final long timeSlot;
+        private final CacheKey cacheKey;
+
+        private SlotKey(long timeSlot, CacheKey cacheKey) {
+            this.timeSlot = timeSlot;
+            this.cacheKey = cacheKey;
+        }
+    }
+
     private static final class CacheKey {
         private final String host;
         private final String applicationName;
@@ -19,8 +19,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
+import static com.navercorp.pinpoint.common.hbase.HBaseTables.TRACE_V2_CF_SPAN;
 import static com.navercorp.pinpoint.common.hbase.HBaseTables.TRACE_V2_STR;
 
 /**
@@ -53,13 +57,7 @@ public class HbaseTraceDaoV2 implements TraceDao {
             throw new NullPointerException("spanBo must not be null");
         }
 
-        long acceptedTime = spanBo.getCollectorAcceptTime();
-
-        TransactionId transactionId = spanBo.getTransactionId();
-        final byte[] rowKey = this.rowKeyEncoder.encodeRowKey(transactionId);
-        final Put put = new Put(rowKey, acceptedTime);
-
-        this.spanSerializer.serialize(spanBo, put, null);
+        final Put put = createPut(spanBo);
 
         TableName traceTableName = tableNameProvider.getTableName(TRACE_V2_STR);
         boolean success = hbaseTemplate.asyncPut(traceTableName, put);
@@ -71,7 +69,35 @@ public class HbaseTraceDaoV2 implements TraceDao {
         return success;
     }
 
+    @Override
+    public void insert(List<SpanBo> spanList) {
+        Objects.requireNonNull(spanList, "spanList must not be null");
+        if (spanList.isEmpty()) {
+            return;
+        }
+
+        final List<Put> puts = new ArrayList<>(spanList.size());
+        for (SpanBo spanBo : spanList) {
+            puts.add(createPut(spanBo));
+        }
+
+        TableName traceTableName = tableNameProvider.getTableName(TRACE_V2_STR);
+        List<Put> rejectedPuts = hbaseTemplate.asyncPut(traceTableName, puts);
+        if (!rejectedPuts.isEmpty()) {
+            hbaseTemplate.put(traceTableName, rejectedPuts);
+        }
+    }
+
+    private Put createPut(SpanBo spanBo) {
+        long acceptedTime = spanBo.getCollectorAcceptTime();
+
+        TransactionId transactionId = spanBo.getTransactionId();
+        final byte[] rowKey = this.rowKeyEncoder.encodeRowKey(transactionId);
+        final Put put = new Put(rowKey, acceptedTime);
 
+        this.spanSerializer.serialize(spanBo, put, null);
+        return put;
+    }
 
     @Override
     public boolean insertSpanChunk(SpanChunkBo spanChunkBo) {
@@ -101,4 +127,24 @@ public class HbaseTraceDaoV2 implements TraceDao {
 
         return success;
     }
+
+    @Override
+    public boolean insert(TransactionId transactionId, long acceptedTime, ByteBuffer qualifier, ByteBuffer columnValue) {
+        Objects.requireNonNull(transactionId, "transactionId must not be null");
+        Objects.requireNonNull(qualifier, "qualifier must not be null");
+        Objects.requireNonNull(columnValue, "columnValue must not be null");
+
+        final byte[] rowKey = this.rowKeyEncoder.encodeRowKey(transactionId);
+        final Put put = new Put(rowKey, acceptedTime);
+        put.addColumn(TRACE_V2_CF_SPAN, qualifier, acceptedTime, columnValue);
+
+        TableName traceTableName = tableNameProvider.getTableName(TRACE_V2_STR);
+        boolean success = hbaseTemplate.asyncPut(traceTableName, put);
+        if (!success) {
+            hbaseTemplate.put(traceTableName, put);
+            success = true;
+        }
+
+        return success;
+    }
 }
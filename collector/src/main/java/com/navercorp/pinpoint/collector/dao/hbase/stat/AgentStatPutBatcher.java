@@ -0,0 +1,271 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.stat;
+
+import com.navercorp.pinpoint.collector.monitor.HbaseBatchWriteMetrics;
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the AgentStatV2 puts of all agents for up to {@code flushIntervalMillis} or {@code batchSize} puts
+ * and writes them sorted by row key with one list put, so the puts of the same region go out together.
+ * <p>
+ * Puts are written through by the calling thread when disabled, when the queue is full or when the batcher is stopped.
+ * The puts of a failed batch are queued again and retried after a backoff. Puts that no longer fit in the queue are dropped
+ * and counted in {@link HbaseBatchWriteMetrics}.
+ */
+public class AgentStatPutBatcher implements InitializingBean, DisposableBean {
+
+    private static final long MIN_RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final Comparator<Put> ROW_COMPARATOR = (put1, put2) -> Bytes.compareTo(put1.getRow(), put2.getRow());
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final HbaseOperations2 hbaseTemplate;
+    private final TableNameProvider tableNameProvider;
+    private final HbaseBatchWriteMetrics metrics;
+
+    private final boolean enable;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Put> queue;
+
+    private final Thread flushThread;
+    private volatile boolean running = true;
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong putCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong dropCount = new AtomicLong();
+    private volatile int lastBatchSize;
+
+    public AgentStatPutBatcher(HbaseOperations2 hbaseTemplate, TableNameProvider tableNameProvider, HbaseBatchWriteMetrics metrics,
+                               boolean enable, int batchSize, long flushIntervalMillis, int queueSize) {
+        this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate must not be null");
+        this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider must not be null");
+        this.metrics = Objects.requireNonNull(metrics, "metrics must not be null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("flushIntervalMillis must not be negative");
+        }
+        if (queueSize < batchSize) {
+            throw new IllegalArgumentException("queueSize must not be less than batchSize");
+        }
+        this.enable = enable;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.queue = new LinkedBlockingQueue<>(queueSize);
+
+        this.flushThread = new PinpointThreadFactory("Pinpoint-AgentStatPutBatcher", true).newThread(this::flushLoop);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enable) {
+            return;
+        }
+        flushThread.start();
+        logger.info("AgentStatPutBatcher started. batchSize:{}, flushInterval:{}ms, queueSize:{}",
+                batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos), queue.remainingCapacity());
+    }
+
+    public void put(List<Put> puts) {
+        if (CollectionUtils.isEmpty(puts)) {
+            return;
+        }
+        if (!enable || !running) {
+            write(puts);
+            return;
+        }
+        for (int i = 0; i < puts.size(); i++) {
+            if (!queue.offer(puts.get(i))) {
+                write(new ArrayList<>(puts.subList(i, puts.size())));
+                return;
+            }
+        }
+    }
+
+    private void flushLoop() {
+        final List<Put> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                final Put first = queue.poll(1000, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                batch.sort(ROW_COMPARATOR);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.warn("Failed to insert agent stat batch. size:{} Caused:{}", batch.size(), e.getMessage(), e);
+                if (!retryLater(batch)) {
+                    break;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // puts are idempotent, a batch that was partially written is written again as a whole
+    private boolean retryLater(List<Put> batch) {
+        if (!running) {
+            // stopping, the queue is drained without retries
+            drop(batch.size());
+            return true;
+        }
+        int requeued = 0;
+        for (Put put : batch) {
+            if (!queue.offer(put)) {
+                break;
+            }
+            requeued++;
+        }
+        retryCount.addAndGet(requeued);
+        drop(batch.size() - requeued);
+        try {
+            TimeUnit.NANOSECONDS.sleep(Math.max(flushIntervalNanos, MIN_RETRY_BACKOFF_NANOS));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drop(int count) {
+        if (count <= 0) {
+            return;
+        }
+        dropCount.addAndGet(count);
+        metrics.drop(HBaseTables.AGENT_STAT_VER2_STR, count);
+        logger.warn("agent stat puts dropped. count:{}", count);
+    }
+
+    private void fill(List<Put> batch) throws InterruptedException {
+        final long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.size() >= batchSize) {
+                return;
+            }
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return;
+            }
+            final Put next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<Put> puts) {
+        final long startTime = System.nanoTime();
+        final TableName agentStatTableName = tableNameProvider.getTableName(HBaseTables.AGENT_STAT_VER2_STR);
+        final List<Put> rejectedPuts = hbaseTemplate.asyncPut(agentStatTableName, puts);
+        if (CollectionUtils.isNotEmpty(rejectedPuts)) {
+            hbaseTemplate.put(agentStatTableName, rejectedPuts);
+        }
+        batchCount.incrementAndGet();
+        putCount.addAndGet(puts.size());
+        lastBatchSize = puts.size();
+        metrics.update(HBaseTables.AGENT_STAT_VER2_STR, puts.size(), System.nanoTime() - startTime);
+    }
+
+    @Override
+    public void destroy() {
+        this.running = false;
+        if (!enable) {
+            return;
+        }
+        try {
+            flushThread.join(3000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // flush thread did not finish in time
+        final List<Put> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            try {
+                write(remaining);
+            } catch (Exception e) {
+                logger.warn("Failed to insert remaining agent stat puts. size:{} Caused:{}", remaining.size(), e.getMessage(), e);
+                drop(remaining.size());
+            }
+        }
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getAverageBatchSize() {
+        final long batchCount = this.batchCount.get();
+        if (batchCount == 0) {
+            return 0;
+        }
+        return putCount.get() / batchCount;
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    public long getDropCount() {
+        return dropCount.get();
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+}
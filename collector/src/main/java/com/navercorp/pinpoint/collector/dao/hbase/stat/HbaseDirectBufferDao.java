@@ -17,15 +17,11 @@
 package com.navercorp.pinpoint.collector.dao.hbase.stat;
 
 import com.navercorp.pinpoint.collector.dao.AgentStatDaoV2;
-import com.navercorp.pinpoint.common.hbase.HBaseTables;
-import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
-import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.DirectBufferSerializer;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
 import com.navercorp.pinpoint.common.server.bo.stat.DirectBufferBo;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Put;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
@@ -39,10 +35,7 @@ import java.util.List;
 public class HbaseDirectBufferDao implements AgentStatDaoV2<DirectBufferBo> {
 
     @Autowired
-    private HbaseOperations2 hbaseTemplate;
-
-    @Autowired
-    private TableNameProvider tableNameProvider;
+    private AgentStatPutBatcher agentStatPutBatcher;
 
     @Autowired
     private AgentStatHbaseOperationFactory agentStatHbaseOperationFactory;
@@ -60,11 +53,7 @@ public class HbaseDirectBufferDao implements AgentStatDaoV2<DirectBufferBo> {
         }
         List<Put> directBufferPuts = this.agentStatHbaseOperationFactory.createPuts(agentId, AgentStatType.DIRECT_BUFFER, directBufferBos, this.directBufferSerializer);
         if (!directBufferPuts.isEmpty()) {
-            TableName agentStatTableName = tableNameProvider.getTableName(HBaseTables.AGENT_STAT_VER2_STR);
-            List<Put> rejectedPuts = this.hbaseTemplate.asyncPut(agentStatTableName, directBufferPuts);
-            if (CollectionUtils.isNotEmpty(rejectedPuts)) {
-                this.hbaseTemplate.put(agentStatTableName, rejectedPuts);
-            }
+            this.agentStatPutBatcher.put(directBufferPuts);
         }
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.stat;
+
+import com.navercorp.pinpoint.collector.dao.AgentStatDaoV2;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.SpoolSerializer;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.hadoop.hbase.client.Put;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class HbaseSpoolDao implements AgentStatDaoV2<SpoolBo> {
+
+    @Autowired
+    private AgentStatPutBatcher agentStatPutBatcher;
+
+    @Autowired
+    private AgentStatHbaseOperationFactory agentStatHbaseOperationFactory;
+
+    @Autowired
+    private SpoolSerializer spoolSerializer;
+
+    @Override
+    public void insert(String agentId, List<SpoolBo> spoolBos) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (CollectionUtils.isEmpty(spoolBos)) {
+            return;
+        }
+        List<Put> spoolPuts = this.agentStatHbaseOperationFactory.createPuts(agentId, AgentStatType.SPOOL, spoolBos, this.spoolSerializer);
+        if (!spoolPuts.isEmpty()) {
+            this.agentStatPutBatcher.put(spoolPuts);
+        }
+    }
+}
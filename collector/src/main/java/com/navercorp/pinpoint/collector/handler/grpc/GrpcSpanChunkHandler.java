@@ -4,6 +4,7 @@ package com.navercorp.pinpoint.collector.handler.grpc;
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
 import com.navercorp.pinpoint.collector.service.TraceService;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.grpc.GrpcSpanEncoder;
 import com.navercorp.pinpoint.common.server.bo.grpc.GrpcSpanFactory;
 import com.navercorp.pinpoint.grpc.AgentHeaderFactory;
 import com.navercorp.pinpoint.grpc.MessageFormatUtils;
@@ -14,8 +15,10 @@ import io.grpc.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -31,6 +34,12 @@ public class GrpcSpanChunkHandler implements SimpleHandler {
 
     private final GrpcSpanFactory spanFactory;
 
+    @Autowired
+    private GrpcSpanEncoder spanEncoder;
+
+    @Value("#{pinpoint_collector_properties['collector.span.grpc.direct.encoding'] ?: false}")
+    private boolean directEncoding;
+
     @Autowired
     public GrpcSpanChunkHandler(TraceService traceService, GrpcSpanFactory spanFactory) {
         this.traceService = Objects.requireNonNull(traceService, "traceService must not be null");
@@ -56,6 +65,13 @@ public class GrpcSpanChunkHandler implements SimpleHandler {
 
         try {
             final AgentHeaderFactory.Header agentInfo = ServerContext.getAgentInfo();
+            if (directEncoding && spanEncoder.isSupported(spanChunk.getSpanEventList())) {
+                final SpanChunkBo spanChunkBo = spanFactory.buildSpanChunkHeaderBo(spanChunk, agentInfo);
+                final ByteBuffer qualifier = spanEncoder.encodeSpanChunkQualifier(spanChunk, agentInfo);
+                final ByteBuffer columnValue = spanEncoder.encodeSpanChunkColumnValue(spanChunk);
+                this.traceService.insertEncodedSpanChunk(spanChunkBo, qualifier, columnValue, spanChunk.getSpanEventList());
+                return;
+            }
             final SpanChunkBo spanChunkBo = spanFactory.buildSpanChunkBo(spanChunk, agentInfo);
             this.traceService.insertSpanChunk(spanChunkBo);
         } catch (Exception e) {
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.collector.handler.grpc;
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
 import com.navercorp.pinpoint.collector.service.TraceService;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.grpc.GrpcSpanEncoder;
 import com.navercorp.pinpoint.common.server.bo.grpc.GrpcSpanFactory;
 import com.navercorp.pinpoint.grpc.AgentHeaderFactory;
 import com.navercorp.pinpoint.grpc.MessageFormatUtils;
@@ -29,8 +30,10 @@ import io.grpc.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -47,6 +50,12 @@ public class GrpcSpanHandler implements SimpleHandler {
 
     private GrpcSpanFactory spanFactory;
 
+    @Autowired
+    private GrpcSpanEncoder spanEncoder;
+
+    @Value("#{pinpoint_collector_properties['collector.span.grpc.direct.encoding'] ?: false}")
+    private boolean directEncoding;
+
     @Autowired
     public GrpcSpanHandler(TraceService traceService, GrpcSpanFactory spanFactory) {
         this.traceService = Objects.requireNonNull(traceService, "traceService must not be null");
@@ -71,6 +80,13 @@ public class GrpcSpanHandler implements SimpleHandler {
 
         try {
             AgentHeaderFactory.Header agentInfo = ServerContext.getAgentInfo();
+            if (directEncoding && spanEncoder.isSupported(span.getSpanEventList())) {
+                final SpanBo spanBo = spanFactory.buildSpanHeaderBo(span, agentInfo);
+                final ByteBuffer qualifier = spanEncoder.encodeSpanQualifier(span, agentInfo);
+                final ByteBuffer columnValue = spanEncoder.encodeSpanColumnValue(span, spanBo.getCollectorAcceptTime());
+                traceService.insertEncodedSpan(spanBo, qualifier, columnValue, span.getSpanEventList());
+                return;
+            }
             final SpanBo spanBo = spanFactory.buildSpanBo(span, agentInfo);
             traceService.insertSpan(spanBo);
         } catch (Exception e) {
@@ -17,6 +17,7 @@
 
 package com.navercorp.pinpoint.collector.manage;
 
+import com.navercorp.pinpoint.collector.dao.hbase.stat.AgentStatPutBatcher;
 import com.navercorp.pinpoint.common.hbase.HBaseAsyncOperation;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -30,6 +31,9 @@ public class HBaseManager extends AbstractCollectorManager implements HBaseManag
     @Autowired
     private HBaseAsyncOperation hBaseAsyncOperation;
 
+    @Autowired
+    private AgentStatPutBatcher agentStatPutBatcher;
+
     @Override
     public Long getAsyncOpsCount() {
         return hBaseAsyncOperation.getOpsCount();
@@ -55,4 +59,29 @@ public class HBaseManager extends AbstractCollectorManager implements HBaseManag
         return hBaseAsyncOperation.getOpsAverageLatencyForEachRegionServer();
     }
 
+    @Override
+    public Long getAgentStatBatchCount() {
+        return agentStatPutBatcher.getBatchCount();
+    }
+
+    @Override
+    public Long getAgentStatAverageBatchSize() {
+        return agentStatPutBatcher.getAverageBatchSize();
+    }
+
+    @Override
+    public Integer getAgentStatLastBatchSize() {
+        return agentStatPutBatcher.getLastBatchSize();
+    }
+
+    @Override
+    public Long getAgentStatRetryCount() {
+        return agentStatPutBatcher.getRetryCount();
+    }
+
+    @Override
+    public Long getAgentStatDropCount() {
+        return agentStatPutBatcher.getDropCount();
+    }
+
 }
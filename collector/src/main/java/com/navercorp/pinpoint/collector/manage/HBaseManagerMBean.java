@@ -34,4 +34,14 @@ public interface HBaseManagerMBean {
 
     Map<String, Long> getAsyncOpsAverageLatencyForEachRegionServer();
 
+    Long getAgentStatBatchCount();
+
+    Long getAgentStatAverageBatchSize();
+
+    Integer getAgentStatLastBatchSize();
+
+    Long getAgentStatRetryCount();
+
+    Long getAgentStatDropCount();
+
 }
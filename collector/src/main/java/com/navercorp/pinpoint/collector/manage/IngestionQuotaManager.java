@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.manage;
+
+import com.navercorp.pinpoint.collector.receiver.grpc.quota.IngestionQuota;
+
+import java.util.Map;
+import java.util.Objects;
+
+public class IngestionQuotaManager extends AbstractCollectorManager implements IngestionQuotaManagerMBean {
+
+    private final IngestionQuota spanIngestionQuota;
+    private final IngestionQuota statIngestionQuota;
+
+    public IngestionQuotaManager(IngestionQuota spanIngestionQuota, IngestionQuota statIngestionQuota) {
+        this.spanIngestionQuota = Objects.requireNonNull(spanIngestionQuota, "spanIngestionQuota must not be null");
+        this.statIngestionQuota = Objects.requireNonNull(statIngestionQuota, "statIngestionQuota must not be null");
+    }
+
+    @Override
+    public Long getSpanThrottledCount() {
+        return spanIngestionQuota.getThrottledCount();
+    }
+
+    @Override
+    public Long getSpanThrottledMillis() {
+        return spanIngestionQuota.getThrottledMillis();
+    }
+
+    @Override
+    public Map<String, Long> getSpanThrottledCountForEachAgent() {
+        return spanIngestionQuota.getThrottledCountForEachAgent();
+    }
+
+    @Override
+    public Map<String, Long> getSpanThrottledCountForEachApplication() {
+        return spanIngestionQuota.getThrottledCountForEachApplication();
+    }
+
+    @Override
+    public Long getStatThrottledCount() {
+        return statIngestionQuota.getThrottledCount();
+    }
+
+    @Override
+    public Long getStatThrottledMillis() {
+        return statIngestionQuota.getThrottledMillis();
+    }
+
+    @Override
+    public Map<String, Long> getStatThrottledCountForEachAgent() {
+        return statIngestionQuota.getThrottledCountForEachAgent();
+    }
+
+    @Override
+    public Map<String, Long> getStatThrottledCountForEachApplication() {
+        return statIngestionQuota.getThrottledCountForEachApplication();
+    }
+
+}
@@ -28,6 +28,7 @@ import org.springframework.beans.factory.annotation.Value;
 import com.navercorp.pinpoint.collector.manage.ClusterManager;
 import com.navercorp.pinpoint.collector.manage.CollectorManager;
 import com.navercorp.pinpoint.collector.manage.HBaseManager;
+import com.navercorp.pinpoint.collector.manage.IngestionQuotaManager;
 import com.navercorp.pinpoint.collector.manage.HandlerManager;
 import com.navercorp.pinpoint.rpc.util.ListUtils;
 
@@ -50,6 +51,9 @@ public class JMXCollectorManagerList {
     @Autowired
     private HBaseManager hBaseManager;
 
+    @Autowired(required = false)
+    private IngestionQuotaManager ingestionQuotaManager;
+
     public List<CollectorManager> getSupportList() {
         if (!isActive) {
             logger.warn("not activating jmx api for admin.");
@@ -61,6 +65,7 @@ public class JMXCollectorManagerList {
         ListUtils.addIfValueNotNull(supportManagerList, handlerManager);
         ListUtils.addIfValueNotNull(supportManagerList, clusterManager);
         ListUtils.addIfValueNotNull(supportManagerList, hBaseManager);
+        ListUtils.addIfValueNotNull(supportManagerList, ingestionQuotaManager);
 
         return supportManagerList;
     }
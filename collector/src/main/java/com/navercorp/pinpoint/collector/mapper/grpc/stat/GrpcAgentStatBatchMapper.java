@@ -28,6 +28,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.grpc.AgentHeaderFactory;
 import com.navercorp.pinpoint.grpc.trace.PActiveTrace;
@@ -42,6 +43,7 @@ import com.navercorp.pinpoint.grpc.trace.PFileDescriptor;
 import com.navercorp.pinpoint.grpc.trace.PJvmGc;
 import com.navercorp.pinpoint.grpc.trace.PJvmGcDetailed;
 import com.navercorp.pinpoint.grpc.trace.PResponseTime;
+import com.navercorp.pinpoint.grpc.trace.PSpool;
 import com.navercorp.pinpoint.grpc.trace.PTransaction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -86,6 +88,9 @@ public class GrpcAgentStatBatchMapper {
     @Autowired
     private GrpcDirectBufferBoMapper directBufferBoMapper;
 
+    @Autowired
+    private GrpcSpoolBoMapper spoolBoMapper;
+
     public AgentStatBo map(final PAgentStatBatch agentStatBatch, final AgentHeaderFactory.Header header) {
         if (agentStatBatch == null) {
             return null;
@@ -108,6 +113,7 @@ public class GrpcAgentStatBatchMapper {
         final List<DeadlockThreadCountBo> deadlockThreadCountBos = new ArrayList<>(agentStatsSize);
         final List<FileDescriptorBo> fileDescriptorBos = new ArrayList<>(agentStatsSize);
         final List<DirectBufferBo> directBufferBos = new ArrayList<>(agentStatsSize);
+        final List<SpoolBo> spoolBos = new ArrayList<>(agentStatsSize);
 
         for (PAgentStat agentStat : agentStatBatch.getAgentStatList()) {
             final long timestamp = agentStat.getTimestamp();
@@ -198,6 +204,14 @@ public class GrpcAgentStatBatchMapper {
                 setBaseData(directBufferBo, agentId, startTimestamp, timestamp);
                 directBufferBos.add(directBufferBo);
             }
+
+            // spool
+            if (agentStat.hasSpool()) {
+                final PSpool spool = agentStat.getSpool();
+                final SpoolBo spoolBo = this.spoolBoMapper.map(spool);
+                setBaseData(spoolBo, agentId, startTimestamp, timestamp);
+                spoolBos.add(spoolBo);
+            }
         }
 
         agentStatBo.setJvmGcBos(jvmGcBos);
@@ -210,6 +224,7 @@ public class GrpcAgentStatBatchMapper {
         agentStatBo.setDeadlockThreadCountBos(deadlockThreadCountBos);
         agentStatBo.setFileDescriptorBos(fileDescriptorBos);
         agentStatBo.setDirectBufferBos(directBufferBos);
+        agentStatBo.setSpoolBos(spoolBos);
         return agentStatBo;
     }
 
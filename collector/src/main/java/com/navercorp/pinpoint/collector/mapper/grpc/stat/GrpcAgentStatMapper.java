@@ -28,6 +28,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.grpc.AgentHeaderFactory;
 import com.navercorp.pinpoint.grpc.server.ServerContext;
@@ -42,6 +43,7 @@ import com.navercorp.pinpoint.grpc.trace.PFileDescriptor;
 import com.navercorp.pinpoint.grpc.trace.PJvmGc;
 import com.navercorp.pinpoint.grpc.trace.PJvmGcDetailed;
 import com.navercorp.pinpoint.grpc.trace.PResponseTime;
+import com.navercorp.pinpoint.grpc.trace.PSpool;
 import com.navercorp.pinpoint.grpc.trace.PTransaction;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -81,6 +83,9 @@ public class GrpcAgentStatMapper {
     @Autowired
     private GrpcDirectBufferBoMapper directBufferBoMapper;
 
+    @Autowired
+    private GrpcSpoolBoMapper spoolBoMapper;
+
     public AgentStatBo map(PAgentStat agentStat) {
         if (agentStat == null) {
             return null;
@@ -181,6 +186,14 @@ public class GrpcAgentStatMapper {
             agentStatBo.setDirectBufferBos(Collections.singletonList(directBufferBo));
         }
 
+        // spool
+        if (agentStat.hasSpool()) {
+            final PSpool spool = agentStat.getSpool();
+            final SpoolBo spoolBo = this.spoolBoMapper.map(spool);
+            setBaseData(spoolBo, agentId, startTimestamp, timestamp);
+            agentStatBo.setSpoolBos(Collections.singletonList(spoolBo));
+        }
+
         return agentStatBo;
     }
 
@@ -20,6 +20,8 @@ import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
 import com.navercorp.pinpoint.grpc.trace.PResponseTime;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * @author Taejin Koo
  */
@@ -30,6 +32,15 @@ public class GrpcResponseTimeBoMapper {
         final ResponseTimeBo responseTimeBo = new ResponseTimeBo();
         responseTimeBo.setAvg(tResponseTime.getAvg());
         responseTimeBo.setMax(tResponseTime.getMax());
+
+        final List<Long> histogramList = tResponseTime.getHistogramList();
+        if (!histogramList.isEmpty()) {
+            final long[] histogram = new long[histogramList.size()];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = histogramList.get(i);
+            }
+            responseTimeBo.setHistogram(histogram);
+        }
         return responseTimeBo;
     }
 }
\ No newline at end of file
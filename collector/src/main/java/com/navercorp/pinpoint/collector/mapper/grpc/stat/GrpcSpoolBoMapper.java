@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.mapper.grpc.stat;
+
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
+import com.navercorp.pinpoint.grpc.trace.PSpool;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GrpcSpoolBoMapper {
+
+    public SpoolBo map(final PSpool spool) {
+        final SpoolBo spoolBo = new SpoolBo();
+        spoolBo.setPendingCount(spool.getPendingCount());
+        spoolBo.setWriteCount(spool.getWriteCount());
+        spoolBo.setReadCount(spool.getReadCount());
+        spoolBo.setRequeueCount(spool.getRequeueCount());
+        spoolBo.setEvictCount(spool.getEvictCount());
+        spoolBo.setDropCount(spool.getDropCount());
+        return spoolBo;
+    }
+}
@@ -28,6 +28,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
@@ -76,6 +77,9 @@ public class ThriftAgentStatBatchMapper {
     @Autowired
     private ThriftDirectBufferBoMapper directBufferBoMapper;
 
+    @Autowired
+    private ThriftSpoolBoMapper spoolBoMapper;
+
     public AgentStatBo map(TAgentStatBatch tAgentStatBatch) {
         if (!tAgentStatBatch.isSetAgentStats()) {
             return null;
@@ -99,6 +103,7 @@ public class ThriftAgentStatBatchMapper {
         List<DeadlockThreadCountBo> deadlockThreadCountBos = new ArrayList<>(agentStatsSize);
         List<FileDescriptorBo> fileDescriptorBos = new ArrayList<>(agentStatsSize);
         List<DirectBufferBo> directBufferBos = new ArrayList<>(agentStatsSize);
+        List<SpoolBo> spoolBos = new ArrayList<>(agentStatsSize);
 
         for (TAgentStat tAgentStat : tAgentStatBatch.getAgentStats()) {
             final long timestamp = tAgentStat.getTimestamp();
@@ -179,6 +184,13 @@ public class ThriftAgentStatBatchMapper {
                 setBaseData(directBufferBo, agentId, startTimestamp, timestamp);
                 directBufferBos.add(directBufferBo);
             }
+
+            // spool
+            if (tAgentStat.isSetSpool()) {
+                SpoolBo spoolBo = this.spoolBoMapper.map(tAgentStat.getSpool());
+                setBaseData(spoolBo, agentId, startTimestamp, timestamp);
+                spoolBos.add(spoolBo);
+            }
         }
 
         agentStatBo.setJvmGcBos(jvmGcBos);
@@ -191,6 +203,7 @@ public class ThriftAgentStatBatchMapper {
         agentStatBo.setDeadlockThreadCountBos(deadlockThreadCountBos);
         agentStatBo.setFileDescriptorBos(fileDescriptorBos);
         agentStatBo.setDirectBufferBos(directBufferBos);
+        agentStatBo.setSpoolBos(spoolBos);
         return agentStatBo;
     }
 
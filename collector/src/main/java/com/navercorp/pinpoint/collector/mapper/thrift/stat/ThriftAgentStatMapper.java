@@ -28,6 +28,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TDataSource;
@@ -74,6 +75,9 @@ public class ThriftAgentStatMapper {
     @Autowired
     private ThriftDirectBufferBoMapper directBufferBoMapper;
 
+    @Autowired
+    private ThriftSpoolBoMapper spoolBoMapper;
+
     public AgentStatBo map(TAgentStat tAgentStat) {
         if (tAgentStat == null) {
             return null;
@@ -153,6 +157,12 @@ public class ThriftAgentStatMapper {
             setBaseData(directBufferBo, agentId, startTimestamp, timestamp);
             agentStatBo.setDirectBufferBos(Arrays.asList(directBufferBo));
         }
+        // spool
+        if (tAgentStat.isSetSpool()) {
+            SpoolBo spoolBo = this.spoolBoMapper.map(tAgentStat.getSpool());
+            setBaseData(spoolBo, agentId, startTimestamp, timestamp);
+            agentStatBo.setSpoolBos(Arrays.asList(spoolBo));
+        }
 
         return agentStatBo;
     }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.mapper.thrift.stat;
+
+import com.navercorp.pinpoint.collector.mapper.thrift.ThriftBoMapper;
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
+import com.navercorp.pinpoint.thrift.dto.TSpool;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ThriftSpoolBoMapper implements ThriftBoMapper<SpoolBo, TSpool> {
+
+    @Override
+    public SpoolBo map(TSpool tSpool) {
+        SpoolBo spoolBo = new SpoolBo();
+        spoolBo.setPendingCount(tSpool.getPendingCount());
+        spoolBo.setWriteCount(tSpool.getWriteCount());
+        spoolBo.setReadCount(tSpool.getReadCount());
+        spoolBo.setRequeueCount(tSpool.getRequeueCount());
+        spoolBo.setEvictCount(tSpool.getEvictCount());
+        spoolBo.setDropCount(tSpool.getDropCount());
+        return spoolBo;
+    }
+}
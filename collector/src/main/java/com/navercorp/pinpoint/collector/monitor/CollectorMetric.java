@@ -24,6 +24,8 @@ import com.codahale.metrics.Slf4jReporter;
 import com.codahale.metrics.jvm.GarbageCollectorMetricSet;
 import com.codahale.metrics.jvm.MemoryUsageGaugeSet;
 import com.codahale.metrics.jvm.ThreadStatesGaugeSet;
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseHostApplicationMapDao;
+import com.navercorp.pinpoint.collector.receiver.grpc.lane.MultiLaneExecutor;
 import com.navercorp.pinpoint.collector.util.LoggerUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +53,18 @@ public class CollectorMetric {
     @Autowired(required = false)
     private HBaseAsyncOperationMetrics hBaseAsyncOperationMetrics;
 
+    @Autowired(required = false)
+    private HbaseBatchWriteMetrics hbaseBatchWriteMetrics;
+
+    @Autowired(required = false)
+    private LoadSheddingController loadSheddingController;
+
+    @Autowired(required = false)
+    private MultiLaneExecutor multiLaneExecutor;
+
+    @Autowired(required = false)
+    private HbaseHostApplicationMapDao hostApplicationMapDao;
+
     private ScheduledReporter reporter;
 
     private final boolean isEnable = isEnable0(REPORTER_LOGGER_NAME);
@@ -87,6 +101,22 @@ public class CollectorMetric {
                 metricRegistry.register(metric.getKey(), metric.getValue());
             }
         }
+
+        if (hbaseBatchWriteMetrics != null) {
+            metricRegistry.registerAll(hbaseBatchWriteMetrics);
+        }
+
+        if (loadSheddingController != null) {
+            metricRegistry.registerAll(loadSheddingController);
+        }
+
+        if (multiLaneExecutor != null) {
+            metricRegistry.registerAll(multiLaneExecutor);
+        }
+
+        if (hostApplicationMapDao != null) {
+            metricRegistry.registerAll(hostApplicationMapDao);
+        }
     }
 
     private void initReporters() {
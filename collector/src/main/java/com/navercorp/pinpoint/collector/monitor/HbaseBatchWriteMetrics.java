@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Timer;
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch size, write latency and dropped puts of the batched hbase writes, per table.
+ */
+public class HbaseBatchWriteMetrics implements MetricSet {
+
+    private static final String HBASE_BATCH = "hbase.batch";
+
+    private final Map<String, Histogram> batchSizeHistograms = new HashMap<>();
+    private final Map<String, Timer> latencyTimers = new HashMap<>();
+    private final Map<String, Counter> dropCounters = new HashMap<>();
+
+    public HbaseBatchWriteMetrics() {
+        this(HBaseTables.TRACE_V2_STR, HBaseTables.APPLICATION_TRACE_INDEX_STR, HBaseTables.AGENT_STAT_VER2_STR);
+    }
+
+    public HbaseBatchWriteMetrics(String... tableNames) {
+        Objects.requireNonNull(tableNames, "tableNames must not be null");
+        for (String tableName : tableNames) {
+            batchSizeHistograms.put(tableName, new Histogram(new ExponentiallyDecayingReservoir()));
+            latencyTimers.put(tableName, new Timer());
+            dropCounters.put(tableName, new Counter());
+        }
+    }
+
+    public void update(String tableName, int batchSize, long elapsedNanos) {
+        final Histogram batchSizeHistogram = batchSizeHistograms.get(tableName);
+        if (batchSizeHistogram != null) {
+            batchSizeHistogram.update(batchSize);
+        }
+        final Timer latencyTimer = latencyTimers.get(tableName);
+        if (latencyTimer != null) {
+            latencyTimer.update(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void drop(String tableName, int dropCount) {
+        final Counter dropCounter = dropCounters.get(tableName);
+        if (dropCounter != null) {
+            dropCounter.inc(dropCount);
+        }
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> metrics = new HashMap<>();
+        for (Map.Entry<String, Histogram> entry : batchSizeHistograms.entrySet()) {
+            metrics.put(HBASE_BATCH + "." + entry.getKey() + ".size", entry.getValue());
+        }
+        for (Map.Entry<String, Timer> entry : latencyTimers.entrySet()) {
+            metrics.put(HBASE_BATCH + "." + entry.getKey() + ".latency", entry.getValue());
+        }
+        for (Map.Entry<String, Counter> entry : dropCounters.entrySet()) {
+            metrics.put(HBASE_BATCH + "." + entry.getKey() + ".dropped", entry.getValue());
+        }
+        return Collections.unmodifiableMap(metrics);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.navercorp.pinpoint.collector.receiver.grpc.lane.MessageLane;
+import com.navercorp.pinpoint.collector.receiver.grpc.lane.MultiLaneExecutor;
+import com.navercorp.pinpoint.common.hbase.HBaseAsyncOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which data to drop while hbase falls behind.
+ * <p>
+ * Pressure is the highest of the hbase async ops backlog, the receiver executor queue fill ratio
+ * and the saturation of the grpc span lane, relative to their thresholds.
+ * The shedding level goes up one step per update interval while the pressure is over 1, and down one step while it is under half of it.
+ * Span chunks are dropped from {@link Level#SPAN_CHUNK}, spans from {@link Level#SPAN}. Agent info, metadata and stats are never dropped.
+ */
+public class LoadSheddingController implements MetricSet {
+
+    private static final String LOAD_SHEDDING = "collector.loadshedding";
+
+    public enum Level {
+        NONE,
+        SPAN_CHUNK,
+        SPAN
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final HBaseAsyncOperation asyncOperation;
+    private final List<ThreadPoolExecutor> executors;
+    // grpc spans are queued in the span lane instead of the receiver executor when lanes are enabled
+    private final MultiLaneExecutor multiLaneExecutor;
+    private final boolean enable;
+    private final long hbaseOpsThreshold;
+    private final double queueRatioThreshold;
+    private final long updateIntervalMillis;
+
+    private volatile Level level = Level.NONE;
+    private final AtomicLong lastUpdateTime = new AtomicLong();
+
+    private final AtomicLong droppedSpanChunkCount = new AtomicLong();
+    private final AtomicLong droppedSpanCount = new AtomicLong();
+
+    public LoadSheddingController(HBaseAsyncOperation asyncOperation, List<ExecutorService> executors, boolean enable,
+                                  long hbaseOpsThreshold, double queueRatioThreshold, long updateIntervalMillis) {
+        this(asyncOperation, executors, null, enable, hbaseOpsThreshold, queueRatioThreshold, updateIntervalMillis);
+    }
+
+    public LoadSheddingController(HBaseAsyncOperation asyncOperation, List<ExecutorService> executors, MultiLaneExecutor multiLaneExecutor, boolean enable,
+                                  long hbaseOpsThreshold, double queueRatioThreshold, long updateIntervalMillis) {
+        this.asyncOperation = Objects.requireNonNull(asyncOperation, "asyncOperation must not be null");
+        Objects.requireNonNull(executors, "executors must not be null");
+        if (hbaseOpsThreshold <= 0) {
+            throw new IllegalArgumentException("hbaseOpsThreshold must be greater than 0");
+        }
+        if (queueRatioThreshold <= 0 || queueRatioThreshold > 1) {
+            throw new IllegalArgumentException("queueRatioThreshold must be in (0, 1]");
+        }
+        if (updateIntervalMillis <= 0) {
+            throw new IllegalArgumentException("updateIntervalMillis must be greater than 0");
+        }
+        this.executors = new ArrayList<>(executors.size());
+        for (ExecutorService executor : executors) {
+            if (executor instanceof ThreadPoolExecutor) {
+                this.executors.add((ThreadPoolExecutor) executor);
+            }
+        }
+        this.multiLaneExecutor = multiLaneExecutor;
+        this.enable = enable;
+        this.hbaseOpsThreshold = hbaseOpsThreshold;
+        this.queueRatioThreshold = queueRatioThreshold;
+        this.updateIntervalMillis = updateIntervalMillis;
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public boolean dropSpanChunk() {
+        if (getLevel().compareTo(Level.SPAN_CHUNK) < 0) {
+            return false;
+        }
+        droppedSpanChunkCount.incrementAndGet();
+        return true;
+    }
+
+    public boolean dropSpan() {
+        if (getLevel().compareTo(Level.SPAN) < 0) {
+            return false;
+        }
+        droppedSpanCount.incrementAndGet();
+        return true;
+    }
+
+    public Level getLevel() {
+        if (!enable) {
+            return Level.NONE;
+        }
+        final long currentTime = System.currentTimeMillis();
+        final long lastUpdateTime = this.lastUpdateTime.get();
+        if (currentTime - lastUpdateTime >= updateIntervalMillis && this.lastUpdateTime.compareAndSet(lastUpdateTime, currentTime)) {
+            update();
+        }
+        return level;
+    }
+
+    private void update() {
+        final double pressure = getPressure();
+        final Level current = this.level;
+        Level next = current;
+        if (pressure >= 1) {
+            next = current == Level.NONE ? Level.SPAN_CHUNK : Level.SPAN;
+        } else if (pressure < 0.5) {
+            next = current == Level.SPAN ? Level.SPAN_CHUNK : Level.NONE;
+        }
+        if (next != current) {
+            logger.warn("load shedding level changed. {} -> {} pressure:{}", current, next, pressure);
+            this.level = next;
+        }
+    }
+
+    double getPressure() {
+        double pressure = 0;
+        if (asyncOperation.isAvailable()) {
+            pressure = (double) asyncOperation.getCurrentOpsCount() / hbaseOpsThreshold;
+        }
+        for (ThreadPoolExecutor executor : executors) {
+            final BlockingQueue<Runnable> queue = executor.getQueue();
+            final int size = queue.size();
+            final int capacity = size + queue.remainingCapacity();
+            if (capacity <= 0) {
+                continue;
+            }
+            final double queueRatio = (double) size / capacity;
+            pressure = Math.max(pressure, queueRatio / queueRatioThreshold);
+        }
+        if (multiLaneExecutor != null && multiLaneExecutor.isEnable()) {
+            final double spanLaneSaturation = multiLaneExecutor.getSaturation(MessageLane.SPAN);
+            pressure = Math.max(pressure, spanLaneSaturation / queueRatioThreshold);
+        }
+        return pressure;
+    }
+
+    public long getDroppedSpanChunkCount() {
+        return droppedSpanChunkCount.get();
+    }
+
+    public long getDroppedSpanCount() {
+        return droppedSpanCount.get();
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> gauges = new HashMap<>();
+        gauges.put(LOAD_SHEDDING + ".level", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return level.ordinal();
+            }
+        });
+        gauges.put(LOAD_SHEDDING + ".dropped.spanchunk.count", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return getDroppedSpanChunkCount();
+            }
+        });
+        gauges.put(LOAD_SHEDDING + ".dropped.span.count", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return getDroppedSpanCount();
+            }
+        });
+        return Collections.unmodifiableMap(gauges);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver;
+
+import com.navercorp.pinpoint.collector.monitor.LoadSheddingController;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.io.request.ServerRequest;
+import com.navercorp.pinpoint.io.request.ServerResponse;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.io.DefaultTBaseLocator;
+
+import java.util.Objects;
+
+/**
+ * Drops span chunks and then spans as requested by {@link LoadSheddingController}.
+ * Spans with an error are always kept.
+ */
+public class LoadSheddingDispatchHandler implements DispatchHandler {
+
+    private final DispatchHandler delegate;
+    private final LoadSheddingController loadSheddingController;
+
+    public LoadSheddingDispatchHandler(DispatchHandler delegate, LoadSheddingController loadSheddingController) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.loadSheddingController = Objects.requireNonNull(loadSheddingController, "loadSheddingController must not be null");
+    }
+
+    @Override
+    public void dispatchSendMessage(ServerRequest serverRequest) {
+        if (drop(serverRequest)) {
+            return;
+        }
+        delegate.dispatchSendMessage(serverRequest);
+    }
+
+    private boolean drop(ServerRequest serverRequest) {
+        if (!loadSheddingController.isEnable()) {
+            return false;
+        }
+        final short type = serverRequest.getHeader().getType();
+        switch (type) {
+            case DefaultTBaseLocator.SPANCHUNK:
+                return loadSheddingController.dropSpanChunk();
+            case DefaultTBaseLocator.SPAN:
+                if (hasError(serverRequest.getData())) {
+                    return false;
+                }
+                return loadSheddingController.dropSpan();
+        }
+        return false;
+    }
+
+    private boolean hasError(Object data) {
+        if (data instanceof TSpan) {
+            return ((TSpan) data).getErr() != 0;
+        }
+        if (data instanceof PSpan) {
+            return ((PSpan) data).getErr() != 0;
+        }
+        return false;
+    }
+
+    @Override
+    public void dispatchRequestMessage(ServerRequest serverRequest, ServerResponse serverResponse) {
+        delegate.dispatchRequestMessage(serverRequest, serverResponse);
+    }
+}
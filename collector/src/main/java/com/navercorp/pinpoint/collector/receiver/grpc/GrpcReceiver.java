@@ -56,6 +56,7 @@ public class GrpcReceiver implements InitializingBean, DisposableBean, BeanNameA
     private Executor executor;
 
     private List<Object> serviceList = new ArrayList<>();
+    private List<ServerInterceptor> serverInterceptorList = new ArrayList<>();
 
     private AddressFilter addressFilter;
     private ServerTransportFilter lifecycleTransportFilter;
@@ -88,6 +89,9 @@ public class GrpcReceiver implements InitializingBean, DisposableBean, BeanNameA
         }
         ServerInterceptor transportMetadataServerInterceptor = new TransportMetadataServerInterceptor();
         this.serverFactory.addInterceptor(transportMetadataServerInterceptor);
+        for (ServerInterceptor serverInterceptor : serverInterceptorList) {
+            this.serverFactory.addInterceptor(serverInterceptor);
+        }
 
         // Add service
         for (Object service : serviceList) {
@@ -178,6 +182,10 @@ public class GrpcReceiver implements InitializingBean, DisposableBean, BeanNameA
         this.serviceList = serviceList;
     }
 
+    public void setServerInterceptorList(List<ServerInterceptor> serverInterceptorList) {
+        this.serverInterceptorList = Assert.requireNonNull(serverInterceptorList, "serverInterceptorList must not be null");
+    }
+
     public void setLifecycleTransportFilter(ServerTransportFilter lifecycleTransportFilter) {
         this.lifecycleTransportFilter = lifecycleTransportFilter;
     }
@@ -18,9 +18,13 @@ package com.navercorp.pinpoint.collector.receiver.grpc;
 
 import com.navercorp.pinpoint.grpc.trace.PResult;
 import com.navercorp.pinpoint.io.request.ServerResponse;
+import io.grpc.Status;
+import io.grpc.StatusException;
+import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author jaehong.kim
@@ -40,4 +44,23 @@ public class GrpcServerResponse<T> implements ServerResponse<T> {
         responseObserver.onNext(message);
         responseObserver.onCompleted();
     }
-}
\ No newline at end of file
+
+    public void onError(Throwable throwable) {
+        responseObserver.onError(toStatusException(throwable));
+    }
+
+    /**
+     * Status exceptions are sent as they are, a rejected request is RESOURCE_EXHAUSTED so the agent can back off,
+     * anything else is INTERNAL without the detail of the exception.
+     */
+    public static Throwable toStatusException(Throwable throwable) {
+        if (throwable instanceof StatusException || throwable instanceof StatusRuntimeException) {
+            return throwable;
+        }
+        if (throwable instanceof RejectedExecutionException) {
+            return Status.RESOURCE_EXHAUSTED.withDescription("Server busy").asException();
+        }
+        // Avoid detailed exception
+        return Status.INTERNAL.withDescription("Bad Request").asException();
+    }
+}
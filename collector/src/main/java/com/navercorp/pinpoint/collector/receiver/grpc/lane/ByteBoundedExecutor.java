@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.lane;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed size thread pool whose queue is bounded by the bytes of the pending tasks instead of the task count.
+ * A task is always accepted while nothing is pending, so a message larger than maxBytes is not rejected forever.
+ */
+public class ByteBoundedExecutor {
+
+    private final String name;
+    private final long maxBytes;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public ByteBoundedExecutor(String name, int threadSize, long maxBytes) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        if (threadSize <= 0) {
+            throw new IllegalArgumentException("threadSize must be positive. threadSize:" + threadSize);
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive. maxBytes:" + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.executor = new ThreadPoolExecutor(threadSize, threadSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new PinpointThreadFactory("Pinpoint-GrpcLane-" + name, true));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return false if the pending bytes are over maxBytes
+     */
+    public boolean execute(Runnable command, long bytes) {
+        Objects.requireNonNull(command, "command must not be null");
+
+        final long pending = pendingBytes.addAndGet(bytes);
+        if (pending > maxBytes && pending != bytes) {
+            pendingBytes.addAndGet(-bytes);
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        try {
+            executor.execute(new BoundedTask(command, bytes));
+        } catch (RejectedExecutionException e) {
+            // shutdown
+            pendingBytes.addAndGet(-bytes);
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getPendingBytes() {
+        return pendingBytes.get();
+    }
+
+    /**
+     * @return pendingBytes / maxBytes
+     */
+    public double getSaturation() {
+        return (double) pendingBytes.get() / maxBytes;
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    private class BoundedTask implements Runnable {
+        private final Runnable command;
+        private final long bytes;
+
+        private BoundedTask(Runnable command, long bytes) {
+            this.command = command;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void run() {
+            try {
+                command.run();
+            } finally {
+                pendingBytes.addAndGet(-bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.lane;
+
+import com.google.protobuf.MessageLite;
+import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
+import com.navercorp.pinpoint.collector.receiver.grpc.GrpcServerResponse;
+import com.navercorp.pinpoint.io.request.ServerRequest;
+import com.navercorp.pinpoint.io.request.ServerResponse;
+import io.grpc.Context;
+import io.grpc.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+
+/**
+ * Hands the grpc messages over to the {@link MessageLane} of the message type.
+ * Messages are dropped while the lane is full, requests are answered with RESOURCE_EXHAUSTED.
+ */
+public class LaneDispatchHandler implements DispatchHandler {
+
+    // per message overhead of the ServerRequest, Message and task objects
+    private static final int TASK_OVERHEAD_BYTES = 128;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final DispatchHandler delegate;
+    private final MultiLaneExecutor laneExecutor;
+
+    public LaneDispatchHandler(DispatchHandler delegate, MultiLaneExecutor laneExecutor) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.laneExecutor = Objects.requireNonNull(laneExecutor, "laneExecutor must not be null");
+    }
+
+    @Override
+    public void dispatchSendMessage(final ServerRequest serverRequest) {
+        if (!laneExecutor.isEnable()) {
+            delegate.dispatchSendMessage(serverRequest);
+            return;
+        }
+
+        final MessageLane lane = getLane(serverRequest);
+        // ServerContext(agent info) is bound to the grpc Context
+        final Runnable task = Context.current().wrap(new Runnable() {
+            @Override
+            public void run() {
+                dispatchSendMessage0(serverRequest);
+            }
+        });
+        if (!laneExecutor.execute(lane, task, getBytes(serverRequest))) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("{} lane is full. drop message type:{}", lane, serverRequest.getHeader().getType());
+            }
+        }
+    }
+
+    private void dispatchSendMessage0(ServerRequest serverRequest) {
+        try {
+            delegate.dispatchSendMessage(serverRequest);
+        } catch (Exception e) {
+            logger.warn("Failed to dispatch. request={}", serverRequest, e);
+        }
+    }
+
+    @Override
+    public void dispatchRequestMessage(final ServerRequest serverRequest, final ServerResponse serverResponse) {
+        if (!laneExecutor.isEnable()) {
+            delegate.dispatchRequestMessage(serverRequest, serverResponse);
+            return;
+        }
+
+        final MessageLane lane = getLane(serverRequest);
+        final Runnable task = Context.current().wrap(new Runnable() {
+            @Override
+            public void run() {
+                dispatchRequestMessage0(serverRequest, serverResponse);
+            }
+        });
+        if (!laneExecutor.execute(lane, task, getBytes(serverRequest))) {
+            throw Status.RESOURCE_EXHAUSTED.withDescription(lane + " lane is full").asRuntimeException();
+        }
+    }
+
+    private void dispatchRequestMessage0(ServerRequest serverRequest, ServerResponse serverResponse) {
+        try {
+            delegate.dispatchRequestMessage(serverRequest, serverResponse);
+        } catch (Exception e) {
+            logger.warn("Failed to dispatch. request={}", serverRequest, e);
+            if (serverResponse instanceof GrpcServerResponse) {
+                ((GrpcServerResponse) serverResponse).onError(e);
+            }
+        }
+    }
+
+    private MessageLane getLane(ServerRequest serverRequest) {
+        return MessageLane.getLane(serverRequest.getHeader().getType());
+    }
+
+    private long getBytes(ServerRequest serverRequest) {
+        final Object data = serverRequest.getData();
+        if (data instanceof MessageLite) {
+            return TASK_OVERHEAD_BYTES + ((MessageLite) data).getSerializedSize();
+        }
+        return TASK_OVERHEAD_BYTES;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.lane;
+
+import com.navercorp.pinpoint.thrift.io.DefaultTBaseLocator;
+
+public enum MessageLane {
+    METADATA,
+    AGENT,
+    STAT,
+    SPAN;
+
+    public static MessageLane getLane(short type) {
+        switch (type) {
+            case DefaultTBaseLocator.SQLMETADATA:
+            case DefaultTBaseLocator.APIMETADATA:
+            case DefaultTBaseLocator.STRINGMETADATA:
+                return METADATA;
+            case DefaultTBaseLocator.AGENT_STAT:
+            case DefaultTBaseLocator.AGENT_STAT_BATCH:
+                return STAT;
+            case DefaultTBaseLocator.SPAN:
+            case DefaultTBaseLocator.SPANCHUNK:
+                return SPAN;
+            default:
+                return AGENT;
+        }
+    }
+}
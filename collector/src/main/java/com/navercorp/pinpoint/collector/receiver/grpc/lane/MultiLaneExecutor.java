@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.lane;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Separate worker pools and byte bounded queues for each {@link MessageLane},
+ * so a span storm does not delay agent info and metadata handling.
+ */
+public class MultiLaneExecutor implements MetricSet, DisposableBean {
+
+    private static final String GRPC_LANE = "collector.grpc.lane";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final boolean enable;
+    private final Map<MessageLane, ByteBoundedExecutor> executors = new EnumMap<>(MessageLane.class);
+
+    public MultiLaneExecutor(boolean enable,
+                             int metadataThreadSize, long metadataMaxBytes,
+                             int agentThreadSize, long agentMaxBytes,
+                             int statThreadSize, long statMaxBytes,
+                             int spanThreadSize, long spanMaxBytes) {
+        this.enable = enable;
+        if (!enable) {
+            return;
+        }
+        addLane(MessageLane.METADATA, metadataThreadSize, metadataMaxBytes);
+        addLane(MessageLane.AGENT, agentThreadSize, agentMaxBytes);
+        addLane(MessageLane.STAT, statThreadSize, statMaxBytes);
+        addLane(MessageLane.SPAN, spanThreadSize, spanMaxBytes);
+    }
+
+    private void addLane(MessageLane lane, int threadSize, long maxBytes) {
+        final String name = lane.name().toLowerCase();
+        executors.put(lane, new ByteBoundedExecutor(name, threadSize, maxBytes));
+        logger.info("Add {} lane. threadSize:{}, maxBytes:{}", name, threadSize, maxBytes);
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    /**
+     * @return false if the lane is full
+     */
+    public boolean execute(MessageLane lane, Runnable command, long bytes) {
+        Objects.requireNonNull(lane, "lane must not be null");
+        final ByteBoundedExecutor executor = executors.get(lane);
+        if (executor == null) {
+            throw new IllegalStateException("lane not enabled. lane:" + lane);
+        }
+        return executor.execute(command, bytes);
+    }
+
+    /**
+     * @return pending bytes of the lane relative to its max bytes, 0 if the lane is not enabled
+     */
+    public double getSaturation(MessageLane lane) {
+        Objects.requireNonNull(lane, "lane must not be null");
+        final ByteBoundedExecutor executor = executors.get(lane);
+        if (executor == null) {
+            return 0;
+        }
+        return executor.getSaturation();
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> gauges = new HashMap<>();
+        for (final ByteBoundedExecutor executor : executors.values()) {
+            final String prefix = GRPC_LANE + "." + executor.getName();
+            gauges.put(prefix + ".saturation", new Gauge<Double>() {
+                @Override
+                public Double getValue() {
+                    return executor.getSaturation();
+                }
+            });
+            gauges.put(prefix + ".pending.bytes", new Gauge<Long>() {
+                @Override
+                public Long getValue() {
+                    return executor.getPendingBytes();
+                }
+            });
+            gauges.put(prefix + ".queue.size", new Gauge<Integer>() {
+                @Override
+                public Integer getValue() {
+                    return executor.getQueueSize();
+                }
+            });
+            gauges.put(prefix + ".active.count", new Gauge<Integer>() {
+                @Override
+                public Integer getValue() {
+                    return executor.getActiveCount();
+                }
+            });
+            gauges.put(prefix + ".rejected.count", new Gauge<Long>() {
+                @Override
+                public Long getValue() {
+                    return executor.getRejectedCount();
+                }
+            });
+        }
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (ByteBoundedExecutor executor : executors.values()) {
+            executor.shutdown();
+        }
+        for (ByteBoundedExecutor executor : executors.values()) {
+            if (!executor.awaitTermination(3000, TimeUnit.MILLISECONDS)) {
+                logger.warn("{} lane not terminated", executor.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.quota;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Messages/s and bytes/s quotas for each agentId and each applicationName.
+ * A rate of 0 or less means no quota.
+ */
+public class IngestionQuota {
+
+    private final String name;
+    private final boolean enable;
+
+    private final long agentMessagesPerSecond;
+    private final long agentBytesPerSecond;
+    private final long applicationMessagesPerSecond;
+    private final long applicationBytesPerSecond;
+
+    private final ConcurrentMap<String, Quota> agentQuotas = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Quota> applicationQuotas = new ConcurrentHashMap<>();
+
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final AtomicLong throttledNanos = new AtomicLong();
+
+    public IngestionQuota(String name, boolean enable, long agentMessagesPerSecond, long agentBytesPerSecond,
+                          long applicationMessagesPerSecond, long applicationBytesPerSecond) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.enable = enable;
+        this.agentMessagesPerSecond = agentMessagesPerSecond;
+        this.agentBytesPerSecond = agentBytesPerSecond;
+        this.applicationMessagesPerSecond = applicationMessagesPerSecond;
+        this.applicationBytesPerSecond = applicationBytesPerSecond;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void consume(String agentId, String applicationName, long bytes) {
+        final long currentNanos = System.nanoTime();
+        getAgentQuota(agentId).consume(bytes, currentNanos);
+        getApplicationQuota(applicationName).consume(bytes, currentNanos);
+    }
+
+    /**
+     * @return nanos to wait before reading the next message of the agent
+     */
+    public long getDelayNanos(String agentId, String applicationName) {
+        final long currentNanos = System.nanoTime();
+        final long agentDelay = getAgentQuota(agentId).getDelayNanos(currentNanos);
+        final long applicationDelay = getApplicationQuota(applicationName).getDelayNanos(currentNanos);
+        return Math.max(agentDelay, applicationDelay);
+    }
+
+    public void throttled(String agentId, String applicationName, long delayNanos) {
+        throttledCount.incrementAndGet();
+        throttledNanos.addAndGet(delayNanos);
+        getAgentQuota(agentId).throttledCount.incrementAndGet();
+        getApplicationQuota(applicationName).throttledCount.incrementAndGet();
+    }
+
+    private Quota getAgentQuota(String agentId) {
+        Objects.requireNonNull(agentId, "agentId must not be null");
+        return getQuota(agentQuotas, agentId, agentMessagesPerSecond, agentBytesPerSecond);
+    }
+
+    private Quota getApplicationQuota(String applicationName) {
+        Objects.requireNonNull(applicationName, "applicationName must not be null");
+        return getQuota(applicationQuotas, applicationName, applicationMessagesPerSecond, applicationBytesPerSecond);
+    }
+
+    private Quota getQuota(ConcurrentMap<String, Quota> quotas, String key, long messagesPerSecond, long bytesPerSecond) {
+        final Quota quota = quotas.get(key);
+        if (quota != null) {
+            return quota;
+        }
+        return quotas.computeIfAbsent(key, k -> new Quota(messagesPerSecond, bytesPerSecond, System.nanoTime()));
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    public long getThrottledMillis() {
+        return throttledNanos.get() / 1000000;
+    }
+
+    public Map<String, Long> getThrottledCountForEachAgent() {
+        return getThrottledCount(agentQuotas);
+    }
+
+    public Map<String, Long> getThrottledCountForEachApplication() {
+        return getThrottledCount(applicationQuotas);
+    }
+
+    private Map<String, Long> getThrottledCount(Map<String, Quota> quotas) {
+        final Map<String, Long> result = new HashMap<>();
+        for (Map.Entry<String, Quota> entry : quotas.entrySet()) {
+            final long count = entry.getValue().throttledCount.get();
+            if (count > 0) {
+                result.put(entry.getKey(), count);
+            }
+        }
+        return result;
+    }
+
+    private static class Quota {
+        private final TokenBucket messageBucket;
+        private final TokenBucket byteBucket;
+        private final AtomicLong throttledCount = new AtomicLong();
+
+        private Quota(long messagesPerSecond, long bytesPerSecond, long currentNanos) {
+            this.messageBucket = messagesPerSecond > 0 ? new TokenBucket(messagesPerSecond, currentNanos) : null;
+            this.byteBucket = bytesPerSecond > 0 ? new TokenBucket(bytesPerSecond, currentNanos) : null;
+        }
+
+        private void consume(long bytes, long currentNanos) {
+            if (messageBucket != null) {
+                messageBucket.consume(1, currentNanos);
+            }
+            if (byteBucket != null) {
+                byteBucket.consume(bytes, currentNanos);
+            }
+        }
+
+        private long getDelayNanos(long currentNanos) {
+            long delay = 0;
+            if (messageBucket != null) {
+                delay = messageBucket.getDelayNanos(currentNanos);
+            }
+            if (byteBucket != null) {
+                delay = Math.max(delay, byteBucket.getDelayNanos(currentNanos));
+            }
+            return delay;
+        }
+    }
+}
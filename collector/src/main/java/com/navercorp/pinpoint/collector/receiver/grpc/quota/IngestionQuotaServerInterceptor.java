@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.quota;
+
+import com.google.protobuf.MessageLite;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.grpc.AgentHeaderFactory;
+import com.navercorp.pinpoint.grpc.server.ServerContext;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces {@link IngestionQuota} with grpc flow control.
+ * <p>
+ * Received messages are charged to the quota of the agent and its application.
+ * While a quota is in debt, the request for the next message is delayed, so the agent's stream
+ * is held back by the http/2 flow control window instead of being read and dropped.
+ */
+public class IngestionQuotaServerInterceptor implements ServerInterceptor, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final IngestionQuota ingestionQuota;
+    private final ScheduledExecutorService scheduler;
+
+    public IngestionQuotaServerInterceptor(IngestionQuota ingestionQuota) {
+        this.ingestionQuota = Objects.requireNonNull(ingestionQuota, "ingestionQuota must not be null");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new PinpointThreadFactory("Pinpoint-IngestionQuota-" + ingestionQuota.getName(), true));
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        if (!ingestionQuota.isEnable()) {
+            return next.startCall(call, headers);
+        }
+        final AgentHeaderFactory.Header header = ServerContext.getAgentInfo();
+        if (header == null) {
+            return next.startCall(call, headers);
+        }
+
+        final String agentId = header.getAgentId();
+        final String applicationName = header.getApplicationName();
+        final ServerCall<ReqT, RespT> throttledCall = new ThrottledServerCall<>(call, agentId, applicationName);
+        final ServerCall.Listener<ReqT> listener = next.startCall(throttledCall, headers);
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                ingestionQuota.consume(agentId, applicationName, getSerializedSize(message));
+                super.onMessage(message);
+            }
+        };
+    }
+
+    private long getSerializedSize(Object message) {
+        if (message instanceof MessageLite) {
+            return ((MessageLite) message).getSerializedSize();
+        }
+        return 0;
+    }
+
+    private class ThrottledServerCall<ReqT, RespT> extends ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT> {
+
+        private final String agentId;
+        private final String applicationName;
+
+        private ThrottledServerCall(ServerCall<ReqT, RespT> delegate, String agentId, String applicationName) {
+            super(delegate);
+            this.agentId = agentId;
+            this.applicationName = applicationName;
+        }
+
+        @Override
+        public void request(final int numMessages) {
+            final long delayNanos = ingestionQuota.getDelayNanos(agentId, applicationName);
+            if (delayNanos <= 0) {
+                super.request(numMessages);
+                return;
+            }
+            ingestionQuota.throttled(agentId, applicationName, delayNanos);
+            try {
+                scheduler.schedule(() -> request0(numMessages), delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                super.request(numMessages);
+            }
+        }
+
+        private void request0(int numMessages) {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                request(numMessages);
+            } catch (Exception e) {
+                logger.info("Failed to request. agentId:{} Caused:{}", agentId, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.quota;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled at {@code ratePerSecond} holding at most one second of tokens.
+ * Tokens are consumed after the fact, so the bucket may go into debt. The debt is paid back as a delay.
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long ratePerSecond;
+
+    private double tokens;
+    private long lastRefillTime;
+
+    public TokenBucket(long ratePerSecond, long currentNanos) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be greater than 0");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.tokens = ratePerSecond;
+        this.lastRefillTime = currentNanos;
+    }
+
+    public synchronized void consume(long amount, long currentNanos) {
+        refill(currentNanos);
+        tokens -= amount;
+    }
+
+    /**
+     * @return nanos to wait until the bucket is out of debt
+     */
+    public synchronized long getDelayNanos(long currentNanos) {
+        refill(currentNanos);
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens * NANOS_PER_SECOND / ratePerSecond);
+    }
+
+    private void refill(long currentNanos) {
+        final long elapsed = currentNanos - lastRefillTime;
+        if (elapsed <= 0) {
+            return;
+        }
+        lastRefillTime = currentNanos;
+        tokens = Math.min(ratePerSecond, tokens + (double) elapsed * ratePerSecond / NANOS_PER_SECOND);
+    }
+
+    public long getRatePerSecond() {
+        return ratePerSecond;
+    }
+}
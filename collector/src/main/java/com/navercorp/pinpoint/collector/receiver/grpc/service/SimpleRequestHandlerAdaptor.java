@@ -22,9 +22,6 @@ import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.io.request.Message;
 import com.navercorp.pinpoint.io.request.ServerRequest;
 import com.navercorp.pinpoint.io.request.ServerResponse;
-import io.grpc.Status;
-import io.grpc.StatusException;
-import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,12 +50,7 @@ public class SimpleRequestHandlerAdaptor<T> {
             this.dispatchHandler.dispatchRequestMessage(request, response);
         } catch (Exception e) {
             logger.warn("Failed to request. message={}", message, e);
-            if (e instanceof StatusException || e instanceof StatusRuntimeException) {
-                responseObserver.onError(e);
-            } else {
-                // Avoid detailed exception
-                responseObserver.onError(Status.INTERNAL.withDescription("Bad Request").asException());
-            }
+            responseObserver.onError(GrpcServerResponse.toStatusException(e));
         }
     }
 }
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.collector.receiver.thrift;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.collector.receiver.thrift.udp.BaseUDPHandlerFactory;
 import com.navercorp.pinpoint.collector.receiver.thrift.udp.NetworkAvailabilityCheckPacketFilter;
+import com.navercorp.pinpoint.collector.receiver.thrift.udp.NioUDPReceiver;
 import com.navercorp.pinpoint.collector.receiver.thrift.udp.PacketHandlerFactory;
 import com.navercorp.pinpoint.collector.receiver.thrift.udp.TBaseFilter;
 import com.navercorp.pinpoint.collector.receiver.thrift.udp.TBaseFilterChain;
@@ -28,6 +29,7 @@ import com.navercorp.pinpoint.collector.util.DefaultObjectPool;
 import com.navercorp.pinpoint.collector.util.ObjectPool;
 import com.navercorp.pinpoint.collector.util.ObjectPoolFactory;
 import com.navercorp.pinpoint.common.server.util.AddressFilter;
+import com.navercorp.pinpoint.common.util.CpuUtils;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
@@ -53,12 +55,18 @@ public class UDPReceiverBean implements InitializingBean, DisposableBean, BeanNa
     private int udpBufferSize;
 
     private UDPReceiver udpReceiver;
+    private NioUDPReceiver nioUdpReceiver;
     private Executor executor;
 
     private DispatchHandler dispatchHandler;
     private AddressFilter addressFilter;
     private int datagramPoolSize = 1024*4;
 
+    private boolean nioEnable = false;
+    // 0 : cpu count
+    private int socketCount = 0;
+    private int batchSize = 64;
+
 
     @Override
     public void afterPropertiesSet() throws Exception {
@@ -71,10 +79,26 @@ public class UDPReceiverBean implements InitializingBean, DisposableBean, BeanNa
         Objects.requireNonNull(addressFilter, "addressFilter must not be null");
         Objects.requireNonNull(executor, "executor must not be null");
 
+        if (nioEnable) {
+            nioUdpReceiver = createNioUdpReceiver(beanName, this.bindIp, bindPort, udpBufferSize, executor, dispatchHandler, addressFilter);
+            nioUdpReceiver.start();
+            return;
+        }
         udpReceiver = createUdpReceiver(beanName, this.bindIp, bindPort, udpBufferSize, executor, dispatchHandler, addressFilter);
         udpReceiver.start();
     }
 
+    private NioUDPReceiver createNioUdpReceiver(String name, String bindIp, int port, int udpBufferSize, Executor executor, DispatchHandler dispatchHandler, AddressFilter ignoreAddressFilter) {
+        TBaseFilterChain filterChain = newTBaseFilterChain();
+        @SuppressWarnings("unchecked")
+        PacketHandlerFactory<DatagramPacket> packetHandlerFactory = new BaseUDPHandlerFactory<DatagramPacket>(dispatchHandler, filterChain, ignoreAddressFilter);
+
+        InetSocketAddress bindAddress = new InetSocketAddress(bindIp, port);
+
+        final int socketCount = this.socketCount > 0 ? this.socketCount : CpuUtils.cpuCount();
+        return new NioUDPReceiver(name, packetHandlerFactory, executor, udpBufferSize, bindAddress, socketCount, batchSize);
+    }
+
 
     private UDPReceiver createUdpReceiver(String name, String bindIp, int port, int udpBufferSize, Executor executor, DispatchHandler dispatchHandler, AddressFilter ignoreAddressFilter) {
         TBaseFilterChain filterChain = newTBaseFilterChain();
@@ -104,6 +128,9 @@ public class UDPReceiverBean implements InitializingBean, DisposableBean, BeanNa
         if (udpReceiver != null) {
             udpReceiver.shutdown();
         }
+        if (nioUdpReceiver != null) {
+            nioUdpReceiver.shutdown();
+        }
     }
 
     public void setExecutor(Executor executor) {
@@ -134,6 +161,18 @@ public class UDPReceiverBean implements InitializingBean, DisposableBean, BeanNa
         this.datagramPoolSize = datagramPoolSize;
     }
 
+    public void setNioEnable(boolean nioEnable) {
+        this.nioEnable = nioEnable;
+    }
+
+    public void setSocketCount(int socketCount) {
+        this.socketCount = socketCount;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     @Override
     public void setBeanName(String name) {
         this.beanName = name;
@@ -23,6 +23,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 
 /**
  * @author emeroad
@@ -49,6 +51,12 @@ public class NetworkAvailabilityCheckPacketFilter<T extends SocketAddress> imple
     private void responseOK(DatagramSocket socket, T remoteHostAddress) {
         try {
             byte[] okBytes = NetworkAvailabilityCheckPacket.DATA_OK;
+            final DatagramChannel channel = socket.getChannel();
+            if (channel != null) {
+                // socket adaptor of a non-blocking channel can't send
+                channel.send(ByteBuffer.wrap(okBytes), remoteHostAddress);
+                return;
+            }
             DatagramPacket pongPacket = new DatagramPacket(okBytes, okBytes.length, remoteHostAddress);
             socket.send(pongPacket);
         } catch (IOException e) {
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.thrift.udp;
+
+import com.navercorp.pinpoint.collector.util.DatagramPacketFactory;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Udp receiver reading from several non-blocking {@link DatagramChannel}s bound to the same port with SO_REUSEPORT.
+ * <p>
+ * Each channel has its own io thread and direct read buffer, so the kernel spreads the packets over the sockets
+ * instead of every io thread contending on a single socket.
+ * Packets are handed to the worker in batches of up to {@code batchSize}.
+ * Falls back to a single channel if SO_REUSEPORT is not supported by the runtime (JDK 9+ is required).
+ */
+public class NioUDPReceiver {
+
+    private static final SocketOption<Boolean> SO_REUSEPORT = findReusePortOption();
+
+    private final Logger logger;
+
+    private final String name;
+
+    private final InetSocketAddress bindAddress;
+    private final int receiverBufferSize;
+    private final int socketCount;
+    private final int batchSize;
+
+    private final Executor worker;
+
+    private final PacketHandlerFactory<DatagramPacket> packetHandlerFactory;
+
+    private final List<IoWorker> ioWorkers = new ArrayList<>();
+    private ExecutorService ioExecutor;
+
+    private final AtomicBoolean state = new AtomicBoolean(true);
+
+    private final AtomicLong rejectedPacketCount = new AtomicLong();
+
+    public NioUDPReceiver(String name, PacketHandlerFactory<DatagramPacket> packetHandlerFactory, Executor worker,
+                          int receiverBufferSize, InetSocketAddress bindAddress, int socketCount, int batchSize) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.logger = LoggerFactory.getLogger(name);
+
+        this.bindAddress = Objects.requireNonNull(bindAddress, "bindAddress must not be null");
+        this.packetHandlerFactory = Objects.requireNonNull(packetHandlerFactory, "packetHandlerFactory must not be null");
+        this.worker = Objects.requireNonNull(worker, "worker must not be null");
+
+        Assert.isTrue(receiverBufferSize > 0, "receiverBufferSize must be greater than 0");
+        Assert.isTrue(socketCount > 0, "socketCount must be greater than 0");
+        Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+        this.receiverBufferSize = receiverBufferSize;
+        this.socketCount = getSupportedSocketCount(socketCount);
+        this.batchSize = batchSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SocketOption<Boolean> findReusePortOption() {
+        try {
+            final Field field = StandardSocketOptions.class.getField("SO_REUSEPORT");
+            return (SocketOption<Boolean>) field.get(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private int getSupportedSocketCount(int socketCount) {
+        if (socketCount > 1 && SO_REUSEPORT == null) {
+            logger.warn("SO_REUSEPORT not supported. socketCount:{} -> 1", socketCount);
+            return 1;
+        }
+        return socketCount;
+    }
+
+    public void start() {
+        if (logger.isInfoEnabled()) {
+            logger.info("{} start() started", name);
+        }
+
+        try {
+            for (int i = 0; i < socketCount; i++) {
+                final DatagramChannel channel = openChannel();
+                ioWorkers.add(new IoWorker(channel, Selector.open()));
+            }
+        } catch (IOException ex) {
+            closeIoWorkers();
+            throw new IllegalStateException("Socket bind Fail. port:" + bindAddress.getPort() + " Caused:" + ex.getMessage(), ex);
+        }
+
+        final ThreadFactory threadFactory = new PinpointThreadFactory(name + "-Io", true);
+        this.ioExecutor = Executors.newFixedThreadPool(ioWorkers.size(), threadFactory);
+        for (IoWorker ioWorker : ioWorkers) {
+            ioExecutor.execute(ioWorker);
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("{} start() completed. sockets:{}, batchSize:{}", name, ioWorkers.size(), batchSize);
+        }
+    }
+
+    private DatagramChannel openChannel() throws IOException {
+        final DatagramChannel channel = DatagramChannel.open();
+        boolean success = false;
+        try {
+            if (socketCount > 1) {
+                channel.setOption(SO_REUSEPORT, Boolean.TRUE);
+            }
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, receiverBufferSize);
+            if (logger.isWarnEnabled()) {
+                final int checkReceiveBufferSize = channel.getOption(StandardSocketOptions.SO_RCVBUF);
+                if (receiverBufferSize != checkReceiveBufferSize) {
+                    logger.warn("DatagramChannel.setOption(SO_RCVBUF) error. {}!={}", receiverBufferSize, checkReceiveBufferSize);
+                }
+            }
+            logger.info("DatagramChannel.bind() {}/{}", bindAddress.getHostString(), bindAddress.getPort());
+            channel.bind(bindAddress);
+            channel.configureBlocking(false);
+            success = true;
+            return channel;
+        } finally {
+            if (!success) {
+                channel.close();
+            }
+        }
+    }
+
+    private void dispatch(DatagramSocket localSocket, List<DatagramPacket> batch) {
+        try {
+            worker.execute(new BatchTask(localSocket, packetHandlerFactory, batch));
+        } catch (RejectedExecutionException e) {
+            final long rejectedCount = rejectedPacketCount.addAndGet(batch.size());
+            if (logger.isWarnEnabled()) {
+                logger.warn("packet batch rejected. batchSize:{}, totalRejected:{}", batch.size(), rejectedCount);
+            }
+        }
+    }
+
+    public long getRejectedPacketCount() {
+        return rejectedPacketCount.get();
+    }
+
+    int getSocketCount() {
+        return socketCount;
+    }
+
+    public void shutdown() {
+        if (logger.isInfoEnabled()) {
+            logger.info("{} shutdown() started", this.name);
+        }
+
+        state.set(false);
+        closeIoWorkers();
+        if (ioExecutor != null) {
+            ioExecutor.shutdown();
+            try {
+                ioExecutor.awaitTermination(1000 * 10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                logger.info("{}.shutdown() Interrupted", name, e);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("{} shutdown() completed", this.name);
+        }
+    }
+
+    private void closeIoWorkers() {
+        for (IoWorker ioWorker : ioWorkers) {
+            ioWorker.close();
+        }
+    }
+
+    private class IoWorker implements Runnable {
+
+        private final DatagramChannel channel;
+        private final Selector selector;
+        // reused for every read of this channel. the packet is copied out before the next read
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(DatagramPacketFactory.UDP_MAX_PACKET_LENGTH);
+
+        private IoWorker(DatagramChannel channel, Selector selector) {
+            this.channel = channel;
+            this.selector = selector;
+        }
+
+        @Override
+        public void run() {
+            final DatagramSocket localSocket = channel.socket();
+            if (logger.isInfoEnabled()) {
+                logger.info("start ioThread localAddress:{}, IoThread:{}", localSocket.getLocalSocketAddress(), Thread.currentThread().getName());
+            }
+            try {
+                channel.register(selector, SelectionKey.OP_READ);
+                while (state.get()) {
+                    if (selector.select(1000 * 5) == 0) {
+                        continue;
+                    }
+                    selector.selectedKeys().clear();
+                    readBatches(localSocket);
+                }
+            } catch (ClosedSelectorException e) {
+                // shutdown
+            } catch (IOException e) {
+                if (state.get()) {
+                    logger.error("IoError, Caused:{}", e.getMessage(), e);
+                }
+            }
+
+            if (logger.isInfoEnabled()) {
+                logger.info("stop ioThread localAddress:{}, IoThread:{}", localSocket.getLocalSocketAddress(), Thread.currentThread().getName());
+            }
+        }
+
+        private void readBatches(DatagramSocket localSocket) throws IOException {
+            List<DatagramPacket> batch = new ArrayList<>(batchSize);
+            while (true) {
+                final DatagramPacket packet = read0();
+                if (packet == null) {
+                    break;
+                }
+                if (packet.getLength() == 0) {
+                    // L4 health check packet
+                    continue;
+                }
+                batch.add(packet);
+                if (batch.size() >= batchSize) {
+                    dispatch(localSocket, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                dispatch(localSocket, batch);
+            }
+        }
+
+        private DatagramPacket read0() throws IOException {
+            readBuffer.clear();
+            final SocketAddress remoteAddress = channel.receive(readBuffer);
+            if (remoteAddress == null) {
+                return null;
+            }
+            readBuffer.flip();
+            final byte[] data = new byte[readBuffer.remaining()];
+            readBuffer.get(data);
+            return new DatagramPacket(data, data.length, remoteAddress);
+        }
+
+        private void close() {
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("selector close error. Caused:{}", e.getMessage(), e);
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("channel close error. Caused:{}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private static class BatchTask implements Runnable {
+        private final DatagramSocket localSocket;
+        private final PacketHandlerFactory<DatagramPacket> packetHandlerFactory;
+        private final List<DatagramPacket> batch;
+
+        private BatchTask(DatagramSocket localSocket, PacketHandlerFactory<DatagramPacket> packetHandlerFactory, List<DatagramPacket> batch) {
+            this.localSocket = localSocket;
+            this.packetHandlerFactory = packetHandlerFactory;
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            final PacketHandler<DatagramPacket> packetHandler = packetHandlerFactory.createPacketHandler();
+            for (DatagramPacket packet : batch) {
+                packetHandler.receive(localSocket, packet);
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,6 +71,9 @@ public class HBaseAgentStatService implements AgentStatService {
     @Autowired
     private AgentStatDaoV2<DirectBufferBo> directBufferDao;
 
+    @Autowired
+    private AgentStatDaoV2<SpoolBo> spoolDao;
+
     @Override
     public void save(AgentStatBo agentStatBo) {
         final String agentId = agentStatBo.getAgentId();
@@ -84,6 +88,7 @@ public class HBaseAgentStatService implements AgentStatService {
             this.deadlockDao.insert(agentId, agentStatBo.getDeadlockThreadCountBos());
             this.fileDescriptorDao.insert(agentId, agentStatBo.getFileDescriptorBos());
             this.directBufferDao.insert(agentId, agentStatBo.getDirectBufferBos());
+            this.spoolDao.insert(agentId, agentStatBo.getSpoolBos());
         } catch (Exception e) {
             logger.warn("Error inserting AgentStatBo. Caused:{}", e.getMessage(), e);
         }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventComparator;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.util.TransactionId;
+import com.navercorp.pinpoint.io.SpanVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Holds the synchronous span chunks of a span for up to {@code timeoutMillis},
+ * so their span events can be written in the trace cell of the span instead of one cell per chunk.
+ * <p>
+ * The profiler flushes the chunks of a long transaction before the span itself, so the chunks wait for the span.
+ * Chunks whose span did not arrive in time are handed to {@code chunkWriter} as they are.
+ * The keys of merged spans are remembered for {@code timeoutMillis}, so chunks arriving after their span was merged are not buffered
+ * but written as they are by the caller. A late chunk of a span that had no chunk buffered waits for the timeout.
+ * Async chunks are never buffered as the web does not merge them into the span.
+ */
+public class SpanChunkReassemblyBuffer {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Consumer<SpanChunkBo> chunkWriter;
+    private final long timeoutMillis;
+    private final int maxSize;
+
+    private final ConcurrentMap<Key, Entry> buffer = new ConcurrentHashMap<>();
+    private final AtomicInteger bufferedCount = new AtomicInteger();
+    // key -> merge time
+    private final ConcurrentMap<Key, Long> mergedKeys = new ConcurrentHashMap<>();
+
+    private final AtomicLong mergedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong lateCount = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler;
+
+    public SpanChunkReassemblyBuffer(Consumer<SpanChunkBo> chunkWriter, long timeoutMillis, int maxSize) {
+        this.chunkWriter = Objects.requireNonNull(chunkWriter, "chunkWriter must not be null");
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("timeoutMillis must be greater than 0");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.maxSize = maxSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new PinpointThreadFactory("Pinpoint-SpanChunkReassembly", true));
+    }
+
+    public void start() {
+        final long checkInterval = Math.max(timeoutMillis / 2, 10);
+        scheduler.scheduleWithFixedDelay(() -> expire(System.currentTimeMillis() - timeoutMillis), checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return false if the chunk was not buffered and should be written by the caller
+     */
+    public boolean offer(SpanChunkBo spanChunkBo) {
+        Objects.requireNonNull(spanChunkBo, "spanChunkBo must not be null");
+        if (spanChunkBo.isAsyncSpanChunk()) {
+            return false;
+        }
+        final Key key = new Key(spanChunkBo.getTransactionId(), spanChunkBo.getSpanId());
+        if (mergedKeys.containsKey(key)) {
+            lateCount.incrementAndGet();
+            return false;
+        }
+        if (bufferedCount.incrementAndGet() > maxSize) {
+            bufferedCount.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        final long currentTime = System.currentTimeMillis();
+        buffer.compute(key, (k, entry) -> {
+            if (entry == null) {
+                entry = new Entry(currentTime);
+            }
+            entry.spanChunkList.add(spanChunkBo);
+            return entry;
+        });
+        return true;
+    }
+
+    /**
+     * Moves the span events of the buffered chunks into the span.
+     *
+     * @return the number of merged chunks
+     */
+    public int merge(SpanBo spanBo) {
+        Objects.requireNonNull(spanBo, "spanBo must not be null");
+        final Key key = new Key(spanBo.getTransactionId(), spanBo.getSpanId());
+        final Entry entry = buffer.remove(key);
+        if (entry == null) {
+            return 0;
+        }
+        if (mergedKeys.size() < maxSize) {
+            mergedKeys.put(key, System.currentTimeMillis());
+        }
+        final List<SpanChunkBo> spanChunkList = entry.spanChunkList;
+        bufferedCount.addAndGet(-spanChunkList.size());
+
+        final List<SpanEventBo> spanEventList = spanBo.getSpanEventBoList();
+        int merged = 0;
+        for (SpanChunkBo spanChunkBo : spanChunkList) {
+            if (moveSpanEvents(spanChunkBo, spanBo.getStartTime(), spanEventList)) {
+                merged++;
+            } else {
+                chunkWriter.accept(spanChunkBo);
+            }
+        }
+        spanEventList.sort(SpanEventComparator.INSTANCE);
+        mergedCount.addAndGet(merged);
+        return merged;
+    }
+
+    private boolean moveSpanEvents(SpanChunkBo spanChunkBo, long spanStartTime, List<SpanEventBo> spanEventList) {
+        final List<SpanEventBo> chunkEventList = spanChunkBo.getSpanEventBoList();
+        if (spanChunkBo.getVersion() != SpanVersion.TRACE_V2) {
+            spanEventList.addAll(chunkEventList);
+            return true;
+        }
+        // startElapsed of a v2 chunk event is relative to the keyTime of the chunk, not to the start time of the span
+        final long keyTimeOffset = spanChunkBo.getKeyTime() - spanStartTime;
+        for (SpanEventBo spanEventBo : chunkEventList) {
+            final long startElapsed = keyTimeOffset + spanEventBo.getStartElapsed();
+            if (startElapsed < 0 || startElapsed > Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        for (SpanEventBo spanEventBo : chunkEventList) {
+            spanEventBo.setStartElapsed((int) (keyTimeOffset + spanEventBo.getStartElapsed()));
+        }
+        spanEventList.addAll(chunkEventList);
+        return true;
+    }
+
+    void expire(long expireTime) {
+        mergedKeys.values().removeIf(mergeTime -> mergeTime <= expireTime);
+
+        final Iterator<Map.Entry<Key, Entry>> iterator = buffer.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Key, Entry> mapEntry = iterator.next();
+            final Entry entry = mapEntry.getValue();
+            if (entry.createTime > expireTime) {
+                continue;
+            }
+            if (buffer.remove(mapEntry.getKey(), entry)) {
+                flush(entry);
+                expiredCount.addAndGet(entry.spanChunkList.size());
+            }
+        }
+    }
+
+    private void flush(Entry entry) {
+        bufferedCount.addAndGet(-entry.spanChunkList.size());
+        for (SpanChunkBo spanChunkBo : entry.spanChunkList) {
+            try {
+                chunkWriter.accept(spanChunkBo);
+            } catch (Exception e) {
+                logger.warn("Failed to write span chunk. transactionId:{} Caused:{}", spanChunkBo.getTransactionId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        expire(Long.MAX_VALUE);
+        logger.info("SpanChunkReassemblyBuffer stopped. merged:{}, expired:{}, rejected:{}, late:{}", mergedCount.get(), expiredCount.get(), rejectedCount.get(), lateCount.get());
+    }
+
+    public int getBufferedCount() {
+        return bufferedCount.get();
+    }
+
+    public long getMergedCount() {
+        return mergedCount.get();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getLateCount() {
+        return lateCount.get();
+    }
+
+    private static final class Key {
+        private final TransactionId transactionId;
+        private final long spanId;
+
+        private Key(TransactionId transactionId, long spanId) {
+            this.transactionId = Objects.requireNonNull(transactionId, "transactionId must not be null");
+            this.spanId = spanId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key key = (Key) o;
+
+            if (spanId != key.spanId) return false;
+            return transactionId.equals(key.transactionId);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = transactionId.hashCode();
+            result = 31 * result + (int) (spanId ^ (spanId >>> 32));
+            return result;
+        }
+    }
+
+    private static final class Entry {
+        private final long createTime;
+        // modified only inside ConcurrentMap.compute()
+        private final List<SpanChunkBo> spanChunkList = new ArrayList<>(4);
+
+        private Entry(long createTime) {
+            this.createTime = createTime;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.collector.dao.ApplicationTraceIndexDao;
+import com.navercorp.pinpoint.collector.dao.TraceDao;
+import com.navercorp.pinpoint.collector.monitor.HbaseBatchWriteMetrics;
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects spans for up to {@code flushIntervalMillis} or {@code batchSize} spans
+ * and writes the trace and application trace index of the whole batch with one list put per table.
+ * <p>
+ * Spans are written through by the calling thread when the queue is full or the batcher is stopped.
+ */
+public class SpanInsertBatcher {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final TraceDao traceDao;
+    private final ApplicationTraceIndexDao applicationTraceIndexDao;
+    private final HbaseBatchWriteMetrics metrics;
+
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<SpanBo> queue;
+
+    private final Thread flushThread;
+    private volatile boolean running = true;
+
+    public SpanInsertBatcher(TraceDao traceDao, ApplicationTraceIndexDao applicationTraceIndexDao, HbaseBatchWriteMetrics metrics,
+                             int batchSize, long flushIntervalMillis, int queueSize) {
+        this.traceDao = Objects.requireNonNull(traceDao, "traceDao must not be null");
+        this.applicationTraceIndexDao = Objects.requireNonNull(applicationTraceIndexDao, "applicationTraceIndexDao must not be null");
+        this.metrics = Objects.requireNonNull(metrics, "metrics must not be null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("flushIntervalMillis must not be negative");
+        }
+        if (queueSize < batchSize) {
+            throw new IllegalArgumentException("queueSize must not be less than batchSize");
+        }
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.queue = new LinkedBlockingQueue<>(queueSize);
+
+        this.flushThread = new PinpointThreadFactory("Pinpoint-SpanInsertBatcher", true).newThread(new Runnable() {
+            @Override
+            public void run() {
+                flushLoop();
+            }
+        });
+    }
+
+    public void start() {
+        flushThread.start();
+    }
+
+    public void insert(SpanBo spanBo) {
+        Objects.requireNonNull(spanBo, "spanBo must not be null");
+        if (!running || !queue.offer(spanBo)) {
+            write(Collections.singletonList(spanBo));
+        }
+    }
+
+    private void flushLoop() {
+        final List<SpanBo> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                final SpanBo first = queue.poll(1000, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(List<SpanBo> batch) throws InterruptedException {
+        final long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.size() >= batchSize) {
+                return;
+            }
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return;
+            }
+            final SpanBo next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<SpanBo> batch) {
+        long startTime = System.nanoTime();
+        try {
+            traceDao.insert(batch);
+        } catch (Exception e) {
+            logger.warn("Failed to insert span batch. size:{} Caused:{}", batch.size(), e.getMessage(), e);
+        }
+        metrics.update(HBaseTables.TRACE_V2_STR, batch.size(), System.nanoTime() - startTime);
+
+        startTime = System.nanoTime();
+        try {
+            applicationTraceIndexDao.insert(batch);
+        } catch (Exception e) {
+            logger.warn("Failed to insert application trace index batch. size:{} Caused:{}", batch.size(), e.getMessage(), e);
+        }
+        metrics.update(HBaseTables.APPLICATION_TRACE_INDEX_STR, batch.size(), System.nanoTime() - startTime);
+    }
+
+    public void stop() {
+        this.running = false;
+        try {
+            flushThread.join(3000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // flush thread did not finish in time
+        final List<SpanBo> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+}
@@ -19,17 +19,25 @@ package com.navercorp.pinpoint.collector.service;
 import com.navercorp.pinpoint.collector.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.collector.dao.HostApplicationMapDao;
 import com.navercorp.pinpoint.collector.dao.TraceDao;
+import com.navercorp.pinpoint.collector.monitor.HbaseBatchWriteMetrics;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.grpc.trace.PMessageEvent;
+import com.navercorp.pinpoint.grpc.trace.PNextEvent;
+import com.navercorp.pinpoint.grpc.trace.PSpanEvent;
 import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 @Service
@@ -51,7 +59,75 @@ public class TraceService {
     @Autowired
     private ServiceTypeRegistryService registry;
 
+    @Autowired(required = false)
+    private HbaseBatchWriteMetrics hbaseBatchWriteMetrics;
+
+    @Value("#{pinpoint_collector_properties['collector.span.batch.enable'] ?: false}")
+    private boolean batchEnable;
+
+    @Value("#{pinpoint_collector_properties['collector.span.batch.size'] ?: 100}")
+    private int batchSize;
+
+    @Value("#{pinpoint_collector_properties['collector.span.batch.flush.interval'] ?: 5}")
+    private long batchFlushInterval;
+
+    @Value("#{pinpoint_collector_properties['collector.span.batch.queue.size'] ?: 10240}")
+    private int batchQueueSize;
+
+    @Value("#{pinpoint_collector_properties['collector.span.chunk.reassembly.enable'] ?: false}")
+    private boolean reassemblyEnable;
+
+    @Value("#{pinpoint_collector_properties['collector.span.chunk.reassembly.timeout'] ?: 3000}")
+    private long reassemblyTimeout;
+
+    @Value("#{pinpoint_collector_properties['collector.span.chunk.reassembly.max.size'] ?: 10000}")
+    private int reassemblyMaxSize;
+
+    // direct encoded spans are never merged with the buffered chunks
+    @Value("#{pinpoint_collector_properties['collector.span.grpc.direct.encoding'] ?: false}")
+    private boolean directEncoding;
+
+    private SpanInsertBatcher spanInsertBatcher;
+
+    private SpanChunkReassemblyBuffer spanChunkReassemblyBuffer;
+
+    @PostConstruct
+    public void start() {
+        if (reassemblyEnable && directEncoding) {
+            logger.warn("SpanChunkReassemblyBuffer disabled. collector.span.chunk.reassembly.enable is ignored while collector.span.grpc.direct.encoding is enabled");
+        } else if (reassemblyEnable) {
+            this.spanChunkReassemblyBuffer = new SpanChunkReassemblyBuffer(this::writeSpanChunk, reassemblyTimeout, reassemblyMaxSize);
+            this.spanChunkReassemblyBuffer.start();
+            logger.info("SpanChunkReassemblyBuffer started. timeout:{}ms, maxSize:{}", reassemblyTimeout, reassemblyMaxSize);
+        }
+        if (!batchEnable) {
+            return;
+        }
+        final HbaseBatchWriteMetrics metrics = hbaseBatchWriteMetrics != null ? hbaseBatchWriteMetrics : new HbaseBatchWriteMetrics();
+        this.spanInsertBatcher = new SpanInsertBatcher(traceDao, applicationTraceIndexDao, metrics, batchSize, batchFlushInterval, batchQueueSize);
+        this.spanInsertBatcher.start();
+        logger.info("SpanInsertBatcher started. batchSize:{}, flushInterval:{}ms, queueSize:{}", batchSize, batchFlushInterval, batchQueueSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (spanChunkReassemblyBuffer != null) {
+            spanChunkReassemblyBuffer.stop();
+        }
+        if (spanInsertBatcher != null) {
+            spanInsertBatcher.stop();
+        }
+    }
+
     public void insertSpanChunk(final SpanChunkBo spanChunkBo) {
+        if (spanChunkReassemblyBuffer != null && spanChunkReassemblyBuffer.offer(spanChunkBo)) {
+            // written with its span, or by writeSpanChunk() on timeout
+            return;
+        }
+        writeSpanChunk(spanChunkBo);
+    }
+
+    private void writeSpanChunk(final SpanChunkBo spanChunkBo) {
         traceDao.insertSpanChunk(spanChunkBo);
         final ServiceType applicationServiceType = getApplicationServiceType(spanChunkBo);
         final List<SpanEventBo> spanEventList = spanChunkBo.getSpanEventBoList();
@@ -61,31 +137,63 @@ public class TraceService {
         }
     }
 
+    /**
+     * inserts a span chunk encoded by {@link com.navercorp.pinpoint.common.server.bo.grpc.GrpcSpanEncoder}.
+     * spanChunkBo has no span events, the statistics are read from spanEventList.
+     */
+    public void insertEncodedSpanChunk(final SpanChunkBo spanChunkBo, ByteBuffer qualifier, ByteBuffer columnValue, List<PSpanEvent> spanEventList) {
+        if (columnValue != null) {
+            traceDao.insert(spanChunkBo.getTransactionId(), spanChunkBo.getCollectorAcceptTime(), qualifier, columnValue);
+        }
+        final ServiceType applicationServiceType = getApplicationServiceType(spanChunkBo);
+        insertPSpanEventList(spanEventList, applicationServiceType, spanChunkBo.getApplicationId(), spanChunkBo.getAgentId(), spanChunkBo.getEndPoint());
+    }
+
     private ServiceType getApplicationServiceType(SpanChunkBo spanChunk) {
         final short applicationServiceTypeCode = spanChunk.getApplicationServiceType();
         return registry.findServiceType(applicationServiceTypeCode);
     }
 
     public void insertSpan(final SpanBo spanBo) {
-        traceDao.insert(spanBo);
-        applicationTraceIndexDao.insert(spanBo);
+        if (spanChunkReassemblyBuffer != null) {
+            spanChunkReassemblyBuffer.merge(spanBo);
+        }
+        if (spanInsertBatcher != null) {
+            spanInsertBatcher.insert(spanBo);
+        } else {
+            traceDao.insert(spanBo);
+            applicationTraceIndexDao.insert(spanBo);
+        }
         insertAcceptorHost(spanBo);
         insertSpanStat(spanBo);
         insertSpanEventStat(spanBo);
     }
 
-    private void insertAcceptorHost(SpanEventBo spanEvent, String applicationId, ServiceType serviceType) {
-        final String endPoint = spanEvent.getEndPoint();
+    /**
+     * inserts a span encoded by {@link com.navercorp.pinpoint.common.server.bo.grpc.GrpcSpanEncoder}.
+     * spanBo has no annotations and span events, the statistics of the span events are read from spanEventList.
+     */
+    public void insertEncodedSpan(final SpanBo spanBo, ByteBuffer qualifier, ByteBuffer columnValue, List<PSpanEvent> spanEventList) {
+        traceDao.insert(spanBo.getTransactionId(), spanBo.getCollectorAcceptTime(), qualifier, columnValue);
+        applicationTraceIndexDao.insert(spanBo);
+
+        insertAcceptorHost(spanBo);
+        insertSpanStat(spanBo);
+
+        final ServiceType applicationServiceType = getApplicationServiceType(spanBo);
+        insertPSpanEventList(spanEventList, applicationServiceType, spanBo.getApplicationId(), spanBo.getAgentId(), spanBo.getEndPoint());
+    }
+
+    private void insertAcceptorHost(String endPoint, String destinationId, short spanEventServiceType, Object forDebugEvent, String applicationId, ServiceType serviceType) {
         if (endPoint == null) {
-            logger.debug("endPoint is null. spanEvent:{}", spanEvent);
+            logger.debug("endPoint is null. spanEvent:{}", forDebugEvent);
             return;
         }
-        final String destinationId = spanEvent.getDestinationId();
         if (destinationId == null) {
-            logger.debug("destinationId is null. spanEvent:{}", spanEvent);
+            logger.debug("destinationId is null. spanEvent:{}", forDebugEvent);
             return;
         }
-        hostApplicationMapDao.insert(endPoint, destinationId, spanEvent.getServiceType(), applicationId, serviceType.getCode());
+        hostApplicationMapDao.insert(endPoint, destinationId, spanEventServiceType, applicationId, serviceType.getCode());
     }
 
     private void insertAcceptorHost(SpanBo span) {
@@ -195,36 +303,56 @@ public class TraceService {
     private void insertSpanEventList(List<SpanEventBo> spanEventList, ServiceType applicationServiceType, String applicationId, String agentId, String endPoint) {
 
         for (SpanEventBo spanEvent : spanEventList) {
-            final ServiceType spanEventType = registry.findServiceType(spanEvent.getServiceType());
+            insertSpanEventStat(spanEvent.getServiceType(), spanEvent.getDestinationId(), spanEvent.getEndPoint(), spanEvent.getEndElapsed(), spanEvent.hasException(),
+                    spanEvent, applicationServiceType, applicationId, agentId, endPoint);
+        }
+    }
 
-            if (isAlias(spanEventType, spanEvent)) {
-                insertAcceptorHost(spanEvent, applicationId, applicationServiceType);
-                continue;
-            }
+    private void insertPSpanEventList(List<PSpanEvent> spanEventList, ServiceType applicationServiceType, String applicationId, String agentId, String endPoint) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("handle spanEvent size:{}", spanEventList.size());
+        }
 
-            if (!spanEventType.isRecordStatistics()) {
-                continue;
+        for (PSpanEvent spanEvent : spanEventList) {
+            String destinationId = null;
+            String spanEventEndPoint = null;
+            if (spanEvent.hasNextEvent()) {
+                final PNextEvent nextEvent = spanEvent.getNextEvent();
+                if (nextEvent.getFieldCase() == PNextEvent.FieldCase.MESSAGEEVENT) {
+                    final PMessageEvent messageEvent = nextEvent.getMessageEvent();
+                    destinationId = messageEvent.getDestinationId();
+                    spanEventEndPoint = messageEvent.getEndPoint();
+                }
             }
+            insertSpanEventStat((short) spanEvent.getServiceType(), destinationId, spanEventEndPoint, spanEvent.getEndElapsed(), spanEvent.hasExceptionInfo(),
+                    spanEvent, applicationServiceType, applicationId, agentId, endPoint);
+        }
+    }
 
-            final String spanEventApplicationName = spanEvent.getDestinationId();
-            final String spanEventEndPoint = spanEvent.getEndPoint();
-
-            // if terminal update statistics
-            final int elapsed = spanEvent.getEndElapsed();
-            final boolean hasException = spanEvent.hasException();
+    private void insertSpanEventStat(short spanEventServiceType, String spanEventApplicationName, String spanEventEndPoint, int elapsed, boolean hasException,
+                                     Object forDebugEvent, ServiceType applicationServiceType, String applicationId, String agentId, String endPoint) {
+        final ServiceType spanEventType = registry.findServiceType(spanEventServiceType);
 
-            /*
-             * save information to draw a server map based on statistics
-             */
-            // save the information of caller (the spanevent that called span)
-            statisticsService.updateCaller(applicationId, applicationServiceType, agentId, spanEventApplicationName, spanEventType, spanEventEndPoint, elapsed, hasException);
+        if (isAlias(spanEventType, forDebugEvent)) {
+            insertAcceptorHost(spanEventEndPoint, spanEventApplicationName, spanEventServiceType, forDebugEvent, applicationId, applicationServiceType);
+            return;
+        }
 
-            // save the information of callee (the span that spanevent called)
-            statisticsService.updateCallee(spanEventApplicationName, spanEventType, applicationId, applicationServiceType, endPoint, elapsed, hasException);
+        if (!spanEventType.isRecordStatistics()) {
+            return;
         }
+
+        /*
+         * save information to draw a server map based on statistics
+         */
+        // save the information of caller (the spanevent that called span)
+        statisticsService.updateCaller(applicationId, applicationServiceType, agentId, spanEventApplicationName, spanEventType, spanEventEndPoint, elapsed, hasException);
+
+        // save the information of callee (the span that spanevent called)
+        statisticsService.updateCallee(spanEventApplicationName, spanEventType, applicationId, applicationServiceType, endPoint, elapsed, hasException);
     }
 
-    private boolean isAlias(ServiceType spanEventType, SpanEventBo forDebugEvent) {
+    private boolean isAlias(ServiceType spanEventType, Object forDebugEvent) {
         if (!spanEventType.isAlias()) {
             return false;
         }
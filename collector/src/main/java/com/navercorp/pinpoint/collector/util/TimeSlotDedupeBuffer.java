@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bounded set of keys grouped by time slot. Each key is kept once per slot until the slot is drained.
+ * Keys added once {@code maxSize} keys are pending are dropped.
+ */
+public class TimeSlotDedupeBuffer<T> {
+
+    private final int maxSize;
+
+    private final ConcurrentMap<Long, Set<T>> slots = new ConcurrentHashMap<>();
+    // adders share the read lock. drain takes the write lock so that no key is added to a drained slot
+    private final ReadWriteLock drainLock = new ReentrantReadWriteLock();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropCount = new AtomicLong();
+
+    public TimeSlotDedupeBuffer(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return {@code true} if the key is new in the slot
+     */
+    public boolean add(long timeSlot, T key) {
+        Objects.requireNonNull(key, "key must not be null");
+        final Lock lock = drainLock.readLock();
+        lock.lock();
+        try {
+            final Set<T> keys = getKeys(timeSlot);
+            if (keys.contains(key)) {
+                return false;
+            }
+            if (size.get() >= maxSize) {
+                dropCount.incrementAndGet();
+                return false;
+            }
+            if (keys.add(key)) {
+                size.incrementAndGet();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Set<T> getKeys(long timeSlot) {
+        final Set<T> keys = slots.get(timeSlot);
+        if (keys != null) {
+            return keys;
+        }
+        final Set<T> newKeys = ConcurrentHashMap.newKeySet();
+        final Set<T> before = slots.putIfAbsent(timeSlot, newKeys);
+        return before != null ? before : newKeys;
+    }
+
+    /**
+     * Removes the keys of the slots before {@code endTimeSlot}.
+     */
+    public Map<Long, Set<T>> drain(long endTimeSlot) {
+        final Map<Long, Set<T>> drained = new HashMap<>();
+        final Lock lock = drainLock.writeLock();
+        lock.lock();
+        try {
+            final Iterator<Map.Entry<Long, Set<T>>> iterator = slots.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<Long, Set<T>> entry = iterator.next();
+                if (entry.getKey() >= endTimeSlot) {
+                    continue;
+                }
+                iterator.remove();
+                final Set<T> keys = entry.getValue();
+                drained.put(entry.getKey(), keys);
+                size.addAndGet(-keys.size());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return drained;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getDropCount() {
+        return dropCount.get();
+    }
+}
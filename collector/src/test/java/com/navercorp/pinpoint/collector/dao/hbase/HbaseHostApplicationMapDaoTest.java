@@ -16,25 +16,77 @@
 
 package com.navercorp.pinpoint.collector.dao.hbase;
 
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.buffer.FixedBuffer;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.util.DefaultTimeSlot;
 import com.navercorp.pinpoint.common.util.TimeSlot;
 import com.navercorp.pinpoint.common.util.TimeUtils;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 
 public class HbaseHostApplicationMapDaoTest {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private final TimeSlot timeSlot = new DefaultTimeSlot();
+    @Spy
+    private TimeSlot timeSlot = new DefaultTimeSlot();
+
+    @Mock
+    private HbaseOperations2 hbaseTemplate;
+
+    @Mock
+    private TableNameProvider tableNameProvider;
+
+    @Mock
+    private AcceptedTimeService acceptedTimeService;
+
+    @Mock
+    private AbstractRowKeyDistributor rowKeyDistributor;
+
+    @InjectMocks
+    private HbaseHostApplicationMapDao hostApplicationMapDao = new HbaseHostApplicationMapDao();
+
+    private final TableName tableName = TableName.valueOf(HBaseTables.HOST_APPLICATION_MAP_VER2_STR);
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(tableNameProvider.getTableName(anyString())).thenReturn(tableName);
+        when(rowKeyDistributor.getDistributedKey(any(byte[].class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // the time slot is over
+        when(acceptedTimeService.getAcceptedTime()).thenReturn(System.currentTimeMillis() - 600000);
+        hostApplicationMapDao.init();
+    }
 
     @Test
     public void testCreateRowKey() throws Exception {
@@ -52,4 +104,48 @@ public class HbaseHostApplicationMapDaoTest {
         Assert.assertEquals("serviceType check", code, ServiceType.STAND_ALONE.getCode());
         Assert.assertEquals("time check", statisticsRowSlot, time);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void flushAll_rejectedPuts() {
+        hostApplicationMapDao.insert("host1", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+        hostApplicationMapDao.insert("host2", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+        when(hbaseTemplate.asyncPut(any(TableName.class), anyList())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        hostApplicationMapDao.flushAll();
+
+        verify(hbaseTemplate, never()).put(any(TableName.class), anyList());
+        Assert.assertEquals(2, hostApplicationMapDao.getPendingCount());
+        Assert.assertEquals(2, hostApplicationMapDao.getRequeueCount());
+
+        // retried on the next flush
+        when(hbaseTemplate.asyncPut(any(TableName.class), anyList())).thenReturn(Collections.<Put>emptyList());
+        hostApplicationMapDao.flushAll();
+
+        verify(hbaseTemplate, times(2)).asyncPut(any(TableName.class), anyList());
+        Assert.assertEquals(0, hostApplicationMapDao.getPendingCount());
+    }
+
+    @Test
+    public void flushAll_earlyFlush() {
+        ReflectionTestUtils.setField(hostApplicationMapDao, "maxPendingKeys", 2);
+        hostApplicationMapDao.init();
+        final List<Put> written = new ArrayList<>();
+        when(hbaseTemplate.asyncPut(any(TableName.class), anyList())).thenAnswer(invocation -> {
+            final List<Put> puts = invocation.getArgument(1);
+            written.addAll(puts);
+            return Collections.emptyList();
+        });
+        // current time slot
+        when(acceptedTimeService.getAcceptedTime()).thenReturn(System.currentTimeMillis());
+
+        hostApplicationMapDao.insert("host1", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+        hostApplicationMapDao.flushAll();
+        Assert.assertTrue(written.isEmpty());
+        Assert.assertEquals(0, hostApplicationMapDao.getEarlyFlushCount());
+
+        hostApplicationMapDao.insert("host2", "app", ServiceType.STAND_ALONE.getCode(), "parentApp", ServiceType.STAND_ALONE.getCode());
+        hostApplicationMapDao.flushAll();
+        Assert.assertEquals(2, written.size());
+        Assert.assertEquals(1, hostApplicationMapDao.getEarlyFlushCount());
+    }
+}
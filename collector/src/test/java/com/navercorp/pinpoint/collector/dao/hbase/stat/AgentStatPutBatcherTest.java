@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.stat;
+
+import com.codahale.metrics.Counter;
+import com.navercorp.pinpoint.collector.monitor.HbaseBatchWriteMetrics;
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.HbaseSystemException;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AgentStatPutBatcherTest {
+
+    private final TableName tableName = TableName.valueOf("AgentStatV2");
+
+    private final List<List<Put>> batches = new CopyOnWriteArrayList<>();
+
+    private HbaseOperations2 hbaseTemplate;
+    private TableNameProvider tableNameProvider;
+
+    @Before
+    public void setUp() {
+        hbaseTemplate = mock(HbaseOperations2.class);
+        when(hbaseTemplate.asyncPut(any(TableName.class), anyList())).thenAnswer(invocation -> {
+            List<Put> puts = invocation.getArgument(1);
+            batches.add(new ArrayList<>(puts));
+            return Collections.emptyList();
+        });
+        tableNameProvider = mock(TableNameProvider.class);
+        when(tableNameProvider.getTableName(anyString())).thenReturn(tableName);
+    }
+
+    @Test
+    public void batch() {
+        final AgentStatPutBatcher batcher = newBatcher(true, 5, 1000, 100);
+        batcher.afterPropertiesSet();
+        for (int i = 0; i < 4; i++) {
+            batcher.put(Arrays.asList(newPut("agent" + (3 - i) + "-1"), newPut("agent" + (3 - i) + "-0"), newPut("agent" + (3 - i) + "-2")));
+        }
+        batcher.destroy();
+
+        int putCount = 0;
+        for (List<Put> batch : batches) {
+            Assert.assertTrue(batch.size() <= 5);
+            putCount += batch.size();
+        }
+        Assert.assertEquals(12, putCount);
+        Assert.assertTrue(batches.size() < 4);
+        Assert.assertEquals(batches.size(), batcher.getBatchCount());
+
+        // sorted by row key
+        final List<Put> firstBatch = batches.get(0);
+        for (int i = 1; i < firstBatch.size(); i++) {
+            Assert.assertTrue(Bytes.compareTo(firstBatch.get(i - 1).getRow(), firstBatch.get(i).getRow()) < 0);
+        }
+    }
+
+    @Test
+    public void writeThrough_disabled() {
+        final AgentStatPutBatcher batcher = newBatcher(false, 5, 1000, 100);
+        batcher.afterPropertiesSet();
+        batcher.put(Arrays.asList(newPut("agent1-0"), newPut("agent1-1")));
+
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(2, batcher.getLastBatchSize());
+        Assert.assertEquals(0, batcher.getQueueSize());
+    }
+
+    @Test
+    public void writeThrough_queueFull() {
+        // not started
+        final AgentStatPutBatcher batcher = newBatcher(true, 1, 1000, 2);
+        batcher.put(Arrays.asList(newPut("agent1-0"), newPut("agent1-1"), newPut("agent1-2")));
+
+        Assert.assertEquals(2, batcher.getQueueSize());
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(1, batches.get(0).size());
+    }
+
+    @Test
+    public void rejectedPuts() {
+        final List<Put> rejectedPuts = Collections.singletonList(newPut("agent1-0"));
+        when(hbaseTemplate.asyncPut(any(TableName.class), anyList())).thenReturn(rejectedPuts);
+
+        final AgentStatPutBatcher batcher = newBatcher(false, 5, 1000, 100);
+        batcher.put(Arrays.asList(newPut("agent1-0"), newPut("agent1-1")));
+
+        verify(hbaseTemplate).put(eq(tableName), eq(rejectedPuts));
+    }
+
+    @Test
+    public void failedBatch_retried() throws Exception {
+        final AtomicInteger failCount = new AtomicInteger(1);
+        when(hbaseTemplate.asyncPut(any(TableName.class), anyList())).thenAnswer(invocation -> {
+            if (failCount.getAndDecrement() > 0) {
+                throw new HbaseSystemException(new IOException("test"));
+            }
+            List<Put> puts = invocation.getArgument(1);
+            batches.add(new ArrayList<>(puts));
+            return Collections.emptyList();
+        });
+
+        final AgentStatPutBatcher batcher = newBatcher(true, 5, 10, 100);
+        batcher.afterPropertiesSet();
+        batcher.put(Arrays.asList(newPut("agent1-0"), newPut("agent1-1")));
+        final long deadline = System.currentTimeMillis() + 3000;
+        while (batches.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        batcher.destroy();
+
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(2, batches.get(0).size());
+        Assert.assertEquals(2, batcher.getRetryCount());
+        Assert.assertEquals(0, batcher.getDropCount());
+    }
+
+    @Test
+    public void failedBatch_dropped() throws Exception {
+        when(hbaseTemplate.asyncPut(any(TableName.class), anyList())).thenThrow(new HbaseSystemException(new IOException("test")));
+
+        final HbaseBatchWriteMetrics metrics = new HbaseBatchWriteMetrics();
+        final AgentStatPutBatcher batcher = new AgentStatPutBatcher(hbaseTemplate, tableNameProvider, metrics, true, 5, 10, 5);
+        batcher.afterPropertiesSet();
+        batcher.put(Arrays.asList(newPut("agent1-0"), newPut("agent1-1")));
+        Thread.sleep(50);
+        batcher.destroy();
+
+        Assert.assertTrue(batcher.getRetryCount() > 0);
+        // retried until the batcher is stopped, then dropped
+        Assert.assertEquals(2, batcher.getDropCount());
+        final Counter dropCounter = (Counter) metrics.getMetrics().get("hbase.batch." + HBaseTables.AGENT_STAT_VER2_STR + ".dropped");
+        Assert.assertEquals(2, dropCounter.getCount());
+    }
+
+    private AgentStatPutBatcher newBatcher(boolean enable, int batchSize, long flushIntervalMillis, int queueSize) {
+        return new AgentStatPutBatcher(hbaseTemplate, tableNameProvider, new HbaseBatchWriteMetrics(), enable, batchSize, flushIntervalMillis, queueSize);
+    }
+
+    private Put newPut(String row) {
+        return new Put(Bytes.toBytes(row));
+    }
+}
@@ -31,6 +31,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.FileDescriptorBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
@@ -96,6 +97,9 @@ public class ThriftAgentStatHandlerV2Test {
     @Mock
     private AgentStatDaoV2<DirectBufferBo> directBufferDao;
 
+    @Mock
+    private AgentStatDaoV2<SpoolBo> spoolDao;
+
     @InjectMocks
     private HBaseAgentStatService hBaseAgentStatService = new HBaseAgentStatService();
 
@@ -132,6 +136,7 @@ public class ThriftAgentStatHandlerV2Test {
         verify(deadlockDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDeadlockThreadCountBos());
         verify(fileDescriptorDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getFileDescriptorBos());
         verify(directBufferDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDirectBufferBos());
+        verify(spoolDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getSpoolBos());
 
     }
 
@@ -157,6 +162,7 @@ public class ThriftAgentStatHandlerV2Test {
         verify(deadlockDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDeadlockThreadCountBos());
         verify(fileDescriptorDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getFileDescriptorBos());
         verify(directBufferDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getDirectBufferBos());
+        verify(spoolDao).insert(mappedAgentStat.getAgentId(), mappedAgentStat.getSpoolBos());
     }
 
     @Test
@@ -179,6 +185,7 @@ public class ThriftAgentStatHandlerV2Test {
         verifyZeroInteractions(responseTimeDao);
         verifyZeroInteractions(fileDescriptorDao);
         verifyZeroInteractions(directBufferDao);
+        verifyZeroInteractions(spoolDao);
     }
 
     @Test
@@ -202,6 +209,7 @@ public class ThriftAgentStatHandlerV2Test {
         verifyZeroInteractions(responseTimeDao);
         verifyZeroInteractions(fileDescriptorDao);
         verifyZeroInteractions(directBufferDao);
+        verifyZeroInteractions(spoolDao);
     }
 
     @Test(expected=IllegalArgumentException.class)
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.mapper.thrift.stat;
+
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
+import com.navercorp.pinpoint.thrift.dto.TSpool;
+import org.junit.Assert;
+
+public class ThriftSpoolBoMapperTest extends ThriftBoMapperTestBase<TSpool, SpoolBo> {
+
+    @Override
+    protected TSpool create() {
+        TSpool spool = new TSpool();
+        spool.setPendingCount(getRandomLong(0, 5000));
+        spool.setWriteCount(getRandomLong(0, 1000000));
+        spool.setReadCount(getRandomLong(0, 1000000));
+        spool.setRequeueCount(getRandomLong(0, 5000));
+        spool.setEvictCount(getRandomLong(0, 5000));
+        spool.setDropCount(getRandomLong(0, 5000));
+        return spool;
+    }
+
+    @Override
+    protected SpoolBo convert(TSpool original) {
+        ThriftSpoolBoMapper spoolBoMapper = new ThriftSpoolBoMapper();
+        return spoolBoMapper.map(original);
+    }
+
+    @Override
+    protected void verify(TSpool original, SpoolBo mappedStatDataPoint) {
+        Assert.assertEquals("PendingCount", original.getPendingCount(), mappedStatDataPoint.getPendingCount());
+        Assert.assertEquals("WriteCount", original.getWriteCount(), mappedStatDataPoint.getWriteCount());
+        Assert.assertEquals("ReadCount", original.getReadCount(), mappedStatDataPoint.getReadCount());
+        Assert.assertEquals("RequeueCount", original.getRequeueCount(), mappedStatDataPoint.getRequeueCount());
+        Assert.assertEquals("EvictCount", original.getEvictCount(), mappedStatDataPoint.getEvictCount());
+        Assert.assertEquals("DropCount", original.getDropCount(), mappedStatDataPoint.getDropCount());
+    }
+
+}
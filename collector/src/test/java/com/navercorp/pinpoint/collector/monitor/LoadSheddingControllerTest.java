@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor;
+
+import com.navercorp.pinpoint.collector.receiver.grpc.lane.MessageLane;
+import com.navercorp.pinpoint.collector.receiver.grpc.lane.MultiLaneExecutor;
+import com.navercorp.pinpoint.common.hbase.HBaseAsyncOperation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LoadSheddingControllerTest {
+
+    @Test
+    public void hbaseBacklog() throws Exception {
+        HBaseAsyncOperation asyncOperation = mock(HBaseAsyncOperation.class);
+        when(asyncOperation.isAvailable()).thenReturn(true);
+        when(asyncOperation.getCurrentOpsCount()).thenReturn(200L);
+
+        LoadSheddingController controller = new LoadSheddingController(asyncOperation, Collections.<ExecutorService>emptyList(), true, 100, 0.8, 100);
+        Assert.assertEquals(LoadSheddingController.Level.SPAN_CHUNK, controller.getLevel());
+        Assert.assertTrue(controller.dropSpanChunk());
+        Assert.assertFalse(controller.dropSpan());
+
+        Thread.sleep(150);
+        Assert.assertEquals(LoadSheddingController.Level.SPAN, controller.getLevel());
+        Assert.assertTrue(controller.dropSpan());
+
+        // recovers one step at a time
+        when(asyncOperation.getCurrentOpsCount()).thenReturn(10L);
+        Thread.sleep(150);
+        Assert.assertEquals(LoadSheddingController.Level.SPAN_CHUNK, controller.getLevel());
+        Thread.sleep(150);
+        Assert.assertEquals(LoadSheddingController.Level.NONE, controller.getLevel());
+
+        Assert.assertEquals(1, controller.getDroppedSpanChunkCount());
+        Assert.assertEquals(1, controller.getDroppedSpanCount());
+    }
+
+    @Test
+    public void executorQueue() {
+        HBaseAsyncOperation asyncOperation = mock(HBaseAsyncOperation.class);
+        ArrayBlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(10);
+        for (int i = 0; i < 9; i++) {
+            queue.offer(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+        }
+        ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, queue);
+        try {
+            LoadSheddingController controller = new LoadSheddingController(asyncOperation, Collections.singletonList(executor), true, 100, 0.8, 1000);
+            Assert.assertEquals(LoadSheddingController.Level.SPAN_CHUNK, controller.getLevel());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void spanLane() {
+        HBaseAsyncOperation asyncOperation = mock(HBaseAsyncOperation.class);
+        MultiLaneExecutor multiLaneExecutor = mock(MultiLaneExecutor.class);
+        when(multiLaneExecutor.isEnable()).thenReturn(true);
+        when(multiLaneExecutor.getSaturation(MessageLane.SPAN)).thenReturn(0.9);
+
+        LoadSheddingController controller = new LoadSheddingController(asyncOperation, Collections.<ExecutorService>emptyList(), multiLaneExecutor, true, 100, 0.8, 1000);
+        Assert.assertEquals(LoadSheddingController.Level.SPAN_CHUNK, controller.getLevel());
+    }
+
+    @Test
+    public void spanLane_disabled() {
+        HBaseAsyncOperation asyncOperation = mock(HBaseAsyncOperation.class);
+        MultiLaneExecutor multiLaneExecutor = new MultiLaneExecutor(false, 1, 1, 1, 1, 1, 1, 1, 1);
+
+        LoadSheddingController controller = new LoadSheddingController(asyncOperation, Collections.<ExecutorService>emptyList(), multiLaneExecutor, true, 100, 0.8, 1000);
+        Assert.assertEquals(LoadSheddingController.Level.NONE, controller.getLevel());
+    }
+
+    @Test
+    public void disable() {
+        HBaseAsyncOperation asyncOperation = mock(HBaseAsyncOperation.class);
+        when(asyncOperation.isAvailable()).thenReturn(true);
+        when(asyncOperation.getCurrentOpsCount()).thenReturn(200L);
+
+        LoadSheddingController controller = new LoadSheddingController(asyncOperation, Collections.<ExecutorService>emptyList(), false, 100, 0.8, 1);
+        Assert.assertEquals(LoadSheddingController.Level.NONE, controller.getLevel());
+        Assert.assertFalse(controller.dropSpanChunk());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.lane;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ByteBoundedExecutorTest {
+
+    @Test
+    public void rejectOverMaxBytes() throws Exception {
+        final ByteBoundedExecutor executor = new ByteBoundedExecutor("test", 1, 100);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            Assert.assertTrue(executor.execute(new AwaitTask(blocked), 60));
+            Assert.assertTrue(executor.execute(new AwaitTask(blocked), 40));
+            Assert.assertEquals(100, executor.getPendingBytes());
+            Assert.assertEquals(1.0, executor.getSaturation(), 0.001);
+
+            Assert.assertFalse(executor.execute(new AwaitTask(blocked), 1));
+            Assert.assertEquals(1, executor.getRejectedCount());
+            Assert.assertEquals(100, executor.getPendingBytes());
+        } finally {
+            blocked.countDown();
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(3000, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(0, executor.getPendingBytes());
+    }
+
+    @Test
+    public void acceptLargeMessageWhileEmpty() throws Exception {
+        final ByteBoundedExecutor executor = new ByteBoundedExecutor("test", 1, 100);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        try {
+            Assert.assertTrue(executor.execute(new AwaitTask(blocked), 1000));
+            Assert.assertFalse(executor.execute(new AwaitTask(blocked), 1));
+        } finally {
+            blocked.countDown();
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(3000, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void rejectAfterShutdown() {
+        final ByteBoundedExecutor executor = new ByteBoundedExecutor("test", 1, 100);
+        executor.shutdown();
+
+        Assert.assertFalse(executor.execute(new AwaitTask(new CountDownLatch(0)), 10));
+        Assert.assertEquals(0, executor.getPendingBytes());
+        Assert.assertEquals(1, executor.getRejectedCount());
+    }
+
+    private static class AwaitTask implements Runnable {
+        private final CountDownLatch latch;
+
+        private AwaitTask(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
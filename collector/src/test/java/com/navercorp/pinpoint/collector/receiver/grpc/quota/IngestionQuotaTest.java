@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.quota;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class IngestionQuotaTest {
+
+    @Test
+    public void tokenBucket() {
+        final long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket tokenBucket = new TokenBucket(10, 0);
+        tokenBucket.consume(10, 0);
+        Assert.assertEquals(0, tokenBucket.getDelayNanos(0));
+
+        tokenBucket.consume(5, 0);
+        Assert.assertEquals(second / 2, tokenBucket.getDelayNanos(0));
+        Assert.assertEquals(0, tokenBucket.getDelayNanos(second / 2));
+
+        // refill is capped to one second of tokens
+        tokenBucket.consume(15, 10 * second);
+        Assert.assertEquals(second / 2, tokenBucket.getDelayNanos(10 * second));
+    }
+
+    @Test
+    public void agentQuota() {
+        IngestionQuota quota = new IngestionQuota("test", true, 2, 0, 0, 0);
+        quota.consume("agent1", "app", 100);
+        quota.consume("agent1", "app", 100);
+        Assert.assertEquals(0, quota.getDelayNanos("agent1", "app"));
+
+        quota.consume("agent1", "app", 100);
+        Assert.assertTrue(quota.getDelayNanos("agent1", "app") > 0);
+        // other agents are not affected
+        Assert.assertEquals(0, quota.getDelayNanos("agent2", "app"));
+    }
+
+    @Test
+    public void applicationBytesQuota() {
+        IngestionQuota quota = new IngestionQuota("test", true, 0, 0, 0, 1000);
+        quota.consume("agent1", "app", 600);
+        quota.consume("agent2", "app", 600);
+        Assert.assertTrue(quota.getDelayNanos("agent1", "app") > 0);
+        Assert.assertTrue(quota.getDelayNanos("agent3", "app") > 0);
+        Assert.assertEquals(0, quota.getDelayNanos("agent1", "app2"));
+    }
+
+    @Test
+    public void throttledCount() {
+        IngestionQuota quota = new IngestionQuota("test", true, 1, 0, 0, 0);
+        quota.throttled("agent1", "app", 1000000);
+        quota.throttled("agent1", "app", 1000000);
+
+        Assert.assertEquals(2, quota.getThrottledCount());
+        Assert.assertEquals(2, quota.getThrottledMillis());
+        Assert.assertEquals(Long.valueOf(2), quota.getThrottledCountForEachAgent().get("agent1"));
+        Assert.assertEquals(Long.valueOf(2), quota.getThrottledCountForEachApplication().get("app"));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.thrift.udp;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.navercorp.pinpoint.thrift.io.NetworkAvailabilityCheckPacket;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.SocketUtils;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class NioUDPReceiverTest {
+
+    private static final String ADDRESS = "127.0.0.1";
+
+    @Test
+    public void receive() throws Exception {
+        final int port = SocketUtils.findAvailableUdpPort(11999);
+        final int packetCount = 10;
+        final CountDownLatch latch = new CountDownLatch(packetCount);
+        final List<byte[]> received = new CopyOnWriteArrayList<>();
+
+        final PacketHandlerFactory<DatagramPacket> packetHandlerFactory = newPacketHandlerFactory(new PacketHandler<DatagramPacket>() {
+            @Override
+            public void receive(DatagramSocket localSocket, DatagramPacket packet) {
+                received.add(Arrays.copyOf(packet.getData(), packet.getLength()));
+                latch.countDown();
+            }
+        });
+        final NioUDPReceiver receiver = new NioUDPReceiver("test", packetHandlerFactory, MoreExecutors.directExecutor(),
+                1024 * 64, new InetSocketAddress(ADDRESS, port), 2, 4);
+        receiver.start();
+        DatagramSocket client = null;
+        try {
+            client = new DatagramSocket();
+            // L4 health check packet
+            send(client, new byte[0], port);
+            for (int i = 0; i < packetCount; i++) {
+                send(client, new byte[]{(byte) i, 1, 2}, port);
+            }
+            Assert.assertTrue(latch.await(5000, TimeUnit.MILLISECONDS));
+            Assert.assertEquals(packetCount, received.size());
+            for (byte[] data : received) {
+                Assert.assertEquals(3, data.length);
+            }
+        } finally {
+            if (client != null) {
+                client.close();
+            }
+            receiver.shutdown();
+        }
+    }
+
+    @Test
+    public void networkAvailabilityCheck() throws Exception {
+        final int port = SocketUtils.findAvailableUdpPort(12999);
+        final TBaseFilter<SocketAddress> filter = new NetworkAvailabilityCheckPacketFilter<>();
+
+        final PacketHandlerFactory<DatagramPacket> packetHandlerFactory = newPacketHandlerFactory(new PacketHandler<DatagramPacket>() {
+            @Override
+            public void receive(DatagramSocket localSocket, DatagramPacket packet) {
+                filter.filter(localSocket, new NetworkAvailabilityCheckPacket(), packet.getSocketAddress());
+            }
+        });
+        final NioUDPReceiver receiver = new NioUDPReceiver("test", packetHandlerFactory, MoreExecutors.directExecutor(),
+                1024 * 64, new InetSocketAddress(ADDRESS, port), 1, 4);
+        receiver.start();
+        DatagramSocket client = null;
+        try {
+            client = new DatagramSocket();
+            client.setSoTimeout(5000);
+            send(client, new byte[]{1}, port);
+
+            final DatagramPacket pong = new DatagramPacket(new byte[100], 100);
+            client.receive(pong);
+            Assert.assertEquals(port, pong.getPort());
+            Assert.assertArrayEquals(NetworkAvailabilityCheckPacket.DATA_OK, Arrays.copyOf(pong.getData(), pong.getLength()));
+        } finally {
+            if (client != null) {
+                client.close();
+            }
+            receiver.shutdown();
+        }
+    }
+
+    private void send(DatagramSocket client, byte[] data, int port) throws IOException {
+        client.send(new DatagramPacket(data, data.length, new InetSocketAddress(ADDRESS, port)));
+    }
+
+    private PacketHandlerFactory<DatagramPacket> newPacketHandlerFactory(final PacketHandler<DatagramPacket> packetHandler) {
+        return new PacketHandlerFactory<DatagramPacket>() {
+            @Override
+            public PacketHandler<DatagramPacket> createPacketHandler() {
+                return packetHandler;
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.common.server.bo.LocalAsyncIdBo;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.util.TransactionId;
+import com.navercorp.pinpoint.io.SpanVersion;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SpanChunkReassemblyBufferTest {
+
+    private final TransactionId transactionId = new TransactionId("agentId", 1000, 1);
+
+    private final List<SpanChunkBo> written = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void merge() {
+        final SpanChunkReassemblyBuffer buffer = new SpanChunkReassemblyBuffer(written::add, 3000, 100);
+
+        Assert.assertTrue(buffer.offer(newSpanChunk(10, 1100, 2, 3)));
+        Assert.assertTrue(buffer.offer(newSpanChunk(10, 1200, 4)));
+        Assert.assertEquals(2, buffer.getBufferedCount());
+
+        final SpanBo spanBo = newSpan(10, 1000);
+        spanBo.addSpanEvent(newSpanEvent(1, 5));
+        Assert.assertEquals(2, buffer.merge(spanBo));
+
+        Assert.assertEquals(0, buffer.getBufferedCount());
+        Assert.assertTrue(written.isEmpty());
+
+        final List<SpanEventBo> spanEventList = spanBo.getSpanEventBoList();
+        Assert.assertEquals(4, spanEventList.size());
+        Assert.assertEquals(1, spanEventList.get(0).getSequence());
+        Assert.assertEquals(5, spanEventList.get(0).getStartElapsed());
+        // rebased on the start time of the span
+        Assert.assertEquals(2, spanEventList.get(1).getSequence());
+        Assert.assertEquals(102, spanEventList.get(1).getStartElapsed());
+        Assert.assertEquals(4, spanEventList.get(3).getSequence());
+        Assert.assertEquals(204, spanEventList.get(3).getStartElapsed());
+    }
+
+    @Test
+    public void merge_otherSpan() {
+        final SpanChunkReassemblyBuffer buffer = new SpanChunkReassemblyBuffer(written::add, 3000, 100);
+        buffer.offer(newSpanChunk(10, 1100, 2));
+
+        final SpanBo spanBo = newSpan(11, 1000);
+        Assert.assertEquals(0, buffer.merge(spanBo));
+        Assert.assertEquals(1, buffer.getBufferedCount());
+    }
+
+    @Test
+    public void chunkAfterSpan() {
+        final SpanChunkReassemblyBuffer buffer = new SpanChunkReassemblyBuffer(written::add, 3000, 100);
+        buffer.offer(newSpanChunk(10, 1100, 2));
+        Assert.assertEquals(1, buffer.merge(newSpan(10, 1000)));
+
+        Assert.assertFalse(buffer.offer(newSpanChunk(10, 1200, 3)));
+        Assert.assertEquals(0, buffer.getBufferedCount());
+        Assert.assertEquals(1, buffer.getLateCount());
+
+        // the merged span is forgotten after the timeout
+        buffer.expire(System.currentTimeMillis());
+        Assert.assertTrue(buffer.offer(newSpanChunk(10, 1300, 4)));
+    }
+
+    @Test
+    public void asyncSpanChunk() {
+        final SpanChunkReassemblyBuffer buffer = new SpanChunkReassemblyBuffer(written::add, 3000, 100);
+        final SpanChunkBo spanChunkBo = newSpanChunk(10, 1100, 2);
+        spanChunkBo.setLocalAsyncId(new LocalAsyncIdBo(1, 1));
+
+        Assert.assertFalse(buffer.offer(spanChunkBo));
+        Assert.assertEquals(0, buffer.getBufferedCount());
+    }
+
+    @Test
+    public void maxSize() {
+        final SpanChunkReassemblyBuffer buffer = new SpanChunkReassemblyBuffer(written::add, 3000, 1);
+
+        Assert.assertTrue(buffer.offer(newSpanChunk(10, 1100, 2)));
+        Assert.assertFalse(buffer.offer(newSpanChunk(11, 1100, 2)));
+        Assert.assertEquals(1, buffer.getRejectedCount());
+    }
+
+    @Test
+    public void expire() {
+        final SpanChunkReassemblyBuffer buffer = new SpanChunkReassemblyBuffer(written::add, 3000, 100);
+        final SpanChunkBo spanChunkBo = newSpanChunk(10, 1100, 2);
+        buffer.offer(spanChunkBo);
+
+        buffer.expire(System.currentTimeMillis() - 3000);
+        Assert.assertTrue(written.isEmpty());
+
+        buffer.expire(System.currentTimeMillis());
+        Assert.assertEquals(1, written.size());
+        Assert.assertSame(spanChunkBo, written.get(0));
+        Assert.assertEquals(0, buffer.getBufferedCount());
+        Assert.assertEquals(1, buffer.getExpiredCount());
+
+        // span arrived after the timeout
+        Assert.assertEquals(0, buffer.merge(newSpan(10, 1000)));
+    }
+
+    @Test
+    public void chunkBeforeSpanStartTime() {
+        final SpanChunkReassemblyBuffer buffer = new SpanChunkReassemblyBuffer(written::add, 3000, 100);
+        final SpanChunkBo spanChunkBo = newSpanChunk(10, 900, 2);
+        buffer.offer(spanChunkBo);
+
+        final SpanBo spanBo = newSpan(10, 1000);
+        Assert.assertEquals(0, buffer.merge(spanBo));
+        Assert.assertTrue(spanBo.getSpanEventBoList().isEmpty());
+        Assert.assertSame(spanChunkBo, written.get(0));
+        Assert.assertEquals(2, spanChunkBo.getSpanEventBoList().get(0).getStartElapsed());
+    }
+
+    @Test
+    public void stop() {
+        final SpanChunkReassemblyBuffer buffer = new SpanChunkReassemblyBuffer(written::add, 3000, 100);
+        buffer.start();
+        buffer.offer(newSpanChunk(10, 1100, 2));
+        buffer.stop();
+
+        Assert.assertEquals(1, written.size());
+    }
+
+    private SpanBo newSpan(long spanId, long startTime) {
+        final SpanBo spanBo = new SpanBo();
+        spanBo.setVersion(SpanVersion.TRACE_V2);
+        spanBo.setTransactionId(transactionId);
+        spanBo.setSpanId(spanId);
+        spanBo.setStartTime(startTime);
+        return spanBo;
+    }
+
+    private SpanChunkBo newSpanChunk(long spanId, long keyTime, int... sequences) {
+        final SpanChunkBo spanChunkBo = new SpanChunkBo();
+        spanChunkBo.setVersion(SpanVersion.TRACE_V2);
+        spanChunkBo.setTransactionId(transactionId);
+        spanChunkBo.setSpanId(spanId);
+        spanChunkBo.setKeyTime(keyTime);
+        for (int sequence : sequences) {
+            spanChunkBo.getSpanEventBoList().add(newSpanEvent(sequence, sequence));
+        }
+        return spanChunkBo;
+    }
+
+    private SpanEventBo newSpanEvent(int sequence, int startElapsed) {
+        final SpanEventBo spanEventBo = new SpanEventBo();
+        spanEventBo.setSequence((short) sequence);
+        spanEventBo.setStartElapsed(startElapsed);
+        return spanEventBo;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.collector.dao.ApplicationTraceIndexDao;
+import com.navercorp.pinpoint.collector.dao.TraceDao;
+import com.navercorp.pinpoint.collector.monitor.HbaseBatchWriteMetrics;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.util.TransactionId;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SpanInsertBatcherTest {
+
+    @Test
+    public void batch() {
+        final RecordingTraceDao traceDao = new RecordingTraceDao();
+        final RecordingApplicationTraceIndexDao indexDao = new RecordingApplicationTraceIndexDao();
+        final SpanInsertBatcher batcher = new SpanInsertBatcher(traceDao, indexDao, new HbaseBatchWriteMetrics(), 5, 1000, 100);
+        batcher.start();
+        for (int i = 0; i < 12; i++) {
+            batcher.insert(new SpanBo());
+        }
+        batcher.stop();
+
+        Assert.assertEquals(12, sum(traceDao.batchSizes));
+        Assert.assertEquals(12, sum(indexDao.batchSizes));
+        for (Integer batchSize : traceDao.batchSizes) {
+            Assert.assertTrue(batchSize <= 5);
+        }
+        Assert.assertTrue(traceDao.batchSizes.size() < 12);
+    }
+
+    @Test
+    public void writeThrough_afterStop() {
+        final RecordingTraceDao traceDao = new RecordingTraceDao();
+        final RecordingApplicationTraceIndexDao indexDao = new RecordingApplicationTraceIndexDao();
+        final SpanInsertBatcher batcher = new SpanInsertBatcher(traceDao, indexDao, new HbaseBatchWriteMetrics(), 5, 1000, 100);
+        batcher.start();
+        batcher.stop();
+
+        batcher.insert(new SpanBo());
+        Assert.assertEquals(1, sum(traceDao.batchSizes));
+        Assert.assertEquals(0, batcher.getQueueSize());
+    }
+
+    @Test
+    public void writeThrough_queueFull() {
+        final RecordingTraceDao traceDao = new RecordingTraceDao();
+        final RecordingApplicationTraceIndexDao indexDao = new RecordingApplicationTraceIndexDao();
+        // not started
+        final SpanInsertBatcher batcher = new SpanInsertBatcher(traceDao, indexDao, new HbaseBatchWriteMetrics(), 1, 1000, 2);
+        for (int i = 0; i < 3; i++) {
+            batcher.insert(new SpanBo());
+        }
+        Assert.assertEquals(2, batcher.getQueueSize());
+        Assert.assertEquals(1, sum(traceDao.batchSizes));
+    }
+
+    private int sum(List<Integer> batchSizes) {
+        int sum = 0;
+        for (Integer batchSize : batchSizes) {
+            sum += batchSize;
+        }
+        return sum;
+    }
+
+    private static class RecordingTraceDao implements TraceDao {
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean insert(SpanBo span) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void insert(List<SpanBo> spanList) {
+            batchSizes.add(spanList.size());
+        }
+
+        @Override
+        public boolean insertSpanChunk(SpanChunkBo spanChunk) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean insert(TransactionId transactionId, long acceptedTime, ByteBuffer qualifier, ByteBuffer columnValue) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class RecordingApplicationTraceIndexDao implements ApplicationTraceIndexDao {
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void insert(SpanBo span) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void insert(List<SpanBo> spanList) {
+            batchSizes.add(spanList.size());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+public class TimeSlotDedupeBufferTest {
+
+    @Test
+    public void dedupe() {
+        TimeSlotDedupeBuffer<String> buffer = new TimeSlotDedupeBuffer<>(10);
+        Assert.assertTrue(buffer.add(0, "a"));
+        Assert.assertFalse(buffer.add(0, "a"));
+        Assert.assertTrue(buffer.add(60000, "a"));
+        Assert.assertEquals(2, buffer.size());
+    }
+
+    @Test
+    public void drain() {
+        TimeSlotDedupeBuffer<String> buffer = new TimeSlotDedupeBuffer<>(10);
+        buffer.add(0, "a");
+        buffer.add(0, "b");
+        buffer.add(60000, "a");
+
+        Map<Long, Set<String>> drained = buffer.drain(60000);
+        Assert.assertEquals(1, drained.size());
+        Assert.assertEquals(2, drained.get(0L).size());
+        Assert.assertEquals(1, buffer.size());
+
+        // drained slot starts over
+        Assert.assertTrue(buffer.add(0, "a"));
+
+        drained = buffer.drain(Long.MAX_VALUE);
+        Assert.assertEquals(2, drained.size());
+        Assert.assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void dropOverMaxSize() {
+        TimeSlotDedupeBuffer<String> buffer = new TimeSlotDedupeBuffer<>(2);
+        Assert.assertTrue(buffer.add(0, "a"));
+        Assert.assertTrue(buffer.add(0, "b"));
+        Assert.assertFalse(buffer.add(0, "c"));
+        // duplicate is not a drop
+        Assert.assertFalse(buffer.add(0, "a"));
+        Assert.assertEquals(1, buffer.getDropCount());
+
+        buffer.drain(Long.MAX_VALUE);
+        Assert.assertTrue(buffer.add(0, "c"));
+    }
+}
@@ -44,6 +44,17 @@ public class HBaseAsyncOperationFactory {
     public static final String ASYNC_MAX_RETRIES_IN_QUEUE = HTableMultiplexer.TABLE_MULTIPLEXER_MAX_RETRIES_IN_QUEUE;
     public static final int DEFAULT_ASYNC_RETRY_COUNT = 10000;
 
+    // multiplexer, mutator
+    public static final String ASYNC_TYPE = "hbase.client.async.type";
+    public static final String ASYNC_TYPE_MULTIPLEXER = "multiplexer";
+    public static final String ASYNC_TYPE_MUTATOR = "mutator";
+
+    public static final String ASYNC_MUTATOR_MAX_IN_FLIGHT = "hbase.client.async.mutator.maxinflight";
+    public static final int DEFAULT_ASYNC_MUTATOR_MAX_IN_FLIGHT = 100000;
+
+    public static final String ASYNC_MUTATOR_WRITE_BUFFER_SIZE = "hbase.client.write.buffer";
+    public static final long DEFAULT_ASYNC_MUTATOR_WRITE_BUFFER_SIZE = 2097152;
+
     public static HBaseAsyncOperation create(Configuration configuration) throws IOException {
         boolean enableAsyncMethod = configuration.getBoolean(ENABLE_ASYNC_METHOD, DEFAULT_ENABLE_ASYNC_METHOD);
         if (!enableAsyncMethod) {
@@ -69,6 +80,15 @@ public class HBaseAsyncOperationFactory {
             return DisabledHBaseAsyncOperation.INSTANCE;
         }
 
+        final String asyncType = configuration.get(ASYNC_TYPE, ASYNC_TYPE_MULTIPLEXER);
+        if (ASYNC_TYPE_MUTATOR.equalsIgnoreCase(asyncType)) {
+            final long writeBufferSize = configuration.getLong(ASYNC_MUTATOR_WRITE_BUFFER_SIZE, DEFAULT_ASYNC_MUTATOR_WRITE_BUFFER_SIZE);
+            final int maxInFlight = configuration.getInt(ASYNC_MUTATOR_MAX_IN_FLIGHT, DEFAULT_ASYNC_MUTATOR_MAX_IN_FLIGHT);
+            final long flushPeriod = configuration.getLong(ASYNC_PERIODIC_FLUSH_TIME, DEFAULT_ASYNC_PERIODIC_FLUSH_TIME);
+            LOGGER.info("create HBaseMutatorAsyncTemplate. writeBufferSize:{}, maxInFlight:{}, flushPeriod:{}", writeBufferSize, maxInFlight, flushPeriod);
+            return new HBaseMutatorAsyncTemplate(connection, writeBufferSize, maxInFlight, flushPeriod);
+        }
+
         int queueSize = configuration.getInt(ASYNC_IN_QUEUE_SIZE, DEFAULT_ASYNC_IN_QUEUE_SIZE);
 
         if (configuration.get(ASYNC_PERIODIC_FLUSH_TIME, null) == null) {
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.apache.hadoop.hbase.client.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link HBaseAsyncOperation} on per table {@link BufferedMutator}s.
+ * <p>
+ * Puts are only queued by the calling thread. Every flush period each table is flushed by its own flush task,
+ * and a table is skipped while its previous flush is still running, so a slow region server only holds back its own table.
+ * Once {@code maxInFlight} puts are waiting, puts are rejected through the {@link HBaseAsyncOperation} contract
+ * and counted as rejected ops.
+ */
+public class HBaseMutatorAsyncTemplate implements HBaseAsyncOperation, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Connection connection;
+    private final long writeBufferSize;
+    private final int maxInFlight;
+
+    private final ConcurrentMap<TableName, TableBuffer> tableBuffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushScheduler;
+    // at most one running flush per table
+    private final ExecutorService flushExecutor;
+
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final AtomicLong opsCount = new AtomicLong();
+    private final AtomicLong opsRejectCount = new AtomicLong();
+    private final AtomicLong opsFailedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+
+    public HBaseMutatorAsyncTemplate(Connection connection, long writeBufferSize, int maxInFlight, long flushPeriodMillis) {
+        this.connection = Objects.requireNonNull(connection, "connection must not be null");
+        if (writeBufferSize <= 0) {
+            throw new IllegalArgumentException("writeBufferSize must be greater than 0");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be greater than 0");
+        }
+        if (flushPeriodMillis <= 0) {
+            throw new IllegalArgumentException("flushPeriodMillis must be greater than 0");
+        }
+        this.writeBufferSize = writeBufferSize;
+        this.maxInFlight = maxInFlight;
+
+        this.flushExecutor = Executors.newCachedThreadPool(new PinpointThreadFactory("Pinpoint-HBaseMutatorFlush", true));
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(new PinpointThreadFactory("Pinpoint-HBaseMutatorFlushScheduler", true));
+        this.flushScheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                scheduleFlush();
+            }
+        }, flushPeriodMillis, flushPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * @return {@code false} if too many puts are in flight
+     */
+    @Override
+    public boolean put(TableName tableName, Put put) {
+        Objects.requireNonNull(tableName, "tableName must not be null");
+        Objects.requireNonNull(put, "put must not be null");
+        if (!acquire(1)) {
+            return false;
+        }
+        getTableBuffer(tableName).queue.offer(new PendingPut(put, null));
+        return true;
+    }
+
+    /**
+     * Queues all or none of the puts.
+     *
+     * @return all puts if too many puts are in flight, otherwise empty
+     */
+    @Override
+    public List<Put> put(TableName tableName, List<Put> puts) {
+        Objects.requireNonNull(tableName, "tableName must not be null");
+        Objects.requireNonNull(puts, "puts must not be null");
+        if (puts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (!acquire(puts.size())) {
+            return new ArrayList<>(puts);
+        }
+        final Queue<PendingPut> queue = getTableBuffer(tableName).queue;
+        for (Put put : puts) {
+            queue.offer(new PendingPut(put, null));
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return future completed when the put is written, or failed with {@link RejectedExecutionException} if too many puts are in flight
+     */
+    public CompletableFuture<Void> putAsync(TableName tableName, Put put) {
+        Objects.requireNonNull(tableName, "tableName must not be null");
+        Objects.requireNonNull(put, "put must not be null");
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        if (!acquire(1)) {
+            future.completeExceptionally(new RejectedExecutionException("too many puts in flight. maxInFlight:" + maxInFlight));
+            return future;
+        }
+        getTableBuffer(tableName).queue.offer(new PendingPut(put, future));
+        return future;
+    }
+
+    private boolean acquire(int count) {
+        opsCount.addAndGet(count);
+        while (true) {
+            final int current = inFlightCount.get();
+            if (current + count > maxInFlight) {
+                opsRejectCount.addAndGet(count);
+                return false;
+            }
+            if (inFlightCount.compareAndSet(current, current + count)) {
+                return true;
+            }
+        }
+    }
+
+    private TableBuffer getTableBuffer(TableName tableName) {
+        final TableBuffer tableBuffer = tableBuffers.get(tableName);
+        if (tableBuffer != null) {
+            return tableBuffer;
+        }
+        final TableBuffer newTableBuffer = new TableBuffer(tableName);
+        final TableBuffer before = tableBuffers.putIfAbsent(tableName, newTableBuffer);
+        return before != null ? before : newTableBuffer;
+    }
+
+    private void scheduleFlush() {
+        for (final TableBuffer tableBuffer : tableBuffers.values()) {
+            if (tableBuffer.queue.isEmpty()) {
+                continue;
+            }
+            if (!tableBuffer.flushing.compareAndSet(false, true)) {
+                // previous flush of the table is still running
+                continue;
+            }
+            try {
+                flushExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            tableBuffer.flush();
+                        } finally {
+                            tableBuffer.flushing.set(false);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                tableBuffer.flushing.set(false);
+            }
+        }
+    }
+
+    private void complete(List<PendingPut> batch, Set<Row> failedRows, IOException error) {
+        final long currentTime = System.currentTimeMillis();
+        for (PendingPut pending : batch) {
+            final boolean failed = error != null || failedRows.contains(pending.put);
+            if (failed) {
+                opsFailedCount.incrementAndGet();
+            }
+            totalLatency.addAndGet(currentTime - pending.startTime);
+            completedCount.incrementAndGet();
+        }
+        inFlightCount.addAndGet(-batch.size());
+
+        for (PendingPut pending : batch) {
+            if (pending.future == null) {
+                continue;
+            }
+            if (error != null) {
+                pending.future.completeExceptionally(error);
+            } else if (failedRows.contains(pending.put)) {
+                pending.future.completeExceptionally(new IOException("put failed. row:" + pending.put));
+            } else {
+                pending.future.complete(null);
+            }
+        }
+    }
+
+    @Override
+    public Long getOpsCount() {
+        return opsCount.get();
+    }
+
+    @Override
+    public Long getOpsRejectedCount() {
+        return opsRejectCount.get();
+    }
+
+    @Override
+    public Long getCurrentOpsCount() {
+        return (long) inFlightCount.get();
+    }
+
+    @Override
+    public Long getOpsFailedCount() {
+        return opsFailedCount.get();
+    }
+
+    @Override
+    public Long getOpsAverageLatency() {
+        final long completed = completedCount.get();
+        if (completed == 0) {
+            return 0L;
+        }
+        return totalLatency.get() / completed;
+    }
+
+    @Override
+    public Map<String, Long> getCurrentOpsCountForEachRegionServer() {
+        // region servers are hidden by BufferedMutator
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Map<String, Long> getOpsFailedCountForEachRegionServer() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Map<String, Long> getOpsAverageLatencyForEachRegionServer() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        flushScheduler.shutdown();
+        try {
+            flushScheduler.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // flush remaining puts and close mutators
+        for (TableBuffer tableBuffer : tableBuffers.values()) {
+            if (tableBuffer.flushing.compareAndSet(false, true)) {
+                tableBuffer.flush();
+            }
+            tableBuffer.close();
+        }
+    }
+
+    private class TableBuffer {
+        private final TableName tableName;
+        private final Queue<PendingPut> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean flushing = new AtomicBoolean();
+        // used by the thread holding the flushing flag only
+        private BufferedMutator mutator;
+        private final Set<Row> failedRows = Collections.newSetFromMap(new IdentityHashMap<Row, Boolean>());
+
+        private TableBuffer(TableName tableName) {
+            this.tableName = tableName;
+        }
+
+        private void flush() {
+            final List<PendingPut> batch = new ArrayList<>();
+            PendingPut pendingPut;
+            while ((pendingPut = queue.poll()) != null) {
+                batch.add(pendingPut);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            final List<Put> puts = new ArrayList<>(batch.size());
+            for (PendingPut pending : batch) {
+                puts.add(pending.put);
+            }
+
+            failedRows.clear();
+            IOException error = null;
+            try {
+                final BufferedMutator mutator = getMutator();
+                mutator.mutate(puts);
+                mutator.flush();
+            } catch (IOException e) {
+                logger.warn("Failed to flush puts. table:{}, size:{} Caused:{}", tableName, batch.size(), e.getMessage(), e);
+                error = e;
+            } catch (RuntimeException e) {
+                logger.warn("Unexpected flush error. table:{}, size:{} Caused:{}", tableName, batch.size(), e.getMessage(), e);
+                error = new IOException(e);
+            }
+            complete(batch, failedRows, error);
+            failedRows.clear();
+        }
+
+        private BufferedMutator getMutator() throws IOException {
+            if (mutator == null) {
+                final BufferedMutatorParams params = new BufferedMutatorParams(tableName);
+                params.writeBufferSize(writeBufferSize);
+                params.listener(new BufferedMutator.ExceptionListener() {
+                    @Override
+                    public void onException(RetriesExhaustedWithDetailsException exception, BufferedMutator mutator) {
+                        // called by the flushing thread while mutating or flushing
+                        for (int i = 0; i < exception.getNumExceptions(); i++) {
+                            failedRows.add(exception.getRow(i));
+                        }
+                        logger.warn("Failed to write puts. table:{}, size:{} Caused:{}", tableName, exception.getNumExceptions(), exception.getMessage());
+                    }
+                });
+                this.mutator = connection.getBufferedMutator(params);
+            }
+            return mutator;
+        }
+
+        private void close() {
+            if (mutator == null) {
+                return;
+            }
+            try {
+                mutator.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close mutator. table:{} Caused:{}", tableName, e.getMessage(), e);
+            }
+        }
+    }
+
+    private static class PendingPut {
+        private final Put put;
+        private final CompletableFuture<Void> future;
+        private final long startTime = System.currentTimeMillis();
+
+        private PendingPut(Put put, CompletableFuture<Void> future) {
+            this.put = put;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HBaseMutatorAsyncTemplateTest {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("test");
+    private static final TableName OTHER_TABLE_NAME = TableName.valueOf("other");
+
+    @Test
+    public void put() throws Exception {
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        final HBaseMutatorAsyncTemplate template = newTemplate(mutator, 10, 10);
+        try {
+            Assert.assertTrue(template.put(TABLE_NAME, Arrays.asList(newPut(1), newPut(2))).isEmpty());
+            awaitCompleted(template);
+
+            verify(mutator).mutate(anyList());
+            verify(mutator).flush();
+            Assert.assertEquals(2L, template.getOpsCount().longValue());
+        } finally {
+            template.destroy();
+        }
+        verify(mutator).close();
+    }
+
+    @Test
+    public void rejectOverMaxInFlight() throws Exception {
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        // not flushed during the test
+        final HBaseMutatorAsyncTemplate template = newTemplate(mutator, 2, 60000);
+        try {
+            final List<Put> puts = Arrays.asList(newPut(1), newPut(2), newPut(3));
+            Assert.assertEquals(puts, template.put(TABLE_NAME, puts));
+            // all or none
+            Assert.assertEquals(0L, template.getCurrentOpsCount().longValue());
+            Assert.assertEquals(3L, template.getOpsRejectedCount().longValue());
+
+            Assert.assertTrue(template.put(TABLE_NAME, Arrays.asList(newPut(1), newPut(2))).isEmpty());
+            Assert.assertFalse(template.put(TABLE_NAME, newPut(3)));
+            try {
+                template.putAsync(TABLE_NAME, newPut(4)).get();
+                Assert.fail();
+            } catch (ExecutionException expected) {
+                Assert.assertTrue(expected.getCause() instanceof RejectedExecutionException);
+            }
+            Assert.assertEquals(2L, template.getCurrentOpsCount().longValue());
+        } finally {
+            template.destroy();
+        }
+    }
+
+    @Test
+    public void putAsync() throws Exception {
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        final HBaseMutatorAsyncTemplate template = newTemplate(mutator, 10, 10);
+        try {
+            template.putAsync(TABLE_NAME, newPut(1)).get(3000, TimeUnit.MILLISECONDS);
+            verify(mutator).flush();
+        } finally {
+            template.destroy();
+        }
+    }
+
+    @Test
+    public void putAsync_flushFail() throws Exception {
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        doThrow(new IOException("test")).when(mutator).flush();
+        final HBaseMutatorAsyncTemplate template = newTemplate(mutator, 10, 10);
+        try {
+            template.putAsync(TABLE_NAME, newPut(1)).get(3000, TimeUnit.MILLISECONDS);
+            Assert.fail();
+        } catch (ExecutionException expected) {
+            Assert.assertTrue(expected.getCause() instanceof IOException);
+        } finally {
+            template.destroy();
+        }
+    }
+
+    @Test
+    public void flushFail() throws Exception {
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        doThrow(new IOException("test")).when(mutator).flush();
+        final HBaseMutatorAsyncTemplate template = newTemplate(mutator, 10, 10);
+        try {
+            template.put(TABLE_NAME, newPut(1));
+            awaitCompleted(template);
+            Assert.assertEquals(1L, template.getOpsFailedCount().longValue());
+        } finally {
+            template.destroy();
+        }
+    }
+
+    @Test
+    public void slowTableDoesNotBlockOtherTables() throws Exception {
+        final CountDownLatch slowFlush = new CountDownLatch(1);
+        final BufferedMutator slowMutator = mock(BufferedMutator.class);
+        doAnswer(invocation -> {
+            slowFlush.await(5000, TimeUnit.MILLISECONDS);
+            return null;
+        }).when(slowMutator).flush();
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+
+        final Connection connection = mock(Connection.class);
+        when(connection.getBufferedMutator(any(BufferedMutatorParams.class))).thenAnswer(invocation -> {
+            final BufferedMutatorParams params = invocation.getArgument(0);
+            return params.getTableName().equals(TABLE_NAME) ? slowMutator : mutator;
+        });
+        final HBaseMutatorAsyncTemplate template = new HBaseMutatorAsyncTemplate(connection, 1024 * 1024, 10, 10);
+        try {
+            template.put(TABLE_NAME, newPut(1));
+            template.put(OTHER_TABLE_NAME, newPut(2));
+
+            final long deadline = System.currentTimeMillis() + 3000;
+            while (template.getCurrentOpsCount() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            verify(mutator).flush();
+            Assert.assertEquals(1L, template.getCurrentOpsCount().longValue());
+
+            slowFlush.countDown();
+            awaitCompleted(template);
+        } finally {
+            slowFlush.countDown();
+            template.destroy();
+        }
+    }
+
+    private void awaitCompleted(HBaseMutatorAsyncTemplate template) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 3000;
+        while (template.getCurrentOpsCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(0L, template.getCurrentOpsCount().longValue());
+    }
+
+    private HBaseMutatorAsyncTemplate newTemplate(BufferedMutator mutator, int maxInFlight, long flushPeriodMillis) throws IOException {
+        final Connection connection = mock(Connection.class);
+        when(connection.getBufferedMutator(any(BufferedMutatorParams.class))).thenReturn(mutator);
+        return new HBaseMutatorAsyncTemplate(connection, 1024 * 1024, maxInFlight, flushPeriodMillis);
+    }
+
+    private Put newPut(int row) {
+        final Put put = new Put(Bytes.toBytes(row));
+        put.addColumn(Bytes.toBytes("f"), Bytes.toBytes("q"), Bytes.toBytes(row));
+        return put;
+    }
+}
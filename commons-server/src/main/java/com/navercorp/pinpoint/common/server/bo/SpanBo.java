@@ -68,6 +68,8 @@ public class SpanBo implements Event, BasicSpan {
     private Short applicationServiceType;
 
     private String acceptorHost;
+
+    private volatile SpanBodyDecoder bodyDecoder;
     private String remoteAddr; // optional
 
     private byte loggingTransactionInfo; //optional
@@ -205,6 +207,7 @@ public class SpanBo implements Event, BasicSpan {
     }
 
     public List<AnnotationBo> getAnnotationBoList() {
+        decodeBody();
         return annotationBoList;
     }
 
@@ -213,6 +216,7 @@ public class SpanBo implements Event, BasicSpan {
         if (anoList == null) {
             return;
         }
+        decodeBody();
         this.annotationBoList = anoList;
     }
 
@@ -220,6 +224,7 @@ public class SpanBo implements Event, BasicSpan {
         if (spanEventBoList == null) {
             return;
         }
+        decodeBody();
         this.spanEventBoList.addAll(spanEventBoList);
     }
 
@@ -228,13 +233,45 @@ public class SpanBo implements Event, BasicSpan {
         if (spanEventBo == null) {
             return;
         }
+        decodeBody();
         spanEventBoList.add(spanEventBo);
     }
 
     public List<SpanEventBo> getSpanEventBoList() {
+        decodeBody();
         return spanEventBoList;
     }
 
+    /**
+     * Defers decoding of the annotations and span events until one of them is first accessed.
+     */
+    public void setBodyDecoder(SpanBodyDecoder bodyDecoder) {
+        this.bodyDecoder = bodyDecoder;
+    }
+
+    public boolean isBodyDecoded() {
+        return bodyDecoder == null;
+    }
+
+    private void decodeBody() {
+        if (bodyDecoder == null) {
+            return;
+        }
+        synchronized (this) {
+            final SpanBodyDecoder decoder = this.bodyDecoder;
+            if (decoder == null) {
+                return;
+            }
+            // decoded into a detached span so that readers never see partially filled lists
+            final SpanBo body = new SpanBo();
+            decoder.decodeBody(body);
+            this.annotationBoList = body.annotationBoList;
+            this.spanEventBoList = body.spanEventBoList;
+            // volatile write publishes the lists to readers checking bodyDecoder without the lock
+            this.bodyDecoder = null;
+        }
+    }
+
     public List<SpanChunkBo> getSpanChunkBoList() {
         if (spanChunkBoList == null) {
             spanChunkBoList = new ArrayList<>();
@@ -397,6 +434,7 @@ public class SpanBo implements Event, BasicSpan {
                 ", acceptorHost='" + acceptorHost + '\'' +
                 ", remoteAddr='" + remoteAddr + '\'' +
                 ", loggingTransactionInfo=" + loggingTransactionInfo +
+                ", bodyDecoded=" + isBodyDecoded() +
                 '}';
     }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo;
+
+/**
+ * Deferred decoder for the annotations and span events of a {@link SpanBo}.
+ * Invoked at most once, the first time either of them is accessed, with an empty {@link SpanBo}
+ * whose annotations and span events are then moved to the accessed span.
+ */
+public interface SpanBodyDecoder {
+
+    void decodeBody(SpanBo spanBo);
+
+}
@@ -28,7 +28,7 @@ import org.springframework.stereotype.Component;
 public class ResponseTimeEncoder extends AgentStatEncoder<ResponseTimeBo> {
 
     @Autowired
-    public ResponseTimeEncoder(@Qualifier("responseTimeCodecV2") AgentStatCodec<ResponseTimeBo> responseTimeCodec) {
+    public ResponseTimeEncoder(@Qualifier("responseTimeCodecV3") AgentStatCodec<ResponseTimeBo> responseTimeCodec) {
         super(responseTimeCodec);
     }
 
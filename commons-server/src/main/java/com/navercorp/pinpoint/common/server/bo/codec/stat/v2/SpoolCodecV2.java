@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.CodecFactory;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.List;
+
+@Component("spoolCodecV2")
+public class SpoolCodecV2 extends AgentStatCodecV2<SpoolBo> {
+
+    @Autowired
+    public SpoolCodecV2(AgentStatDataPointCodec codec) {
+        super(new SpoolCodecFactory(codec));
+    }
+
+
+    private static class SpoolCodecFactory implements CodecFactory<SpoolBo> {
+
+        private final AgentStatDataPointCodec codec;
+
+        private SpoolCodecFactory(AgentStatDataPointCodec codec) {
+            Assert.notNull(codec, "codec must not be null");
+            this.codec = codec;
+        }
+
+        @Override
+        public AgentStatDataPointCodec getCodec() {
+            return codec;
+        }
+
+        @Override
+        public CodecEncoder<SpoolBo> createCodecEncoder() {
+            return new SpoolCodecEncoder(codec);
+        }
+
+        @Override
+        public CodecDecoder<SpoolBo> createCodecDecoder() {
+            return new SpoolCodecDecoder(codec);
+        }
+    }
+
+    public static class SpoolCodecEncoder implements CodecEncoder<SpoolBo> {
+
+        private final AgentStatDataPointCodec codec;
+        private final UnsignedLongEncodingStrategy.Analyzer.Builder pendingCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        private final UnsignedLongEncodingStrategy.Analyzer.Builder writeCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        private final UnsignedLongEncodingStrategy.Analyzer.Builder readCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        private final UnsignedLongEncodingStrategy.Analyzer.Builder requeueCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        private final UnsignedLongEncodingStrategy.Analyzer.Builder evictCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        private final UnsignedLongEncodingStrategy.Analyzer.Builder dropCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+
+        public SpoolCodecEncoder(AgentStatDataPointCodec codec) {
+            Assert.notNull(codec, "codec must not be null");
+            this.codec = codec;
+        }
+
+        @Override
+        public void addValue(SpoolBo spoolBo) {
+            pendingCountAnalyzerBuilder.addValue(spoolBo.getPendingCount());
+            writeCountAnalyzerBuilder.addValue(spoolBo.getWriteCount());
+            readCountAnalyzerBuilder.addValue(spoolBo.getReadCount());
+            requeueCountAnalyzerBuilder.addValue(spoolBo.getRequeueCount());
+            evictCountAnalyzerBuilder.addValue(spoolBo.getEvictCount());
+            dropCountAnalyzerBuilder.addValue(spoolBo.getDropCount());
+        }
+
+        @Override
+        public void encode(Buffer valueBuffer) {
+            StrategyAnalyzer<Long> pendingCountStrategyAnalyzer = pendingCountAnalyzerBuilder.build();
+            StrategyAnalyzer<Long> writeCountStrategyAnalyzer = writeCountAnalyzerBuilder.build();
+            StrategyAnalyzer<Long> readCountStrategyAnalyzer = readCountAnalyzerBuilder.build();
+            StrategyAnalyzer<Long> requeueCountStrategyAnalyzer = requeueCountAnalyzerBuilder.build();
+            StrategyAnalyzer<Long> evictCountStrategyAnalyzer = evictCountAnalyzerBuilder.build();
+            StrategyAnalyzer<Long> dropCountStrategyAnalyzer = dropCountAnalyzerBuilder.build();
+
+            // encode header
+            AgentStatHeaderEncoder headerEncoder = new BitCountingHeaderEncoder();
+            headerEncoder.addCode(pendingCountStrategyAnalyzer.getBestStrategy().getCode());
+            headerEncoder.addCode(writeCountStrategyAnalyzer.getBestStrategy().getCode());
+            headerEncoder.addCode(readCountStrategyAnalyzer.getBestStrategy().getCode());
+            headerEncoder.addCode(requeueCountStrategyAnalyzer.getBestStrategy().getCode());
+            headerEncoder.addCode(evictCountStrategyAnalyzer.getBestStrategy().getCode());
+            headerEncoder.addCode(dropCountStrategyAnalyzer.getBestStrategy().getCode());
+
+            final byte[] header = headerEncoder.getHeader();
+            valueBuffer.putPrefixedBytes(header);
+            // encode values
+            this.codec.encodeValues(valueBuffer, pendingCountStrategyAnalyzer.getBestStrategy(), pendingCountStrategyAnalyzer.getValues());
+            this.codec.encodeValues(valueBuffer, writeCountStrategyAnalyzer.getBestStrategy(), writeCountStrategyAnalyzer.getValues());
+            this.codec.encodeValues(valueBuffer, readCountStrategyAnalyzer.getBestStrategy(), readCountStrategyAnalyzer.getValues());
+            this.codec.encodeValues(valueBuffer, requeueCountStrategyAnalyzer.getBestStrategy(), requeueCountStrategyAnalyzer.getValues());
+            this.codec.encodeValues(valueBuffer, evictCountStrategyAnalyzer.getBestStrategy(), evictCountStrategyAnalyzer.getValues());
+            this.codec.encodeValues(valueBuffer, dropCountStrategyAnalyzer.getBestStrategy(), dropCountStrategyAnalyzer.getValues());
+        }
+
+    }
+
+    public static class SpoolCodecDecoder implements CodecDecoder<SpoolBo> {
+
+        private final AgentStatDataPointCodec codec;
+
+        private List<Long> pendingCount;
+        private List<Long> writeCount;
+        private List<Long> readCount;
+        private List<Long> requeueCount;
+        private List<Long> evictCount;
+        private List<Long> dropCount;
+
+        public SpoolCodecDecoder(AgentStatDataPointCodec codec) {
+            Assert.notNull(codec, "codec must not be null");
+            this.codec = codec;
+        }
+
+        @Override
+        public void decode(Buffer valueBuffer, AgentStatHeaderDecoder headerDecoder, int valueSize) {
+            EncodingStrategy<Long> pendingCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+            EncodingStrategy<Long> writeCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+            EncodingStrategy<Long> readCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+            EncodingStrategy<Long> requeueCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+            EncodingStrategy<Long> evictCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+            EncodingStrategy<Long> dropCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+            // decode values
+            this.pendingCount = this.codec.decodeValues(valueBuffer, pendingCountEncodingStrategy, valueSize);
+            this.writeCount = this.codec.decodeValues(valueBuffer, writeCountEncodingStrategy, valueSize);
+            this.readCount = this.codec.decodeValues(valueBuffer, readCountEncodingStrategy, valueSize);
+            this.requeueCount = this.codec.decodeValues(valueBuffer, requeueCountEncodingStrategy, valueSize);
+            this.evictCount = this.codec.decodeValues(valueBuffer, evictCountEncodingStrategy, valueSize);
+            this.dropCount = this.codec.decodeValues(valueBuffer, dropCountEncodingStrategy, valueSize);
+        }
+
+        @Override
+        public SpoolBo getValue(int index) {
+            SpoolBo spoolBo = new SpoolBo();
+            spoolBo.setPendingCount(pendingCount.get(index));
+            spoolBo.setWriteCount(writeCount.get(index));
+            spoolBo.setReadCount(readCount.get(index));
+            spoolBo.setRequeueCount(requeueCount.get(index));
+            spoolBo.setEvictCount(evictCount.get(index));
+            spoolBo.setDropCount(dropCount.get(index));
+            return spoolBo;
+        }
+
+    }
+
+}
@@ -0,0 +1,464 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.grpc;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.AnnotationFactory;
+import com.navercorp.pinpoint.common.server.bo.AnnotationTranscoder;
+import com.navercorp.pinpoint.common.server.bo.LocalAsyncIdBo;
+import com.navercorp.pinpoint.common.server.bo.filter.SequenceSpanEventFilter;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanBitFiled;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventBitField;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventQualifierBitField;
+import com.navercorp.pinpoint.grpc.AgentHeaderFactory;
+import com.navercorp.pinpoint.grpc.trace.PAcceptEvent;
+import com.navercorp.pinpoint.grpc.trace.PAnnotation;
+import com.navercorp.pinpoint.grpc.trace.PIntStringValue;
+import com.navercorp.pinpoint.grpc.trace.PLocalAsyncId;
+import com.navercorp.pinpoint.grpc.trace.PMessageEvent;
+import com.navercorp.pinpoint.grpc.trace.PNextEvent;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.grpc.trace.PSpanEvent;
+import com.navercorp.pinpoint.io.SpanVersion;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encodes {@link PSpan} and {@link PSpanChunk} into the trace v2 column format without building
+ * SpanBo, SpanEventBo and AnnotationBo.
+ * <p>
+ * The output is the same as {@link GrpcSpanFactory} + {@link com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0}.
+ * Span events which would be filtered or reordered by {@link GrpcSpanFactory} are not supported,
+ * check {@link #isSupported(List)} and use {@link GrpcSpanFactory} for the others.
+ */
+public class GrpcSpanEncoder {
+
+    private static final AnnotationTranscoder transcoder = new AnnotationTranscoder();
+    private static final GrpcAnnotationHandler annotationHandler = new GrpcAnnotationHandler();
+    private static final AnnotationFactory<PAnnotation> annotationFactory = new AnnotationFactory<>(annotationHandler);
+
+    private static final Comparator<PAnnotation> ANNOTATION_KEY_COMPARATOR = new Comparator<PAnnotation>() {
+        @Override
+        public int compare(PAnnotation o1, PAnnotation o2) {
+            return Integer.compare(o1.getKey(), o2.getKey());
+        }
+    };
+
+    private static final int SPAN_HEADER_SIZE = 64;
+
+    private final int sequenceLimit;
+
+    public GrpcSpanEncoder() {
+        this(SequenceSpanEventFilter.DEFAULT_SEQUENCE_LIMIT);
+    }
+
+    /**
+     * @param sequenceLimit same as the limit of {@link SequenceSpanEventFilter} used by {@link GrpcSpanFactory}
+     */
+    public GrpcSpanEncoder(int sequenceLimit) {
+        this.sequenceLimit = sequenceLimit;
+    }
+
+    /**
+     * @return false if {@link GrpcSpanFactory} would drop or reorder any of the span events
+     */
+    public boolean isSupported(List<PSpanEvent> spanEventList) {
+        Objects.requireNonNull(spanEventList, "spanEventList must not be null");
+
+        short prevSequence = Short.MIN_VALUE;
+        for (int i = 0; i < spanEventList.size(); i++) {
+            final PSpanEvent pSpanEvent = spanEventList.get(i);
+            final short sequence = (short) pSpanEvent.getSequence();
+            if (sequence > sequenceLimit) {
+                return false;
+            }
+            if (sequence < prevSequence) {
+                return false;
+            }
+            if (i == 0 && pSpanEvent.getDepth() == 0) {
+                // no previous depth
+                return false;
+            }
+            prevSequence = sequence;
+        }
+        return true;
+    }
+
+    public ByteBuffer encodeSpanQualifier(PSpan pSpan, AgentHeaderFactory.Header header) {
+        checkVersion(pSpan.getVersion());
+        final PSpanEvent firstEvent = getFirstSpanEvent(pSpan.getSpanEventList());
+        return encodeQualifier(SpanEncoder.TYPE_SPAN, header, pSpan.getSpanId(), firstEvent, null);
+    }
+
+    public ByteBuffer encodeSpanChunkQualifier(PSpanChunk pSpanChunk, AgentHeaderFactory.Header header) {
+        checkVersion(pSpanChunk.getVersion());
+        final PSpanEvent firstEvent = getFirstSpanEvent(pSpanChunk.getSpanEventList());
+
+        LocalAsyncIdBo localAsyncId = null;
+        if (pSpanChunk.hasLocalAsyncId()) {
+            final PLocalAsyncId pLocalAsyncId = pSpanChunk.getLocalAsyncId();
+            localAsyncId = new LocalAsyncIdBo(pLocalAsyncId.getAsyncId(), pLocalAsyncId.getSequence());
+        }
+        return encodeQualifier(SpanEncoder.TYPE_SPAN_CHUNK, header, pSpanChunk.getSpanId(), firstEvent, localAsyncId);
+    }
+
+    private ByteBuffer encodeQualifier(byte type, AgentHeaderFactory.Header header, long spanId, PSpanEvent firstEvent, LocalAsyncIdBo localAsyncId) {
+        final Buffer buffer = new AutomaticBuffer(128);
+        buffer.putByte(type);
+        buffer.putPrefixedString(header.getApplicationName());
+        buffer.putPrefixedString(header.getAgentId());
+        buffer.putVLong(header.getAgentStartTime());
+        buffer.putLong(spanId);
+
+        if (firstEvent != null) {
+            buffer.putSVInt((short) firstEvent.getSequence());
+
+            final byte bitField = SpanEventQualifierBitField.buildBitField(localAsyncId);
+            buffer.putByte(bitField);
+            // case : async span
+            if (SpanEventQualifierBitField.isSetAsync(bitField)) {
+                buffer.putInt(localAsyncId.getAsyncId());
+                buffer.putVInt(localAsyncId.getSequence());
+            }
+        }
+
+        return buffer.wrapByteBuffer();
+    }
+
+    private PSpanEvent getFirstSpanEvent(List<PSpanEvent> spanEventList) {
+        if (spanEventList.isEmpty()) {
+            return null;
+        }
+        return spanEventList.get(0);
+    }
+
+    public ByteBuffer encodeSpanColumnValue(PSpan pSpan, long acceptedTime) {
+        checkVersion(pSpan.getVersion());
+
+        final short serviceType = (short) pSpan.getServiceType();
+        final short applicationServiceType = (short) pSpan.getApplicationServiceType();
+        final short flag = (short) pSpan.getFlag();
+        final byte loggingTransactionInfo = (byte) pSpan.getLoggingTransactionInfo();
+        final List<PAnnotation> annotationList = pSpan.getAnnotationList();
+
+        final SpanBitFiled bitField = SpanBitFiled.build(serviceType, applicationServiceType, pSpan.getParentSpanId(), pSpan.getErr(),
+                pSpan.hasExceptionInfo(), flag, loggingTransactionInfo, !annotationList.isEmpty());
+
+        final Buffer buffer = new AutomaticBuffer(SPAN_HEADER_SIZE + pSpan.getSerializedSize());
+
+        buffer.putByte((byte) pSpan.getVersion());
+
+        // bit field
+        buffer.putByte(bitField.getBitField());
+
+        buffer.putShort(serviceType);
+        switch (bitField.getApplicationServiceTypeEncodingStrategy()) {
+            case PREV_EQUALS:
+                break;
+            case RAW:
+                buffer.putShort(applicationServiceType);
+                break;
+            default:
+                throw new IllegalStateException("applicationServiceType");
+        }
+
+        if (!bitField.isRoot()) {
+            buffer.putLong(pSpan.getParentSpanId());
+        }
+
+        final long startTimeDelta = acceptedTime - pSpan.getStartTime();
+        buffer.putVLong(startTimeDelta);
+        buffer.putVInt(pSpan.getElapsed());
+
+        String rpc = null;
+        String endPoint = null;
+        String remoteAddr = null;
+        String acceptorHost = null;
+        if (pSpan.hasAcceptEvent()) {
+            final PAcceptEvent acceptEvent = pSpan.getAcceptEvent();
+            rpc = acceptEvent.getRpc();
+            endPoint = acceptEvent.getEndPoint();
+            remoteAddr = acceptEvent.getRemoteAddr();
+            if (acceptEvent.hasParentInfo()) {
+                acceptorHost = acceptEvent.getParentInfo().getAcceptorHost();
+            }
+        }
+        buffer.putPrefixedString(rpc);
+        buffer.putPrefixedString(endPoint);
+        buffer.putPrefixedString(remoteAddr);
+        buffer.putSVInt(pSpan.getApiId());
+
+        // BIT flag
+        if (bitField.isSetErrorCode()) {
+            buffer.putInt(pSpan.getErr());
+        }
+
+        if (bitField.isSetHasException()) {
+            final PIntStringValue exceptionInfo = pSpan.getExceptionInfo();
+            buffer.putSVInt(exceptionInfo.getIntValue());
+            buffer.putPrefixedString(exceptionInfo.getStringValue());
+        }
+
+        if (bitField.isSetFlag()) {
+            buffer.putShort(flag);
+        }
+
+        if (bitField.isSetLoggingTransactionInfo()) {
+            buffer.putByte(loggingTransactionInfo);
+        }
+
+        buffer.putPrefixedString(acceptorHost);
+
+        if (bitField.isSetAnnotation()) {
+            writeAnnotationList(buffer, annotationList);
+        }
+
+        writeSpanEventList(buffer, pSpan.getSpanEventList());
+
+        return buffer.wrapByteBuffer();
+    }
+
+    /**
+     * @return null if there is nothing to write
+     */
+    public ByteBuffer encodeSpanChunkColumnValue(PSpanChunk pSpanChunk) {
+        checkVersion(pSpanChunk.getVersion());
+
+        final List<PSpanEvent> spanEventList = pSpanChunk.getSpanEventList();
+        if (spanEventList.isEmpty()) {
+            return null;
+        }
+
+        final Buffer buffer = new AutomaticBuffer(SPAN_HEADER_SIZE + pSpanChunk.getSerializedSize());
+
+        final byte version = (byte) pSpanChunk.getVersion();
+        buffer.putByte(version);
+        if (version == SpanVersion.TRACE_V2) {
+            buffer.putVLong(pSpanChunk.getKeyTime());
+        }
+
+        writeSpanEventList(buffer, spanEventList);
+
+        return buffer.wrapByteBuffer();
+    }
+
+    private void checkVersion(int version) {
+        if (version != SpanVersion.TRACE_V2) {
+            throw new IllegalStateException("unsupported version:" + version);
+        }
+    }
+
+    private void writeSpanEventList(Buffer buffer, List<PSpanEvent> spanEventList) {
+        buffer.putVInt(spanEventList.size());
+
+        PSpanEvent prevSpanEvent = null;
+        int prevStartElapsed = 0;
+        int prevDepth = 0;
+        for (PSpanEvent pSpanEvent : spanEventList) {
+            // v2 spec : startElapsed is the delta from the previous span event and depth 0 means the previous depth
+            final int startElapsed = prevSpanEvent == null ? pSpanEvent.getStartElapsed() : pSpanEvent.getStartElapsed() + prevStartElapsed;
+            final int depth = pSpanEvent.getDepth() != 0 ? pSpanEvent.getDepth() : prevDepth;
+            if (prevSpanEvent == null) {
+                writeFirstSpanEvent(buffer, pSpanEvent, startElapsed, depth);
+            } else {
+                writeNextSpanEvent(buffer, pSpanEvent, startElapsed, depth, prevSpanEvent, prevStartElapsed, prevDepth);
+            }
+            prevSpanEvent = pSpanEvent;
+            prevStartElapsed = startElapsed;
+            prevDepth = depth;
+        }
+    }
+
+    private SpanEventBitField buildFirstBitField(PSpanEvent pSpanEvent, PMessageEvent messageEvent) {
+        final boolean hasMessageEvent = messageEvent != null;
+        return SpanEventBitField.buildFirst(false, hasMessageEvent, hasMessageEvent, false, pSpanEvent.hasExceptionInfo(),
+                pSpanEvent.getAnnotationCount() != 0, pSpanEvent.getAsyncEvent() != -1, false);
+    }
+
+    private void writeFirstSpanEvent(Buffer buffer, PSpanEvent pSpanEvent, int startElapsed, int depth) {
+        final PMessageEvent messageEvent = getMessageEvent(pSpanEvent);
+        final SpanEventBitField bitField = buildFirstBitField(pSpanEvent, messageEvent);
+
+        buffer.putByte((byte) bitField.getBitField());
+
+        buffer.putVInt(startElapsed);
+        buffer.putVInt(pSpanEvent.getEndElapsed());
+
+        buffer.putShort((short) pSpanEvent.getSequence());
+        buffer.putSVInt(depth);
+        buffer.putShort((short) pSpanEvent.getServiceType());
+
+        if (bitField.isSetEndPoint()) {
+            buffer.putPrefixedString(messageEvent.getEndPoint());
+        }
+        if (bitField.isSetDestinationId()) {
+            buffer.putPrefixedString(messageEvent.getDestinationId());
+        }
+
+        buffer.putSVInt(pSpanEvent.getApiId());
+
+        writeSpanEventBody(buffer, pSpanEvent, bitField);
+    }
+
+    private void writeNextSpanEvent(Buffer buffer, PSpanEvent pSpanEvent, int startElapsed, int depth,
+                                    PSpanEvent prevSpanEvent, int prevStartElapsed, int prevDepth) {
+        final PMessageEvent messageEvent = getMessageEvent(pSpanEvent);
+        final SpanEventBitField bitField = buildFirstBitField(pSpanEvent, messageEvent);
+
+        final short sequence = (short) pSpanEvent.getSequence();
+        final short prevSequence = (short) prevSpanEvent.getSequence();
+        final short serviceType = (short) pSpanEvent.getServiceType();
+        bitField.setPrevEncodingStrategy(startElapsed, prevStartElapsed, sequence, prevSequence,
+                depth, prevDepth, serviceType, (short) prevSpanEvent.getServiceType());
+
+        buffer.putShort(bitField.getBitField());
+
+        switch (bitField.getStartElapsedEncodingStrategy()) {
+            case PREV_DELTA:
+                buffer.putVInt(startElapsed - prevStartElapsed);
+                break;
+            case PREV_EQUALS:
+                // skip bitfield
+                break;
+            default:
+                throw new IllegalStateException("unsupported StartElapsedEncodingStrategy");
+        }
+        buffer.putVInt(pSpanEvent.getEndElapsed());
+
+        switch (bitField.getSequenceEncodingStrategy()) {
+            case PREV_DELTA:
+                buffer.putVInt(sequence - prevSequence);
+                break;
+            case PREV_ADD1:
+                // skip bitfield
+                break;
+            default:
+                throw new IllegalStateException("unsupported SequenceEncodingStrategy");
+        }
+
+        switch (bitField.getDepthEncodingStrategy()) {
+            case RAW:
+                buffer.putSVInt(depth);
+                break;
+            case PREV_EQUALS:
+                // skip bitfield
+                break;
+            default:
+                throw new IllegalStateException("unsupported DepthEncodingStrategy");
+        }
+
+        switch (bitField.getServiceTypeEncodingStrategy()) {
+            case RAW:
+                buffer.putShort(serviceType);
+                break;
+            case PREV_EQUALS:
+                // skip bitfield
+                break;
+            default:
+                throw new IllegalStateException("unsupported ServiceTypeEncodingStrategy");
+        }
+
+        buffer.putSVInt(pSpanEvent.getApiId());
+
+        if (bitField.isSetEndPoint()) {
+            buffer.putPrefixedString(messageEvent.getEndPoint());
+        }
+        if (bitField.isSetDestinationId()) {
+            buffer.putPrefixedString(messageEvent.getDestinationId());
+        }
+
+        writeSpanEventBody(buffer, pSpanEvent, bitField);
+    }
+
+    private void writeSpanEventBody(Buffer buffer, PSpanEvent pSpanEvent, SpanEventBitField bitField) {
+        if (bitField.isSetHasException()) {
+            final PIntStringValue exceptionInfo = pSpanEvent.getExceptionInfo();
+            buffer.putSVInt(exceptionInfo.getIntValue());
+            buffer.putPrefixedString(exceptionInfo.getStringValue());
+        }
+
+        if (bitField.isSetAnnotation()) {
+            writeAnnotationList(buffer, pSpanEvent.getAnnotationList());
+        }
+
+        if (bitField.isSetNextAsyncId()) {
+            buffer.putSVInt(pSpanEvent.getAsyncEvent());
+        }
+    }
+
+    private PMessageEvent getMessageEvent(PSpanEvent pSpanEvent) {
+        if (!pSpanEvent.hasNextEvent()) {
+            return null;
+        }
+        final PNextEvent nextEvent = pSpanEvent.getNextEvent();
+        if (nextEvent.getFieldCase() == PNextEvent.FieldCase.MESSAGEEVENT) {
+            return nextEvent.getMessageEvent();
+        }
+        return null;
+    }
+
+    private void writeAnnotationList(Buffer buffer, List<PAnnotation> annotationList) {
+        if (annotationList.isEmpty()) {
+            return;
+        }
+        final List<PAnnotation> sortedList = sortByKey(annotationList);
+
+        buffer.putVInt(sortedList.size());
+
+        int prevKey = 0;
+        for (int i = 0; i < sortedList.size(); i++) {
+            final PAnnotation annotation = sortedList.get(i);
+            final int key = annotation.getKey();
+            if (i == 0) {
+                // first annotation
+                buffer.putSVInt(key);
+            } else {
+                buffer.putSVInt(key - prevKey);
+            }
+
+            final Object value = annotationFactory.buildAnnotationValue(annotationHandler.getValue(annotation));
+            final byte valueTypeCode = transcoder.getTypeCode(value);
+            final byte[] valueBytes = transcoder.encode(value, valueTypeCode);
+
+            buffer.putByte(valueTypeCode);
+            buffer.putPrefixedBytes(valueBytes);
+
+            prevKey = key;
+        }
+    }
+
+    private List<PAnnotation> sortByKey(List<PAnnotation> annotationList) {
+        int prevKey = Integer.MIN_VALUE;
+        for (PAnnotation annotation : annotationList) {
+            if (annotation.getKey() < prevKey) {
+                // stable sort, same order as AnnotationComparator
+                final List<PAnnotation> sortedList = new ArrayList<>(annotationList);
+                sortedList.sort(ANNOTATION_KEY_COMPARATOR);
+                return sortedList;
+            }
+            prevKey = annotation.getKey();
+        }
+        return annotationList;
+    }
+}
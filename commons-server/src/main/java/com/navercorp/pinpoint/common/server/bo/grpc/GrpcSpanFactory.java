@@ -96,6 +96,20 @@ public class GrpcSpanFactory {
         return spanBo;
     }
 
+    /**
+     * builds a SpanBo without annotations and span events for the index and statistics of the spans encoded by {@link GrpcSpanEncoder}
+     */
+    public SpanBo buildSpanHeaderBo(PSpan pSpan, AgentHeaderFactory.Header header) {
+        checkVersion(pSpan.getVersion());
+
+        final SpanBo spanBo = newSpanHeaderBo(pSpan, header);
+
+        long acceptedTime = acceptedTimeService.getAcceptedTime();
+        spanBo.setCollectorAcceptTime(acceptedTime);
+
+        return spanBo;
+    }
+
     private void checkVersion(int version) {
         if (version != SpanVersion.TRACE_V2) {
             throw new IllegalStateException("unsupported version:" + version);
@@ -104,6 +118,15 @@ public class GrpcSpanFactory {
 
     // for test
     SpanBo newSpanBo(PSpan pSpan, AgentHeaderFactory.Header header) {
+        final SpanBo spanBo = newSpanHeaderBo(pSpan, header);
+
+        List<AnnotationBo> annotationBoList = buildAnnotationList(pSpan.getAnnotationList());
+        spanBo.setAnnotationBoList(annotationBoList);
+
+        return spanBo;
+    }
+
+    private SpanBo newSpanHeaderBo(PSpan pSpan, AgentHeaderFactory.Header header) {
         final SpanBo spanBo = new SpanBo();
         spanBo.setVersion(pSpan.getVersion());
         spanBo.setAgentId(header.getAgentId());
@@ -152,9 +175,6 @@ public class GrpcSpanFactory {
             spanBo.setExceptionInfo(exceptionInfo.getIntValue(), exceptionInfo.getStringValue());
         }
 
-        List<AnnotationBo> annotationBoList = buildAnnotationList(pSpan.getAnnotationList());
-        spanBo.setAnnotationBoList(annotationBoList);
-
         return spanBo;
     }
 
@@ -230,6 +250,20 @@ public class GrpcSpanFactory {
     }
 
 
+    /**
+     * builds a SpanChunkBo without span events for the statistics of the span chunks encoded by {@link GrpcSpanEncoder}
+     */
+    public SpanChunkBo buildSpanChunkHeaderBo(PSpanChunk pSpanChunk, AgentHeaderFactory.Header header) {
+        checkVersion(pSpanChunk.getVersion());
+
+        final SpanChunkBo spanChunkBo = newSpanChunkBo(pSpanChunk, header);
+
+        long acceptedTime = acceptedTimeService.getAcceptedTime();
+        spanChunkBo.setCollectorAcceptTime(acceptedTime);
+
+        return spanChunkBo;
+    }
+
     // for test
     SpanChunkBo newSpanChunkBo(PSpanChunk pSpanChunk, AgentHeaderFactory.Header header) {
         final SpanChunkBo spanChunkBo = new SpanChunkBo();
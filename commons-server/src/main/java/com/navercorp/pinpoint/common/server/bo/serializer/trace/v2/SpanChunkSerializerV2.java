@@ -29,9 +29,10 @@ public class SpanChunkSerializerV2 implements HbaseSerializer<SpanChunkBo, Put>
         SpanEncodingContext<SpanChunkBo> encodingContext = new SpanEncodingContext<SpanChunkBo>(spanChunkBo);
 
         ByteBuffer qualifier = spanEncoder.encodeSpanChunkQualifier(encodingContext);
-        ByteBuffer columnValue = spanEncoder.encodeSpanChunkColumnValue(encodingContext);
+        ByteBuffer columnValue = spanEncoder.encodeSharedSpanChunkColumnValue(encodingContext);
 
         long acceptedTime = put.getTimeStamp();
+        // Put copies the value into its KeyValue, so the shared encoding buffer can be handed over as is
         put.addColumn(TRACE_V2_CF_SPAN, qualifier, acceptedTime, columnValue);
 
     }
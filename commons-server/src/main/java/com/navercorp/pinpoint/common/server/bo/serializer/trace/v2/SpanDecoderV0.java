@@ -1,12 +1,15 @@
 package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2;
 
 import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.OffsetFixedBuffer;
 import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.BasicSpan;
 import com.navercorp.pinpoint.common.server.bo.LocalAsyncIdBo;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanBodyDecoder;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventComparator;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanBitFiled;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventBitField;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventQualifierBitField;
@@ -30,6 +33,20 @@ public class SpanDecoderV0 implements SpanDecoder {
 
     private static final AnnotationTranscoder transcoder = new AnnotationTranscoder();
 
+    private final boolean lazyBodyDecode;
+
+    public SpanDecoderV0() {
+        this(false);
+    }
+
+    /**
+     * @param lazyBodyDecode if true, annotations and span events of a span are not decoded until they are first accessed.
+     *                       The column value array is referenced by the decoded {@link SpanBo} until then, so it must not be reused.
+     */
+    public SpanDecoderV0(boolean lazyBodyDecode) {
+        this.lazyBodyDecode = lazyBodyDecode;
+    }
+
     @Override
     public Object decode(Buffer qualifier, Buffer columnValue, SpanDecodingContext decodingContext) {
         final byte type = qualifier.readByte();
@@ -151,16 +168,59 @@ public class SpanDecoderV0 implements SpanDecoder {
 
         span.setAcceptorHost(buffer.readPrefixedString());
 
+        if (lazyBodyDecode) {
+            span.setBodyDecoder(new LazySpanBodyDecoder(buffer, bitFiled.isSetAnnotation(), firstSpanEvent, decodingContext));
+            return;
+        }
 
-        if (bitFiled.isSetAnnotation()) {
+        readSpanBody(buffer, span, bitFiled.isSetAnnotation(), firstSpanEvent, decodingContext);
+    }
+
+    private void readSpanBody(Buffer buffer, SpanBo span, boolean hasAnnotation, SpanEventBo firstSpanEvent, SpanDecodingContext decodingContext) {
+        if (hasAnnotation) {
             List<AnnotationBo> annotationBoList = readAnnotationList(buffer, decodingContext);
             span.setAnnotationBoList(annotationBoList);
         }
 
         List<SpanEventBo> spanEventBoList = readSpanEvent(buffer, firstSpanEvent, decodingContext);
         span.addSpanEventBoList(spanEventBoList);
+    }
 
-
+    private class LazySpanBodyDecoder implements SpanBodyDecoder {
+        // references the remaining bytes of the column value without copying them
+        private final byte[] columnValue;
+        private final int offset;
+        private final int length;
+
+        private final boolean hasAnnotation;
+        private final SpanEventBo firstSpanEvent;
+        private final TransactionId transactionId;
+        private final long collectorAcceptedTime;
+
+        private LazySpanBodyDecoder(Buffer buffer, boolean hasAnnotation, SpanEventBo firstSpanEvent, SpanDecodingContext decodingContext) {
+            this.columnValue = buffer.getInternalBuffer();
+            this.offset = buffer.getOffset();
+            this.length = buffer.remaining();
+            this.hasAnnotation = hasAnnotation;
+            this.firstSpanEvent = firstSpanEvent;
+            // the decoding context is shared by every cell of a row
+            this.transactionId = decodingContext.getTransactionId();
+            this.collectorAcceptedTime = decodingContext.getCollectorAcceptedTime();
+        }
+
+        @Override
+        public void decodeBody(SpanBo spanBo) {
+            final Buffer buffer = new OffsetFixedBuffer(columnValue, offset, length);
+
+            final SpanDecodingContext decodingContext = new SpanDecodingContext();
+            decodingContext.setTransactionId(transactionId);
+            decodingContext.setCollectorAcceptedTime(collectorAcceptedTime);
+
+            readSpanBody(buffer, spanBo, hasAnnotation, firstSpanEvent, decodingContext);
+            // eagerly decoded spans are sorted by their readers, lazily decoded ones are sorted here
+            spanBo.getSpanEventBoList().sort(SpanEventComparator.INSTANCE);
+            decodingContext.finish();
+        }
     }
 
     private List<SpanEventBo> readSpanEvent(Buffer buffer, SpanEventBo firstSpanEvent, SpanDecodingContext decodingContext) {
@@ -21,8 +21,20 @@ public interface SpanEncoder {
 
     ByteBuffer encodeSpanColumnValue(SpanEncodingContext<SpanBo> encodingContext);
 
+    /**
+     * Same as {@link #encodeSpanColumnValue(SpanEncodingContext)} without copying the encoded value.
+     * The returned buffer is owned by the calling thread and is overwritten by the next encode call,
+     * so it must be consumed (e.g. copied into a Put) before then.
+     */
+    ByteBuffer encodeSharedSpanColumnValue(SpanEncodingContext<SpanBo> encodingContext);
+
 
     ByteBuffer encodeSpanChunkQualifier(SpanEncodingContext<SpanChunkBo> encodingContext);
 
     ByteBuffer encodeSpanChunkColumnValue(SpanEncodingContext<SpanChunkBo> encodingContext);
+
+    /**
+     * @see #encodeSharedSpanColumnValue(SpanEncodingContext)
+     */
+    ByteBuffer encodeSharedSpanChunkColumnValue(SpanEncodingContext<SpanChunkBo> encodingContext);
 }
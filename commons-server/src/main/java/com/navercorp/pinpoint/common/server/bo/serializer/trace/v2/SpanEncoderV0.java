@@ -12,6 +12,7 @@ import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.Span
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventBitField;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventQualifierBitField;
 import com.navercorp.pinpoint.common.server.bo.AnnotationTranscoder;
+import com.navercorp.pinpoint.common.util.BytesUtils;
 import com.navercorp.pinpoint.io.SpanVersion;
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
@@ -29,6 +30,34 @@ public class SpanEncoderV0 implements SpanEncoder {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private static final AnnotationTranscoder transcoder = new AnnotationTranscoder();
 
+    // larger buffers are not kept to bound the memory held by each collector worker thread
+    private static final int MAX_REUSABLE_BUFFER_SIZE = 1024 * 256;
+    private static final int SPAN_HEADER_SIZE = 64;
+    private static final int SPAN_EVENT_HEADER_SIZE = 32;
+    private static final int ANNOTATION_HEADER_SIZE = 8;
+    private static final int DEFAULT_ANNOTATION_VALUE_SIZE = 16;
+
+    private static final ThreadLocal<byte[]> REUSABLE_BUFFER = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[1024];
+        }
+    };
+
+    private final boolean reuseBuffer;
+
+    public SpanEncoderV0() {
+        this(true);
+    }
+
+    /**
+     * @param reuseBuffer if false, every column value is encoded into a new {@link AutomaticBuffer} that grows from 256 bytes.
+     *                    This is the encoding path used before the per-thread buffer and is kept as a baseline.
+     */
+    public SpanEncoderV0(boolean reuseBuffer) {
+        this.reuseBuffer = reuseBuffer;
+    }
+
     @Override
     public ByteBuffer encodeSpanQualifier(SpanEncodingContext<SpanBo> encodingContext) {
         final SpanBo spanBo = encodingContext.getValue();
@@ -91,9 +120,29 @@ public class SpanEncoderV0 implements SpanEncoder {
 
     @Override
     public ByteBuffer encodeSpanChunkColumnValue(SpanEncodingContext<SpanChunkBo> encodingContext) {
+        final Buffer buffer = writeSpanChunkColumnValue(encodingContext);
+        if (!reuseBuffer) {
+            return buffer.wrapByteBuffer();
+        }
+        return ByteBuffer.wrap(buffer.copyBuffer());
+    }
+
+    @Override
+    public ByteBuffer encodeSharedSpanChunkColumnValue(SpanEncodingContext<SpanChunkBo> encodingContext) {
+        final Buffer buffer = writeSpanChunkColumnValue(encodingContext);
+        return buffer.wrapByteBuffer();
+    }
+
+    private Buffer writeSpanChunkColumnValue(SpanEncodingContext<SpanChunkBo> encodingContext) {
         final SpanChunkBo spanChunkBo = encodingContext.getValue();
 
-        final Buffer buffer = new AutomaticBuffer(256);
+        final Buffer buffer;
+        if (reuseBuffer) {
+            final int estimatedSize = SPAN_HEADER_SIZE + estimateSpanEventListSize(spanChunkBo.getSpanEventBoList());
+            buffer = newReusableBuffer(estimatedSize);
+        } else {
+            buffer = new AutomaticBuffer(256);
+        }
 
         final byte version = (byte) spanChunkBo.getVersion();
         buffer.putByte(version);
@@ -105,7 +154,8 @@ public class SpanEncoderV0 implements SpanEncoder {
         final List<SpanEventBo> spanEventBoList = spanChunkBo.getSpanEventBoList();
         writeSpanEventList(buffer, spanEventBoList, encodingContext);
 
-        return buffer.wrapByteBuffer();
+        releaseReusableBuffer(buffer);
+        return buffer;
     }
 
     private void writeSpanEventList(Buffer buffer, List<SpanEventBo> spanEventBoList, SpanEncodingContext<?> encodingContext) {
@@ -128,11 +178,30 @@ public class SpanEncoderV0 implements SpanEncoder {
 
     @Override
     public ByteBuffer encodeSpanColumnValue(SpanEncodingContext<SpanBo> encodingContext) {
+        final Buffer buffer = writeSpanColumnValue(encodingContext);
+        if (!reuseBuffer) {
+            return buffer.wrapByteBuffer();
+        }
+        return ByteBuffer.wrap(buffer.copyBuffer());
+    }
+
+    @Override
+    public ByteBuffer encodeSharedSpanColumnValue(SpanEncodingContext<SpanBo> encodingContext) {
+        final Buffer buffer = writeSpanColumnValue(encodingContext);
+        return buffer.wrapByteBuffer();
+    }
+
+    private Buffer writeSpanColumnValue(SpanEncodingContext<SpanBo> encodingContext) {
         final SpanBo span = encodingContext.getValue();
 
         final SpanBitFiled bitField = SpanBitFiled.build(span);
 
-        final Buffer buffer = new AutomaticBuffer(256);
+        final Buffer buffer;
+        if (reuseBuffer) {
+            buffer = newReusableBuffer(estimateSpanSize(span));
+        } else {
+            buffer = new AutomaticBuffer(256);
+        }
 
         final byte version = span.getRawVersion();
         buffer.putByte(version);
@@ -204,7 +273,82 @@ public class SpanEncoderV0 implements SpanEncoder {
         final List<SpanEventBo> spanEventBoList = span.getSpanEventBoList();
         writeSpanEventList(buffer, spanEventBoList, encodingContext);
 
-        return buffer.wrapByteBuffer();
+        releaseReusableBuffer(buffer);
+        return buffer;
+    }
+
+    private Buffer newReusableBuffer(int estimatedSize) {
+        byte[] bytes = REUSABLE_BUFFER.get();
+        if (bytes.length < estimatedSize) {
+            bytes = new byte[estimatedSize];
+        }
+        return new AutomaticBuffer(bytes);
+    }
+
+    private void releaseReusableBuffer(Buffer buffer) {
+        if (!reuseBuffer) {
+            return;
+        }
+        // keep the expanded buffer for the next span of this thread
+        final byte[] bytes = buffer.getInternalBuffer();
+        if (bytes.length <= MAX_REUSABLE_BUFFER_SIZE) {
+            REUSABLE_BUFFER.set(bytes);
+        }
+    }
+
+    private int estimateSpanSize(SpanBo span) {
+        int size = SPAN_HEADER_SIZE;
+        size += estimateStringSize(span.getRpc());
+        size += estimateStringSize(span.getEndPoint());
+        size += estimateStringSize(span.getRemoteAddr());
+        size += estimateStringSize(span.getExceptionMessage());
+        size += estimateStringSize(span.getAcceptorHost());
+        size += estimateAnnotationListSize(span.getAnnotationBoList());
+        size += estimateSpanEventListSize(span.getSpanEventBoList());
+        return size;
+    }
+
+    private int estimateSpanEventListSize(List<SpanEventBo> spanEventBoList) {
+        if (CollectionUtils.isEmpty(spanEventBoList)) {
+            return 0;
+        }
+        int size = 0;
+        for (SpanEventBo spanEventBo : spanEventBoList) {
+            size += SPAN_EVENT_HEADER_SIZE;
+            size += estimateStringSize(spanEventBo.getRpc());
+            size += estimateStringSize(spanEventBo.getEndPoint());
+            size += estimateStringSize(spanEventBo.getDestinationId());
+            size += estimateStringSize(spanEventBo.getExceptionMessage());
+            size += estimateAnnotationListSize(spanEventBo.getAnnotationBoList());
+        }
+        return size;
+    }
+
+    private int estimateAnnotationListSize(List<AnnotationBo> annotationBoList) {
+        if (CollectionUtils.isEmpty(annotationBoList)) {
+            return 0;
+        }
+        int size = 0;
+        for (AnnotationBo annotationBo : annotationBoList) {
+            size += ANNOTATION_HEADER_SIZE;
+            final Object value = annotationBo.getValue();
+            if (value instanceof String) {
+                size += ((String) value).length();
+            } else if (value instanceof byte[]) {
+                size += ((byte[]) value).length;
+            } else {
+                size += DEFAULT_ANNOTATION_VALUE_SIZE;
+            }
+        }
+        return size;
+    }
+
+    private int estimateStringSize(String value) {
+        if (value == null) {
+            return 1;
+        }
+        // exact for ascii, the buffer expands for multi-byte characters
+        return value.length() + BytesUtils.VINT_MAX_SIZE;
     }
 
     public void writeFirstSpanEvent(Buffer buffer, SpanEventBo spanEventBo, SpanEncodingContext<?> encodingContext) {
@@ -32,9 +32,10 @@ public class SpanSerializerV2 implements HbaseSerializer<SpanBo, Put> {
         final SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<SpanBo>(spanBo);
 
         ByteBuffer qualifier = spanEncoder.encodeSpanQualifier(encodingContext);
-        ByteBuffer columnValue = spanEncoder.encodeSpanColumnValue(encodingContext);
+        ByteBuffer columnValue = spanEncoder.encodeSharedSpanColumnValue(encodingContext);
 
         long acceptedTime = put.getTimeStamp();
+        // Put copies the value into its KeyValue, so the shared encoding buffer can be handed over as is
         put.addColumn(TRACE_V2_CF_SPAN, qualifier, acceptedTime, columnValue);
     }
 
@@ -29,34 +29,40 @@ public class SpanBitFiled {
         if (spanBo == null) {
             throw new NullPointerException("spanBo must not be null");
         }
+        return build(spanBo.getServiceType(), spanBo.getApplicationServiceType(), spanBo.getParentSpanId(), spanBo.getErrCode(),
+                spanBo.hasException(), spanBo.getFlag(), spanBo.getLoggingTransactionInfo(), CollectionUtils.isNotEmpty(spanBo.getAnnotationBoList()));
+    }
+
+    public static SpanBitFiled build(short serviceType, short applicationServiceType, long parentSpanId, int errCode,
+                                     boolean hasException, short flag, byte loggingTransactionInfo, boolean annotation) {
         final SpanBitFiled spanBitFiled = new SpanBitFiled();
 
 
-        if (spanBo.getServiceType() == spanBo.getApplicationServiceType()) {
+        if (serviceType == applicationServiceType) {
             spanBitFiled.setApplicationServiceTypeEncodingStrategy(ServiceTypeEncodingStrategy.PREV_EQUALS);
         } else {
             spanBitFiled.setApplicationServiceTypeEncodingStrategy(ServiceTypeEncodingStrategy.RAW);
         }
 
-        if (spanBo.getParentSpanId() == ROOT_PARENT_SPAN_ID) {
+        if (parentSpanId == ROOT_PARENT_SPAN_ID) {
             spanBitFiled.setRoot(true);
         }
-        if (spanBo.getErrCode() != 0) {
+        if (errCode != 0) {
             spanBitFiled.setErrorCode(true);
         }
 
-        if (spanBo.hasException()) {
+        if (hasException) {
             spanBitFiled.setHasException(true);
         }
 
-        if (spanBo.getFlag() != 0) {
+        if (flag != 0) {
             spanBitFiled.setFlag(true);
         }
 
-        if (spanBo.getLoggingTransactionInfo() != LoggingInfo.NOT_LOGGED.getCode()) {
+        if (loggingTransactionInfo != LoggingInfo.NOT_LOGGED.getCode()) {
             spanBitFiled.setLoggingTransactionInfo(true);
         }
-        if (CollectionUtils.isNotEmpty(spanBo.getAnnotationBoList())) {
+        if (annotation) {
             spanBitFiled.setAnnotation(true);
         }
 
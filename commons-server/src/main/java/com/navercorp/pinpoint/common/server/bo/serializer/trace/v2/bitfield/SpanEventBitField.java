@@ -16,12 +16,10 @@
 
 package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield;
 
-import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.util.BitFieldUtils;
 import org.apache.commons.collections.CollectionUtils;
 
-import java.util.List;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -54,42 +52,23 @@ public class SpanEventBitField {
         if (spanEventBo == null) {
             throw new NullPointerException("spanEventBo must not be null");
         }
-        final SpanEventBitField bitFiled = new SpanEventBitField();
-
-        if (spanEventBo.getRpc() != null) {
-            bitFiled.setRpc(true);
-        }
-        if (spanEventBo.getEndPoint() != null) {
-            bitFiled.setEndPoint(true);
-        }
-
-        if (spanEventBo.getDestinationId() != null) {
-            bitFiled.setDestinationId(true);
-        }
-
-        if (spanEventBo.getNextSpanId() != -1) {
-            bitFiled.setNextSpanId(true);
-        }
-
-        if (spanEventBo.hasException()) {
-            bitFiled.setHasException(true);
-        }
-
-        final List<AnnotationBo> annotationBoList = spanEventBo.getAnnotationBoList();
-        if (CollectionUtils.isNotEmpty(annotationBoList)) {
-            bitFiled.setAnnotation(true);
-        }
-
-        if (spanEventBo.getNextAsyncId() != -1)  {
-            bitFiled.setNextAsyncId(true);
-        }
-
+        final boolean asyncId = !(spanEventBo.getAsyncId() == -1 && spanEventBo.getAsyncSequence() == -1);
+        return buildFirst(spanEventBo.getRpc() != null, spanEventBo.getEndPoint() != null, spanEventBo.getDestinationId() != null,
+                spanEventBo.getNextSpanId() != -1, spanEventBo.hasException(), CollectionUtils.isNotEmpty(spanEventBo.getAnnotationBoList()),
+                spanEventBo.getNextAsyncId() != -1, asyncId);
+    }
 
-        if (spanEventBo.getAsyncId() == -1 && spanEventBo.getAsyncSequence() == -1) {
-            bitFiled.setAsyncId(false);
-        } else {
-            bitFiled.setAsyncId(true);
-        }
+    public static SpanEventBitField buildFirst(boolean rpc, boolean endPoint, boolean destinationId, boolean nextSpanId,
+                                               boolean hasException, boolean annotation, boolean nextAsyncId, boolean asyncId) {
+        final SpanEventBitField bitFiled = new SpanEventBitField();
+        bitFiled.setRpc(rpc);
+        bitFiled.setEndPoint(endPoint);
+        bitFiled.setDestinationId(destinationId);
+        bitFiled.setNextSpanId(nextSpanId);
+        bitFiled.setHasException(hasException);
+        bitFiled.setAnnotation(annotation);
+        bitFiled.setNextAsyncId(nextAsyncId);
+        bitFiled.setAsyncId(asyncId);
         return bitFiled;
     }
 
@@ -102,36 +81,43 @@ public class SpanEventBitField {
         }
 
         final SpanEventBitField bitFiled = buildFirst(spanEventBo);
+        bitFiled.setPrevEncodingStrategy(spanEventBo.getStartElapsed(), prevSpanEventBo.getStartElapsed(),
+                spanEventBo.getSequence(), prevSpanEventBo.getSequence(),
+                spanEventBo.getDepth(), prevSpanEventBo.getDepth(),
+                spanEventBo.getServiceType(), prevSpanEventBo.getServiceType());
+        return bitFiled;
+    }
 
-        if (spanEventBo.getStartElapsed() == prevSpanEventBo.getStartElapsed()) {
-            bitFiled.setStartElapsedEncodingStrategy(StartElapsedTimeEncodingStrategy.PREV_EQUALS);
+    /**
+     * sets the encoding strategies of the fields encoded relative to the previous span event
+     */
+    public void setPrevEncodingStrategy(int startElapsed, int prevStartElapsed, short sequence, short prevSequence,
+                                        int depth, int prevDepth, short serviceType, short prevServiceType) {
+        if (startElapsed == prevStartElapsed) {
+            setStartElapsedEncodingStrategy(StartElapsedTimeEncodingStrategy.PREV_EQUALS);
         } else {
-            bitFiled.setStartElapsedEncodingStrategy(StartElapsedTimeEncodingStrategy.PREV_DELTA);
+            setStartElapsedEncodingStrategy(StartElapsedTimeEncodingStrategy.PREV_DELTA);
         }
 
         // sequence prev: 5 current: 6 = 6 - 5= delta 1
-        final short sequenceDelta = (short) (spanEventBo.getSequence() - prevSpanEventBo.getSequence());
+        final short sequenceDelta = (short) (sequence - prevSequence);
         if (sequenceDelta == 1) {
-            bitFiled.setSequenceEncodingStrategy(SequenceEncodingStrategy.PREV_ADD1);
+            setSequenceEncodingStrategy(SequenceEncodingStrategy.PREV_ADD1);
         } else {
-            bitFiled.setSequenceEncodingStrategy(SequenceEncodingStrategy.PREV_DELTA);
+            setSequenceEncodingStrategy(SequenceEncodingStrategy.PREV_DELTA);
         }
 
-        if (spanEventBo.getDepth() == prevSpanEventBo.getDepth()) {
-            bitFiled.setDepthEncodingStrategy(DepthEncodingStrategy.PREV_EQUALS);
+        if (depth == prevDepth) {
+            setDepthEncodingStrategy(DepthEncodingStrategy.PREV_EQUALS);
         } else {
-            bitFiled.setDepthEncodingStrategy(DepthEncodingStrategy.RAW);
+            setDepthEncodingStrategy(DepthEncodingStrategy.RAW);
         }
 
-
-        if (prevSpanEventBo.getServiceType() == spanEventBo.getServiceType()) {
-            bitFiled.setServiceTypeEncodingStrategy(ServiceTypeEncodingStrategy.PREV_EQUALS);
+        if (prevServiceType == serviceType) {
+            setServiceTypeEncodingStrategy(ServiceTypeEncodingStrategy.PREV_EQUALS);
         } else {
-            bitFiled.setServiceTypeEncodingStrategy(ServiceTypeEncodingStrategy.RAW);
+            setServiceTypeEncodingStrategy(ServiceTypeEncodingStrategy.RAW);
         }
-
-
-        return bitFiled;
     }
 
     public SpanEventBitField() {
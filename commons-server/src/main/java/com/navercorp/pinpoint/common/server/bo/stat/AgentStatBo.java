@@ -37,6 +37,7 @@ public class AgentStatBo {
     private List<DeadlockThreadCountBo> deadlockThreadCountBos;
     private List<FileDescriptorBo> fileDescriptorBos;
     private List<DirectBufferBo> directBufferBos;
+    private List<SpoolBo> spoolBos;
 
     public long getStartTimestamp() {
         return startTimestamp;
@@ -130,6 +131,14 @@ public class AgentStatBo {
 
     public void setDirectBufferBos(List<DirectBufferBo> directBufferBos) { this.directBufferBos = directBufferBos; }
 
+    public List<SpoolBo> getSpoolBos() {
+        return spoolBos;
+    }
+
+    public void setSpoolBos(List<SpoolBo> spoolBos) {
+        this.spoolBos = spoolBos;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("AgentStatBo{");
@@ -144,6 +153,7 @@ public class AgentStatBo {
         sb.append(", deadlockThreadCountBos=").append(deadlockThreadCountBos);
         sb.append(", fileDescriptorBos=").append(fileDescriptorBos);
         sb.append(", directBufferBos=").append(directBufferBos);
+        sb.append(", spoolBos=").append(spoolBos);
         sb.append('}');
         return sb.toString();
     }
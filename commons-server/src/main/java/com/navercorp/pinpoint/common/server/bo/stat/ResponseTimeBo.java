@@ -16,18 +16,22 @@
 
 package com.navercorp.pinpoint.common.server.bo.stat;
 
+import java.util.Arrays;
+
 /**
  * @author Taejin Koo
  */
 public class ResponseTimeBo implements AgentStatDataPoint {
 
     public static final long UNCOLLECTED_VALUE = -1;
+    public static final long[] EMPTY_HISTOGRAM = new long[0];
 
     private String agentId;
     private long startTimestamp;
     private long timestamp;
     private long avg = 0;
     private long max = 0;
+    private long[] histogram = EMPTY_HISTOGRAM;
 
     @Override
     public String getAgentId() {
@@ -80,6 +84,20 @@ public class ResponseTimeBo implements AgentStatDataPoint {
         this.max = max;
     }
 
+    /**
+     * @return bucket counts laid out by {@link com.navercorp.pinpoint.common.trace.LogLinearHistogramSchema}
+     */
+    public long[] getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(long[] histogram) {
+        if (histogram == null) {
+            throw new NullPointerException("histogram must not be null");
+        }
+        this.histogram = histogram;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -91,6 +109,7 @@ public class ResponseTimeBo implements AgentStatDataPoint {
         if (timestamp != that.timestamp) return false;
         if (avg != that.avg) return false;
         if (max != that.max) return false;
+        if (!Arrays.equals(histogram, that.histogram)) return false;
         return agentId != null ? agentId.equals(that.agentId) : that.agentId == null;
 
     }
@@ -102,6 +121,7 @@ public class ResponseTimeBo implements AgentStatDataPoint {
         result = 31 * result + (int) (timestamp ^ (timestamp >>> 32));
         result = 31 * result + (int) (avg ^ (avg >>> 32));
         result = 31 * result + (int) (max ^ (max >>> 32));
+        result = 31 * result + Arrays.hashCode(histogram);
         return result;
     }
 
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.stat;
+
+/**
+ * Counters of the agent data sender spools.
+ */
+public class SpoolBo implements AgentStatDataPoint {
+
+    public static final long UNCOLLECTED_VALUE = -1;
+
+    private String agentId;
+    private long startTimestamp;
+    private long timestamp;
+
+    private long pendingCount = UNCOLLECTED_VALUE;
+    private long writeCount = UNCOLLECTED_VALUE;
+    private long readCount = UNCOLLECTED_VALUE;
+    private long requeueCount = UNCOLLECTED_VALUE;
+    private long evictCount = UNCOLLECTED_VALUE;
+    private long dropCount = UNCOLLECTED_VALUE;
+
+    @Override
+    public String getAgentId() {
+        return agentId;
+    }
+
+    @Override
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    @Override
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    @Override
+    public void setStartTimestamp(long startTimestamp) {
+        this.startTimestamp = startTimestamp;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public AgentStatType getAgentStatType() {
+        return AgentStatType.SPOOL;
+    }
+
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(long pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public long getWriteCount() {
+        return writeCount;
+    }
+
+    public void setWriteCount(long writeCount) {
+        this.writeCount = writeCount;
+    }
+
+    public long getReadCount() {
+        return readCount;
+    }
+
+    public void setReadCount(long readCount) {
+        this.readCount = readCount;
+    }
+
+    public long getRequeueCount() {
+        return requeueCount;
+    }
+
+    public void setRequeueCount(long requeueCount) {
+        this.requeueCount = requeueCount;
+    }
+
+    public long getEvictCount() {
+        return evictCount;
+    }
+
+    public void setEvictCount(long evictCount) {
+        this.evictCount = evictCount;
+    }
+
+    public long getDropCount() {
+        return dropCount;
+    }
+
+    public void setDropCount(long dropCount) {
+        this.dropCount = dropCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        SpoolBo spoolBo = (SpoolBo) o;
+
+        if (startTimestamp != spoolBo.startTimestamp) return false;
+        if (timestamp != spoolBo.timestamp) return false;
+        if (pendingCount != spoolBo.pendingCount) return false;
+        if (writeCount != spoolBo.writeCount) return false;
+        if (readCount != spoolBo.readCount) return false;
+        if (requeueCount != spoolBo.requeueCount) return false;
+        if (evictCount != spoolBo.evictCount) return false;
+        if (dropCount != spoolBo.dropCount) return false;
+        return agentId != null ? agentId.equals(spoolBo.agentId) : spoolBo.agentId == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = agentId != null ? agentId.hashCode() : 0;
+        result = 31 * result + (int) (startTimestamp ^ (startTimestamp >>> 32));
+        result = 31 * result + (int) (timestamp ^ (timestamp >>> 32));
+        result = 31 * result + (int) (pendingCount ^ (pendingCount >>> 32));
+        result = 31 * result + (int) (writeCount ^ (writeCount >>> 32));
+        result = 31 * result + (int) (readCount ^ (readCount >>> 32));
+        result = 31 * result + (int) (requeueCount ^ (requeueCount >>> 32));
+        result = 31 * result + (int) (evictCount ^ (evictCount >>> 32));
+        result = 31 * result + (int) (dropCount ^ (dropCount >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SpoolBo{" +
+                "agentId='" + agentId + '\'' +
+                ", startTimestamp=" + startTimestamp +
+                ", timestamp=" + timestamp +
+                ", pendingCount=" + pendingCount +
+                ", writeCount=" + writeCount +
+                ", readCount=" + readCount +
+                ", requeueCount=" + requeueCount +
+                ", evictCount=" + evictCount +
+                ", dropCount=" + dropCount +
+                '}';
+    }
+}
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.common.server.bo.codec.stat;
 
 import com.navercorp.pinpoint.common.server.bo.JvmGcType;
 import com.navercorp.pinpoint.common.server.bo.stat.*;
+import com.navercorp.pinpoint.common.trace.LogLinearHistogramSchema;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import org.apache.commons.lang3.RandomUtils;
 
@@ -265,17 +266,29 @@ public class TestAgentStatFactory {
         List<Long> startTimestamps = createStartTimestamps(startTimestamp, numValues);
         List<Long> timestamps = createTimestamps(initialTimestamp, numValues);
         List<Long> avgs = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 1000L, numValues);
+        List<Long> maxs = TestAgentStatDataPointFactory.LONG.createRandomValues(1000L, 10000L, numValues);
         for (int i = 0; i < numValues; i++) {
             ResponseTimeBo responseTimeBo = new ResponseTimeBo();
             responseTimeBo.setAgentId(agentId);
             responseTimeBo.setStartTimestamp(startTimestamps.get(i));
             responseTimeBo.setTimestamp(timestamps.get(i));
             responseTimeBo.setAvg(avgs.get(i));
+            responseTimeBo.setMax(maxs.get(i));
+            responseTimeBo.setHistogram(createResponseTimeHistogram());
             responseTimeBos.add(responseTimeBo);
         }
         return responseTimeBos;
     }
 
+    private static long[] createResponseTimeHistogram() {
+        final int length = RandomUtils.nextInt(0, LogLinearHistogramSchema.BUCKET_COUNT + 1);
+        final long[] histogram = new long[length];
+        for (int i = 0; i < length; i++) {
+            histogram[i] = RandomUtils.nextLong(0, 100000);
+        }
+        return histogram;
+    }
+
     public static List<DeadlockThreadCountBo> createDeadlockBos(String agentId, long startTimestamp, long initialTimestamp) {
         final int numValues = RandomUtils.nextInt(1, MAX_NUM_TEST_VALUES);
         return createDeadlockBos(agentId, startTimestamp, initialTimestamp, numValues);
@@ -394,6 +407,40 @@ public class TestAgentStatFactory {
         }
         return directBufferBos;
     }
+
+    public static List<SpoolBo> createSpoolBos(String agentId, long startTimestamp, long initialTimestamp) {
+        final int numValues = RandomUtils.nextInt(1, MAX_NUM_TEST_VALUES);
+        return createSpoolBos(agentId, startTimestamp, initialTimestamp, numValues);
+    }
+
+    public static List<SpoolBo> createSpoolBos(String agentId, long startTimestamp, long initialTimestamp, int numValues) {
+        List<SpoolBo> spoolBos = new ArrayList<SpoolBo>(numValues);
+        List<Long> startTimestamps = createStartTimestamps(startTimestamp, numValues);
+        List<Long> timestamps = createTimestamps(initialTimestamp, numValues);
+        List<Long> pendingCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 10000L, numValues);
+        List<Long> writeCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 100000L, numValues);
+        List<Long> readCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 100000L, numValues);
+        List<Long> requeueCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 1000L, numValues);
+        List<Long> evictCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 1000L, numValues);
+        List<Long> dropCounts = TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 1000L, numValues);
+
+        for (int i = 0; i < numValues; i++) {
+            SpoolBo spoolBo = new SpoolBo();
+            spoolBo.setStartTimestamp(startTimestamps.get(i));
+            spoolBo.setAgentId(agentId);
+            spoolBo.setTimestamp(timestamps.get(i));
+            spoolBo.setPendingCount(pendingCounts.get(i));
+            spoolBo.setWriteCount(writeCounts.get(i));
+            spoolBo.setReadCount(readCounts.get(i));
+            spoolBo.setRequeueCount(requeueCounts.get(i));
+            spoolBo.setEvictCount(evictCounts.get(i));
+            spoolBo.setDropCount(dropCounts.get(i));
+
+            spoolBos.add(spoolBo);
+        }
+        return spoolBos;
+    }
+
     private static List<Long> createStartTimestamps(long startTimestamp, int numValues) {
         return TestAgentStatDataPointFactory.LONG.createConstantValues(startTimestamp, startTimestamp, numValues);
     }
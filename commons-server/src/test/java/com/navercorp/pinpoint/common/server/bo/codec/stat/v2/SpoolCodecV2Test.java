@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodecTestBase;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.TestAgentStatFactory;
+import com.navercorp.pinpoint.common.server.bo.stat.SpoolBo;
+import org.junit.Assert;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.List;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:applicationContext-test.xml")
+public class SpoolCodecV2Test extends AgentStatCodecTestBase<SpoolBo> {
+
+    @Autowired
+    private SpoolCodecV2 spoolCodecV2;
+
+    @Override
+    protected List<SpoolBo> createAgentStats(String agentId, long startTimestamp, long initialTimestamp) {
+        return TestAgentStatFactory.createSpoolBos(agentId, startTimestamp, initialTimestamp);
+    }
+
+    @Override
+    protected AgentStatCodec<SpoolBo> getCodec() {
+        return spoolCodecV2;
+    }
+
+    @Override
+    protected void verify(SpoolBo expected, SpoolBo actual) {
+        Assert.assertEquals("agentId", expected.getAgentId(), actual.getAgentId());
+        Assert.assertEquals("startTimestamp", expected.getStartTimestamp(), actual.getStartTimestamp());
+        Assert.assertEquals("timestamp", expected.getTimestamp(), actual.getTimestamp());
+        Assert.assertEquals("agentStatType", expected.getAgentStatType(), actual.getAgentStatType());
+        Assert.assertEquals("pendingCount", expected.getPendingCount(), actual.getPendingCount());
+        Assert.assertEquals("writeCount", expected.getWriteCount(), actual.getWriteCount());
+        Assert.assertEquals("readCount", expected.getReadCount(), actual.getReadCount());
+        Assert.assertEquals("requeueCount", expected.getRequeueCount(), actual.getRequeueCount());
+        Assert.assertEquals("evictCount", expected.getEvictCount(), actual.getEvictCount());
+        Assert.assertEquals("dropCount", expected.getDropCount(), actual.getDropCount());
+    }
+}
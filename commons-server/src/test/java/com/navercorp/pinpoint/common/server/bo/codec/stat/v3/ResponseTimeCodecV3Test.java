@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v3;
+
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodecTestBase;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.TestAgentStatFactory;
+import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import org.junit.Assert;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.List;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:applicationContext-test.xml")
+public class ResponseTimeCodecV3Test extends AgentStatCodecTestBase<ResponseTimeBo> {
+
+    @Autowired
+    private ResponseTimeCodecV3 responseTimeCodecV3;
+
+    @Override
+    protected List<ResponseTimeBo> createAgentStats(String agentId, long startTimestamp, long initialTimestamp) {
+        return TestAgentStatFactory.createResponseTimeBos(agentId, startTimestamp, initialTimestamp);
+    }
+
+    @Override
+    protected AgentStatCodec<ResponseTimeBo> getCodec() {
+        return responseTimeCodecV3;
+    }
+
+    @Override
+    protected void verify(ResponseTimeBo expected, ResponseTimeBo actual) {
+        Assert.assertEquals("agentId", expected.getAgentId(), actual.getAgentId());
+        Assert.assertEquals("startTimestamp", expected.getStartTimestamp(), actual.getStartTimestamp());
+        Assert.assertEquals("timestamp", expected.getTimestamp(), actual.getTimestamp());
+        Assert.assertEquals("avg", expected.getAvg(), actual.getAvg());
+        Assert.assertEquals("max", expected.getMax(), actual.getMax());
+        Assert.assertArrayEquals("histogram", expected.getHistogram(), actual.getHistogram());
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.grpc;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncodingContext;
+import com.navercorp.pinpoint.grpc.AgentHeaderFactory;
+import com.navercorp.pinpoint.grpc.trace.PAcceptEvent;
+import com.navercorp.pinpoint.grpc.trace.PAnnotation;
+import com.navercorp.pinpoint.grpc.trace.PAnnotationValue;
+import com.navercorp.pinpoint.grpc.trace.PIntStringValue;
+import com.navercorp.pinpoint.grpc.trace.PLocalAsyncId;
+import com.navercorp.pinpoint.grpc.trace.PMessageEvent;
+import com.navercorp.pinpoint.grpc.trace.PNextEvent;
+import com.navercorp.pinpoint.grpc.trace.PParentInfo;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.grpc.trace.PSpanEvent;
+import com.navercorp.pinpoint.grpc.trace.PTransactionId;
+import com.navercorp.pinpoint.io.SpanVersion;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class GrpcSpanEncoderTest {
+
+    private final AgentHeaderFactory.Header header = new AgentHeaderFactory.Header("agentId", "applicationName", 1000);
+
+    private final GrpcSpanFactory spanFactory = new GrpcSpanFactory();
+    private final SpanEncoderV0 spanEncoder = new SpanEncoderV0();
+    private final GrpcSpanEncoder grpcSpanEncoder = new GrpcSpanEncoder();
+
+    @Test
+    public void encodeSpan() {
+        PSpan.Builder builder = newSpan();
+        builder.addSpanEvent(newSpanEvent(0, 1, 10, 20).setNextEvent(newNextEvent("endPoint", "destinationId")).setAsyncEvent(5));
+        builder.addSpanEvent(newSpanEvent(1, 0, 0, 5).addAnnotation(newAnnotation(40, "value2")).addAnnotation(newAnnotation(-1, "value1")));
+        builder.addSpanEvent(newSpanEvent(3, 2, 3, 5).setExceptionInfo(newExceptionInfo(7, "exception")).setServiceType(2000));
+        builder.addSpanEvent(newSpanEvent(3, 1, 3, 5).setAsyncEvent(-1));
+
+        assertSpan(builder.build());
+    }
+
+    @Test
+    public void encodeSpan_rootSpanWithoutSpanEvent() {
+        PSpan.Builder builder = newSpan();
+        builder.setParentSpanId(-1);
+        builder.clearAcceptEvent();
+        builder.clearAnnotation();
+        builder.clearExceptionInfo();
+        builder.setErr(0);
+        builder.setApplicationServiceType(builder.getServiceType());
+
+        assertSpan(builder.build());
+    }
+
+    @Test
+    public void encodeSpanChunk() {
+        PSpanChunk.Builder builder = newSpanChunk();
+        builder.addSpanEvent(newSpanEvent(5, 2, 10, 20));
+        builder.addSpanEvent(newSpanEvent(6, 3, 1, 2).setNextEvent(newNextEvent("endPoint", "destinationId")));
+
+        assertSpanChunk(builder.build());
+
+        builder.setLocalAsyncId(PLocalAsyncId.newBuilder().setAsyncId(3).setSequence(4));
+        assertSpanChunk(builder.build());
+    }
+
+    @Test
+    public void isSupported() {
+        Assert.assertTrue(grpcSpanEncoder.isSupported(Arrays.asList(newSpanEvent(0, 1, 0, 0).build(), newSpanEvent(1, 0, 0, 0).build())));
+        // reordered by sequence
+        Assert.assertFalse(grpcSpanEncoder.isSupported(Arrays.asList(newSpanEvent(1, 1, 0, 0).build(), newSpanEvent(0, 2, 0, 0).build())));
+        // filtered by sequence limit
+        Assert.assertFalse(new GrpcSpanEncoder(10).isSupported(Arrays.asList(newSpanEvent(11, 1, 0, 0).build())));
+        // no previous depth
+        Assert.assertFalse(grpcSpanEncoder.isSupported(Arrays.asList(newSpanEvent(0, 0, 0, 0).build())));
+    }
+
+    private void assertSpan(PSpan pSpan) {
+        final SpanBo spanBo = spanFactory.buildSpanBo(pSpan, header);
+        final SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<>(spanBo);
+
+        Assert.assertTrue(grpcSpanEncoder.isSupported(pSpan.getSpanEventList()));
+        assertBuffer(spanEncoder.encodeSpanQualifier(encodingContext), grpcSpanEncoder.encodeSpanQualifier(pSpan, header));
+        assertBuffer(spanEncoder.encodeSpanColumnValue(encodingContext), grpcSpanEncoder.encodeSpanColumnValue(pSpan, spanBo.getCollectorAcceptTime()));
+    }
+
+    private void assertSpanChunk(PSpanChunk pSpanChunk) {
+        final SpanChunkBo spanChunkBo = spanFactory.buildSpanChunkBo(pSpanChunk, header);
+        final SpanEncodingContext<SpanChunkBo> encodingContext = new SpanEncodingContext<>(spanChunkBo);
+
+        Assert.assertTrue(grpcSpanEncoder.isSupported(pSpanChunk.getSpanEventList()));
+        assertBuffer(spanEncoder.encodeSpanChunkQualifier(encodingContext), grpcSpanEncoder.encodeSpanChunkQualifier(pSpanChunk, header));
+        assertBuffer(spanEncoder.encodeSpanChunkColumnValue(encodingContext), grpcSpanEncoder.encodeSpanChunkColumnValue(pSpanChunk));
+    }
+
+    private void assertBuffer(ByteBuffer expected, ByteBuffer actual) {
+        Assert.assertArrayEquals(toBytes(expected), toBytes(actual));
+    }
+
+    private byte[] toBytes(ByteBuffer byteBuffer) {
+        final byte[] bytes = new byte[byteBuffer.remaining()];
+        byteBuffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private PSpan.Builder newSpan() {
+        PSpan.Builder builder = PSpan.newBuilder();
+        builder.setVersion(SpanVersion.TRACE_V2);
+        builder.setTransactionId(newTransactionId());
+        builder.setSpanId(10);
+        builder.setParentSpanId(20);
+        builder.setStartTime(System.currentTimeMillis() - 100);
+        builder.setElapsed(50);
+        builder.setApiId(7);
+        builder.setServiceType(1010);
+        builder.setApplicationServiceType(1000);
+        builder.setFlag(1);
+        builder.setErr(1);
+        builder.setLoggingTransactionInfo(1);
+        builder.setExceptionInfo(newExceptionInfo(3, "spanException"));
+
+        PParentInfo.Builder parentInfo = PParentInfo.newBuilder();
+        parentInfo.setParentApplicationName("parentApplicationName");
+        parentInfo.setParentApplicationType(1000);
+        parentInfo.setAcceptorHost("acceptorHost");
+
+        PAcceptEvent.Builder acceptEvent = PAcceptEvent.newBuilder();
+        acceptEvent.setRpc("/rpc");
+        acceptEvent.setEndPoint("localhost:8080");
+        acceptEvent.setRemoteAddr("127.0.0.1");
+        acceptEvent.setParentInfo(parentInfo);
+        builder.setAcceptEvent(acceptEvent);
+
+        builder.addAnnotation(newAnnotation(12, "http://localhost"));
+        builder.addAnnotation(newAnnotation(-3, "arg"));
+        builder.addAnnotation(PAnnotation.newBuilder().setKey(12).setValue(
+                PAnnotationValue.newBuilder().setIntStringValue(newExceptionInfo(1, "intString"))));
+        return builder;
+    }
+
+    private PSpanChunk.Builder newSpanChunk() {
+        PSpanChunk.Builder builder = PSpanChunk.newBuilder();
+        builder.setVersion(SpanVersion.TRACE_V2);
+        builder.setTransactionId(newTransactionId());
+        builder.setSpanId(10);
+        builder.setEndPoint("localhost:8080");
+        builder.setApplicationServiceType(1000);
+        builder.setKeyTime(System.currentTimeMillis());
+        return builder;
+    }
+
+    private PTransactionId.Builder newTransactionId() {
+        return PTransactionId.newBuilder().setAgentId("agentId").setAgentStartTime(1000).setSequence(1);
+    }
+
+    private PSpanEvent.Builder newSpanEvent(int sequence, int depth, int startElapsed, int endElapsed) {
+        PSpanEvent.Builder builder = PSpanEvent.newBuilder();
+        builder.setSequence(sequence);
+        builder.setDepth(depth);
+        builder.setStartElapsed(startElapsed);
+        builder.setEndElapsed(endElapsed);
+        builder.setServiceType(1011);
+        builder.setApiId(sequence + 100);
+        return builder;
+    }
+
+    private PNextEvent.Builder newNextEvent(String endPoint, String destinationId) {
+        PMessageEvent.Builder messageEvent = PMessageEvent.newBuilder();
+        messageEvent.setEndPoint(endPoint);
+        messageEvent.setDestinationId(destinationId);
+        return PNextEvent.newBuilder().setMessageEvent(messageEvent);
+    }
+
+    private PAnnotation.Builder newAnnotation(int key, String value) {
+        PAnnotation.Builder builder = PAnnotation.newBuilder();
+        builder.setKey(key);
+        builder.getValueBuilder().setStringValue(value);
+        return builder;
+    }
+
+    private PIntStringValue.Builder newExceptionInfo(int intValue, String stringValue) {
+        return PIntStringValue.newBuilder().setIntValue(intValue).setStringValue(stringValue);
+    }
+}
@@ -19,7 +19,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 
@@ -102,6 +108,116 @@ public class SpanEncoderTest {
         }
     }
 
+    @Test
+    public void testEncodeSharedSpanColumnValue() throws Exception {
+        SpanBo spanBo = randomComplexSpan();
+        spanBo.setCollectorAcceptTime(getCollectorAcceptTime());
+        SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<SpanBo>(spanBo);
+
+        ByteBuffer columnValue = spanEncoder.encodeSpanColumnValue(encodingContext);
+        Assert.assertEquals(columnValue.array().length, columnValue.remaining());
+
+        ByteBuffer sharedColumnValue = spanEncoder.encodeSharedSpanColumnValue(encodingContext);
+        Assert.assertEquals(columnValue, sharedColumnValue);
+
+        SpanChunkBo spanChunkBo = randomComplexSpanChunk();
+        spanChunkBo.setCollectorAcceptTime(getCollectorAcceptTime());
+        SpanEncodingContext<SpanChunkBo> chunkEncodingContext = new SpanEncodingContext<SpanChunkBo>(spanChunkBo);
+
+        ByteBuffer chunkColumnValue = spanEncoder.encodeSpanChunkColumnValue(chunkEncodingContext);
+        Assert.assertEquals(chunkColumnValue.array().length, chunkColumnValue.remaining());
+        Assert.assertEquals(chunkColumnValue, spanEncoder.encodeSharedSpanChunkColumnValue(chunkEncodingContext));
+    }
+
+    @Test
+    public void testDecodeSpanColumnValue_lazyBody() throws Exception {
+        SpanBo spanBo = randomComplexSpan();
+        spanBo.setCollectorAcceptTime(getCollectorAcceptTime());
+
+        SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<SpanBo>(spanBo);
+        Buffer qualifier = wrapBuffer(spanEncoder.encodeSpanQualifier(encodingContext));
+        Buffer column = wrapBuffer(spanEncoder.encodeSpanColumnValue(encodingContext));
+
+        SpanDecodingContext decodingContext = new SpanDecodingContext();
+        decodingContext.setTransactionId(spanBo.getTransactionId());
+        decodingContext.setCollectorAcceptedTime(spanBo.getCollectorAcceptTime());
+
+        SpanDecoder lazySpanDecoder = new SpanDecoderV0(true);
+        SpanBo decode = (SpanBo) lazySpanDecoder.decode(qualifier, column, decodingContext);
+        // the shared decoding context moves on to the next cell
+        decodingContext.setCollectorAcceptedTime(0);
+
+        Assert.assertFalse(decode.isBodyDecoded());
+        Assert.assertEquals(spanBo.getElapsed(), decode.getElapsed());
+        Assert.assertEquals(spanBo.getRpc(), decode.getRpc());
+        Assert.assertEquals(spanBo.getEndPoint(), decode.getEndPoint());
+        Assert.assertFalse(decode.isBodyDecoded());
+
+        Assert.assertTrue(EqualsBuilder.reflectionEquals(spanBo.getAnnotationBoList(), decode.getAnnotationBoList()));
+        Assert.assertTrue(decode.isBodyDecoded());
+        Assert.assertTrue(EqualsBuilder.reflectionEquals(spanBo.getSpanEventBoList(), decode.getSpanEventBoList()));
+    }
+
+    @Test
+    public void testDecodeSpanColumnValue_lazyBody_concurrentReaders() throws Exception {
+        final int readerCount = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(readerCount);
+        try {
+            for (int i = 0; i < 200; i++) {
+                SpanBo spanBo = randomComplexSpan();
+                spanBo.setCollectorAcceptTime(getCollectorAcceptTime());
+                final int annotationSize = spanBo.getAnnotationBoList().size();
+                final int spanEventSize = spanBo.getSpanEventBoList().size();
+
+                SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<SpanBo>(spanBo);
+                Buffer qualifier = wrapBuffer(spanEncoder.encodeSpanQualifier(encodingContext));
+                Buffer column = wrapBuffer(spanEncoder.encodeSpanColumnValue(encodingContext));
+
+                SpanDecodingContext decodingContext = new SpanDecodingContext();
+                decodingContext.setTransactionId(spanBo.getTransactionId());
+                decodingContext.setCollectorAcceptedTime(spanBo.getCollectorAcceptTime());
+                final SpanBo decode = (SpanBo) new SpanDecoderV0(true).decode(qualifier, column, decodingContext);
+
+                final CyclicBarrier barrier = new CyclicBarrier(readerCount);
+                final List<Future<Boolean>> futures = new ArrayList<>();
+                for (int reader = 0; reader < readerCount; reader++) {
+                    final boolean spanEventFirst = reader % 2 == 0;
+                    futures.add(executor.submit(new Callable<Boolean>() {
+                        @Override
+                        public Boolean call() throws Exception {
+                            barrier.await(10, TimeUnit.SECONDS);
+                            if (spanEventFirst) {
+                                return decode.getSpanEventBoList().size() == spanEventSize && decode.getAnnotationBoList().size() == annotationSize;
+                            }
+                            return decode.getAnnotationBoList().size() == annotationSize && decode.getSpanEventBoList().size() == spanEventSize;
+                        }
+                    }));
+                }
+                for (Future<Boolean> future : futures) {
+                    Assert.assertTrue(future.get(10, TimeUnit.SECONDS));
+                }
+                Assert.assertTrue(decode.isBodyDecoded());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEncodeColumnValue_automaticBuffer() throws Exception {
+        SpanEncoder automaticBufferSpanEncoder = new SpanEncoderV0(false);
+
+        SpanBo spanBo = randomComplexSpan();
+        spanBo.setCollectorAcceptTime(getCollectorAcceptTime());
+        SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<SpanBo>(spanBo);
+        Assert.assertEquals(spanEncoder.encodeSpanColumnValue(encodingContext), automaticBufferSpanEncoder.encodeSpanColumnValue(encodingContext));
+
+        SpanChunkBo spanChunkBo = randomComplexSpanChunk();
+        spanChunkBo.setCollectorAcceptTime(getCollectorAcceptTime());
+        SpanEncodingContext<SpanChunkBo> chunkEncodingContext = new SpanEncodingContext<SpanChunkBo>(spanChunkBo);
+        Assert.assertEquals(spanEncoder.encodeSpanChunkColumnValue(chunkEncodingContext), automaticBufferSpanEncoder.encodeSpanChunkColumnValue(chunkEncodingContext));
+    }
+
     private long getCollectorAcceptTime() {
         long currentTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
         long randomSeed = RandomUtils.nextLong(0, TimeUnit.DAYS.toMillis(60));
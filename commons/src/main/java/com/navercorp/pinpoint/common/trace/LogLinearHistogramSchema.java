@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.trace;
+
+/**
+ * Bucket layout of the response time histogram shared by the agent and the web.
+ * <p>
+ * Values below {@code 2^SUB_BUCKET_BITS} get a bucket of their own; above that every power of two
+ * is split into {@code 2^SUB_BUCKET_BITS} linear sub-buckets, which keeps the relative error of a
+ * bucket under 25% with a fixed number of buckets. Values past the last bucket are clamped to it.
+ */
+public final class LogLinearHistogramSchema {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+    // 2^25 ms is a little over 9 hours
+    private static final int MAX_EXPONENT = 24;
+
+    public static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private LogLinearHistogramSchema() {
+    }
+
+    public static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            if (value < 0) {
+                return 0;
+            }
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    public static long getBucketLowerBound(int index) {
+        checkIndex(index);
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final int subBucket = index & SUB_BUCKET_MASK;
+        return ((long) (SUB_BUCKET_COUNT + subBucket)) << shift;
+    }
+
+    public static long getBucketUpperBound(int index) {
+        checkIndex(index);
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        return getBucketLowerBound(index) + (1L << shift) - 1;
+    }
+
+    private static void checkIndex(int index) {
+        if (index < 0 || index >= BUCKET_COUNT) {
+            throw new IllegalArgumentException("index out of range. index:" + index);
+        }
+    }
+
+    /**
+     * Estimates the given percentile (0 &lt; percentile &lt;= 100) from bucket counts laid out by this schema.
+     * The upper bound of the bucket holding the requested rank is returned, or {@code -1} if there are no values.
+     */
+    public static long getPercentile(long[] bucketCounts, double percentile) {
+        if (bucketCounts == null) {
+            throw new NullPointerException("bucketCounts must not be null");
+        }
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile out of range. percentile:" + percentile);
+        }
+        long totalCount = 0;
+        for (long bucketCount : bucketCounts) {
+            totalCount += bucketCount;
+        }
+        if (totalCount == 0) {
+            return -1;
+        }
+
+        final long rank = (long) Math.ceil(totalCount * (percentile / 100));
+        final int length = Math.min(bucketCounts.length, BUCKET_COUNT);
+        long count = 0;
+        for (int i = 0; i < length; i++) {
+            count += bucketCounts[i];
+            if (count >= rank) {
+                return getBucketUpperBound(i);
+            }
+        }
+        return getBucketUpperBound(length - 1);
+    }
+}
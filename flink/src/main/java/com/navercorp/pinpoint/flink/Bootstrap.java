@@ -16,6 +16,7 @@
 package com.navercorp.pinpoint.flink;
 
 import com.navercorp.pinpoint.collector.receiver.thrift.TCPReceiverBean;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
 import com.navercorp.pinpoint.flink.cluster.FlinkServerRegister;
 import com.navercorp.pinpoint.flink.config.FlinkConfiguration;
 import com.navercorp.pinpoint.flink.dao.hbase.*;
@@ -26,18 +27,27 @@ import com.navercorp.pinpoint.flink.process.TBaseFlatMapperInterceptor;
 import com.navercorp.pinpoint.flink.receiver.AgentStatHandler;
 import com.navercorp.pinpoint.flink.receiver.TcpDispatchHandler;
 import com.navercorp.pinpoint.flink.receiver.TcpSourceFunction;
+import com.navercorp.pinpoint.flink.serializer.JoinApplicationStatBoSerializer;
 import com.navercorp.pinpoint.flink.vo.RawData;
+import org.apache.flink.contrib.streaming.state.RocksDBStateBackend;
+import org.apache.flink.runtime.state.StateBackend;
 import org.apache.flink.streaming.api.environment.LocalStreamEnvironment;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.streaming.api.functions.source.SourceFunction.SourceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 
+import java.io.IOException;
+
 /**
  * @author minwoo.jung
  */
 public class Bootstrap {
 
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
     private final static Bootstrap INSTANCE = new Bootstrap();
 
     private final StatisticsDao statisticsDao;
@@ -141,13 +151,33 @@ public class Bootstrap {
         return flinkConfiguration;
     }
 
-    public StreamExecutionEnvironment createStreamExecutionEnvironment() {
+    public StreamExecutionEnvironment createStreamExecutionEnvironment() throws IOException {
+        final StreamExecutionEnvironment env;
         if (flinkConfiguration.isLocalforFlinkStreamExecutionEnvironment()) {
             LocalStreamEnvironment localEnvironment = StreamExecutionEnvironment.createLocalEnvironment();
             localEnvironment.setParallelism(1);
-            return localEnvironment;
+            env = localEnvironment;
         } else {
-            return StreamExecutionEnvironment.getExecutionEnvironment();
+            env = StreamExecutionEnvironment.getExecutionEnvironment();
+        }
+
+        env.getConfig().registerTypeWithKryoSerializer(JoinApplicationStatBo.class, JoinApplicationStatBoSerializer.class);
+        if (flinkConfiguration.isRocksDBStateBackend()) {
+            setRocksDBStateBackend(env);
+        }
+        return env;
+    }
+
+    private void setRocksDBStateBackend(StreamExecutionEnvironment env) throws IOException {
+        final String checkpointDataUri = flinkConfiguration.getFlinkCheckpointDataUri();
+        if (checkpointDataUri == null || checkpointDataUri.trim().isEmpty()) {
+            logger.warn("rocksdb state backend needs flink.StreamExecutionEnvironment.checkpoint.dataUri. falling back to the default state backend");
+            return;
+        }
+        final StateBackend stateBackend = new RocksDBStateBackend(checkpointDataUri, flinkConfiguration.isFlinkCheckpointIncremental());
+        env.setStateBackend(stateBackend);
+        if (flinkConfiguration.getFlinkCheckpointInterval() > 0) {
+            env.enableCheckpointing(flinkConfiguration.getFlinkCheckpointInterval());
         }
     }
 
@@ -33,6 +33,18 @@ public class FlinkConfiguration extends CollectorConfiguration {
     private int flinkRetryInterval;
     private int flinkClusterTcpPort;
     private String flinkStreamExecutionEnvironment;
+    private String flinkStateBackend;
+    private String flinkCheckpointDataUri;
+    private boolean flinkCheckpointIncremental;
+    private long flinkCheckpointInterval;
+
+    private int applicationCacheMaxSize;
+    private long applicationCacheTimeToLiveMillis;
+    private long applicationCacheNotFoundTimeToLiveMillis;
+    private int applicationCacheBatchSize;
+    private long applicationCacheBatchWaitMillis;
+    private int applicationCacheQueueSize;
+    private long applicationCacheWarmupRangeMillis;
 
     public boolean isFlinkClusterEnable() {
         return flinkClusterEnable;
@@ -58,6 +70,50 @@ public class FlinkConfiguration extends CollectorConfiguration {
         return "local".equals(flinkStreamExecutionEnvironment) ? true : false;
     }
 
+    public boolean isRocksDBStateBackend() {
+        return "rocksdb".equals(flinkStateBackend);
+    }
+
+    public String getFlinkCheckpointDataUri() {
+        return flinkCheckpointDataUri;
+    }
+
+    public boolean isFlinkCheckpointIncremental() {
+        return flinkCheckpointIncremental;
+    }
+
+    public long getFlinkCheckpointInterval() {
+        return flinkCheckpointInterval;
+    }
+
+    public int getApplicationCacheMaxSize() {
+        return applicationCacheMaxSize;
+    }
+
+    public long getApplicationCacheTimeToLiveMillis() {
+        return applicationCacheTimeToLiveMillis;
+    }
+
+    public long getApplicationCacheNotFoundTimeToLiveMillis() {
+        return applicationCacheNotFoundTimeToLiveMillis;
+    }
+
+    public int getApplicationCacheBatchSize() {
+        return applicationCacheBatchSize;
+    }
+
+    public long getApplicationCacheBatchWaitMillis() {
+        return applicationCacheBatchWaitMillis;
+    }
+
+    public int getApplicationCacheQueueSize() {
+        return applicationCacheQueueSize;
+    }
+
+    public long getApplicationCacheWarmupRangeMillis() {
+        return applicationCacheWarmupRangeMillis;
+    }
+
 
     @Override
     protected void readPropertyValues(Properties properties) {
@@ -70,5 +126,17 @@ public class FlinkConfiguration extends CollectorConfiguration {
         this.flinkRetryInterval =  readInt(properties, "flink.cluster.zookeeper.retry.interval", 60000);
         this.flinkClusterTcpPort = readInt(properties,"flink.cluster.tcp.port", 19994);
         this.flinkStreamExecutionEnvironment = readString(properties, "flink.StreamExecutionEnvironment", "server");
+        this.flinkStateBackend = readString(properties, "flink.StreamExecutionEnvironment.stateBackend", "memory");
+        this.flinkCheckpointDataUri = readString(properties, "flink.StreamExecutionEnvironment.checkpoint.dataUri", "");
+        this.flinkCheckpointIncremental = readBoolean(properties, "flink.StreamExecutionEnvironment.checkpoint.incremental");
+        this.flinkCheckpointInterval = readLong(properties, "flink.StreamExecutionEnvironment.checkpoint.interval", -1);
+
+        this.applicationCacheMaxSize = readInt(properties, "flink.applicationCache.maxSize", 30000);
+        this.applicationCacheTimeToLiveMillis = readLong(properties, "flink.applicationCache.ttl", 600000);
+        this.applicationCacheNotFoundTimeToLiveMillis = readLong(properties, "flink.applicationCache.notFound.ttl", 60000);
+        this.applicationCacheBatchSize = readInt(properties, "flink.applicationCache.resolve.batchSize", 100);
+        this.applicationCacheBatchWaitMillis = readLong(properties, "flink.applicationCache.resolve.batchWait", 10);
+        this.applicationCacheQueueSize = readInt(properties, "flink.applicationCache.resolve.queueSize", 10000);
+        this.applicationCacheWarmupRangeMillis = readLong(properties, "flink.applicationCache.warmup.range", -1);
     }
 }
@@ -21,6 +21,8 @@ import com.navercorp.pinpoint.flink.Bootstrap;
 import org.apache.flink.api.java.tuple.Tuple;
 import org.apache.flink.api.java.tuple.Tuple3;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.streaming.api.functions.windowing.RichWindowFunction;
 import org.apache.flink.streaming.api.functions.windowing.WindowFunction;
 import org.apache.flink.streaming.api.windowing.windows.TimeWindow;
@@ -43,10 +45,26 @@ public class ApplicationStatBoWindow extends RichWindowFunction<Tuple3<String, J
 
     private transient ApplicationStatBoWindowInterceptor applicationStatBoWindowInterceptor;
 
+    private transient volatile long windowValueCount;
+    private transient volatile long windowDataPointCount;
+
     @Override
     public void open(Configuration parameters) throws Exception {
         applicationStatBoWindowInterceptor = Bootstrap.getInstance().getApplicationStatBoWindowInterceptor();
 
+        final MetricGroup metricGroup = getRuntimeContext().getMetricGroup();
+        metricGroup.gauge("windowValueCount", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return windowValueCount;
+            }
+        });
+        metricGroup.gauge("windowDataPointCount", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return windowDataPointCount;
+            }
+        });
     }
 
     @Override
@@ -90,11 +108,34 @@ public class ApplicationStatBoWindow extends RichWindowFunction<Tuple3<String, J
     private JoinApplicationStatBo join(Iterable<Tuple3<String, JoinStatBo, Long>> values) {
         List<JoinApplicationStatBo> joinApplicaitonStatBoList = new ArrayList<JoinApplicationStatBo>();
 
+        long dataPointCount = 0;
         for (Tuple3<String, JoinStatBo, Long> value : values) {
-            joinApplicaitonStatBoList.add((JoinApplicationStatBo) value.f1);
+            JoinApplicationStatBo joinApplicationStatBo = (JoinApplicationStatBo) value.f1;
+            joinApplicaitonStatBoList.add(joinApplicationStatBo);
+            dataPointCount += getDataPointCount(joinApplicationStatBo);
         }
+        recordWindowStateSize(joinApplicaitonStatBoList.size(), dataPointCount);
 
         return JoinApplicationStatBo.joinApplicationStatBoByTimeSlice(joinApplicaitonStatBoList);
 
     }
-}
\ No newline at end of file
+
+    private void recordWindowStateSize(long valueCount, long dataPointCount) {
+        this.windowValueCount = valueCount;
+        this.windowDataPointCount = dataPointCount;
+        if (logger.isDebugEnabled()) {
+            logger.debug("[join][state] values:{}, dataPoints:{}", valueCount, dataPointCount);
+        }
+    }
+
+    private long getDataPointCount(JoinApplicationStatBo joinApplicationStatBo) {
+        return joinApplicationStatBo.getJoinCpuLoadBoList().size()
+                + joinApplicationStatBo.getJoinMemoryBoList().size()
+                + joinApplicationStatBo.getJoinTransactionBoList().size()
+                + joinApplicationStatBo.getJoinActiveTraceBoList().size()
+                + joinApplicationStatBo.getJoinResponseTimeBoList().size()
+                + joinApplicationStatBo.getJoinDataSourceListBoList().size()
+                + joinApplicationStatBo.getJoinFileDescriptorBoList().size()
+                + joinApplicationStatBo.getJoinDirectBufferBoList().size();
+    }
+}
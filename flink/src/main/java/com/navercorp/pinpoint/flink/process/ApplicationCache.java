@@ -18,18 +18,25 @@ package com.navercorp.pinpoint.flink.process;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseTemplate2;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
-import com.navercorp.pinpoint.common.server.util.RowKeyUtils;
-import com.navercorp.pinpoint.common.util.TimeUtils;
+import com.navercorp.pinpoint.flink.config.FlinkConfiguration;
 import com.navercorp.pinpoint.web.mapper.AgentInfoMapper;
 import com.navercorp.pinpoint.web.vo.AgentInfo;
 import org.apache.hadoop.hbase.TableName;
-import org.apache.hadoop.hbase.client.Get;
-import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.client.Scan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * @author minwoo.jung
@@ -37,45 +44,180 @@ import java.util.Objects;
 public class ApplicationCache {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private static final String SPEL_KEY = "#application.getAgentId() + '.' + #application.getAgentStartTime()";
     public static final String NOT_FOUND_APP_ID = "notFoundId";
-
-    private final transient AgentInfoMapper agentInfoMapper = new AgentInfoMapper();
+    public static final String RESOLVING_APP_ID = "resolvingId";
 
     private final transient HbaseTemplate2 hbaseTemplate2;
 
     private final transient TableNameProvider tableNameProvider;
 
-    public ApplicationCache(HbaseTemplate2 hbaseTemplate2, TableNameProvider tableNameProvider) {
+    private final transient ApplicationIdResolver applicationIdResolver;
+
+    private final transient ConcurrentMap<ApplicationKey, CacheEntry> cache = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+    private final long timeToLiveMillis;
+    private final long notFoundTimeToLiveMillis;
+
+    private final AtomicLong resolvingCount = new AtomicLong();
+
+    public ApplicationCache(HbaseTemplate2 hbaseTemplate2, TableNameProvider tableNameProvider, FlinkConfiguration flinkConfiguration) {
         this.hbaseTemplate2 = Objects.requireNonNull(hbaseTemplate2, "hbaseTemplate must not be null");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider must not be null");
+        Objects.requireNonNull(flinkConfiguration, "flinkConfiguration must not be null");
+
+        this.maxSize = flinkConfiguration.getApplicationCacheMaxSize();
+        this.timeToLiveMillis = flinkConfiguration.getApplicationCacheTimeToLiveMillis();
+        this.notFoundTimeToLiveMillis = flinkConfiguration.getApplicationCacheNotFoundTimeToLiveMillis();
+        this.applicationIdResolver = new ApplicationIdResolver(hbaseTemplate2, tableNameProvider, flinkConfiguration.getApplicationCacheBatchSize(),
+                flinkConfiguration.getApplicationCacheBatchWaitMillis(), flinkConfiguration.getApplicationCacheQueueSize());
+
+        if (flinkConfiguration.getApplicationCacheWarmupRangeMillis() > 0) {
+            warmup(flinkConfiguration.getApplicationCacheWarmupRangeMillis());
+        }
     }
 
-    @Cacheable(value="applicationId", key=SPEL_KEY)
+    /**
+     * Does not wait for hbase. An agent that is not cached yet is looked up in the background and
+     * {@link #RESOLVING_APP_ID} is returned until the lookup completes, so the next lookup of the agent retries from the cache.
+     * An expired application id is still returned while it is refreshed in the background.
+     */
     public String findApplicationId(ApplicationKey application) {
-        final String agentId = application.getAgentId();
-        final long agentStartTimestamp = application.getAgentStartTime();
-        final byte[] rowKey = RowKeyUtils.concatFixedByteAndLong(Bytes.toBytes(agentId), HBaseTables.AGENT_NAME_MAX_LEN, TimeUtils.reverseTimeMillis(agentStartTimestamp));
+        final CacheEntry cacheEntry = cache.get(application);
+        if (cacheEntry != null) {
+            if (!cacheEntry.isExpired(System.currentTimeMillis())) {
+                return cacheEntry.getApplicationId();
+            }
+            if (!NOT_FOUND_APP_ID.equals(cacheEntry.getApplicationId())) {
+                refresh(application, cacheEntry);
+                return cacheEntry.getApplicationId();
+            }
+        }
+
+        final CompletableFuture<String> future = applicationIdResolver.resolve(application);
+        // a failed lookup is not cached
+        future.thenAccept(new CacheUpdater(application));
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return future.join();
+        }
+        resolvingCount.incrementAndGet();
+        if (logger.isDebugEnabled()) {
+            logger.debug("application id lookup is in progress. applicationKey:{}", application);
+        }
+        return RESOLVING_APP_ID;
+    }
+
+    private void refresh(ApplicationKey application, final CacheEntry cacheEntry) {
+        if (!cacheEntry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        final CompletableFuture<String> future = applicationIdResolver.resolve(application);
+        future.whenComplete(new BiConsumer<String, Throwable>() {
+            @Override
+            public void accept(String applicationId, Throwable throwable) {
+                if (throwable != null) {
+                    // keeps serving the expired id, retried on the next lookup
+                    cacheEntry.refreshing.set(false);
+                }
+            }
+        });
+        future.thenAccept(new CacheUpdater(application));
+    }
+
+    /**
+     * @return the number of lookups answered with {@link #RESOLVING_APP_ID}
+     */
+    public long getResolvingCount() {
+        return resolvingCount.get();
+    }
+
+    private void put(ApplicationKey applicationKey, String applicationId) {
+        final long currentTimeMillis = System.currentTimeMillis();
+        if (cache.size() >= maxSize) {
+            evict(currentTimeMillis);
+        }
 
-        Get get = new Get(rowKey);
-        get.addColumn(HBaseTables.AGENTINFO_CF_INFO, HBaseTables.AGENTINFO_CF_INFO_IDENTIFIER);
-        AgentInfo agentInfo = null;
-        try {
-            TableName tableName = tableNameProvider.getTableName(HBaseTables.AGENTINFO_STR);
-            agentInfo = hbaseTemplate2.get(tableName, get, agentInfoMapper);
-        } catch (Exception e) {
-            logger.error("can't found application id({})", agentId, e);
+        final long ttl = NOT_FOUND_APP_ID.equals(applicationId) ? notFoundTimeToLiveMillis : timeToLiveMillis;
+        cache.put(applicationKey, new CacheEntry(applicationId, currentTimeMillis + ttl));
+    }
+
+    private void evict(long currentTimeMillis) {
+        final Iterator<Map.Entry<ApplicationKey, CacheEntry>> iterator = cache.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().isExpired(currentTimeMillis)) {
+                iterator.remove();
+            }
+        }
+
+        // still full of live entries, drop arbitrary ones down to 90% so that eviction is not run on every put
+        final int evictTarget = (int) (maxSize * 0.9);
+        final Iterator<ApplicationKey> keyIterator = cache.keySet().iterator();
+        while (cache.size() > evictTarget && keyIterator.hasNext()) {
+            keyIterator.next();
+            keyIterator.remove();
+        }
+    }
+
+    private void warmup(final long rangeMillis) {
+        final Thread warmupThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                final long startTime = System.currentTimeMillis();
+                try {
+                    final Scan scan = new Scan();
+                    scan.addColumn(HBaseTables.AGENTINFO_CF_INFO, HBaseTables.AGENTINFO_CF_INFO_IDENTIFIER);
+                    scan.setTimeRange(startTime - rangeMillis, Long.MAX_VALUE);
+                    scan.setCaching(1000);
+
+                    final TableName tableName = tableNameProvider.getTableName(HBaseTables.AGENTINFO_STR);
+                    final List<AgentInfo> agentInfoList = hbaseTemplate2.find(tableName, scan, new AgentInfoMapper());
+                    for (AgentInfo agentInfo : agentInfoList) {
+                        put(new ApplicationKey(agentInfo.getAgentId(), agentInfo.getStartTimestamp()), agentInfo.getApplicationName());
+                    }
+                    logger.info("application cache warmup completed. size:{}, elapsed:{}ms", agentInfoList.size(), System.currentTimeMillis() - startTime);
+                } catch (Exception e) {
+                    logger.warn("application cache warmup failed", e);
+                }
+            }
+        }, "Pinpoint-ApplicationCache-Warmup");
+        warmupThread.setDaemon(true);
+        warmupThread.start();
+    }
+
+    public void close() {
+        applicationIdResolver.close();
+    }
+
+    private class CacheUpdater implements Consumer<String> {
+        private final ApplicationKey applicationKey;
+
+        private CacheUpdater(ApplicationKey applicationKey) {
+            this.applicationKey = applicationKey;
         }
 
-        return getApplicationId(agentInfo, agentId);
+        @Override
+        public void accept(String applicationId) {
+            put(applicationKey, applicationId);
+        }
     }
 
-    private String getApplicationId(AgentInfo agentInfo, String agentId) {
-        if (agentInfo == null) {
-            logger.warn("can't found application id : {}", agentId);
-            return NOT_FOUND_APP_ID;
+    private static class CacheEntry {
+        private final String applicationId;
+        private final long expireTime;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private CacheEntry(String applicationId, long expireTime) {
+            this.applicationId = applicationId;
+            this.expireTime = expireTime;
+        }
+
+        private String getApplicationId() {
+            return applicationId;
+        }
+
+        private boolean isExpired(long currentTimeMillis) {
+            return expireTime < currentTimeMillis;
         }
-        return agentInfo.getApplicationName();
     }
 
     public static class ApplicationKey {
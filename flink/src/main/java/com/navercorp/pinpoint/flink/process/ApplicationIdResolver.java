@@ -0,0 +1,203 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.flink.process;
+
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.server.util.RowKeyUtils;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.util.TimeUtils;
+import com.navercorp.pinpoint.flink.process.ApplicationCache.ApplicationKey;
+import com.navercorp.pinpoint.web.mapper.AgentInfoMapper;
+import com.navercorp.pinpoint.web.vo.AgentInfo;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves application ids of agents in batches.
+ * Concurrent requests for the same agent share a single pending lookup, and pending lookups are
+ * collected for up to {@code batchWaitMillis} (or {@code batchSize} keys) and fetched with one multi-get.
+ */
+public class ApplicationIdResolver {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final AgentInfoMapper agentInfoMapper = new AgentInfoMapper();
+
+    private final HbaseOperations2 hbaseOperations2;
+    private final TableNameProvider tableNameProvider;
+    private final int batchSize;
+    private final long batchWaitMillis;
+
+    private final ConcurrentMap<ApplicationKey, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final BlockingQueue<ApplicationKey> pendingQueue;
+    private final Thread resolveThread;
+
+    private volatile boolean running = true;
+
+    public ApplicationIdResolver(HbaseOperations2 hbaseOperations2, TableNameProvider tableNameProvider, int batchSize, long batchWaitMillis, int queueSize) {
+        this.hbaseOperations2 = Objects.requireNonNull(hbaseOperations2, "hbaseOperations2 must not be null");
+        this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider must not be null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        this.batchSize = batchSize;
+        this.batchWaitMillis = batchWaitMillis;
+        this.pendingQueue = new LinkedBlockingQueue<>(queueSize);
+
+        this.resolveThread = new PinpointThreadFactory("Pinpoint-ApplicationId-Resolver", true).newThread(new Runnable() {
+            @Override
+            public void run() {
+                resolveLoop();
+            }
+        });
+        this.resolveThread.start();
+    }
+
+    /**
+     * Requests the application id of the given agent. The returned future is completed with
+     * {@link ApplicationCache#NOT_FOUND_APP_ID} if the agent info does not exist.
+     * It is completed exceptionally with {@link RejectedExecutionException} if the resolve queue is full,
+     * and with the read error if the agent info could not be read.
+     */
+    public CompletableFuture<String> resolve(ApplicationKey applicationKey) {
+        final CompletableFuture<String> newFuture = new CompletableFuture<>();
+        final CompletableFuture<String> future = inFlight.putIfAbsent(applicationKey, newFuture);
+        if (future != null) {
+            return future;
+        }
+
+        if (!pendingQueue.offer(applicationKey)) {
+            logger.warn("applicationId resolve queue is full. applicationKey:{}", applicationKey);
+            inFlight.remove(applicationKey, newFuture);
+            newFuture.completeExceptionally(new RejectedExecutionException("applicationId resolve queue is full"));
+        }
+        return newFuture;
+    }
+
+    private void resolveLoop() {
+        final List<ApplicationKey> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                final ApplicationKey first = pendingQueue.poll(1000, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                final long deadline = System.currentTimeMillis() + batchWaitMillis;
+                while (batch.size() < batchSize) {
+                    final long waitMillis = deadline - System.currentTimeMillis();
+                    if (waitMillis <= 0) {
+                        pendingQueue.drainTo(batch, batchSize - batch.size());
+                        break;
+                    }
+                    final ApplicationKey applicationKey = pendingQueue.poll(waitMillis, TimeUnit.MILLISECONDS);
+                    if (applicationKey == null) {
+                        break;
+                    }
+                    batch.add(applicationKey);
+                }
+
+                resolveBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("applicationId resolve error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void resolveBatch(List<ApplicationKey> batch) {
+        final List<Get> getList = new ArrayList<>(batch.size());
+        for (ApplicationKey applicationKey : batch) {
+            getList.add(createGet(applicationKey));
+        }
+
+        final List<String> applicationIdList;
+        try {
+            final TableName tableName = tableNameProvider.getTableName(HBaseTables.AGENTINFO_STR);
+            applicationIdList = hbaseOperations2.get(tableName, getList, new ApplicationIdMapper());
+        } catch (Exception e) {
+            logger.error("can't read application id. size:{}", batch.size(), e);
+            // not completed with NOT_FOUND_APP_ID, a read error must not hide the agents until the not found ttl expires
+            for (ApplicationKey applicationKey : batch) {
+                final CompletableFuture<String> future = inFlight.remove(applicationKey);
+                if (future != null) {
+                    future.completeExceptionally(e);
+                }
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            final ApplicationKey applicationKey = batch.get(i);
+            String applicationId = applicationIdList.get(i);
+            if (applicationId == null) {
+                logger.warn("can't found application id : {}", applicationKey.getAgentId());
+                applicationId = ApplicationCache.NOT_FOUND_APP_ID;
+            }
+
+            final CompletableFuture<String> future = inFlight.remove(applicationKey);
+            if (future != null) {
+                future.complete(applicationId);
+            }
+        }
+    }
+
+    private Get createGet(ApplicationKey applicationKey) {
+        final byte[] agentId = Bytes.toBytes(applicationKey.getAgentId());
+        final byte[] rowKey = RowKeyUtils.concatFixedByteAndLong(agentId, HBaseTables.AGENT_NAME_MAX_LEN, TimeUtils.reverseTimeMillis(applicationKey.getAgentStartTime()));
+        final Get get = new Get(rowKey);
+        get.addColumn(HBaseTables.AGENTINFO_CF_INFO, HBaseTables.AGENTINFO_CF_INFO_IDENTIFIER);
+        return get;
+    }
+
+    public void close() {
+        running = false;
+        resolveThread.interrupt();
+    }
+
+    private class ApplicationIdMapper implements RowMapper<String> {
+        @Override
+        public String mapRow(Result result, int rowNum) throws Exception {
+            if (result.isEmpty()) {
+                return null;
+            }
+            final AgentInfo agentInfo = agentInfoMapper.mapRow(result, rowNum);
+            return agentInfo.getApplicationName();
+        }
+    }
+}
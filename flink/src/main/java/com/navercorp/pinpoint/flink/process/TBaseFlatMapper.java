@@ -25,6 +25,7 @@ import org.apache.flink.api.common.functions.RichFlatMapFunction;
 import org.apache.flink.api.java.tuple.Tuple3;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
 import org.apache.flink.util.Collector;
 import org.apache.thrift.TBase;
 import org.slf4j.Logger;
@@ -61,6 +62,13 @@ public class TBaseFlatMapper extends RichFlatMapFunction<RawData, Tuple3<String,
         Bootstrap bootstrap = Bootstrap.getInstance();
         applicationCache = bootstrap.getApplicationCache();
         tBaseFlatMapperInterceptor = bootstrap.getTbaseFlatMapperInterceptor();
+
+        getRuntimeContext().getMetricGroup().gauge("applicationIdResolvingCount", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return applicationCache.getResolvingCount();
+            }
+        });
     }
 
     @Override
@@ -116,6 +124,10 @@ public class TBaseFlatMapper extends RichFlatMapFunction<RawData, Tuple3<String,
             final ApplicationCache.ApplicationKey applicationKey = new ApplicationCache.ApplicationKey(joinAgentStatBo.getId(), joinAgentStatBo.getAgentStartTimestamp());
             final String applicationId = applicationCache.findApplicationId(applicationKey);
 
+            if (applicationId.equals(ApplicationCache.RESOLVING_APP_ID)) {
+                // the application stat of this batch is skipped, the application id is cached for the next batch of the agent
+                return outData;
+            }
             if (applicationId.equals(ApplicationCache.NOT_FOUND_APP_ID)) {
                 logger.warn("can't found application id. agent id : {}, start time : {}.",joinAgentStatBo.getId(), joinAgentStatBo.getTimestamp());
                 return EMPTY_LIST;
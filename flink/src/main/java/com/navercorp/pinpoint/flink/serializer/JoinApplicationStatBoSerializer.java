@@ -0,0 +1,211 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.flink.serializer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.ApplicationStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.join.ActiveTraceCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.join.CpuLoadCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.join.DataSourceCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.join.DirectBufferCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.join.FileDescriptorCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.join.MemoryCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.join.ResponseTimeCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.join.TransactionCodec;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.ApplicationStatDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinActiveTraceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinCpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDataSourceListBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinDirectBufferBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinFileDescriptorBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinMemoryBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinResponseTimeBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinTransactionBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.StatType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Kryo serializer for {@link JoinApplicationStatBo} backed by the application stat join codecs.
+ * Registered on the execution config so that window state kept in RocksDB is stored in the
+ * same compact form that is written to HBase instead of Kryo's reflective field serialization.
+ * Cpu loads are written field by field instead, as their codec keeps a fixed number of decimal places
+ * and the window state must come back unchanged after a restore.
+ */
+public class JoinApplicationStatBoSerializer extends Serializer<JoinApplicationStatBo> {
+
+    // version 1 stored cpu loads with the lossy cpu load codec
+    private static final byte VERSION_CPU_LOAD_CODEC = 1;
+    private static final byte VERSION = 2;
+
+    private final ApplicationStatCodec cpuLoadCodec;
+    private final ApplicationStatCodec memoryCodec;
+    private final ApplicationStatCodec transactionCodec;
+    private final ApplicationStatCodec activeTraceCodec;
+    private final ApplicationStatCodec responseTimeCodec;
+    private final ApplicationStatCodec dataSourceCodec;
+    private final ApplicationStatCodec fileDescriptorCodec;
+    private final ApplicationStatCodec directBufferCodec;
+
+    public JoinApplicationStatBoSerializer() {
+        final AgentStatDataPointCodec dataPointCodec = new AgentStatDataPointCodec();
+        this.cpuLoadCodec = new CpuLoadCodec(dataPointCodec);
+        this.memoryCodec = new MemoryCodec(dataPointCodec);
+        this.transactionCodec = new TransactionCodec(dataPointCodec);
+        this.activeTraceCodec = new ActiveTraceCodec(dataPointCodec);
+        this.responseTimeCodec = new ResponseTimeCodec(dataPointCodec);
+        this.dataSourceCodec = new DataSourceCodec(dataPointCodec);
+        this.fileDescriptorCodec = new FileDescriptorCodec(dataPointCodec);
+        this.directBufferCodec = new DirectBufferCodec(dataPointCodec);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, JoinApplicationStatBo joinApplicationStatBo) {
+        output.writeByte(VERSION);
+        output.writeString(joinApplicationStatBo.getId());
+        output.writeLong(joinApplicationStatBo.getTimestamp());
+        output.writeByte(joinApplicationStatBo.getStatType().getRawTypeCode());
+
+        writeCpuLoads(output, joinApplicationStatBo.getJoinCpuLoadBoList());
+        writeValues(output, memoryCodec, joinApplicationStatBo.getJoinMemoryBoList());
+        writeValues(output, transactionCodec, joinApplicationStatBo.getJoinTransactionBoList());
+        writeValues(output, activeTraceCodec, joinApplicationStatBo.getJoinActiveTraceBoList());
+        writeValues(output, responseTimeCodec, joinApplicationStatBo.getJoinResponseTimeBoList());
+        writeValues(output, dataSourceCodec, joinApplicationStatBo.getJoinDataSourceListBoList());
+        writeValues(output, fileDescriptorCodec, joinApplicationStatBo.getJoinFileDescriptorBoList());
+        writeValues(output, directBufferCodec, joinApplicationStatBo.getJoinDirectBufferBoList());
+    }
+
+    private void writeValues(Output output, ApplicationStatCodec codec, List<? extends JoinStatBo> joinStatBoList) {
+        if (joinStatBoList == null || joinStatBoList.isEmpty()) {
+            output.writeVarInt(0, true);
+            return;
+        }
+
+        // the codecs skip the first timestamp and the id as both are stored in the row key/qualifier
+        final JoinStatBo first = joinStatBoList.get(0);
+        final Buffer valueBuffer = new AutomaticBuffer();
+        codec.encodeValues(valueBuffer, new ArrayList<JoinStatBo>(joinStatBoList));
+        final int length = valueBuffer.getOffset();
+
+        output.writeVarInt(length, true);
+        output.writeString(first.getId());
+        output.writeLong(first.getTimestamp());
+        output.writeBytes(valueBuffer.getInternalBuffer(), 0, length);
+    }
+
+    private void writeCpuLoads(Output output, List<JoinCpuLoadBo> joinCpuLoadBoList) {
+        if (joinCpuLoadBoList == null) {
+            output.writeVarInt(0, true);
+            return;
+        }
+        output.writeVarInt(joinCpuLoadBoList.size(), true);
+        for (JoinCpuLoadBo joinCpuLoadBo : joinCpuLoadBoList) {
+            output.writeString(joinCpuLoadBo.getId());
+            output.writeLong(joinCpuLoadBo.getTimestamp());
+            output.writeDouble(joinCpuLoadBo.getJvmCpuLoad());
+            output.writeDouble(joinCpuLoadBo.getMaxJvmCpuLoad());
+            output.writeString(joinCpuLoadBo.getMaxJvmCpuAgentId());
+            output.writeDouble(joinCpuLoadBo.getMinJvmCpuLoad());
+            output.writeString(joinCpuLoadBo.getMinJvmCpuAgentId());
+            output.writeDouble(joinCpuLoadBo.getSystemCpuLoad());
+            output.writeDouble(joinCpuLoadBo.getMaxSystemCpuLoad());
+            output.writeString(joinCpuLoadBo.getMaxSysCpuAgentId());
+            output.writeDouble(joinCpuLoadBo.getMinSystemCpuLoad());
+            output.writeString(joinCpuLoadBo.getMinSysCpuAgentId());
+        }
+    }
+
+    @Override
+    public JoinApplicationStatBo read(Kryo kryo, Input input, Class<JoinApplicationStatBo> type) {
+        final byte version = input.readByte();
+        if (version != VERSION && version != VERSION_CPU_LOAD_CODEC) {
+            throw new IllegalStateException("Unknown version : " + version);
+        }
+
+        final JoinApplicationStatBo joinApplicationStatBo = new JoinApplicationStatBo();
+        joinApplicationStatBo.setId(input.readString());
+        joinApplicationStatBo.setTimestamp(input.readLong());
+        joinApplicationStatBo.setStatType(StatType.fromTypeCode(input.readByte()));
+
+        if (version == VERSION_CPU_LOAD_CODEC) {
+            joinApplicationStatBo.setJoinCpuLoadBoList(JoinApplicationStatBoSerializer.<JoinCpuLoadBo>readValues(input, cpuLoadCodec));
+        } else {
+            joinApplicationStatBo.setJoinCpuLoadBoList(readCpuLoads(input));
+        }
+        joinApplicationStatBo.setJoinMemoryBoList(JoinApplicationStatBoSerializer.<JoinMemoryBo>readValues(input, memoryCodec));
+        joinApplicationStatBo.setJoinTransactionBoList(JoinApplicationStatBoSerializer.<JoinTransactionBo>readValues(input, transactionCodec));
+        joinApplicationStatBo.setJoinActiveTraceBoList(JoinApplicationStatBoSerializer.<JoinActiveTraceBo>readValues(input, activeTraceCodec));
+        joinApplicationStatBo.setJoinResponseTimeBoList(JoinApplicationStatBoSerializer.<JoinResponseTimeBo>readValues(input, responseTimeCodec));
+        joinApplicationStatBo.setJoinDataSourceListBoList(JoinApplicationStatBoSerializer.<JoinDataSourceListBo>readValues(input, dataSourceCodec));
+        joinApplicationStatBo.setJoinFileDescriptorBoList(JoinApplicationStatBoSerializer.<JoinFileDescriptorBo>readValues(input, fileDescriptorCodec));
+        joinApplicationStatBo.setJoinDirectBufferBoList(JoinApplicationStatBoSerializer.<JoinDirectBufferBo>readValues(input, directBufferCodec));
+        return joinApplicationStatBo;
+    }
+
+    private static List<JoinCpuLoadBo> readCpuLoads(Input input) {
+        final int size = input.readVarInt(true);
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        final List<JoinCpuLoadBo> joinCpuLoadBoList = new ArrayList<JoinCpuLoadBo>(size);
+        for (int i = 0; i < size; i++) {
+            final JoinCpuLoadBo joinCpuLoadBo = new JoinCpuLoadBo();
+            joinCpuLoadBo.setId(input.readString());
+            joinCpuLoadBo.setTimestamp(input.readLong());
+            joinCpuLoadBo.setJvmCpuLoad(input.readDouble());
+            joinCpuLoadBo.setMaxJvmCpuLoad(input.readDouble());
+            joinCpuLoadBo.setMaxJvmCpuAgentId(input.readString());
+            joinCpuLoadBo.setMinJvmCpuLoad(input.readDouble());
+            joinCpuLoadBo.setMinJvmCpuAgentId(input.readString());
+            joinCpuLoadBo.setSystemCpuLoad(input.readDouble());
+            joinCpuLoadBo.setMaxSystemCpuLoad(input.readDouble());
+            joinCpuLoadBo.setMaxSysCpuAgentId(input.readString());
+            joinCpuLoadBo.setMinSystemCpuLoad(input.readDouble());
+            joinCpuLoadBo.setMinSysCpuAgentId(input.readString());
+            joinCpuLoadBoList.add(joinCpuLoadBo);
+        }
+        return joinCpuLoadBoList;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends JoinStatBo> List<T> readValues(Input input, ApplicationStatCodec codec) {
+        final int length = input.readVarInt(true);
+        if (length == 0) {
+            return Collections.emptyList();
+        }
+
+        final ApplicationStatDecodingContext decodingContext = new ApplicationStatDecodingContext();
+        decodingContext.setApplicationId(input.readString());
+        decodingContext.setBaseTimestamp(input.readLong());
+        decodingContext.setTimestampDelta(0);
+
+        final Buffer valueBuffer = new FixedBuffer(input.readBytes(length));
+        final List<JoinStatBo> joinStatBoList = codec.decodeValues(valueBuffer, decodingContext);
+        return (List<T>) (List<? extends JoinStatBo>) joinStatBoList;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.flink.process;
+
+import com.navercorp.pinpoint.common.hbase.HbaseTemplate2;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.flink.config.FlinkConfiguration;
+import org.apache.hadoop.hbase.TableName;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ApplicationCacheTest {
+
+    @Test
+    public void findApplicationId() throws Exception {
+        final CountDownLatch hbaseLatch = new CountDownLatch(1);
+        HbaseTemplate2 hbaseTemplate2 = mock(HbaseTemplate2.class);
+        when(hbaseTemplate2.get(any(TableName.class), anyList(), any(RowMapper.class))).thenAnswer(invocation -> {
+            hbaseLatch.await(3000, TimeUnit.MILLISECONDS);
+            return Collections.singletonList("testApplication");
+        });
+        TableNameProvider tableNameProvider = mock(TableNameProvider.class);
+        when(tableNameProvider.getTableName(anyString())).thenReturn(TableName.valueOf("AgentInfo"));
+
+        ApplicationCache applicationCache = new ApplicationCache(hbaseTemplate2, tableNameProvider, newFlinkConfiguration());
+        try {
+            ApplicationCache.ApplicationKey key = new ApplicationCache.ApplicationKey("testAgent", 1491274142454L);
+
+            // does not wait for hbase
+            assertEquals(ApplicationCache.RESOLVING_APP_ID, applicationCache.findApplicationId(key));
+            assertEquals(1, applicationCache.getResolvingCount());
+
+            hbaseLatch.countDown();
+            String applicationId = ApplicationCache.RESOLVING_APP_ID;
+            for (int i = 0; i < 300 && ApplicationCache.RESOLVING_APP_ID.equals(applicationId); i++) {
+                Thread.sleep(10);
+                applicationId = applicationCache.findApplicationId(key);
+            }
+            assertEquals("testApplication", applicationId);
+        } finally {
+            applicationCache.close();
+        }
+    }
+
+    @Test
+    public void findApplicationId_expired() throws Exception {
+        final AtomicInteger lookupCount = new AtomicInteger();
+        final CountDownLatch refreshLatch = new CountDownLatch(1);
+        HbaseTemplate2 hbaseTemplate2 = mock(HbaseTemplate2.class);
+        when(hbaseTemplate2.get(any(TableName.class), anyList(), any(RowMapper.class))).thenAnswer(invocation -> {
+            if (lookupCount.incrementAndGet() > 1) {
+                refreshLatch.await(3000, TimeUnit.MILLISECONDS);
+                return Collections.singletonList("newApplication");
+            }
+            return Collections.singletonList("testApplication");
+        });
+        TableNameProvider tableNameProvider = mock(TableNameProvider.class);
+        when(tableNameProvider.getTableName(anyString())).thenReturn(TableName.valueOf("AgentInfo"));
+
+        ApplicationCache applicationCache = new ApplicationCache(hbaseTemplate2, tableNameProvider, newFlinkConfiguration(1L));
+        try {
+            ApplicationCache.ApplicationKey key = new ApplicationCache.ApplicationKey("testAgent", 1491274142454L);
+            assertEquals("testApplication", awaitApplicationId(applicationCache, key));
+            final long resolvingCount = applicationCache.getResolvingCount();
+
+            Thread.sleep(10);
+            // expired, served while it is refreshed
+            assertEquals("testApplication", applicationCache.findApplicationId(key));
+            assertEquals("testApplication", applicationCache.findApplicationId(key));
+
+            refreshLatch.countDown();
+            String applicationId = "testApplication";
+            for (int i = 0; i < 300 && "testApplication".equals(applicationId); i++) {
+                Thread.sleep(10);
+                applicationId = applicationCache.findApplicationId(key);
+            }
+            assertEquals("newApplication", applicationId);
+            // the agent was never answered with RESOLVING_APP_ID again
+            assertEquals(resolvingCount, applicationCache.getResolvingCount());
+        } finally {
+            refreshLatch.countDown();
+            applicationCache.close();
+        }
+    }
+
+    private String awaitApplicationId(ApplicationCache applicationCache, ApplicationCache.ApplicationKey key) throws InterruptedException {
+        String applicationId = applicationCache.findApplicationId(key);
+        for (int i = 0; i < 300 && ApplicationCache.RESOLVING_APP_ID.equals(applicationId); i++) {
+            Thread.sleep(10);
+            applicationId = applicationCache.findApplicationId(key);
+        }
+        return applicationId;
+    }
+
+    private FlinkConfiguration newFlinkConfiguration() {
+        return newFlinkConfiguration(60000L);
+    }
+
+    private FlinkConfiguration newFlinkConfiguration(long timeToLiveMillis) {
+        FlinkConfiguration flinkConfiguration = mock(FlinkConfiguration.class);
+        when(flinkConfiguration.getApplicationCacheMaxSize()).thenReturn(100);
+        when(flinkConfiguration.getApplicationCacheTimeToLiveMillis()).thenReturn(timeToLiveMillis);
+        when(flinkConfiguration.getApplicationCacheNotFoundTimeToLiveMillis()).thenReturn(60000L);
+        when(flinkConfiguration.getApplicationCacheBatchSize()).thenReturn(10);
+        when(flinkConfiguration.getApplicationCacheBatchWaitMillis()).thenReturn(10L);
+        when(flinkConfiguration.getApplicationCacheQueueSize()).thenReturn(100);
+        when(flinkConfiguration.getApplicationCacheWarmupRangeMillis()).thenReturn(-1L);
+        return flinkConfiguration;
+    }
+}
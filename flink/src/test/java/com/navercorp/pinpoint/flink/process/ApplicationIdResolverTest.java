@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.flink.process;
+
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.HbaseSystemException;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import org.apache.hadoop.hbase.TableName;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ApplicationIdResolverTest {
+
+    @Test
+    public void resolveTest() throws Exception {
+        HbaseOperations2 hbaseOperations2 = mock(HbaseOperations2.class);
+        when(hbaseOperations2.get(any(TableName.class), anyList(), any(RowMapper.class))).thenReturn(Arrays.asList("testApplication", null));
+        TableNameProvider tableNameProvider = mock(TableNameProvider.class);
+        when(tableNameProvider.getTableName(anyString())).thenReturn(TableName.valueOf("AgentInfo"));
+
+        ApplicationIdResolver resolver = new ApplicationIdResolver(hbaseOperations2, tableNameProvider, 10, 200, 100);
+        try {
+            ApplicationCache.ApplicationKey key1 = new ApplicationCache.ApplicationKey("testAgent1", 1491274142454L);
+            ApplicationCache.ApplicationKey key2 = new ApplicationCache.ApplicationKey("testAgent2", 1491274142454L);
+
+            CompletableFuture<String> future1 = resolver.resolve(key1);
+            CompletableFuture<String> sameFuture = resolver.resolve(new ApplicationCache.ApplicationKey("testAgent1", 1491274142454L));
+            CompletableFuture<String> future2 = resolver.resolve(key2);
+            assertSame(future1, sameFuture);
+
+            assertEquals("testApplication", future1.get(3000, TimeUnit.MILLISECONDS));
+            assertEquals(ApplicationCache.NOT_FOUND_APP_ID, future2.get(3000, TimeUnit.MILLISECONDS));
+            verify(hbaseOperations2, times(1)).get(any(TableName.class), anyList(), any(RowMapper.class));
+        } finally {
+            resolver.close();
+        }
+    }
+
+    @Test
+    public void resolveTest_readError() throws Exception {
+        HbaseOperations2 hbaseOperations2 = mock(HbaseOperations2.class);
+        when(hbaseOperations2.get(any(TableName.class), anyList(), any(RowMapper.class))).thenThrow(new HbaseSystemException(new IOException("test")));
+        TableNameProvider tableNameProvider = mock(TableNameProvider.class);
+        when(tableNameProvider.getTableName(anyString())).thenReturn(TableName.valueOf("AgentInfo"));
+
+        ApplicationIdResolver resolver = new ApplicationIdResolver(hbaseOperations2, tableNameProvider, 10, 10, 100);
+        try {
+            CompletableFuture<String> future = resolver.resolve(new ApplicationCache.ApplicationKey("testAgent1", 1491274142454L));
+            try {
+                future.get(3000, TimeUnit.MILLISECONDS);
+                fail("read error expected");
+            } catch (ExecutionException expected) {
+                assertTrue(expected.getCause() instanceof HbaseSystemException);
+            }
+        } finally {
+            resolver.close();
+        }
+    }
+}
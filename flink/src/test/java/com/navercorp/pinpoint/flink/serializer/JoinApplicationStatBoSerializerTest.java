@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.flink.serializer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinCpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.join.JoinTransactionBo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JoinApplicationStatBoSerializerTest {
+
+    private static final String APPLICATION_ID = "test_app";
+
+    @Test
+    public void serializeTest() {
+        final long currentTime = 1487149800000L;
+        JoinApplicationStatBo joinApplicationStatBo = new JoinApplicationStatBo();
+        joinApplicationStatBo.setId(APPLICATION_ID);
+        joinApplicationStatBo.setTimestamp(currentTime);
+
+        List<JoinCpuLoadBo> joinCpuLoadBoList = new ArrayList<JoinCpuLoadBo>();
+        joinCpuLoadBoList.add(new JoinCpuLoadBo(APPLICATION_ID, 0.44, 0.7, "agent1_1", 0.22, "agent1_2", 0.11, 0.8, "agent1_3", 0.1, "agent1_4", currentTime));
+        joinCpuLoadBoList.add(new JoinCpuLoadBo(APPLICATION_ID, 0.33, 0.6, "agent2_1", 0.21, "agent2_2", 0.12, 0.7, "agent2_3", 0.11, "agent2_4", currentTime + 5000));
+        joinApplicationStatBo.setJoinCpuLoadBoList(joinCpuLoadBoList);
+
+        List<JoinTransactionBo> joinTransactionBoList = new ArrayList<JoinTransactionBo>();
+        joinTransactionBoList.add(new JoinTransactionBo(APPLICATION_ID, 5000, 150, 10, "agent1_1", 230, "agent1_2", currentTime));
+        joinTransactionBoList.add(new JoinTransactionBo(APPLICATION_ID, 5000, 110, 22, "agent2_1", 330, "agent2_2", currentTime + 5000));
+        joinApplicationStatBo.setJoinTransactionBoList(joinTransactionBoList);
+
+        Kryo kryo = new Kryo();
+        kryo.register(JoinApplicationStatBo.class, new JoinApplicationStatBoSerializer());
+
+        Output output = new Output(1024, -1);
+        kryo.writeObject(output, joinApplicationStatBo);
+        Input input = new Input(output.toBytes());
+        JoinApplicationStatBo decoded = kryo.readObject(input, JoinApplicationStatBo.class);
+
+        assertEquals(APPLICATION_ID, decoded.getId());
+        assertEquals(currentTime, decoded.getTimestamp());
+        assertEquals(joinApplicationStatBo.getStatType(), decoded.getStatType());
+        assertEquals(joinCpuLoadBoList, decoded.getJoinCpuLoadBoList());
+        assertEquals(joinTransactionBoList, decoded.getJoinTransactionBoList());
+        assertTrue(decoded.getJoinMemoryBoList().isEmpty());
+        assertTrue(decoded.getJoinDirectBufferBoList().isEmpty());
+    }
+
+    @Test
+    public void serializeTest_cpuLoadLossless() {
+        final long currentTime = 1487149800000L;
+        JoinApplicationStatBo joinApplicationStatBo = new JoinApplicationStatBo();
+        joinApplicationStatBo.setId(APPLICATION_ID);
+        joinApplicationStatBo.setTimestamp(currentTime);
+
+        final double third = 1.0 / 3;
+        List<JoinCpuLoadBo> joinCpuLoadBoList = new ArrayList<JoinCpuLoadBo>();
+        joinCpuLoadBoList.add(new JoinCpuLoadBo(APPLICATION_ID, third, 2.0 / 3, "agent1_1", 0.123456789, "agent1_2", Math.PI / 10, 0.999999999, "agent1_3", 1e-9, "agent1_4", currentTime));
+        joinCpuLoadBoList.add(new JoinCpuLoadBo(APPLICATION_ID, third * 2, third, "agent2_1", third / 7, "agent2_2", 0.1 + 0.2, 1.0, "agent2_3", 0.0, "agent2_4", currentTime + 5000));
+        joinApplicationStatBo.setJoinCpuLoadBoList(joinCpuLoadBoList);
+
+        Kryo kryo = new Kryo();
+        kryo.register(JoinApplicationStatBo.class, new JoinApplicationStatBoSerializer());
+
+        Output output = new Output(1024, -1);
+        kryo.writeObject(output, joinApplicationStatBo);
+        JoinApplicationStatBo decoded = kryo.readObject(new Input(output.toBytes()), JoinApplicationStatBo.class);
+
+        assertEquals(joinCpuLoadBoList, decoded.getJoinCpuLoadBoList());
+        assertEquals(third, decoded.getJoinCpuLoadBoList().get(0).getJvmCpuLoad(), 0);
+    }
+}
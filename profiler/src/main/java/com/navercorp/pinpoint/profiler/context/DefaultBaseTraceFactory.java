@@ -54,11 +54,20 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
     private final TraceRootFactory traceRootFactory;
 
     private final ActiveTraceRepository activeTraceRepository;
+    // repository of the unsampled traces, may differ from activeTraceRepository
+    private final ActiveTraceRepository unsampledActiveTraceRepository;
 
 
     public DefaultBaseTraceFactory(TraceRootFactory traceRootFactory, CallStackFactory<SpanEvent> callStackFactory, StorageFactory storageFactory,
                                    Sampler sampler, IdGenerator idGenerator,
                                    SpanFactory spanFactory, RecorderFactory recorderFactory, ActiveTraceRepository activeTraceRepository) {
+        this(traceRootFactory, callStackFactory, storageFactory, sampler, idGenerator, spanFactory, recorderFactory, activeTraceRepository, activeTraceRepository);
+    }
+
+    public DefaultBaseTraceFactory(TraceRootFactory traceRootFactory, CallStackFactory<SpanEvent> callStackFactory, StorageFactory storageFactory,
+                                   Sampler sampler, IdGenerator idGenerator,
+                                   SpanFactory spanFactory, RecorderFactory recorderFactory, ActiveTraceRepository activeTraceRepository,
+                                   ActiveTraceRepository unsampledActiveTraceRepository) {
 
         this.traceRootFactory = Assert.requireNonNull(traceRootFactory, "traceRootFactory must not be null");
         this.callStackFactory = Assert.requireNonNull(callStackFactory, "callStackFactory must not be null");
@@ -69,6 +78,7 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
         this.spanFactory = Assert.requireNonNull(spanFactory, "spanFactory must not be null");
         this.recorderFactory = Assert.requireNonNull(recorderFactory, "recorderFactory must not be null");
         this.activeTraceRepository = Assert.requireNonNull(activeTraceRepository, "activeTraceRepository must not be null");
+        this.unsampledActiveTraceRepository = Assert.requireNonNull(unsampledActiveTraceRepository, "unsampledActiveTraceRepository must not be null");
     }
 
 
@@ -97,8 +107,8 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
         return activeTraceRepository.register(traceRoot);
     }
 
-    private ActiveTraceHandle registerActiveTrace(long localTransactionId, long startTime, long threadId) {
-        return activeTraceRepository.register(localTransactionId, startTime, threadId);
+    private ActiveTraceHandle registerUnsampledActiveTrace(long localTransactionId, long startTime, long threadId) {
+        return unsampledActiveTraceRepository.register(localTransactionId, startTime, threadId);
     }
 
 
@@ -226,7 +236,7 @@ public class DefaultBaseTraceFactory implements BaseTraceFactory {
     private Trace newDisableTrace0(long id) {
         final long traceStartTime = System.currentTimeMillis();
         final long threadId = Thread.currentThread().getId();
-        final ActiveTraceHandle activeTraceHandle = registerActiveTrace(id, traceStartTime, threadId);
+        final ActiveTraceHandle activeTraceHandle = registerUnsampledActiveTrace(id, traceStartTime, threadId);
         final Trace disableTrace = new DisableTrace(id, traceStartTime, activeTraceHandle);
         return disableTrace;
     }
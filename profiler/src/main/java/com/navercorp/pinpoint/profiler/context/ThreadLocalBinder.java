@@ -17,14 +17,14 @@
 package com.navercorp.pinpoint.profiler.context;
 
 import com.google.inject.Inject;
-import com.navercorp.pinpoint.profiler.util.NamedThreadLocal;
+import com.navercorp.pinpoint.profiler.util.SharedThreadLocal;
 
 /**
  * @author emeroad
  */
 public class ThreadLocalBinder<T> implements Binder<T> {
 
-    private final ThreadLocal<Reference<T>> threadLocal = new NamedThreadLocal<Reference<T>>("ThreadLocalBinder") {
+    private final SharedThreadLocal<Reference<T>> threadLocal = new SharedThreadLocal<Reference<T>>("ThreadLocalBinder") {
         @Override
         protected Reference<T> initialValue() {
             return new DefaultReference<T>();
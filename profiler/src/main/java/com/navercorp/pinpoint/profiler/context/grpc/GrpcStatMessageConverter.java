@@ -31,6 +31,7 @@ import com.navercorp.pinpoint.grpc.trace.PJvmGc;
 import com.navercorp.pinpoint.grpc.trace.PJvmGcDetailed;
 import com.navercorp.pinpoint.grpc.trace.PJvmGcType;
 import com.navercorp.pinpoint.grpc.trace.PResponseTime;
+import com.navercorp.pinpoint.grpc.trace.PSpool;
 import com.navercorp.pinpoint.grpc.trace.PThreadDump;
 import com.navercorp.pinpoint.grpc.trace.PTransaction;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHistogram;
@@ -48,6 +49,7 @@ import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSna
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.ThreadDumpMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.filedescriptor.FileDescriptorMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetricSnapshot;
 
 import java.util.List;
@@ -137,6 +139,12 @@ public class GrpcStatMessageConverter implements MessageConverter<GeneratedMessa
             final PDirectBuffer directBuffer = convertDirectBuffer(bufferMetricSnapshot);
             agentStatBuilder.setDirectBuffer(directBuffer);
         }
+
+        final SpoolMetricSnapshot spoolMetricSnapshot = agentStatMetricSnapshot.getSpool();
+        if (spoolMetricSnapshot != null) {
+            final PSpool spool = convertSpool(spoolMetricSnapshot);
+            agentStatBuilder.setSpool(spool);
+        }
         return agentStatBuilder.build();
     }
 
@@ -225,6 +233,12 @@ public class GrpcStatMessageConverter implements MessageConverter<GeneratedMessa
         if (responseTimeCollectData.getMax() != 0) {
             responseTime.setMax(responseTimeCollectData.getMax());
         }
+        final long[] histogram = responseTimeCollectData.getHistogram();
+        if (histogram != null) {
+            for (long bucketCount : histogram) {
+                responseTime.addHistogram(bucketCount);
+            }
+        }
         return responseTime.build();
     }
 
@@ -256,4 +270,15 @@ public class GrpcStatMessageConverter implements MessageConverter<GeneratedMessa
         directBufferBuilder.setMappedMemoryUsed(directBufferCollectData.getMappedMemoryUsed());
         return directBufferBuilder.build();
     }
+
+    private PSpool convertSpool(SpoolMetricSnapshot spoolMetricSnapshot) {
+        final PSpool.Builder spoolBuilder = PSpool.newBuilder();
+        spoolBuilder.setPendingCount(spoolMetricSnapshot.getPendingCount());
+        spoolBuilder.setWriteCount(spoolMetricSnapshot.getWriteCount());
+        spoolBuilder.setReadCount(spoolMetricSnapshot.getReadCount());
+        spoolBuilder.setRequeueCount(spoolMetricSnapshot.getRequeueCount());
+        spoolBuilder.setEvictCount(spoolMetricSnapshot.getEvictCount());
+        spoolBuilder.setDropCount(spoolMetricSnapshot.getDropCount());
+        return spoolBuilder.build();
+    }
 }
\ No newline at end of file
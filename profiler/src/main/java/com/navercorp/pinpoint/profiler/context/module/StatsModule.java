@@ -41,6 +41,7 @@ import com.navercorp.pinpoint.profiler.monitor.metric.gc.GarbageCollectorMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.memory.DetailedMemoryMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.memory.MemoryMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeMetric;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetric;
 
 /**
@@ -69,6 +70,9 @@ public class StatsModule extends AbstractModule {
         // buffer
         bind(BufferMetric.class).toProvider(BufferMetricProvider.class).in(Scopes.SINGLETON);
 
+        // spool
+        bind(SpoolMetric.class).in(Scopes.SINGLETON);
+
         // transaction
         bind(TransactionMetric.class).toProvider(TransactionMetricProvider.class).in(Scopes.SINGLETON);
 
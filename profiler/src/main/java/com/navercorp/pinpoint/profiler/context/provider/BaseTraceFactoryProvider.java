@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.context.provider;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
 import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.profiler.context.BaseTraceFactory;
@@ -27,10 +28,12 @@ import com.navercorp.pinpoint.profiler.context.LoggingBaseTraceFactory;
 import com.navercorp.pinpoint.profiler.context.SpanEvent;
 import com.navercorp.pinpoint.profiler.context.SpanFactory;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.EmptyActiveTraceRepository;
 import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
 import com.navercorp.pinpoint.profiler.context.id.TraceRootFactory;
 import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +42,10 @@ import org.slf4j.LoggerFactory;
  */
 public class BaseTraceFactoryProvider implements Provider<BaseTraceFactory> {
 
+    // unsampled transactions are not registered as active traces. only the transaction count and response time are collected.
+    public static final String UNSAMPLED_ACTIVE_TRACE_ENABLE = "profiler.sampling.unsampled.activetrace.enable";
+
+    private final ProfilerConfig profilerConfig;
     private final TraceRootFactory traceRootFactory;
     private final StorageFactory storageFactory;
     private final Sampler sampler;
@@ -49,12 +56,14 @@ public class BaseTraceFactoryProvider implements Provider<BaseTraceFactory> {
     private final RecorderFactory recorderFactory;
 
     private final ActiveTraceRepository activeTraceRepository;
+    private final ResponseTimeCollector responseTimeCollector;
 
     @Inject
-    public BaseTraceFactoryProvider(TraceRootFactory traceRootFactory, StorageFactory storageFactory, Sampler sampler,
+    public BaseTraceFactoryProvider(ProfilerConfig profilerConfig, TraceRootFactory traceRootFactory, StorageFactory storageFactory, Sampler sampler,
                                     IdGenerator idGenerator,
                                     CallStackFactory<SpanEvent> callStackFactory, SpanFactory spanFactory, RecorderFactory recorderFactory,
-                                    ActiveTraceRepository activeTraceRepository) {
+                                    ActiveTraceRepository activeTraceRepository, ResponseTimeCollector responseTimeCollector) {
+        this.profilerConfig = Assert.requireNonNull(profilerConfig, "profilerConfig must not be null");
         this.traceRootFactory = Assert.requireNonNull(traceRootFactory, "traceRootFactory must not be null");
 
         this.callStackFactory = Assert.requireNonNull(callStackFactory, "callStackFactory must not be null");
@@ -66,13 +75,14 @@ public class BaseTraceFactoryProvider implements Provider<BaseTraceFactory> {
         this.spanFactory = Assert.requireNonNull(spanFactory, "spanFactory must not be null");
         this.recorderFactory = Assert.requireNonNull(recorderFactory, "recorderFactory must not be null");
         this.activeTraceRepository = Assert.requireNonNull(activeTraceRepository, "activeTraceRepository must not be null");
-
+        this.responseTimeCollector = Assert.requireNonNull(responseTimeCollector, "responseTimeCollector must not be null");
     }
 
     @Override
     public BaseTraceFactory get() {
+        final ActiveTraceRepository unsampledActiveTraceRepository = newUnsampledActiveTraceRepository();
         BaseTraceFactory baseTraceFactory = new DefaultBaseTraceFactory(traceRootFactory, callStackFactory, storageFactory, sampler, idGenerator,
-                spanFactory, recorderFactory, activeTraceRepository);
+                spanFactory, recorderFactory, activeTraceRepository, unsampledActiveTraceRepository);
         if (isDebugEnabled()) {
             baseTraceFactory = LoggingBaseTraceFactory.wrap(baseTraceFactory);
         }
@@ -80,6 +90,14 @@ public class BaseTraceFactoryProvider implements Provider<BaseTraceFactory> {
     }
 
 
+    private ActiveTraceRepository newUnsampledActiveTraceRepository() {
+        final boolean unsampledActiveTraceEnable = profilerConfig.readBoolean(UNSAMPLED_ACTIVE_TRACE_ENABLE, true);
+        if (unsampledActiveTraceEnable) {
+            return activeTraceRepository;
+        }
+        return new EmptyActiveTraceRepository(responseTimeCollector);
+    }
+
     private boolean isDebugEnabled() {
         final Logger logger = LoggerFactory.getLogger(DefaultBaseTraceFactory.class);
         return logger.isDebugEnabled();
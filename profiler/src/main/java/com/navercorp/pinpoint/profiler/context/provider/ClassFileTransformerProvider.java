@@ -20,10 +20,16 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.instrument.DynamicTransformTrigger;
+import com.navercorp.pinpoint.common.Version;
 import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.module.PluginJars;
 import com.navercorp.pinpoint.profiler.instrument.InstrumentEngine;
 import com.navercorp.pinpoint.profiler.DefaultClassFileTransformerDispatcher;
 import com.navercorp.pinpoint.profiler.DynamicTransformerRegistry;
+import com.navercorp.pinpoint.profiler.instrument.cache.CachingClassFileTransformer;
+import com.navercorp.pinpoint.profiler.instrument.cache.FileTransformCache;
+import com.navercorp.pinpoint.profiler.instrument.cache.TransformCache;
+import com.navercorp.pinpoint.profiler.instrument.cache.TransformCacheKeyFactory;
 import com.navercorp.pinpoint.profiler.instrument.transformer.BaseTransformerRegistry;
 import com.navercorp.pinpoint.profiler.instrument.transformer.BypassLambdaClassFileResolver;
 import com.navercorp.pinpoint.profiler.instrument.transformer.DebugTransformerRegistry;
@@ -34,16 +40,25 @@ import com.navercorp.pinpoint.profiler.instrument.transformer.MatchableTransform
 import com.navercorp.pinpoint.profiler.instrument.transformer.TransformerRegistry;
 import com.navercorp.pinpoint.profiler.plugin.MatchableClassFileTransformer;
 import com.navercorp.pinpoint.profiler.plugin.PluginContextLoadResult;
+import com.navercorp.pinpoint.profiler.plugin.PluginJar;
+import com.navercorp.pinpoint.profiler.util.PrivateDirectoryUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.lang.instrument.ClassFileTransformer;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * @author Woonduk Kang(emeroad)
  */
 public class ClassFileTransformerProvider implements Provider<ClassFileTransformer> {
 
+    public static final String TRANSFORM_CACHE_ENABLE = "profiler.instrument.cache.enable";
+    public static final String TRANSFORM_CACHE_DIR = "profiler.instrument.cache.dir";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final ProfilerConfig profilerConfig;
@@ -51,15 +66,18 @@ public class ClassFileTransformerProvider implements Provider<ClassFileTransform
     private final InstrumentEngine instrumentEngine;
     private final DynamicTransformTrigger dynamicTransformTrigger;
     private final DynamicTransformerRegistry dynamicTransformerRegistry;
+    private final List<PluginJar> pluginJars;
 
     @Inject
     public ClassFileTransformerProvider(ProfilerConfig profilerConfig, InstrumentEngine instrumentEngine, PluginContextLoadResult pluginContextLoadResult,
-                                        DynamicTransformTrigger dynamicTransformTrigger, DynamicTransformerRegistry dynamicTransformerRegistry) {
+                                        DynamicTransformTrigger dynamicTransformTrigger, DynamicTransformerRegistry dynamicTransformerRegistry,
+                                        @PluginJars List<PluginJar> pluginJars) {
         this.profilerConfig = Assert.requireNonNull(profilerConfig, "profilerConfig must not be null");
         this.instrumentEngine = Assert.requireNonNull(instrumentEngine, "instrumentEngine must not be null");
         this.pluginContextLoadResult = Assert.requireNonNull(pluginContextLoadResult, "pluginContextLoadResult must not be null");
         this.dynamicTransformTrigger = Assert.requireNonNull(dynamicTransformTrigger, "dynamicTransformTrigger must not be null");
         this.dynamicTransformerRegistry = Assert.requireNonNull(dynamicTransformerRegistry, "dynamicTransformerRegistry must not be null");
+        this.pluginJars = Assert.requireNonNull(pluginJars, "pluginJars must not be null");
     }
 
     @Override
@@ -92,6 +110,12 @@ public class ClassFileTransformerProvider implements Provider<ClassFileTransform
         Assert.requireNonNull(registry, "registry must not be null");
         Assert.requireNonNull(pluginContexts, "pluginContexts must not be null");
 
+        final TransformCache transformCache = newTransformCache();
+        TransformCacheKeyFactory transformCacheKeyFactory = null;
+        if (transformCache != null) {
+            transformCacheKeyFactory = new TransformCacheKeyFactory(newTransformCacheFingerprint());
+        }
+
         for (ClassFileTransformer transformer : pluginContexts.getClassFileTransformer()) {
             if (transformer instanceof MatchableClassFileTransformer) {
                 MatchableClassFileTransformer t = (MatchableClassFileTransformer) transformer;
@@ -99,7 +123,11 @@ public class ClassFileTransformerProvider implements Provider<ClassFileTransform
                     logger.info("Registering class file transformer {} for {} ", t, t.getMatcher());
                 }
                 try {
-                    registry.addTransformer(t.getMatcher(), t);
+                    if (transformCache != null) {
+                        registry.addTransformer(t.getMatcher(), new CachingClassFileTransformer(t, transformCache, transformCacheKeyFactory));
+                    } else {
+                        registry.addTransformer(t.getMatcher(), t);
+                    }
                 } catch (Exception e) {
                     if (logger.isWarnEnabled()) {
                         logger.warn("Failed to add transformer {}", transformer, e);
@@ -115,4 +143,45 @@ public class ClassFileTransformerProvider implements Provider<ClassFileTransform
         return registry;
     }
 
+    private TransformCache newTransformCache() {
+        if (!profilerConfig.readBoolean(TRANSFORM_CACHE_ENABLE, false)) {
+            return null;
+        }
+        final File cacheDir = getTransformCacheDir();
+        if (cacheDir == null) {
+            logger.warn("Transform cache disabled. agent directory not found, set {}", TRANSFORM_CACHE_DIR);
+            return null;
+        }
+        try {
+            final TransformCache transformCache = new FileTransformCache(cacheDir, Version.VERSION);
+            logger.info("Transform cache enabled. {}", transformCache);
+            return transformCache;
+        } catch (Exception e) {
+            logger.warn("Failed to create transform cache. path:{}", cacheDir, e);
+            return null;
+        }
+    }
+
+    private File getTransformCacheDir() {
+        final String cacheDir = profilerConfig.readString(TRANSFORM_CACHE_DIR, "");
+        if (!cacheDir.isEmpty()) {
+            return new File(cacheDir);
+        }
+        // never shared directories like java.io.tmpdir, cached bytes are loaded as class bytecode
+        return PrivateDirectoryUtils.getAgentDataDirectory("transform-cache");
+    }
+
+    private String newTransformCacheFingerprint() {
+        final StringBuilder fingerprint = new StringBuilder(Version.VERSION);
+        for (PluginJar pluginJar : pluginJars) {
+            final File jarFile = new File(pluginJar.getJarFile().getName());
+            fingerprint.append('|').append(jarFile.getName());
+            fingerprint.append(':').append(jarFile.length());
+            fingerprint.append(':').append(jarFile.lastModified());
+        }
+        final Map<String, String> properties = new TreeMap<String, String>(profilerConfig.readPattern("profiler\\..*"));
+        fingerprint.append('|').append(properties);
+        return fingerprint.toString();
+    }
+
 }
\ No newline at end of file
@@ -41,6 +41,8 @@ import java.lang.instrument.Instrumentation;
  */
 public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
 
+    public static final String INTERCEPTOR_HOLDER_ENABLE = "profiler.instrument.interceptor.holder.enable";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final ProfilerConfig profilerConfig;
@@ -72,7 +74,11 @@ public class InstrumentEngineProvider implements Provider<InstrumentEngine> {
             final InterceptorDefinitionFactory interceptorDefinitionFactory = new InterceptorDefinitionFactory();
             // WARNING must be singleton
             final ScopeFactory scopeFactory = new ScopeFactory();
-            EngineComponent engineComponent = new DefaultEngineComponent(objectBinderFactory, interceptorRegistryBinder, interceptorDefinitionFactory, apiMetaDataServiceProvider, scopeFactory);
+            final boolean interceptorHolderEnable = profilerConfig.readBoolean(INTERCEPTOR_HOLDER_ENABLE, false);
+            if (interceptorHolderEnable) {
+                logger.info("Interceptor holder enabled");
+            }
+            EngineComponent engineComponent = new DefaultEngineComponent(objectBinderFactory, interceptorRegistryBinder, interceptorDefinitionFactory, apiMetaDataServiceProvider, scopeFactory, interceptorHolderEnable);
             return new ASMEngine(instrumentation, engineComponent);
 
         } else {
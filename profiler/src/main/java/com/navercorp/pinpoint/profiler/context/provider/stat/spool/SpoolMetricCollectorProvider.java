@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context.provider.stat.spool;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.provider.thrift.DataSenderSpoolFactory;
+import com.navercorp.pinpoint.profiler.monitor.collector.AgentStatMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.UnsupportedMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.spool.DefaultSpoolMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetric;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetricSnapshot;
+
+public class SpoolMetricCollectorProvider implements Provider<AgentStatMetricCollector<SpoolMetricSnapshot>> {
+
+    private final ProfilerConfig profilerConfig;
+    private final SpoolMetric spoolMetric;
+
+    @Inject
+    public SpoolMetricCollectorProvider(ProfilerConfig profilerConfig, SpoolMetric spoolMetric) {
+        this.profilerConfig = Assert.requireNonNull(profilerConfig, "profilerConfig must not be null");
+        this.spoolMetric = Assert.requireNonNull(spoolMetric, "spoolMetric must not be null");
+    }
+
+    @Override
+    public AgentStatMetricCollector<SpoolMetricSnapshot> get() {
+        if (!profilerConfig.readBoolean(DataSenderSpoolFactory.SPOOL_ENABLE, false)) {
+            return new UnsupportedMetricCollector<SpoolMetricSnapshot>();
+        }
+        return new DefaultSpoolMetricCollector(spoolMetric);
+    }
+}
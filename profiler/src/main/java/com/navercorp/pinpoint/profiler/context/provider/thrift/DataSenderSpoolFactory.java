@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.provider.thrift;
+
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.common.util.ByteSizeUnit;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetric;
+import com.navercorp.pinpoint.profiler.sender.MappedFileSpool;
+import com.navercorp.pinpoint.profiler.util.PrivateDirectoryUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+
+/**
+ * Creates the local spool of the tcp data senders.
+ */
+public class DataSenderSpoolFactory {
+
+    public static final String SPOOL_ENABLE = "profiler.spool.enable";
+    public static final String SPOOL_DIR = "profiler.spool.dir";
+    public static final String SPOOL_SEGMENT_SIZE = "profiler.spool.segment.size";
+    public static final String SPOOL_QUOTA = "profiler.spool.quota";
+    public static final String SPOOL_DRAIN_RATE = "profiler.spool.drain.rate";
+
+    private static final long DEFAULT_SEGMENT_SIZE = ByteSizeUnit.MEGA_BYTES.toBytesSizeAsInt(4);
+    private static final long DEFAULT_QUOTA = ByteSizeUnit.MEGA_BYTES.toBytesSizeAsInt(64);
+    private static final int DEFAULT_DRAIN_RATE = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ProfilerConfig profilerConfig;
+    private final String agentId;
+    private final SpoolMetric spoolMetric;
+
+    public DataSenderSpoolFactory(ProfilerConfig profilerConfig, String agentId, SpoolMetric spoolMetric) {
+        this.profilerConfig = Assert.requireNonNull(profilerConfig, "profilerConfig must not be null");
+        this.agentId = Assert.requireNonNull(agentId, "agentId must not be null");
+        this.spoolMetric = Assert.requireNonNull(spoolMetric, "spoolMetric must not be null");
+    }
+
+    public boolean isEnable() {
+        return profilerConfig.readBoolean(SPOOL_ENABLE, false);
+    }
+
+    public int getDrainRate() {
+        return profilerConfig.readInt(SPOOL_DRAIN_RATE, DEFAULT_DRAIN_RATE);
+    }
+
+    /**
+     * @return spool of the sender, or {@code null} if disabled or failed to create
+     */
+    public MappedFileSpool create(String senderName) {
+        Assert.requireNonNull(senderName, "senderName must not be null");
+        if (!isEnable()) {
+            return null;
+        }
+
+        final File spoolDir = getSpoolDir();
+        if (spoolDir == null) {
+            logger.warn("Spool disabled. agent directory not found, set {}", SPOOL_DIR);
+            return null;
+        }
+        final File agentSpoolDir = new File(spoolDir, agentId);
+        final File directory = new File(agentSpoolDir, senderName);
+        final long segmentSize = ByteSizeUnit.getByteSize(profilerConfig.readString(SPOOL_SEGMENT_SIZE, null), DEFAULT_SEGMENT_SIZE);
+        final long quota = ByteSizeUnit.getByteSize(profilerConfig.readString(SPOOL_QUOTA, null), DEFAULT_QUOTA);
+        try {
+            PrivateDirectoryUtils.createPrivateDirectory(spoolDir);
+            PrivateDirectoryUtils.createPrivateDirectory(agentSpoolDir);
+            PrivateDirectoryUtils.createPrivateDirectory(directory);
+            final MappedFileSpool spool = new MappedFileSpool(directory, (int) Math.min(Integer.MAX_VALUE, segmentSize), quota);
+            spoolMetric.register(spool);
+            return spool;
+        } catch (Exception e) {
+            logger.warn("Failed to create spool. path:{} Caused:{}", directory, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private File getSpoolDir() {
+        final String spoolDir = profilerConfig.readString(SPOOL_DIR, "");
+        if (!spoolDir.isEmpty()) {
+            return new File(spoolDir);
+        }
+        // never shared directories like java.io.tmpdir, spooled messages are sent as the data of the agent
+        return PrivateDirectoryUtils.getAgentDataDirectory("spool");
+    }
+}
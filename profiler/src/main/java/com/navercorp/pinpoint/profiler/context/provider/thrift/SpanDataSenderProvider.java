@@ -18,12 +18,16 @@ package com.navercorp.pinpoint.profiler.context.provider.thrift;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.config.ThriftTransportConfig;
 import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.module.AgentId;
 import com.navercorp.pinpoint.profiler.context.module.SpanClientFactory;
 import com.navercorp.pinpoint.profiler.context.module.SpanConverter;
 import com.navercorp.pinpoint.profiler.context.thrift.MessageConverter;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetric;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.profiler.sender.MappedFileSpool;
 import com.navercorp.pinpoint.profiler.sender.MessageSerializer;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
 import com.navercorp.pinpoint.profiler.sender.ThriftMessageSerializer;
@@ -52,11 +56,14 @@ public class SpanDataSenderProvider  implements Provider<DataSender> {
     private final String ioType;
     private final String transportType;
     private final MessageConverter<TBase<?, ?>> messageConverter;
+    private final DataSenderSpoolFactory spoolFactory;
 
     @Inject
-    public SpanDataSenderProvider(ThriftTransportConfig thriftTransportConfig, @SpanClientFactory Provider<PinpointClientFactory> clientFactoryProvider,
+    public SpanDataSenderProvider(ProfilerConfig profilerConfig, ThriftTransportConfig thriftTransportConfig, @AgentId String agentId, SpoolMetric spoolMetric,
+                                  @SpanClientFactory Provider<PinpointClientFactory> clientFactoryProvider,
                                   @SpanConverter MessageConverter<TBase<?, ?>> messageConverter) {
         Assert.requireNonNull(thriftTransportConfig, "thriftTransportConfig must not be null");
+        this.spoolFactory = new DataSenderSpoolFactory(profilerConfig, agentId, spoolMetric);
         this.clientFactoryProvider = Assert.requireNonNull(clientFactoryProvider, "clientFactoryProvider must not be null");
 
         this.ip = thriftTransportConfig.getCollectorSpanServerIp();
@@ -78,6 +85,10 @@ public class SpanDataSenderProvider  implements Provider<DataSender> {
 
             PinpointClientFactory pinpointClientFactory = clientFactoryProvider.get();
             MessageSerializer<byte[]> messageSerializer = new ThriftMessageSerializer(messageConverter);
+            final MappedFileSpool spool = spoolFactory.create("SpanDataSender");
+            if (spool != null) {
+                return new TcpDataSender("SpanDataSender", ip, port, pinpointClientFactory, messageSerializer, spool, spoolFactory.getDrainRate());
+            }
             return new TcpDataSender("SpanDataSender", ip, port, pinpointClientFactory, messageSerializer);
         } else {
             UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize, messageConverter);
@@ -21,10 +21,13 @@ import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.config.ThriftTransportConfig;
 import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.context.module.AgentId;
 import com.navercorp.pinpoint.profiler.context.module.StatClientFactory;
 import com.navercorp.pinpoint.profiler.context.module.StatConverter;
 import com.navercorp.pinpoint.profiler.context.thrift.MessageConverter;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetric;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.profiler.sender.MappedFileSpool;
 import com.navercorp.pinpoint.profiler.sender.MessageSerializer;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
 import com.navercorp.pinpoint.profiler.sender.ThriftMessageSerializer;
@@ -54,10 +57,12 @@ public class StatDataSenderProvider implements Provider<DataSender> {
     private final String transportType;
 
     private final MessageConverter<TBase<?, ?>> messageConverter;
+    private final DataSenderSpoolFactory spoolFactory;
 
     @Inject
-    public StatDataSenderProvider(ProfilerConfig profilerConfig, @StatClientFactory Provider<PinpointClientFactory> clientFactoryProvider, @StatConverter MessageConverter<TBase<?, ?>> messageConverter) {
+    public StatDataSenderProvider(ProfilerConfig profilerConfig, @AgentId String agentId, SpoolMetric spoolMetric, @StatClientFactory Provider<PinpointClientFactory> clientFactoryProvider, @StatConverter MessageConverter<TBase<?, ?>> messageConverter) {
         Assert.requireNonNull(profilerConfig, "profilerConfig must not be null");
+        this.spoolFactory = new DataSenderSpoolFactory(profilerConfig, agentId, spoolMetric);
 
         this.clientFactoryProvider = Assert.requireNonNull(clientFactoryProvider, "clientFactoryProvider must not be null");
 
@@ -81,6 +86,10 @@ public class StatDataSenderProvider implements Provider<DataSender> {
 
             PinpointClientFactory pinpointClientFactory = clientFactoryProvider.get();
             MessageSerializer<byte[]> messageSerializer = new ThriftMessageSerializer(messageConverter);
+            final MappedFileSpool spool = spoolFactory.create("StatDataSender");
+            if (spool != null) {
+                return new TcpDataSender("StatDataSender", ip, port, pinpointClientFactory, messageSerializer, spool, spoolFactory.getDrainRate());
+            }
             return new TcpDataSender("StatDataSender", ip, port, pinpointClientFactory, messageSerializer);
         } else {
             UdpDataSenderFactory factory = new UdpDataSenderFactory(ip, port, UDP_EXECUTOR_NAME, writeQueueSize, timeout, sendBufferSize, messageConverter);
@@ -30,6 +30,7 @@ import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSna
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.ThreadDumpMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.filedescriptor.FileDescriptorMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetricSnapshot;
 import com.navercorp.pinpoint.thrift.dto.TActiveTrace;
 import com.navercorp.pinpoint.thrift.dto.TActiveTraceHistogram;
@@ -45,6 +46,7 @@ import com.navercorp.pinpoint.thrift.dto.TJvmGc;
 import com.navercorp.pinpoint.thrift.dto.TJvmGcDetailed;
 import com.navercorp.pinpoint.thrift.dto.TJvmGcType;
 import com.navercorp.pinpoint.thrift.dto.TResponseTime;
+import com.navercorp.pinpoint.thrift.dto.TSpool;
 import com.navercorp.pinpoint.thrift.dto.TTransaction;
 import com.navercorp.pinpoint.thrift.dto.command.TThreadDump;
 import org.apache.thrift.TBase;
@@ -142,6 +144,12 @@ public class StatThriftMessageConverter implements MessageConverter<TBase<?, ?>>
             agentStat.setDirectBuffer(directBuffer);
         }
 
+        final SpoolMetricSnapshot spoolMetricSnapshot = agentStatMetricSnapshot.getSpool();
+        if (spoolMetricSnapshot != null) {
+            final TSpool spool = convertSpool(spoolMetricSnapshot);
+            agentStat.setSpool(spool);
+        }
+
         return agentStat;
     }
 
@@ -261,4 +269,15 @@ public class StatThriftMessageConverter implements MessageConverter<TBase<?, ?>>
         tdirectBuffer.setMappedMemoryUsed(bufferMetricSnapshot.getMappedMemoryUsed());
         return tdirectBuffer;
     }
+
+    private TSpool convertSpool(SpoolMetricSnapshot spoolMetricSnapshot) {
+        final TSpool tSpool = new TSpool();
+        tSpool.setPendingCount(spoolMetricSnapshot.getPendingCount());
+        tSpool.setWriteCount(spoolMetricSnapshot.getWriteCount());
+        tSpool.setReadCount(spoolMetricSnapshot.getReadCount());
+        tSpool.setRequeueCount(spoolMetricSnapshot.getRequeueCount());
+        tSpool.setEvictCount(spoolMetricSnapshot.getEvictCount());
+        tSpool.setDropCount(spoolMetricSnapshot.getDropCount());
+        return tSpool;
+    }
 }
\ No newline at end of file
@@ -36,6 +36,7 @@ import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.common.util.JvmUtils;
 import com.navercorp.pinpoint.common.util.JvmVersion;
 import com.navercorp.pinpoint.exception.PinpointException;
+import com.navercorp.pinpoint.profiler.instrument.cache.TransformCacheContext;
 import com.navercorp.pinpoint.profiler.objectfactory.AutoBindingObjectFactory;
 import com.navercorp.pinpoint.profiler.objectfactory.InterceptorArgumentProvider;
 import com.navercorp.pinpoint.profiler.objectfactory.ObjectBinderFactory;
@@ -787,6 +788,10 @@ public class ASMClass implements InstrumentClass {
 
     @Override
     public byte[] toBytecode() {
+        final byte[] cachedBytecode = TransformCacheContext.findBytecode(classNode.getInternalName());
+        if (cachedBytecode != null) {
+            return cachedBytecode;
+        }
         return classNode.toByteArray();
     }
 }
\ No newline at end of file
@@ -261,9 +261,16 @@ public class ASMMethod implements InstrumentMethod {
             apiId = this.engineComponent.cacheApi(this.descriptor);
         }
 
+        final boolean addBefore = isBeforeInterceptor(captureType) && interceptorDefinition.getBeforeMethod() != null;
+        final boolean addAfter = isAfterInterceptor(captureType) && interceptorDefinition.getAfterMethod() != null;
+        String interceptorHolderInternalName = null;
+        if (addBefore || addAfter) {
+            interceptorHolderInternalName = this.engineComponent.defineInterceptorHolder(this.declaringClass.getClassLoader(), interceptorId);
+        }
+
         // add before interceptor.
-        if (isBeforeInterceptor(captureType) && interceptorDefinition.getBeforeMethod() != null) {
-            this.methodNode.addBeforeInterceptor(interceptorId, interceptorDefinition, apiId);
+        if (addBefore) {
+            this.methodNode.addBeforeInterceptor(interceptorId, interceptorHolderInternalName, interceptorDefinition, apiId);
             this.declaringClass.setModified(true);
         } else {
             if (isDebug) {
@@ -272,8 +279,8 @@ public class ASMMethod implements InstrumentMethod {
         }
 
         // add after interface.
-        if (isAfterInterceptor(captureType) && interceptorDefinition.getAfterMethod() != null) {
-            this.methodNode.addAfterInterceptor(interceptorId, interceptorDefinition, apiId);
+        if (addAfter) {
+            this.methodNode.addAfterInterceptor(interceptorId, interceptorHolderInternalName, interceptorDefinition, apiId);
             this.declaringClass.setModified(true);
         } else {
             if (isDebug) {
@@ -15,6 +15,7 @@
  */
 package com.navercorp.pinpoint.profiler.instrument;
 
+import com.navercorp.pinpoint.profiler.instrument.cache.TransformCacheContext;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -243,16 +244,25 @@ public class ASMMethodNodeAdapter {
         }
     }
 
-    private void initInterceptorLocalVariables(final int interceptorId, final InterceptorDefinition interceptorDefinition, final int apiId) {
+    private void initInterceptorLocalVariables(final int interceptorId, final String interceptorHolderInternalName, final InterceptorDefinition interceptorDefinition, final int apiId) {
+        // ids are baked into the bytecode. cached bytecode is reused only if the same ids are bound again.
+        TransformCacheContext.recordBinding(interceptorId, apiId);
         final InsnList instructions = new InsnList();
-        if (this.methodVariables.initInterceptorLocalVariables(instructions, interceptorId, interceptorDefinition, apiId)) {
+        if (this.methodVariables.initInterceptorLocalVariables(instructions, interceptorId, interceptorHolderInternalName, interceptorDefinition, apiId)) {
             // if first time.
             this.methodNode.instructions.insertBefore(this.methodVariables.getEnterInsnNode(), instructions);
         }
     }
 
     public void addBeforeInterceptor(final int interceptorId, final InterceptorDefinition interceptorDefinition, final int apiId) {
-        initInterceptorLocalVariables(interceptorId, interceptorDefinition, apiId);
+        addBeforeInterceptor(interceptorId, null, interceptorDefinition, apiId);
+    }
+
+    /**
+     * @param interceptorHolderInternalName holder class to read the interceptor from, or {@code null} to look it up from the registry
+     */
+    public void addBeforeInterceptor(final int interceptorId, final String interceptorHolderInternalName, final InterceptorDefinition interceptorDefinition, final int apiId) {
+        initInterceptorLocalVariables(interceptorId, interceptorHolderInternalName, interceptorDefinition, apiId);
 
         final InsnList instructions = new InsnList();
         this.methodVariables.loadInterceptorLocalVariables(instructions, interceptorDefinition, false);
@@ -263,7 +273,14 @@ public class ASMMethodNodeAdapter {
     }
 
     public void addAfterInterceptor(final int interceptorId, final InterceptorDefinition interceptorDefinition, final int apiId) {
-        initInterceptorLocalVariables(interceptorId, interceptorDefinition, apiId);
+        addAfterInterceptor(interceptorId, null, interceptorDefinition, apiId);
+    }
+
+    /**
+     * @param interceptorHolderInternalName holder class to read the interceptor from, or {@code null} to look it up from the registry
+     */
+    public void addAfterInterceptor(final int interceptorId, final String interceptorHolderInternalName, final InterceptorDefinition interceptorDefinition, final int apiId) {
+        initInterceptorLocalVariables(interceptorId, interceptorHolderInternalName, interceptorDefinition, apiId);
 
         // add try catch block.
         final ASMTryCatch tryCatch = new ASMTryCatch(this.methodNode);
@@ -17,6 +17,7 @@ package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
 import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistry;
+import com.navercorp.pinpoint.profiler.instrument.classloading.InterceptorHolderDefiner;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorType;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
@@ -24,6 +25,7 @@ import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.Method;
 import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.FieldInsnNode;
 import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.InsnNode;
 import org.objectweb.asm.tree.IntInsnNode;
@@ -208,6 +210,10 @@ public class ASMMethodVariables {
     }
 
     public boolean initInterceptorLocalVariables(final InsnList instructions, final int interceptorId, final InterceptorDefinition interceptorDefinition, final int apiId) {
+        return initInterceptorLocalVariables(instructions, interceptorId, null, interceptorDefinition, apiId);
+    }
+
+    public boolean initInterceptorLocalVariables(final InsnList instructions, final int interceptorId, final String interceptorHolderInternalName, final InterceptorDefinition interceptorDefinition, final int apiId) {
         if (this.initializedInterceptorLocalVariables) {
             return false;
         }
@@ -231,7 +237,7 @@ public class ASMMethodVariables {
         this.methodNode.instructions.insert(this.exitInsnNode, this.interceptorVariableEndLabelNode);
 
         // initialize interceptor variable.
-        initInterceptorVar(instructions, interceptorId);
+        initInterceptorVar(instructions, interceptorId, interceptorHolderInternalName);
 
         // initialize argument variable.
         final InterceptorType interceptorType = interceptorDefinition.getInterceptorType();
@@ -294,11 +300,15 @@ public class ASMMethodVariables {
     }
 
 
-    private void initInterceptorVar(final InsnList instructions, final int interceptorId) {
+    private void initInterceptorVar(final InsnList instructions, final int interceptorId, final String interceptorHolderInternalName) {
         assertInitializedInterceptorLocalVariables();
         this.interceptorVarIndex = addInterceptorLocalVariable("_$PINPOINT$_interceptor", "Lcom/navercorp/pinpoint/bootstrap/interceptor/Interceptor;");
-        push(instructions, interceptorId);
-        instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + Type.getDescriptor(Interceptor.class), false));
+        if (interceptorHolderInternalName != null) {
+            instructions.add(new FieldInsnNode(Opcodes.GETSTATIC, interceptorHolderInternalName, InterceptorHolderDefiner.HOLDER_FIELD_NAME, Type.getDescriptor(Interceptor.class)));
+        } else {
+            push(instructions, interceptorId);
+            instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + Type.getDescriptor(Interceptor.class), false));
+        }
         storeVar(instructions, this.interceptorVarIndex);
         this.resultVarIndex = addInterceptorLocalVariable("_$PINPOINT$_result", "Ljava/lang/Object;");
         loadNull(instructions);
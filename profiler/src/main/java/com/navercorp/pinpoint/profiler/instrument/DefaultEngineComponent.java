@@ -20,6 +20,7 @@ import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
 import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
 import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.instrument.classloading.InterceptorHolderDefiner;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinitionFactory;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
@@ -37,17 +38,29 @@ public class DefaultEngineComponent implements EngineComponent {
     private final InterceptorDefinitionFactory interceptorDefinitionFactory;
     private final Provider<ApiMetaDataService> apiMetaDataServiceProvider;
     private final ScopeFactory scopeFactory;
+    // null if disabled
+    private final InterceptorHolderDefiner interceptorHolderDefiner;
 
     public DefaultEngineComponent(ObjectBinderFactory objectBinderFactory,
                                   InterceptorRegistryBinder interceptorRegistryBinder,
                                   InterceptorDefinitionFactory interceptorDefinitionFactory,
                                   Provider<ApiMetaDataService> apiMetaDataServiceProvider,
                                   ScopeFactory scopeFactory) {
+        this(objectBinderFactory, interceptorRegistryBinder, interceptorDefinitionFactory, apiMetaDataServiceProvider, scopeFactory, false);
+    }
+
+    public DefaultEngineComponent(ObjectBinderFactory objectBinderFactory,
+                                  InterceptorRegistryBinder interceptorRegistryBinder,
+                                  InterceptorDefinitionFactory interceptorDefinitionFactory,
+                                  Provider<ApiMetaDataService> apiMetaDataServiceProvider,
+                                  ScopeFactory scopeFactory,
+                                  boolean interceptorHolderEnable) {
         this.objectBinderFactory = Assert.requireNonNull(objectBinderFactory, "objectBinderFactory must not be null");
         this.interceptorRegistryBinder = Assert.requireNonNull(interceptorRegistryBinder, "interceptorRegistryBinder must not be null");
         this.interceptorDefinitionFactory = Assert.requireNonNull(interceptorDefinitionFactory, "interceptorDefinitionFactory must not be null");
         this.apiMetaDataServiceProvider = Assert.requireNonNull(apiMetaDataServiceProvider, "apiMetaDataService must not be null");
         this.scopeFactory = Assert.requireNonNull(scopeFactory, "scopeFactory must not be null");
+        this.interceptorHolderDefiner = interceptorHolderEnable ? new InterceptorHolderDefiner() : null;
     }
 
     @Override
@@ -77,5 +90,13 @@ public class DefaultEngineComponent implements EngineComponent {
         return apiMetaDataService.cacheApi(methodDescriptor);
     }
 
+    @Override
+    public String defineInterceptorHolder(ClassLoader classLoader, int interceptorId) {
+        if (interceptorHolderDefiner == null) {
+            return null;
+        }
+        return interceptorHolderDefiner.defineHolder(classLoader, interceptorId);
+    }
+
 }
 
@@ -35,4 +35,9 @@ public interface EngineComponent {
     int addInterceptor(Interceptor interceptor);
 
     int cacheApi(MethodDescriptor methodDescriptor);
+
+    /**
+     * @return internal name of the holder class of the interceptor, or {@code null} if the interceptor is looked up from the registry
+     */
+    String defineInterceptorHolder(ClassLoader classLoader, int interceptorId);
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.cache;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.security.ProtectionDomain;
+
+/**
+ * Runs a plugin transformer inside a {@link TransformCacheContext} and stores its result.
+ */
+public class CachingClassFileTransformer implements ClassFileTransformer {
+
+    private final ClassFileTransformer delegate;
+    private final TransformCache transformCache;
+    private final TransformCacheKeyFactory keyFactory;
+
+    public CachingClassFileTransformer(ClassFileTransformer delegate, TransformCache transformCache, TransformCacheKeyFactory keyFactory) {
+        this.delegate = Assert.requireNonNull(delegate, "delegate must not be null");
+        this.transformCache = Assert.requireNonNull(transformCache, "transformCache must not be null");
+        this.keyFactory = Assert.requireNonNull(keyFactory, "keyFactory must not be null");
+    }
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
+        if (classBeingRedefined != null) {
+            // retransform requests depend on runtime state, not only on the class bytes
+            return delegate.transform(loader, className, classBeingRedefined, protectionDomain, classfileBuffer);
+        }
+
+        final String key = keyFactory.newKey(loader, protectionDomain, className, classfileBuffer);
+        final TransformCacheEntry cachedEntry = transformCache.get(key, classfileBuffer);
+        final TransformCacheContext context = new TransformCacheContext(className, cachedEntry);
+        final TransformCacheContext previous = TransformCacheContext.enter(context);
+        try {
+            final byte[] transformed = delegate.transform(loader, className, classBeingRedefined, protectionDomain, classfileBuffer);
+            if (transformed != null && !context.isHit()) {
+                transformCache.put(key, classfileBuffer, new TransformCacheEntry(context.getBindings(), transformed));
+            }
+            return transformed;
+        } finally {
+            TransformCacheContext.exit(previous);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachingClassFileTransformer{" +
+                "delegate=" + delegate +
+                '}';
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.cache;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.common.util.IOUtils;
+import com.navercorp.pinpoint.profiler.util.PrivateDirectoryUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * {@link TransformCache} keeping one file per cache key in a local directory.
+ * Files are written to a temporary name and renamed, so concurrently starting agents never read a partial entry.
+ * <p>
+ * The directory must be owned by the current user and not writable by others, as cached bytes are loaded as class bytecode.
+ * Each entry holds a digest of the agent version, the original class bytes and the cached data,
+ * so entries of other agent versions or other class bytes, and corrupted entries are never used.
+ */
+public class FileTransformCache implements TransformCache {
+
+    private static final int MAGIC = 0x50544332;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String FILE_SUFFIX = ".tc";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final File cacheDir;
+    private final byte[] agentVersion;
+
+    public FileTransformCache(File cacheDir, String agentVersion) {
+        this.cacheDir = Assert.requireNonNull(cacheDir, "cacheDir must not be null");
+        Assert.requireNonNull(agentVersion, "agentVersion must not be null");
+        this.agentVersion = agentVersion.getBytes(UTF_8);
+        PrivateDirectoryUtils.createPrivateDirectory(cacheDir);
+    }
+
+    @Override
+    public TransformCacheEntry get(String key, byte[] classFileBuffer) {
+        final File file = new File(cacheDir, key + FILE_SUFFIX);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != MAGIC) {
+                logger.info("invalid transform cache file. path:{}", file);
+                return null;
+            }
+            final byte[] checksum = new byte[in.readInt()];
+            in.readFully(checksum);
+            final int[] bindings = new int[in.readInt()];
+            for (int i = 0; i < bindings.length; i++) {
+                bindings[i] = in.readInt();
+            }
+            final byte[] bytecode = new byte[in.readInt()];
+            in.readFully(bytecode);
+            if (!MessageDigest.isEqual(checksum, checksum(key, classFileBuffer, bindings, bytecode))) {
+                logger.info("transform cache checksum mismatch. path:{}", file);
+                return null;
+            }
+            return new TransformCacheEntry(bindings, bytecode);
+        } catch (IOException e) {
+            logger.info("transform cache read fail. path:{}", file, e);
+            return null;
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] classFileBuffer, TransformCacheEntry entry) {
+        final File tempFile = new File(cacheDir, key + "." + Thread.currentThread().getId() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            final int[] bindings = entry.getBindings();
+            final byte[] bytecode = entry.getBytecode();
+            final byte[] checksum = checksum(key, classFileBuffer, bindings, bytecode);
+            out.writeInt(MAGIC);
+            out.writeInt(checksum.length);
+            out.write(checksum);
+            out.writeInt(bindings.length);
+            for (int binding : bindings) {
+                out.writeInt(binding);
+            }
+            out.writeInt(bytecode.length);
+            out.write(bytecode);
+            out.close();
+            out = null;
+
+            final File file = new File(cacheDir, key + FILE_SUFFIX);
+            if (file.exists() && !file.delete()) {
+                logger.info("can't replace transform cache file. path:{}", file);
+                return;
+            }
+            if (!tempFile.renameTo(file)) {
+                logger.info("can't rename transform cache file. path:{}", file);
+            }
+        } catch (IOException e) {
+            logger.info("transform cache write fail. path:{}", tempFile, e);
+        } finally {
+            IOUtils.closeQuietly(out);
+            if (tempFile.exists()) {
+                tempFile.delete();
+            }
+        }
+    }
+
+    private byte[] checksum(String key, byte[] classFileBuffer, int[] bindings, byte[] bytecode) {
+        final MessageDigest digest = newDigest();
+        digest.update(agentVersion);
+        digest.update((byte) 0);
+        digest.update(key.getBytes(UTF_8));
+        digest.update((byte) 0);
+        digest.update(classFileBuffer);
+        for (int binding : bindings) {
+            digest.update((byte) (binding >>> 24));
+            digest.update((byte) (binding >>> 16));
+            digest.update((byte) (binding >>> 8));
+            digest.update((byte) binding);
+        }
+        digest.update(bytecode);
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileTransformCache{" +
+                "cacheDir=" + cacheDir +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.cache;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread state of a cached transformation.
+ * <p>
+ * The plugin transform callback always runs so that interceptors, scopes and api metadata are registered
+ * as usual. Every interceptor id and api id woven into the class is recorded, and the cached bytes are
+ * only handed out if the recorded bindings are identical to the ones stored with the entry, which skips
+ * frame computation and class writing. Otherwise the class is written normally and the entry is replaced.
+ */
+public final class TransformCacheContext {
+
+    private static final ThreadLocal<TransformCacheContext> CURRENT = new ThreadLocal<TransformCacheContext>();
+
+    private final String internalName;
+    private final TransformCacheEntry cachedEntry;
+
+    private int[] bindings = new int[8];
+    private int bindingSize = 0;
+    private boolean hit = false;
+
+    TransformCacheContext(String internalName, TransformCacheEntry cachedEntry) {
+        this.internalName = internalName;
+        this.cachedEntry = cachedEntry;
+    }
+
+    static TransformCacheContext enter(TransformCacheContext context) {
+        final TransformCacheContext previous = CURRENT.get();
+        CURRENT.set(context);
+        return previous;
+    }
+
+    static void exit(TransformCacheContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static void recordBinding(int interceptorId, int apiId) {
+        final TransformCacheContext context = CURRENT.get();
+        if (context == null) {
+            return;
+        }
+        context.addBinding(interceptorId);
+        context.addBinding(apiId);
+    }
+
+    /**
+     * @return cached bytes of the given class if the bindings woven so far match the cached entry, {@code null} otherwise
+     */
+    public static byte[] findBytecode(String internalName) {
+        final TransformCacheContext context = CURRENT.get();
+        if (context == null) {
+            return null;
+        }
+        return context.findBytecode0(internalName);
+    }
+
+    private byte[] findBytecode0(String internalName) {
+        if (cachedEntry == null) {
+            return null;
+        }
+        if (!this.internalName.equals(internalName)) {
+            return null;
+        }
+        if (!Arrays.equals(cachedEntry.getBindings(), getBindings())) {
+            return null;
+        }
+        this.hit = true;
+        return cachedEntry.getBytecode();
+    }
+
+    private void addBinding(int id) {
+        if (bindingSize == bindings.length) {
+            bindings = Arrays.copyOf(bindings, bindings.length << 1);
+        }
+        bindings[bindingSize++] = id;
+    }
+
+    int[] getBindings() {
+        return Arrays.copyOf(bindings, bindingSize);
+    }
+
+    boolean isHit() {
+        return hit;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.cache;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+/**
+ * Transformed class bytes together with the interceptor/api id bindings woven into them.
+ */
+public class TransformCacheEntry {
+
+    private final int[] bindings;
+    private final byte[] bytecode;
+
+    public TransformCacheEntry(int[] bindings, byte[] bytecode) {
+        this.bindings = Assert.requireNonNull(bindings, "bindings must not be null");
+        this.bytecode = Assert.requireNonNull(bytecode, "bytecode must not be null");
+    }
+
+    public int[] getBindings() {
+        return bindings;
+    }
+
+    public byte[] getBytecode() {
+        return bytecode;
+    }
+
+    @Override
+    public String toString() {
+        return "TransformCacheEntry{" +
+                "bindings=" + bindings.length +
+                ", bytecode=" + bytecode.length +
+                '}';
+    }
+}
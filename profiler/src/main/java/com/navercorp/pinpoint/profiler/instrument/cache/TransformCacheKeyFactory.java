@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.cache;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.CodeSource;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProtectionDomain;
+
+/**
+ * Creates cache keys from the identity of the defining class loader, a hash of the original class bytes
+ * and a fingerprint of everything else the transformation depends on (agent version, plugin set and profiler configuration).
+ * <p>
+ * The class loader identity is its type and the code source of the class, which are stable across restarts,
+ * so the same class bytes loaded from another location or by another kind of class loader never share an entry.
+ */
+public class TransformCacheKeyFactory {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final byte[] fingerprint;
+
+    public TransformCacheKeyFactory(String fingerprint) {
+        Assert.requireNonNull(fingerprint, "fingerprint must not be null");
+        this.fingerprint = fingerprint.getBytes(UTF_8);
+    }
+
+    public String newKey(ClassLoader classLoader, ProtectionDomain protectionDomain, String internalName, byte[] classFileBuffer) {
+        final MessageDigest digest = newDigest();
+        digest.update(fingerprint);
+        digest.update((byte) 0);
+        digest.update(getClassLoaderIdentity(classLoader, protectionDomain).getBytes(UTF_8));
+        digest.update((byte) 0);
+        digest.update(internalName.getBytes(UTF_8));
+        digest.update((byte) 0);
+        digest.update(classFileBuffer);
+        return toHex(digest.digest());
+    }
+
+    private static String getClassLoaderIdentity(ClassLoader classLoader, ProtectionDomain protectionDomain) {
+        final String classLoaderName = classLoader == null ? "bootstrap" : classLoader.getClass().getName();
+        final URL location = getCodeSourceLocation(protectionDomain);
+        if (location == null) {
+            return classLoaderName;
+        }
+        return classLoaderName + '@' + location.toExternalForm();
+    }
+
+    private static URL getCodeSourceLocation(ProtectionDomain protectionDomain) {
+        if (protectionDomain == null) {
+            return null;
+        }
+        final CodeSource codeSource = protectionDomain.getCodeSource();
+        if (codeSource == null) {
+            return null;
+        }
+        return codeSource.getLocation();
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not supported", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classloading;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistry;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Defines a holder class per interceptor in the class loader of the intercepted class.
+ * <pre>
+ * public final class InterceptorHolder$$13 {
+ *     public static final Interceptor INTERCEPTOR = InterceptorRegistry.getInterceptor(13);
+ * }
+ * </pre>
+ * Intercepted methods read the interceptor from the static final field instead of looking it up in the registry
+ * on every call, which lets the JIT treat the interceptor as a constant.
+ */
+public class InterceptorHolderDefiner {
+
+    public static final String HOLDER_CLASS_INTERNAL_NAME_PREFIX = "com/navercorp/pinpoint/profiler/interceptor/holder/InterceptorHolder$$";
+    public static final String HOLDER_FIELD_NAME = "INTERCEPTOR";
+
+    private static final String INTERCEPTOR_DESCRIPTOR = Type.getDescriptor(Interceptor.class);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * @return internal name of the holder class, or {@code null} if it could not be defined in the given class loader
+     */
+    public String defineHolder(ClassLoader classLoader, int interceptorId) {
+        if (classLoader == null) {
+            // bootstrap class loader
+            return null;
+        }
+
+        final String holderInternalName = getHolderInternalName(interceptorId);
+        final String holderClassName = holderInternalName.replace('/', '.');
+        try {
+            DefineClassFactory.getDefineClass().defineClass(classLoader, holderClassName, generateHolder(holderInternalName, interceptorId));
+            return holderInternalName;
+        } catch (Exception e) {
+            return handleDefineFail(classLoader, holderInternalName, e);
+        } catch (LinkageError e) {
+            return handleDefineFail(classLoader, holderInternalName, e);
+        }
+    }
+
+    private String handleDefineFail(ClassLoader classLoader, String holderInternalName, Throwable cause) {
+        final String holderClassName = holderInternalName.replace('/', '.');
+        // the same interceptor may be added to several methods of a class
+        if (isDefined(classLoader, holderClassName)) {
+            return holderInternalName;
+        }
+        logger.info("Failed to define interceptor holder. holder={}, cl={} Caused by:{}", holderClassName, classLoader, cause.getMessage());
+        return null;
+    }
+
+    private boolean isDefined(ClassLoader classLoader, String holderClassName) {
+        try {
+            final Class<?> holderClass = Class.forName(holderClassName, false, classLoader);
+            return holderClass.getClassLoader() == classLoader;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    public static String getHolderInternalName(int interceptorId) {
+        return HOLDER_CLASS_INTERNAL_NAME_PREFIX + interceptorId;
+    }
+
+    static byte[] generateHolder(String holderInternalName, int interceptorId) {
+        final ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC, holderInternalName, null, "java/lang/Object", null);
+
+        final FieldVisitor fieldVisitor = classWriter.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, HOLDER_FIELD_NAME, INTERCEPTOR_DESCRIPTOR, null, null);
+        fieldVisitor.visitEnd();
+
+        final MethodVisitor clinit = classWriter.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        clinit.visitCode();
+        clinit.visitLdcInsn(interceptorId);
+        clinit.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + INTERCEPTOR_DESCRIPTOR, false);
+        clinit.visitFieldInsn(Opcodes.PUTSTATIC, holderInternalName, HOLDER_FIELD_NAME, INTERCEPTOR_DESCRIPTOR);
+        clinit.visitInsn(Opcodes.RETURN);
+        clinit.visitMaxs(1, 0);
+        clinit.visitEnd();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+}
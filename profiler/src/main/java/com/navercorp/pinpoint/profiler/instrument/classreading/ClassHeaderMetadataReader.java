@@ -0,0 +1,351 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classreading;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import org.objectweb.asm.Opcodes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the same {@link InternalClassMetadata} as {@link InternalClassMetadataReader} without building an ASM ClassReader.
+ * <p>
+ * The class file is walked in a few linear passes over the constant pool, and only the strings needed for matching
+ * (class, super class, interfaces and annotations) are decoded, so the memory used does not grow with the size of the
+ * constant pool. This keeps matching of the many classes that are never transformed cheap.
+ */
+public final class ClassHeaderMetadataReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final byte[] ENCLOSING_METHOD = ascii("EnclosingMethod");
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = ascii("RuntimeVisibleAnnotations");
+    private static final byte[] RUNTIME_INVISIBLE_ANNOTATIONS = ascii("RuntimeInvisibleAnnotations");
+
+    private static final int[] EMPTY_INDEX = new int[0];
+
+    private final byte[] b;
+    private final int constantPoolCount;
+    private final int header;
+
+    private int enclosingMethodIndex;
+    private int visibleAnnotationsIndex;
+    private int invisibleAnnotationsIndex;
+
+    private ClassHeaderMetadataReader(final byte[] classBinary) {
+        this.b = classBinary;
+        if (readInt(0) != MAGIC) {
+            throw new IllegalArgumentException("invalid class file - bad magic");
+        }
+        this.constantPoolCount = readUnsignedShort(8);
+        this.header = scanConstantPool();
+    }
+
+    public static InternalClassMetadata readInternalClassMetadata(final byte[] classBinary) {
+        Assert.requireNonNull(classBinary, "classBinary must not be null");
+        final ClassHeaderMetadataReader reader = new ClassHeaderMetadataReader(classBinary);
+        return reader.read();
+    }
+
+    // pass 1: finds the end of the constant pool and the utf8 entries of the attribute names we are looking for.
+    private int scanConstantPool() {
+        int u = 10;
+        for (int i = 1; i < constantPoolCount; i++) {
+            final int tag = b[u] & 0xFF;
+            if (tag == CONSTANT_UTF8) {
+                final int length = readUnsignedShort(u + 1);
+                if (equalsAscii(u + 3, length, ENCLOSING_METHOD)) {
+                    enclosingMethodIndex = i;
+                } else if (equalsAscii(u + 3, length, RUNTIME_VISIBLE_ANNOTATIONS)) {
+                    visibleAnnotationsIndex = i;
+                } else if (equalsAscii(u + 3, length, RUNTIME_INVISIBLE_ANNOTATIONS)) {
+                    invisibleAnnotationsIndex = i;
+                }
+                u += 3 + length;
+            } else {
+                if (tag == CONSTANT_LONG || tag == CONSTANT_DOUBLE) {
+                    // takes two entries.
+                    i++;
+                }
+                u += constantSize(tag);
+            }
+        }
+        return u;
+    }
+
+    private InternalClassMetadata read() {
+        final int access = readUnsignedShort(header);
+        final int interfaceCount = readUnsignedShort(header + 6);
+
+        // this, super and interfaces.
+        final int[] classIndexes = new int[2 + interfaceCount];
+        classIndexes[0] = readUnsignedShort(header + 2);
+        classIndexes[1] = readUnsignedShort(header + 4);
+        for (int i = 0; i < interfaceCount; i++) {
+            classIndexes[2 + i] = readUnsignedShort(header + 8 + i * 2);
+        }
+
+        int u = skipMembers(header + 8 + interfaceCount * 2);
+        u = skipMembers(u);
+
+        // class attributes.
+        boolean innerClass = false;
+        int[] visibleAnnotations = EMPTY_INDEX;
+        int[] invisibleAnnotations = EMPTY_INDEX;
+        for (int i = readUnsignedShort(u), v = u + 2; i > 0; --i) {
+            final int attributeNameIndex = readUnsignedShort(v);
+            if (attributeNameIndex != 0) {
+                if (attributeNameIndex == enclosingMethodIndex) {
+                    if (readUnsignedShort(v + 6) != 0) {
+                        innerClass = true;
+                    }
+                } else if (attributeNameIndex == visibleAnnotationsIndex) {
+                    visibleAnnotations = readAnnotationTypeIndexes(v + 6);
+                } else if (attributeNameIndex == invisibleAnnotationsIndex) {
+                    invisibleAnnotations = readAnnotationTypeIndexes(v + 6);
+                }
+            }
+            v += 6 + readInt(v + 2);
+        }
+
+        // pass 2: class entries to utf8 entries.
+        final int[] classNameIndexes = resolveClassNameIndexes(classIndexes);
+
+        // pass 3: decode only the utf8 entries we need.
+        final int annotationCount = visibleAnnotations.length + invisibleAnnotations.length;
+        final int[] utf8Indexes = new int[classNameIndexes.length + annotationCount];
+        System.arraycopy(classNameIndexes, 0, utf8Indexes, 0, classNameIndexes.length);
+        System.arraycopy(visibleAnnotations, 0, utf8Indexes, classNameIndexes.length, visibleAnnotations.length);
+        System.arraycopy(invisibleAnnotations, 0, utf8Indexes, classNameIndexes.length + visibleAnnotations.length, invisibleAnnotations.length);
+        final String[] strings = readUtf8(utf8Indexes);
+
+        final String classInternalName = strings[0];
+        final String superClassInternalName = strings[1];
+        final List<String> interfaceInternalNames = Arrays.asList(Arrays.copyOfRange(strings, 2, classNameIndexes.length));
+        final List<String> annotationInternalNames = new ArrayList<String>(annotationCount);
+        for (int i = classNameIndexes.length; i < strings.length; i++) {
+            final String internalName = toObjectInternalName(strings[i]);
+            if (internalName != null) {
+                annotationInternalNames.add(internalName);
+            }
+        }
+
+        final boolean isInterface = (access & Opcodes.ACC_INTERFACE) != 0;
+        final boolean isAnnotation = (access & Opcodes.ACC_ANNOTATION) != 0;
+        final boolean isSynthetic = (access & Opcodes.ACC_SYNTHETIC) != 0;
+        return new DefaultInternalClassMetadata(classInternalName, superClassInternalName, interfaceInternalNames, annotationInternalNames, isInterface, isAnnotation, isSynthetic, innerClass);
+    }
+
+    private int skipMembers(int u) {
+        for (int i = readUnsignedShort(u); i > 0; --i) {
+            for (int j = readUnsignedShort(u + 8); j > 0; --j) {
+                u += 6 + readInt(u + 12);
+            }
+            u += 8;
+        }
+        return u + 2;
+    }
+
+    private int[] readAnnotationTypeIndexes(final int annotationsOffset) {
+        final int count = readUnsignedShort(annotationsOffset);
+        final int[] typeIndexes = new int[count];
+        int v = annotationsOffset + 2;
+        for (int i = 0; i < count; i++) {
+            typeIndexes[i] = readUnsignedShort(v);
+            v = skipElementValuePairs(v + 2, true);
+        }
+        return typeIndexes;
+    }
+
+    private int skipElementValuePairs(int v, final boolean named) {
+        int i = readUnsignedShort(v);
+        v += 2;
+        for (; i > 0; --i) {
+            if (named) {
+                v += 2;
+            }
+            v = skipElementValue(v);
+        }
+        return v;
+    }
+
+    private int skipElementValue(final int v) {
+        switch (b[v] & 0xFF) {
+            case 'e': // enum_const_value
+                return v + 5;
+            case '@': // annotation_value
+                return skipElementValuePairs(v + 3, true);
+            case '[': // array_value
+                return skipElementValuePairs(v + 1, false);
+            default:
+                return v + 3;
+        }
+    }
+
+    private int[] resolveClassNameIndexes(final int[] classIndexes) {
+        final int[] nameIndexes = new int[classIndexes.length];
+        int u = 10;
+        for (int i = 1; i < constantPoolCount; i++) {
+            final int tag = b[u] & 0xFF;
+            if (tag == CONSTANT_CLASS) {
+                for (int j = 0; j < classIndexes.length; j++) {
+                    if (classIndexes[j] == i) {
+                        nameIndexes[j] = readUnsignedShort(u + 1);
+                    }
+                }
+            } else if (tag == CONSTANT_LONG || tag == CONSTANT_DOUBLE) {
+                i++;
+            }
+            u += entrySize(u, tag);
+        }
+        return nameIndexes;
+    }
+
+    private String[] readUtf8(final int[] utf8Indexes) {
+        final String[] strings = new String[utf8Indexes.length];
+        int u = 10;
+        for (int i = 1; i < constantPoolCount; i++) {
+            final int tag = b[u] & 0xFF;
+            if (tag == CONSTANT_UTF8) {
+                String value = null;
+                for (int j = 0; j < utf8Indexes.length; j++) {
+                    if (utf8Indexes[j] == i) {
+                        if (value == null) {
+                            value = decodeUtf8(u + 3, readUnsignedShort(u + 1));
+                        }
+                        strings[j] = value;
+                    }
+                }
+            } else if (tag == CONSTANT_LONG || tag == CONSTANT_DOUBLE) {
+                i++;
+            }
+            u += entrySize(u, tag);
+        }
+        return strings;
+    }
+
+    private int entrySize(final int u, final int tag) {
+        if (tag == CONSTANT_UTF8) {
+            return 3 + readUnsignedShort(u + 1);
+        }
+        return constantSize(tag);
+    }
+
+    private static int constantSize(final int tag) {
+        switch (tag) {
+            case CONSTANT_CLASS:
+            case CONSTANT_STRING:
+            case CONSTANT_METHOD_TYPE:
+            case CONSTANT_MODULE:
+            case CONSTANT_PACKAGE:
+                return 3;
+            case CONSTANT_METHOD_HANDLE:
+                return 4;
+            case CONSTANT_INTEGER:
+            case CONSTANT_FLOAT:
+            case CONSTANT_FIELDREF:
+            case CONSTANT_METHODREF:
+            case CONSTANT_INTERFACE_METHODREF:
+            case CONSTANT_NAME_AND_TYPE:
+            case CONSTANT_DYNAMIC:
+            case CONSTANT_INVOKE_DYNAMIC:
+                return 5;
+            case CONSTANT_LONG:
+            case CONSTANT_DOUBLE:
+                return 9;
+            default:
+                throw new IllegalArgumentException("invalid class file - unknown constant pool tag:" + tag);
+        }
+    }
+
+    // modified UTF-8
+    private String decodeUtf8(int offset, final int length) {
+        final char[] buf = new char[length];
+        final int end = offset + length;
+        int count = 0;
+        while (offset < end) {
+            final int c = b[offset++] & 0xFF;
+            if ((c & 0x80) == 0) {
+                buf[count++] = (char) c;
+            } else if ((c & 0xE0) == 0xC0) {
+                buf[count++] = (char) (((c & 0x1F) << 6) | (b[offset++] & 0x3F));
+            } else {
+                buf[count++] = (char) (((c & 0x0F) << 12) | ((b[offset++] & 0x3F) << 6) | (b[offset++] & 0x3F));
+            }
+        }
+        return new String(buf, 0, count);
+    }
+
+    private boolean equalsAscii(final int offset, final int length, final byte[] expected) {
+        if (length != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (b[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String toObjectInternalName(final String descriptor) {
+        if (descriptor == null) {
+            return null;
+        }
+        final int length = descriptor.length();
+        if (length > 2 && descriptor.charAt(0) == 'L' && descriptor.charAt(length - 1) == ';') {
+            return descriptor.substring(1, length - 1);
+        }
+        return null;
+    }
+
+    private int readUnsignedShort(final int offset) {
+        return ((b[offset] & 0xFF) << 8) | (b[offset + 1] & 0xFF);
+    }
+
+    private int readInt(final int offset) {
+        return ((b[offset] & 0xFF) << 24) | ((b[offset + 1] & 0xFF) << 16) | ((b[offset + 2] & 0xFF) << 8) | (b[offset + 3] & 0xFF);
+    }
+
+    private static byte[] ascii(final String value) {
+        final byte[] bytes = new byte[value.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) value.charAt(i);
+        }
+        return bytes;
+    }
+}
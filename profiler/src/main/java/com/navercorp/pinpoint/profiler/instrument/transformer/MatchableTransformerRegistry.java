@@ -22,8 +22,8 @@ import com.navercorp.pinpoint.bootstrap.instrument.matcher.MatcherType;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.ClassInternalNameMatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.MatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.PackageInternalNameMatcherOperand;
+import com.navercorp.pinpoint.profiler.instrument.classreading.ClassHeaderMetadataReader;
 import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadata;
-import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadataReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +51,8 @@ public class MatchableTransformerRegistry implements BaseTransformerRegistry {
     private final Map<String, IndexValue> classNameBasedIndex = new HashMap<String, IndexValue>(64);
     // package matcher operand.
     private final Map<String, Set<IndexValue>> packageNameBasedIndex;
+    // rejects classes outside of all indexed packages without walking the package index.
+    private final PackageNameFilter packageNameFilter = new PackageNameFilter();
 
     private final TransformerMatcherExecutionPlanner executionPlanner = new TransformerMatcherExecutionPlanner();
     private final TransformerMatcher transformerMatcher;
@@ -119,6 +121,10 @@ public class MatchableTransformerRegistry implements BaseTransformerRegistry {
     }
 
     private ClassFileTransformer findPackageBasedTransformer(final ClassLoader classLoader, final String classInternalName, final ClassMetadataWrapper classMetadataWrapper) {
+        if (!this.packageNameFilter.mightMatch(classInternalName)) {
+            return null;
+        }
+
         for (Map.Entry<String, Set<IndexValue>> entry : this.packageNameBasedIndex.entrySet()) {
             final String packageInternalName = entry.getKey();
             if (classInternalName.startsWith(packageInternalName)) {
@@ -181,6 +187,7 @@ public class MatchableTransformerRegistry implements BaseTransformerRegistry {
             } else if (operand instanceof PackageInternalNameMatcherOperand) {
                 PackageInternalNameMatcherOperand packageInternalNameMatcherOperand = (PackageInternalNameMatcherOperand) operand;
                 addIndexData(packageInternalNameMatcherOperand.getPackageInternalName(), indexValue, this.packageNameBasedIndex);
+                this.packageNameFilter.add(packageInternalNameMatcherOperand.getPackageInternalName());
                 indexed = true;
             } else {
                 throw new IllegalArgumentException("invalid matcher or execution planner - unknown operand. condition=" + condition + ", unknown operand=" + operand);
@@ -230,7 +237,8 @@ public class MatchableTransformerRegistry implements BaseTransformerRegistry {
         public InternalClassMetadata get() {
             if (this.classMetadata == null) {
                 try {
-                    this.classMetadata = InternalClassMetadataReader.readInternalClassMetadata(this.classFileBuffer);
+                    // header only, the class is parsed fully once a transformer is found.
+                    this.classMetadata = ClassHeaderMetadataReader.readInternalClassMetadata(this.classFileBuffer);
                 } catch (Exception e) {
                     if (logger.isInfoEnabled()) {
                         logger.info("Failed to read metadata of class bytes.", e);
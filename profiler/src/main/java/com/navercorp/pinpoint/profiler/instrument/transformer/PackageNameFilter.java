@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import java.util.Arrays;
+
+/**
+ * Bloom filter over the indexed package names.
+ * <p>
+ * {@link #mightMatch(String)} hashes every prefix of a class name whose length is one of the indexed package name
+ * lengths in a single pass over the name. A {@code false} result means no indexed package name is a prefix of the
+ * class name; a false positive only costs the exact lookup that would have been done anyway.
+ */
+class PackageNameFilter {
+
+    private static final int BIT_SIZE = 1 << 16;
+    private static final int BIT_MASK = BIT_SIZE - 1;
+    private static final int HASH_COUNT = 3;
+
+    private final long[] bits = new long[BIT_SIZE >>> 6];
+    // ascending
+    private int[] prefixLengths = new int[0];
+
+    void add(final String packageInternalName) {
+        final int length = packageInternalName.length();
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + packageInternalName.charAt(i);
+        }
+        setBits(hash);
+        addPrefixLength(length);
+    }
+
+    private void addPrefixLength(final int length) {
+        final int index = Arrays.binarySearch(prefixLengths, length);
+        if (index >= 0) {
+            return;
+        }
+        final int insertionPoint = -(index + 1);
+        final int[] newPrefixLengths = new int[prefixLengths.length + 1];
+        System.arraycopy(prefixLengths, 0, newPrefixLengths, 0, insertionPoint);
+        newPrefixLengths[insertionPoint] = length;
+        System.arraycopy(prefixLengths, insertionPoint, newPrefixLengths, insertionPoint + 1, prefixLengths.length - insertionPoint);
+        this.prefixLengths = newPrefixLengths;
+    }
+
+    boolean mightMatch(final String classInternalName) {
+        final int[] prefixLengths = this.prefixLengths;
+        final int nameLength = classInternalName.length();
+        int hash = 0;
+        int position = 0;
+        for (int prefixLength : prefixLengths) {
+            if (prefixLength > nameLength) {
+                return false;
+            }
+            for (; position < prefixLength; position++) {
+                hash = 31 * hash + classInternalName.charAt(position);
+            }
+            if (containsBits(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void setBits(final int hash) {
+        final int hash1 = mix(hash);
+        final int hash2 = mix(hash1) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            final int bit = (hash1 + i * hash2) & BIT_MASK;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private boolean containsBits(final int hash) {
+        final int hash1 = mix(hash);
+        final int hash2 = mix(hash1) | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            final int bit = (hash1 + i * hash2) & BIT_MASK;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // murmur3 fmix32
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -16,6 +16,7 @@ package com.navercorp.pinpoint.profiler.interceptor.scope;
 
 import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
 import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScopeInvocation;
+import com.navercorp.pinpoint.profiler.util.SharedThreadLocal;
 
 /**
  * @author Jongho Moon
@@ -23,11 +24,11 @@ import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScopeInvoca
  */
 public class DefaultInterceptorScope implements InterceptorScope {
     private final String name;
-    private final ThreadLocal<InterceptorScopeInvocation> threadLocal;
+    private final SharedThreadLocal<InterceptorScopeInvocation> threadLocal;
     
     public DefaultInterceptorScope(final String name) {
         this.name = name;
-        this.threadLocal = new ThreadLocal<InterceptorScopeInvocation>() {
+        this.threadLocal = new SharedThreadLocal<InterceptorScopeInvocation>(name) {
 
             @Override
             protected InterceptorScopeInvocation initialValue() {
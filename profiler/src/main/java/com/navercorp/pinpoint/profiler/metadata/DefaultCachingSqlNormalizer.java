@@ -16,11 +16,15 @@
 
 package com.navercorp.pinpoint.profiler.metadata;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.navercorp.pinpoint.bootstrap.context.ParsingResult;
 import com.navercorp.pinpoint.common.util.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * @author emeroad
  */
@@ -30,14 +34,33 @@ public class DefaultCachingSqlNormalizer implements CachingSqlNormalizer {
 
     private static final DefaultParsingResult EMPTY_OBJECT = new DefaultParsingResult("");
 
+    // longer sql is always parsed so that a few huge statements can not hold on to a lot of memory
+    static final int MAX_ORIGINAL_SQL_CACHE_LENGTH = 4096;
+
+    private static final String NO_PARAMETER = "";
+
     private final SimpleCache<String> sqlCache;
+    // first level cache from the original sql to the normalized sql, skips parsing of sql that has been seen before.
+    // only sql without literals is kept, so the keys are bounded by the normalized sql of sqlCache
+    // and sql with literals can not churn it with unique keys.
+    private final ConcurrentMap<String, String> originalSqlCache;
     private final SqlParser sqlParser;
 
     public DefaultCachingSqlNormalizer(int cacheSize) {
         this.sqlCache = new SimpleCache<String>(cacheSize);
+        this.originalSqlCache = createOriginalSqlCache(cacheSize);
         this.sqlParser = new DefaultSqlParser();
     }
 
+    private ConcurrentMap<String, String> createOriginalSqlCache(int maxCacheSize) {
+        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+        cacheBuilder.concurrencyLevel(64);
+        cacheBuilder.initialCapacity(maxCacheSize);
+        cacheBuilder.maximumSize(maxCacheSize);
+        final Cache<String, String> localCache = cacheBuilder.build();
+        return localCache.asMap();
+    }
+
     @Override
     public ParsingResult wrapSql(String sql) {
         if (sql == null) {
@@ -69,24 +92,41 @@ public class DefaultCachingSqlNormalizer implements CachingSqlNormalizer {
         final ParsingResultInternal parsingResultInternal = (ParsingResultInternal) parsingResult;
 
         final String originalSql = parsingResultInternal.getOriginalSql();
+        final boolean cacheable = originalSql.length() <= MAX_ORIGINAL_SQL_CACHE_LENGTH;
+        if (cacheable) {
+            final String cachedNormalizedSql = this.originalSqlCache.get(originalSql);
+            if (cachedNormalizedSql != null) {
+                // the sql id is always issued by sqlCache, an evicted normalized sql is registered again with a new id
+                final Result cachingResult = this.sqlCache.put(cachedNormalizedSql);
+                setParsingResult(parsingResultInternal, cachingResult.getId(), cachedNormalizedSql, NO_PARAMETER);
+                return cachingResult.isNewValue();
+            }
+        }
+
         final NormalizedSql normalizedSql = this.sqlParser.normalizedSql(originalSql);
 
         final Result cachingResult = this.sqlCache.put(normalizedSql.getNormalizedSql());
 
+        setParsingResult(parsingResultInternal, cachingResult.getId(), normalizedSql.getNormalizedSql(), normalizedSql.getParseParameter());
+        if (cacheable && StringUtils.isEmpty(normalizedSql.getParseParameter())) {
+            this.originalSqlCache.put(originalSql, normalizedSql.getNormalizedSql());
+        }
+
+        return cachingResult.isNewValue();
+    }
+
+    private void setParsingResult(ParsingResultInternal parsingResultInternal, int id, String normalizedSql, String output) {
         // set normalizedSql
         // set sqlId
-        final boolean success = parsingResultInternal.setId(cachingResult.getId());
+        final boolean success = parsingResultInternal.setId(id);
         if (!success) {
             if (logger.isWarnEnabled()) {
-                logger.warn("invalid state. setSqlId fail setId:{}, ParsingResultInternal:{}", cachingResult.getId(), parsingResultInternal);
+                logger.warn("invalid state. setSqlId fail setId:{}, ParsingResultInternal:{}", id, parsingResultInternal);
             }
         }
 
-        parsingResultInternal.setSql(normalizedSql.getNormalizedSql());
-        parsingResultInternal.setOutput(normalizedSql.getParseParameter());
-
-        return cachingResult.isNewValue();
+        parsingResultInternal.setSql(normalizedSql);
+        parsingResultInternal.setOutput(output);
     }
 
-
 }
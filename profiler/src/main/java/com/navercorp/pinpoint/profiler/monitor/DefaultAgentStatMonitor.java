@@ -77,21 +77,25 @@ public class DefaultAgentStatMonitor implements AgentStatMonitor {
         if (agentStatCollector == null) {
             throw new NullPointerException("agentStatCollector must not be null");
         }
-        if (collectionIntervalMs < MIN_COLLECTION_INTERVAL_MS) {
-            collectionIntervalMs = DEFAULT_COLLECTION_INTERVAL_MS;
-        }
-        if (collectionIntervalMs > MAX_COLLECTION_INTERVAL_MS) {
-            collectionIntervalMs = DEFAULT_COLLECTION_INTERVAL_MS;
-        }
         if (numCollectionsPerBatch < 1) {
             numCollectionsPerBatch = DEFAULT_NUM_COLLECTIONS_PER_SEND;
         }
-        this.collectionIntervalMs = collectionIntervalMs;
+        this.collectionIntervalMs = getCollectionIntervalMs(collectionIntervalMs);
         this.collectJob = new CollectJob(dataSender, agentId, agentStartTimestamp, agentStatCollector, numCollectionsPerBatch);
 
         preLoadClass(agentId, agentStartTimestamp, agentStatCollector);
     }
 
+    public static long getCollectionIntervalMs(long collectionIntervalMs) {
+        if (collectionIntervalMs < MIN_COLLECTION_INTERVAL_MS) {
+            return DEFAULT_COLLECTION_INTERVAL_MS;
+        }
+        if (collectionIntervalMs > MAX_COLLECTION_INTERVAL_MS) {
+            return DEFAULT_COLLECTION_INTERVAL_MS;
+        }
+        return collectionIntervalMs;
+    }
+
     // https://github.com/naver/pinpoint/issues/2881
     // #2881 AppClassLoader and PinpointUrlClassLoader Circular dependency deadlock
     // prevent deadlock for JDK6
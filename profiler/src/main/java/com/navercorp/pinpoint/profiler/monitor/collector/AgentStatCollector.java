@@ -17,10 +17,13 @@
 package com.navercorp.pinpoint.profiler.monitor.collector;
 
 import com.google.inject.Inject;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHistogram;
 import com.navercorp.pinpoint.profiler.context.module.AgentId;
 import com.navercorp.pinpoint.profiler.context.module.AgentStartTime;
+import com.navercorp.pinpoint.profiler.monitor.DefaultAgentStatMonitor;
+import com.navercorp.pinpoint.profiler.monitor.collector.deadlock.DeadlockIntervalMetricCollector;
 import com.navercorp.pinpoint.profiler.monitor.metric.AgentStatMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.JvmGcMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.buffer.BufferMetricSnapshot;
@@ -29,6 +32,7 @@ import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSourceMetri
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.filedescriptor.FileDescriptorMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetricSnapshot;
 
 /**
@@ -36,6 +40,12 @@ import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMet
  */
 public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMetricSnapshot> {
 
+    // collection intervals of the metrics that are expensive to collect. defaults to profiler.jvm.stat.collect.interval
+    public static final String DATASOURCE_COLLECT_INTERVAL = "profiler.jvm.stat.collect.interval.datasource";
+    public static final String DEADLOCK_COLLECT_INTERVAL = "profiler.jvm.stat.collect.interval.deadlock";
+    public static final String FILE_DESCRIPTOR_COLLECT_INTERVAL = "profiler.jvm.stat.collect.interval.filedescriptor";
+    public static final String DIRECT_BUFFER_COLLECT_INTERVAL = "profiler.jvm.stat.collect.interval.directbuffer";
+
     private final String agentId;
     private final long agentStartTimestamp;
     private final AgentStatMetricCollector<JvmGcMetricSnapshot> jvmGcMetricCollector;
@@ -47,11 +57,35 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
     private final AgentStatMetricCollector<DeadlockMetricSnapshot> deadlockMetricCollector;
     private final AgentStatMetricCollector<FileDescriptorMetricSnapshot> fileDescriptorMetricCollector;
     private final AgentStatMetricCollector<BufferMetricSnapshot> bufferMetricCollector;
+    private final AgentStatMetricCollector<SpoolMetricSnapshot> spoolMetricCollector;
 
     @Inject
     public AgentStatCollector(
             @AgentId String agentId,
             @AgentStartTime long agentStartTimestamp,
+            ProfilerConfig profilerConfig,
+            AgentStatMetricCollector<JvmGcMetricSnapshot> jvmGcMetricCollector,
+            AgentStatMetricCollector<CpuLoadMetricSnapshot> cpuLoadMetricCollector,
+            AgentStatMetricCollector<TransactionMetricSnapshot> transactionMetricCollector,
+            AgentStatMetricCollector<ActiveTraceHistogram> activeTraceMetricCollector,
+            AgentStatMetricCollector<DataSourceMetricSnapshot> dataSourceMetricCollector,
+            AgentStatMetricCollector<ResponseTimeValue> responseTimeMetricCollector,
+            AgentStatMetricCollector<DeadlockMetricSnapshot> deadlockMetricCollector,
+            AgentStatMetricCollector<FileDescriptorMetricSnapshot> fileDescriptorMetricCollector,
+            AgentStatMetricCollector<BufferMetricSnapshot> bufferMetricCollector,
+            AgentStatMetricCollector<SpoolMetricSnapshot> spoolMetricCollector) {
+        this(agentId, agentStartTimestamp, jvmGcMetricCollector, cpuLoadMetricCollector, transactionMetricCollector, activeTraceMetricCollector,
+                IntervalMetricCollector.wrap(dataSourceMetricCollector, getCollectRatio(profilerConfig, DATASOURCE_COLLECT_INTERVAL)),
+                responseTimeMetricCollector,
+                DeadlockIntervalMetricCollector.wrapDeadlock(deadlockMetricCollector, getCollectRatio(profilerConfig, DEADLOCK_COLLECT_INTERVAL)),
+                IntervalMetricCollector.wrap(fileDescriptorMetricCollector, getCollectRatio(profilerConfig, FILE_DESCRIPTOR_COLLECT_INTERVAL)),
+                IntervalMetricCollector.wrap(bufferMetricCollector, getCollectRatio(profilerConfig, DIRECT_BUFFER_COLLECT_INTERVAL)),
+                spoolMetricCollector);
+    }
+
+    public AgentStatCollector(
+            String agentId,
+            long agentStartTimestamp,
             AgentStatMetricCollector<JvmGcMetricSnapshot> jvmGcMetricCollector,
             AgentStatMetricCollector<CpuLoadMetricSnapshot> cpuLoadMetricCollector,
             AgentStatMetricCollector<TransactionMetricSnapshot> transactionMetricCollector,
@@ -60,7 +94,8 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
             AgentStatMetricCollector<ResponseTimeValue> responseTimeMetricCollector,
             AgentStatMetricCollector<DeadlockMetricSnapshot> deadlockMetricCollector,
             AgentStatMetricCollector<FileDescriptorMetricSnapshot> fileDescriptorMetricCollector,
-            AgentStatMetricCollector<BufferMetricSnapshot> bufferMetricCollector) {
+            AgentStatMetricCollector<BufferMetricSnapshot> bufferMetricCollector,
+            AgentStatMetricCollector<SpoolMetricSnapshot> spoolMetricCollector) {
         this.agentId = Assert.requireNonNull(agentId, "agentId must not be null");
         this.agentStartTimestamp = agentStartTimestamp;
         this.jvmGcMetricCollector = Assert.requireNonNull(jvmGcMetricCollector, "jvmGcMetricCollector must not be null");
@@ -72,6 +107,17 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
         this.deadlockMetricCollector = Assert.requireNonNull(deadlockMetricCollector, "deadlockMetricCollector must not be null");
         this.fileDescriptorMetricCollector = Assert.requireNonNull(fileDescriptorMetricCollector, "fileDescriptorMetricCollector must not be null");
         this.bufferMetricCollector = Assert.requireNonNull(bufferMetricCollector, "bufferMetricCollector must not be null");
+        this.spoolMetricCollector = Assert.requireNonNull(spoolMetricCollector, "spoolMetricCollector must not be null");
+    }
+
+    // number of stat collections per collection of the metric
+    static int getCollectRatio(ProfilerConfig profilerConfig, String collectIntervalKey) {
+        final long collectionIntervalMs = DefaultAgentStatMonitor.getCollectionIntervalMs(profilerConfig.getProfileJvmStatCollectIntervalMs());
+        final long metricCollectionIntervalMs = profilerConfig.readLong(collectIntervalKey, -1);
+        if (metricCollectionIntervalMs <= collectionIntervalMs) {
+            return 1;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (metricCollectionIntervalMs + collectionIntervalMs / 2) / collectionIntervalMs);
     }
 
     @Override
@@ -88,6 +134,7 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
         agentStat.setDeadlock(deadlockMetricCollector.collect());
         agentStat.setFileDescriptor(fileDescriptorMetricCollector.collect());
         agentStat.setDirectBuffer(bufferMetricCollector.collect());
+        agentStat.setSpool(spoolMetricCollector.collect());
 
         return agentStat;
     }
@@ -106,6 +153,7 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
         sb.append(", deadlockMetricCollector=").append(deadlockMetricCollector);
         sb.append(", fileDescriptorMetricCollector=").append(fileDescriptorMetricCollector);
         sb.append(", bufferMetricCollector=").append(bufferMetricCollector);
+        sb.append(", spoolMetricCollector=").append(spoolMetricCollector);
         sb.append('}');
         return sb.toString();
     }
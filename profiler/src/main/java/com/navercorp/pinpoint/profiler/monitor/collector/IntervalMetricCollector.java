@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+/**
+ * Collects the delegate metric once every {@code collectRatio} calls and returns the last snapshot in between.
+ * <p>
+ * Only for gauge metrics (data source, file descriptor, ...) whose snapshot stays valid until the next collection.
+ * Snapshots must not be modified after collection as the same instance is sent several times.
+ * Not thread safe. For use with the stat monitor thread ONLY.
+ */
+public class IntervalMetricCollector<T> implements AgentStatMetricCollector<T> {
+
+    private final AgentStatMetricCollector<T> delegate;
+    private final int collectRatio;
+
+    private int callCount = 0;
+    private T lastSnapshot;
+
+    public IntervalMetricCollector(AgentStatMetricCollector<T> delegate, int collectRatio) {
+        this.delegate = Assert.requireNonNull(delegate, "delegate must not be null");
+        if (collectRatio < 1) {
+            throw new IllegalArgumentException("collectRatio must be greater than 0");
+        }
+        this.collectRatio = collectRatio;
+    }
+
+    public static <T> AgentStatMetricCollector<T> wrap(AgentStatMetricCollector<T> delegate, int collectRatio) {
+        if (collectRatio <= 1) {
+            return delegate;
+        }
+        return new IntervalMetricCollector<T>(delegate, collectRatio);
+    }
+
+    @Override
+    public T collect() {
+        final boolean collectTick = callCount == 0;
+        if (collectTick) {
+            this.lastSnapshot = delegate.collect();
+        }
+        if (++callCount >= collectRatio) {
+            callCount = 0;
+        }
+        if (collectTick) {
+            return lastSnapshot;
+        }
+        return replay(lastSnapshot);
+    }
+
+    /**
+     * Returns the snapshot sent on the calls that skip the collection.
+     * Override for snapshots that carry one-off data which must be sent only once.
+     */
+    protected T replay(T lastSnapshot) {
+        return lastSnapshot;
+    }
+
+    @Override
+    public String toString() {
+        return "IntervalMetricCollector{" +
+                "delegate=" + delegate +
+                ", collectRatio=" + collectRatio +
+                '}';
+    }
+}
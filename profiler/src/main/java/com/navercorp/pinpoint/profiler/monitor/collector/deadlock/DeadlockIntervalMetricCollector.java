@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector.deadlock;
+
+import com.navercorp.pinpoint.profiler.monitor.collector.AgentStatMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.collector.IntervalMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSnapshot;
+
+/**
+ * {@link IntervalMetricCollector} for the deadlock metric.
+ * The thread dumps of newly deadlocked threads are sent only once, the skipped calls send the deadlocked thread count only
+ * as every thread dump received by the collector is stored as a new deadlock event.
+ */
+public class DeadlockIntervalMetricCollector extends IntervalMetricCollector<DeadlockMetricSnapshot> {
+
+    private DeadlockMetricSnapshot replaySnapshot;
+    private DeadlockMetricSnapshot replaySource;
+
+    public DeadlockIntervalMetricCollector(AgentStatMetricCollector<DeadlockMetricSnapshot> delegate, int collectRatio) {
+        super(delegate, collectRatio);
+    }
+
+    public static AgentStatMetricCollector<DeadlockMetricSnapshot> wrapDeadlock(AgentStatMetricCollector<DeadlockMetricSnapshot> delegate, int collectRatio) {
+        if (collectRatio <= 1) {
+            return delegate;
+        }
+        return new DeadlockIntervalMetricCollector(delegate, collectRatio);
+    }
+
+    @Override
+    protected DeadlockMetricSnapshot replay(DeadlockMetricSnapshot lastSnapshot) {
+        if (lastSnapshot == null) {
+            return null;
+        }
+        if (lastSnapshot.getDeadlockedThreadList().isEmpty()) {
+            return lastSnapshot;
+        }
+        if (replaySource != lastSnapshot) {
+            final DeadlockMetricSnapshot countOnly = new DeadlockMetricSnapshot();
+            countOnly.setDeadlockedThreadCount(lastSnapshot.getDeadlockedThreadCount());
+            this.replaySnapshot = countOnly;
+            this.replaySource = lastSnapshot;
+        }
+        return replaySnapshot;
+    }
+}
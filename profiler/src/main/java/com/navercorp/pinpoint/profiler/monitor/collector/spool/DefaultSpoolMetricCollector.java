@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.monitor.collector.spool;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.monitor.collector.AgentStatMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetric;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetricSnapshot;
+
+public class DefaultSpoolMetricCollector implements AgentStatMetricCollector<SpoolMetricSnapshot> {
+
+    private final SpoolMetric spoolMetric;
+
+    public DefaultSpoolMetricCollector(SpoolMetric spoolMetric) {
+        this.spoolMetric = Assert.requireNonNull(spoolMetric, "spoolMetric must not be null");
+    }
+
+    @Override
+    public SpoolMetricSnapshot collect() {
+        // spools are created with the data senders
+        if (spoolMetric.isEmpty()) {
+            return null;
+        }
+        return spoolMetric.getSnapshot();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DefaultSpoolMetricCollector{");
+        sb.append("spoolMetric=").append(spoolMetric);
+        sb.append('}');
+        return sb.toString();
+    }
+}
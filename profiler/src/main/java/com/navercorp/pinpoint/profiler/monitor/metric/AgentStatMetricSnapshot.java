@@ -23,6 +23,7 @@ import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSourceMetri
 import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.filedescriptor.FileDescriptorMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetricSnapshot;
 
 /**
@@ -42,6 +43,7 @@ public class AgentStatMetricSnapshot {
     private DeadlockMetricSnapshot deadlock;
     private FileDescriptorMetricSnapshot fileDescriptor;
     private BufferMetricSnapshot directBuffer;
+    private SpoolMetricSnapshot spool;
     private String metadata;
 
     public String getAgentId() {
@@ -148,6 +150,14 @@ public class AgentStatMetricSnapshot {
         this.directBuffer = directBuffer;
     }
 
+    public SpoolMetricSnapshot getSpool() {
+        return spool;
+    }
+
+    public void setSpool(SpoolMetricSnapshot spool) {
+        this.spool = spool;
+    }
+
     public String getMetadata() {
         return metadata;
     }
@@ -172,6 +182,7 @@ public class AgentStatMetricSnapshot {
         sb.append(", deadlock=").append(deadlock);
         sb.append(", fileDescriptor=").append(fileDescriptor);
         sb.append(", directBuffer=").append(directBuffer);
+        sb.append(", spool=").append(spool);
         sb.append(", metadata='").append(metadata).append('\'');
         sb.append('}');
         return sb.toString();
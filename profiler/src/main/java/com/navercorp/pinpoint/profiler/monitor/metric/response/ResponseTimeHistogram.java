@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.metric.response;
+
+import com.navercorp.pinpoint.common.trace.LogLinearHistogramSchema;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free response time histogram laid out by {@link LogLinearHistogramSchema}.
+ * Buckets are striped by thread id so that concurrent transactions rarely update the same slot,
+ * and all memory is allocated up front so {@link #add(long)} never allocates.
+ */
+public class ResponseTimeHistogram {
+
+    private static final int BUCKET_COUNT = LogLinearHistogramSchema.BUCKET_COUNT;
+    private static final int MAX_STRIPE_COUNT = 16;
+
+    private final int stripeMask;
+    private final AtomicLongArray bucketCounts;
+
+    public ResponseTimeHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ResponseTimeHistogram(int concurrencyLevel) {
+        final int stripeCount = stripeCount(concurrencyLevel);
+        this.stripeMask = stripeCount - 1;
+        this.bucketCounts = new AtomicLongArray(stripeCount * BUCKET_COUNT);
+    }
+
+    private static int stripeCount(int concurrencyLevel) {
+        int stripeCount = 1;
+        while (stripeCount < concurrencyLevel && stripeCount < MAX_STRIPE_COUNT) {
+            stripeCount <<= 1;
+        }
+        return stripeCount;
+    }
+
+    public void add(long value) {
+        final int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        final int bucketIndex = LogLinearHistogramSchema.getBucketIndex(value);
+        bucketCounts.incrementAndGet(stripe * BUCKET_COUNT + bucketIndex);
+    }
+
+    /**
+     * Sums up the stripes and returns the bucket counts with trailing empty buckets trimmed.
+     */
+    public long[] getBucketCounts() {
+        final long[] merged = new long[BUCKET_COUNT];
+        int length = 0;
+        final int stripeCount = stripeMask + 1;
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            final int offset = stripe * BUCKET_COUNT;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                final long count = bucketCounts.get(offset + i);
+                if (count != 0) {
+                    merged[i] += count;
+                    if (i >= length) {
+                        length = i + 1;
+                    }
+                }
+            }
+        }
+        if (length == BUCKET_COUNT) {
+            return merged;
+        }
+        final long[] trimmed = new long[length];
+        System.arraycopy(merged, 0, trimmed, 0, length);
+        return trimmed;
+    }
+}
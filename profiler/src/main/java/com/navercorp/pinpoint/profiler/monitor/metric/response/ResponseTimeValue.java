@@ -29,4 +29,9 @@ public interface ResponseTimeValue {
 
     long getTransactionCount();
 
+    /**
+     * @return bucket counts laid out by {@link com.navercorp.pinpoint.common.trace.LogLinearHistogramSchema}, trailing empty buckets trimmed
+     */
+    long[] getHistogram();
+
 }
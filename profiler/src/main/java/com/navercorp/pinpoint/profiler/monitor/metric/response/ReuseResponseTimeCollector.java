@@ -21,22 +21,23 @@ import com.navercorp.pinpoint.profiler.util.Counter;
 import com.navercorp.pinpoint.profiler.util.CounterFactory;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author Taejin Koo
  */
 public class ReuseResponseTimeCollector implements ResponseTimeCollector {
 
-    private volatile ResponseTimeCollector currentResponseTimeCollector;
+    private final AtomicReference<ResponseTimeCollector> currentResponseTimeCollector;
 
     @Inject
     public ReuseResponseTimeCollector() {
-        this.currentResponseTimeCollector = new ResponseTimeCollector();
+        this.currentResponseTimeCollector = new AtomicReference<ResponseTimeCollector>(new ResponseTimeCollector());
     }
 
     @Override
     public void add(long value) {
-        this.currentResponseTimeCollector.add(value);
+        this.currentResponseTimeCollector.get().add(value);
     }
 
     @Override
@@ -46,21 +47,21 @@ public class ReuseResponseTimeCollector implements ResponseTimeCollector {
         final long totalValue = reset.getTotalValue();
         final long maxValue = reset.getMaxValue();
         final long transactionCount = reset.getTransactionCount();
-        ResponseTimeValue result = new ResponseTimeValue0(totalValue, maxValue, transactionCount);
+        final long[] histogram = reset.getHistogram();
+        ResponseTimeValue result = new ResponseTimeValue0(totalValue, maxValue, transactionCount, histogram);
         return result;
     }
 
     private ResponseTimeCollector reset() {
         final ResponseTimeCollector newValue = new ResponseTimeCollector();
-        final ResponseTimeCollector copy = this.currentResponseTimeCollector;
-        this.currentResponseTimeCollector = newValue;
-        return copy;
+        return this.currentResponseTimeCollector.getAndSet(newValue);
     }
 
     private static class ResponseTimeCollector {
         private final Counter totalValue;
         private final Counter transactionCount;
         private final AtomicLong maxValue = new AtomicLong(0);
+        private final ResponseTimeHistogram histogram = new ResponseTimeHistogram();
 
         private ResponseTimeCollector() {
             this.totalValue = CounterFactory.newCounter();
@@ -70,6 +71,7 @@ public class ReuseResponseTimeCollector implements ResponseTimeCollector {
         void add(long value) {
             transactionCount.increment();
             totalValue.add(value);
+            histogram.add(value);
 
             boolean success = setMaxValue(value);
             while (!success) {
@@ -96,6 +98,10 @@ public class ReuseResponseTimeCollector implements ResponseTimeCollector {
         public long getTransactionCount() {
             return transactionCount.longValue();
         }
+
+        public long[] getHistogram() {
+            return histogram.getBucketCounts();
+        }
     }
 
     private static class ResponseTimeValue0 implements ResponseTimeValue {
@@ -103,11 +109,13 @@ public class ReuseResponseTimeCollector implements ResponseTimeCollector {
         private final long totalResponseTime;
         private final long maxResponseTime;
         private final long transactionCount;
+        private final long[] histogram;
 
-        private ResponseTimeValue0(long totalResponseTime, long maxResponseTime, long transactionCount) {
+        private ResponseTimeValue0(long totalResponseTime, long maxResponseTime, long transactionCount, long[] histogram) {
             this.totalResponseTime = totalResponseTime;
             this.maxResponseTime = maxResponseTime;
             this.transactionCount = transactionCount;
+            this.histogram = histogram;
         }
 
         @Override
@@ -134,12 +142,18 @@ public class ReuseResponseTimeCollector implements ResponseTimeCollector {
             return transactionCount;
         }
 
+        @Override
+        public long[] getHistogram() {
+            return histogram;
+        }
+
         @Override
         public String toString() {
             final StringBuilder sb = new StringBuilder("ResponseTimeValue0{");
             sb.append("totalResponseTime=").append(totalResponseTime);
             sb.append(", transactionCount=").append(transactionCount);
             sb.append(", maxResponseTime=").append(maxResponseTime);
+            sb.append(", histogramLength=").append(histogram.length);
             sb.append('}');
             return sb.toString();
         }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.monitor.metric.spool;
+
+import com.google.inject.Inject;
+import com.navercorp.pinpoint.common.util.Assert;
+import com.navercorp.pinpoint.profiler.sender.MappedFileSpool;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Sum of the counters of the data sender spools, registered as the spools are created.
+ */
+public class SpoolMetric {
+
+    private final List<MappedFileSpool> spools = new CopyOnWriteArrayList<MappedFileSpool>();
+
+    @Inject
+    public SpoolMetric() {
+    }
+
+    public void register(MappedFileSpool spool) {
+        Assert.requireNonNull(spool, "spool must not be null");
+        spools.add(spool);
+    }
+
+    public boolean isEmpty() {
+        return spools.isEmpty();
+    }
+
+    public SpoolMetricSnapshot getSnapshot() {
+        long pendingCount = 0;
+        long writeCount = 0;
+        long readCount = 0;
+        long requeueCount = 0;
+        long evictCount = 0;
+        long dropCount = 0;
+        for (MappedFileSpool spool : spools) {
+            pendingCount += spool.getPendingCount();
+            writeCount += spool.getWriteCount();
+            readCount += spool.getReadCount();
+            requeueCount += spool.getRequeueCount();
+            evictCount += spool.getEvictCount();
+            dropCount += spool.getDropCount();
+        }
+        return new SpoolMetricSnapshot(pendingCount, writeCount, readCount, requeueCount, evictCount, dropCount);
+    }
+
+    @Override
+    public String toString() {
+        return "SpoolMetric{" +
+                "spools=" + spools +
+                '}';
+    }
+}
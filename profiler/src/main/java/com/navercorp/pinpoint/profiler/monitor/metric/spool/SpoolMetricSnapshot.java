@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.monitor.metric.spool;
+
+public class SpoolMetricSnapshot {
+
+    private final long pendingCount;
+    private final long writeCount;
+    private final long readCount;
+    private final long requeueCount;
+    private final long evictCount;
+    private final long dropCount;
+
+    public SpoolMetricSnapshot(long pendingCount, long writeCount, long readCount, long requeueCount, long evictCount, long dropCount) {
+        this.pendingCount = pendingCount;
+        this.writeCount = writeCount;
+        this.readCount = readCount;
+        this.requeueCount = requeueCount;
+        this.evictCount = evictCount;
+        this.dropCount = dropCount;
+    }
+
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    public long getWriteCount() {
+        return writeCount;
+    }
+
+    public long getReadCount() {
+        return readCount;
+    }
+
+    public long getRequeueCount() {
+        return requeueCount;
+    }
+
+    public long getEvictCount() {
+        return evictCount;
+    }
+
+    public long getDropCount() {
+        return dropCount;
+    }
+
+    @Override
+    public String toString() {
+        return "SpoolMetricSnapshot{" +
+                "pendingCount=" + pendingCount +
+                ", writeCount=" + writeCount +
+                ", readCount=" + readCount +
+                ", requeueCount=" + requeueCount +
+                ", evictCount=" + evictCount +
+                ", dropCount=" + dropCount +
+                '}';
+    }
+}
@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPluginGlobalContext;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.common.util.CodeSourceUtils;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.profiler.instrument.classloading.ClassInjector;
 import com.navercorp.pinpoint.profiler.instrument.classloading.ClassInjectorFactory;
 import org.slf4j.Logger;
@@ -30,15 +31,24 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Jongho Moon
  *
  */
 public class DefaultProfilerPluginContextLoader implements ProfilerPluginContextLoader {
+    public static final String PLUGIN_SETUP_PARALLEL = "profiler.plugin.setup.parallel";
+    public static final String PLUGIN_SETUP_THREAD_COUNT = "profiler.plugin.setup.thread.count";
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final ClassNameFilter profilerPackageFilter = new PinpointProfilerPackageSkipFilter();
@@ -68,23 +78,39 @@ public class DefaultProfilerPluginContextLoader implements ProfilerPluginContext
             jarPluginComponents.addProfilerPlugin(profilerPlugin);
         }
         Iterable<JarPlugin<ProfilerPlugin>> jarPlugins = jarPluginComponents.buildJarPlugins();
+        List<PluginSetupTask> setupTasks = new ArrayList<PluginSetupTask>();
         for (JarPlugin<ProfilerPlugin> jarPlugin : jarPlugins) {
-            List<PluginSetupResult> setupResults = setupPlugin(globalContext, jarPlugin);
-            pluginsSetupResult.addPluginSetupResults(setupResults);
+            setupTasks.addAll(newSetupTasks(jarPlugin));
+        }
+
+        final long startTime = System.currentTimeMillis();
+        final int threadCount = getSetupThreadCount(setupTasks.size());
+        if (threadCount > 1) {
+            setupParallel(globalContext, setupTasks, threadCount);
+        } else {
+            for (PluginSetupTask setupTask : setupTasks) {
+                setupTask.setup(globalContext);
+            }
         }
+        // merged in plugin order regardless of the order setups finished in
+        for (PluginSetupTask setupTask : setupTasks) {
+            pluginsSetupResult.addPluginSetupResult(setupTask.getSetupResult());
+        }
+        logSetupTime(setupTasks, threadCount, System.currentTimeMillis() - startTime);
+
         ServiceType detectedApplicationType = globalContext.getApplicationType();
         pluginsSetupResult.setApplicationType(detectedApplicationType);
 
         return pluginsSetupResult;
     }
 
-    private List<PluginSetupResult> setupPlugin(ProfilerPluginGlobalContext globalContext, JarPlugin<ProfilerPlugin> plugin) {
+    private List<PluginSetupTask> newSetupTasks(JarPlugin<ProfilerPlugin> plugin) {
         List<String> pluginPackageList = plugin.getPackageList();
         final ClassNameFilter pluginFilterChain = createPluginFilterChain(pluginPackageList);
 
         List<ProfilerPlugin> filterProfilerPlugin = filterProfilerPlugin(plugin.getInstanceList(), profilerConfig.getDisabledPlugins());
 
-        List<PluginSetupResult> result = new ArrayList<PluginSetupResult>();
+        List<PluginSetupTask> result = new ArrayList<PluginSetupTask>();
         for (ProfilerPlugin profilerPlugin : filterProfilerPlugin) {
             if (logger.isInfoEnabled()) {
                 logger.info("{} Plugin {}:{}", profilerPlugin.getClass(), PluginJar.PINPOINT_PLUGIN_PACKAGE, pluginPackageList);
@@ -92,13 +118,70 @@ public class DefaultProfilerPluginContextLoader implements ProfilerPluginContext
             }
 
             PluginConfig pluginConfig = new PluginConfig(plugin, pluginFilterChain);
-            final ClassInjector classInjector = classInjectorFactory.newClassInjector(pluginConfig);
-            final PluginSetupResult setupResult = pluginSetup.setupPlugin(globalContext, profilerPlugin, classInjector);
-            result.add(setupResult);
+            result.add(new PluginSetupTask(profilerPlugin, pluginConfig));
         }
         return result;
     }
 
+    private int getSetupThreadCount(int setupTaskCount) {
+        if (!profilerConfig.readBoolean(PLUGIN_SETUP_PARALLEL, false)) {
+            return 1;
+        }
+        final int threadCount = profilerConfig.readInt(PLUGIN_SETUP_THREAD_COUNT, Runtime.getRuntime().availableProcessors());
+        return Math.max(1, Math.min(threadCount, setupTaskCount));
+    }
+
+    private void setupParallel(final ProfilerPluginGlobalContext globalContext, final List<PluginSetupTask> setupTasks, int threadCount) {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, new PinpointThreadFactory("Pinpoint-plugin-setup", true));
+        try {
+            for (int i = 0; i < setupTasks.size(); i++) {
+                final PluginSetupTask setupTask = setupTasks.get(i);
+                final ProfilerPluginGlobalContext orderedGlobalContext = new OrderedPluginGlobalContext(globalContext, setupTasks.subList(0, i));
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        final Thread thread = Thread.currentThread();
+                        final ClassLoader before = thread.getContextClassLoader();
+                        thread.setContextClassLoader(contextClassLoader);
+                        try {
+                            setupTask.setup(orderedGlobalContext);
+                        } catch (RuntimeException ignore) {
+                            // rethrown in plugin order by the loading thread
+                        } finally {
+                            thread.setContextClassLoader(before);
+                        }
+                    }
+                });
+            }
+            for (PluginSetupTask setupTask : setupTasks) {
+                setupTask.awaitSetup();
+                setupTask.rethrowFailure();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void logSetupTime(List<PluginSetupTask> setupTasks, int threadCount, long totalTimeMillis) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        logger.info("Plugin setup completed. plugins:{} threads:{} elapsed:{}ms", setupTasks.size(), threadCount, totalTimeMillis);
+        final List<PluginSetupTask> sortedTasks = new ArrayList<PluginSetupTask>(setupTasks);
+        Collections.sort(sortedTasks, new Comparator<PluginSetupTask>() {
+            @Override
+            public int compare(PluginSetupTask task1, PluginSetupTask task2) {
+                final long time1 = task1.getSetupTimeNanos();
+                final long time2 = task2.getSetupTimeNanos();
+                return time1 < time2 ? 1 : (time1 == time2 ? 0 : -1);
+            }
+        });
+        for (PluginSetupTask setupTask : sortedTasks) {
+            logger.info("Plugin setup time {}ms plugin:{}", TimeUnit.NANOSECONDS.toMillis(setupTask.getSetupTimeNanos()), setupTask.getPluginName());
+        }
+    }
+
     // 1.9.0 - Disabled plugin configuration should now be groupId:artifactId
     @Deprecated
     private List<ProfilerPlugin> filterProfilerPlugin(List<ProfilerPlugin> originalProfilerPlugin, List<String> disabled) {
@@ -124,6 +207,110 @@ public class DefaultProfilerPluginContextLoader implements ProfilerPluginContext
         return filterChain;
     }
 
+    private class PluginSetupTask {
+        private final ProfilerPlugin profilerPlugin;
+        private final PluginConfig pluginConfig;
+        private final CountDownLatch setupLatch = new CountDownLatch(1);
+
+        private volatile PluginSetupResult setupResult;
+        private volatile RuntimeException failure;
+        private volatile long setupTimeNanos;
+
+        private PluginSetupTask(ProfilerPlugin profilerPlugin, PluginConfig pluginConfig) {
+            this.profilerPlugin = profilerPlugin;
+            this.pluginConfig = pluginConfig;
+        }
+
+        private void setup(ProfilerPluginGlobalContext globalContext) {
+            final long startTime = System.nanoTime();
+            try {
+                final ClassInjector classInjector = classInjectorFactory.newClassInjector(pluginConfig);
+                this.setupResult = pluginSetup.setupPlugin(globalContext, profilerPlugin, classInjector);
+            } catch (RuntimeException e) {
+                this.failure = e;
+                throw e;
+            } finally {
+                this.setupTimeNanos = System.nanoTime() - startTime;
+                this.setupLatch.countDown();
+            }
+        }
+
+        private void awaitSetup() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    setupLatch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void rethrowFailure() {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private PluginSetupResult getSetupResult() {
+            return setupResult;
+        }
+
+        private long getSetupTimeNanos() {
+            return setupTimeNanos;
+        }
+
+        private String getPluginName() {
+            return profilerPlugin.getClass().getName();
+        }
+    }
+
+    /**
+     * Lets the application type be registered only after every plugin ahead in the load order has been set up,
+     * so the detected application type is the same as with the sequential setup.
+     */
+    private static class OrderedPluginGlobalContext implements ProfilerPluginGlobalContext {
+        private final ProfilerPluginGlobalContext delegate;
+        private final List<PluginSetupTask> precedingTasks;
+
+        private OrderedPluginGlobalContext(ProfilerPluginGlobalContext delegate, List<PluginSetupTask> precedingTasks) {
+            this.delegate = delegate;
+            this.precedingTasks = precedingTasks;
+        }
+
+        @Override
+        public ProfilerConfig getConfig() {
+            return delegate.getConfig();
+        }
+
+        @Override
+        public ServiceType getConfiguredApplicationType() {
+            return delegate.getConfiguredApplicationType();
+        }
+
+        @Override
+        public ServiceType getApplicationType() {
+            awaitPrecedingTasks();
+            return delegate.getApplicationType();
+        }
+
+        @Override
+        public boolean registerApplicationType(ServiceType applicationType) {
+            awaitPrecedingTasks();
+            return delegate.registerApplicationType(applicationType);
+        }
+
+        private void awaitPrecedingTasks() {
+            for (PluginSetupTask precedingTask : precedingTasks) {
+                precedingTask.awaitSetup();
+            }
+        }
+    }
+
     private static class JarPluginComponents {
 
         private final Logger logger = LoggerFactory.getLogger(this.getClass());
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.common.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded spool of serialized messages kept in fixed-size memory-mapped segment files.
+ * <p>
+ * A record is a 4 byte length followed by the message. The length is written after the message
+ * and negated once the record is read, so the segments left by a previous run can be drained without duplicates.
+ * When the quota is exceeded the oldest segment is evicted.
+ * A message whose send failed after it was read is written back with {@link #requeue(byte[])}.
+ */
+public class MappedFileSpool {
+
+    private static final String SEGMENT_FILE_PREFIX = "spool-";
+    private static final String SEGMENT_FILE_SUFFIX = ".seg";
+    private static final int RECORD_HEADER_SIZE = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final File directory;
+    private final int segmentSize;
+    private final int maxSegmentCount;
+
+    // oldest first. the last segment is the one being written unless it is sealed
+    private final LinkedList<Segment> segments = new LinkedList<Segment>();
+    private long nextSequence = 0;
+
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong readCount = new AtomicLong();
+    private final AtomicLong evictCount = new AtomicLong();
+    private final AtomicLong dropCount = new AtomicLong();
+    private final AtomicLong requeueCount = new AtomicLong();
+
+    public MappedFileSpool(File directory, int segmentSize, long quota) throws IOException {
+        this.directory = Assert.requireNonNull(directory, "directory must not be null");
+        if (segmentSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentSize must be greater than " + RECORD_HEADER_SIZE);
+        }
+        if (quota < segmentSize) {
+            throw new IllegalArgumentException("quota must not be less than segmentSize");
+        }
+        this.segmentSize = segmentSize;
+        this.maxSegmentCount = (int) Math.min(Integer.MAX_VALUE, quota / segmentSize);
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create spool directory. path:" + directory);
+        }
+        recover();
+    }
+
+    private void recover() throws IOException {
+        final File[] files = directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.isFile() && parseSequence(file) >= 0;
+            }
+        });
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File file1, File file2) {
+                final long sequence1 = parseSequence(file1);
+                final long sequence2 = parseSequence(file2);
+                return sequence1 < sequence2 ? -1 : (sequence1 == sequence2 ? 0 : 1);
+            }
+        });
+        for (File file : files) {
+            final long sequence = parseSequence(file);
+            this.nextSequence = sequence + 1;
+            if (file.length() != segmentSize) {
+                // segment size changed or broken file
+                deleteFile(file);
+                continue;
+            }
+            final Segment segment = Segment.open(sequence, file, segmentSize);
+            segment.recover();
+            if (segment.getUnreadCount() == 0) {
+                deleteFile(file);
+                continue;
+            }
+            segments.add(segment);
+        }
+        while (segments.size() > maxSegmentCount) {
+            evictOldest();
+        }
+        if (!segments.isEmpty()) {
+            logger.info("Recovered spool segments. path:{}, segments:{}, records:{}", directory, segments.size(), getPendingCount());
+        }
+    }
+
+    private static long parseSequence(File file) {
+        final String name = file.getName();
+        if (!name.startsWith(SEGMENT_FILE_PREFIX) || !name.endsWith(SEGMENT_FILE_SUFFIX)) {
+            return -1;
+        }
+        final String sequence = name.substring(SEGMENT_FILE_PREFIX.length(), name.length() - SEGMENT_FILE_SUFFIX.length());
+        try {
+            return Long.parseLong(sequence);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public synchronized boolean write(byte[] data) {
+        if (append(data)) {
+            writeCount.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes back a message that was read but could not be sent. It is read again after the messages spooled before.
+     */
+    public synchronized boolean requeue(byte[] data) {
+        if (append(data)) {
+            requeueCount.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean append(byte[] data) {
+        Assert.requireNonNull(data, "data must not be null");
+        final int recordSize = RECORD_HEADER_SIZE + data.length;
+        if (data.length == 0 || recordSize > segmentSize) {
+            dropCount.incrementAndGet();
+            return false;
+        }
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.isSealed() || segment.remaining() < recordSize) {
+            if (segment != null) {
+                segment.seal();
+            }
+            segment = newSegment();
+            if (segment == null) {
+                dropCount.incrementAndGet();
+                return false;
+            }
+        }
+        segment.write(data);
+        return true;
+    }
+
+    private Segment newSegment() {
+        while (segments.size() >= maxSegmentCount) {
+            evictOldest();
+        }
+        final long sequence = nextSequence++;
+        final File file = new File(directory, SEGMENT_FILE_PREFIX + sequence + SEGMENT_FILE_SUFFIX);
+        try {
+            final Segment segment = Segment.open(sequence, file, segmentSize);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            logger.warn("Failed to create spool segment. path:{} Caused:{}", file, e.getMessage(), e);
+            deleteFile(file);
+            return null;
+        }
+    }
+
+    private void evictOldest() {
+        final Segment oldest = segments.removeFirst();
+        final int unreadCount = oldest.getUnreadCount();
+        evictCount.addAndGet(unreadCount);
+        logger.info("Evict spool segment. path:{}, records:{}", oldest.getFile(), unreadCount);
+        deleteFile(oldest.getFile());
+    }
+
+    /**
+     * @return the oldest message, or {@code null} if the spool is empty
+     */
+    public synchronized byte[] read() {
+        while (true) {
+            final Segment segment = segments.peekFirst();
+            if (segment == null) {
+                return null;
+            }
+            final byte[] data = segment.read();
+            if (data != null) {
+                readCount.incrementAndGet();
+                return data;
+            }
+            if (!segment.isSealed() && segment == segments.peekLast()) {
+                // caught up with the writer
+                return null;
+            }
+            segments.removeFirst();
+            deleteFile(segment.getFile());
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        for (Segment segment : segments) {
+            if (segment.getUnreadCount() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized long getPendingCount() {
+        long pendingCount = 0;
+        for (Segment segment : segments) {
+            pendingCount += segment.getUnreadCount();
+        }
+        return pendingCount;
+    }
+
+    public synchronized void flush() {
+        for (Segment segment : segments) {
+            segment.force();
+        }
+    }
+
+    private void deleteFile(File file) {
+        if (!file.delete() && file.exists()) {
+            // still mapped on some platforms. fully read segments are skipped on recovery
+            logger.debug("Failed to delete spool segment. path:{}", file);
+            file.deleteOnExit();
+        }
+    }
+
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    public long getReadCount() {
+        return readCount.get();
+    }
+
+    public long getEvictCount() {
+        return evictCount.get();
+    }
+
+    public long getDropCount() {
+        return dropCount.get();
+    }
+
+    public long getRequeueCount() {
+        return requeueCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedFileSpool{" +
+                "directory=" + directory +
+                ", segmentSize=" + segmentSize +
+                ", maxSegmentCount=" + maxSegmentCount +
+                ", writeCount=" + writeCount +
+                ", readCount=" + readCount +
+                ", evictCount=" + evictCount +
+                ", dropCount=" + dropCount +
+                ", requeueCount=" + requeueCount +
+                '}';
+    }
+
+    // Not thread safe. guarded by MappedFileSpool
+    private static class Segment {
+        private final long sequence;
+        private final File file;
+        private final MappedByteBuffer buffer;
+
+        private int writePosition = 0;
+        private int readPosition = 0;
+        private int unreadCount = 0;
+        private boolean sealed = false;
+
+        private Segment(long sequence, File file, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(long sequence, File file, int segmentSize) throws IOException {
+            final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+            try {
+                randomAccessFile.setLength(segmentSize);
+                final MappedByteBuffer buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+                return new Segment(sequence, file, buffer);
+            } finally {
+                // the mapping stays valid after the channel is closed
+                randomAccessFile.close();
+            }
+        }
+
+        private void recover() {
+            int position = 0;
+            while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+                final int length = buffer.getInt(position);
+                if (length == 0) {
+                    break;
+                }
+                if (length > 0) {
+                    unreadCount++;
+                }
+                final int nextPosition = position + RECORD_HEADER_SIZE + Math.abs(length);
+                if (nextPosition > buffer.capacity() || nextPosition < 0) {
+                    break;
+                }
+                position = nextPosition;
+            }
+            this.writePosition = position;
+            this.sealed = true;
+        }
+
+        private int remaining() {
+            return buffer.capacity() - writePosition;
+        }
+
+        private void write(byte[] data) {
+            buffer.position(writePosition + RECORD_HEADER_SIZE);
+            buffer.put(data);
+            // the length is written last so that a partially written record is never read
+            buffer.putInt(writePosition, data.length);
+            writePosition += RECORD_HEADER_SIZE + data.length;
+            unreadCount++;
+        }
+
+        private byte[] read() {
+            while (readPosition < writePosition) {
+                final int length = buffer.getInt(readPosition);
+                final int dataPosition = readPosition + RECORD_HEADER_SIZE;
+                if (length <= 0) {
+                    // read by a previous run
+                    readPosition = dataPosition - length;
+                    continue;
+                }
+                final byte[] data = new byte[length];
+                buffer.position(dataPosition);
+                buffer.get(data);
+                buffer.putInt(readPosition, -length);
+                readPosition = dataPosition + length;
+                unreadCount--;
+                return data;
+            }
+            return null;
+        }
+
+        private void seal() {
+            this.sealed = true;
+        }
+
+        private boolean isSealed() {
+            return sealed;
+        }
+
+        private int getUnreadCount() {
+            return unreadCount;
+        }
+
+        private File getFile() {
+            return file;
+        }
+
+        private void force() {
+            buffer.force();
+        }
+
+        @Override
+        public String toString() {
+            return "Segment{" +
+                    "sequence=" + sequence +
+                    ", writePosition=" + writePosition +
+                    ", readPosition=" + readPosition +
+                    ", unreadCount=" + unreadCount +
+                    '}';
+        }
+    }
+}
@@ -74,9 +74,16 @@ public class TcpDataSender implements EnhancedDataSender<Object> {
 
     protected final AsyncQueueingExecutor<Object> executor;
 
+    private static final long SPOOL_DRAIN_INTERVAL_MS = 100;
+
+    // messages sent while disconnected. null if disabled
+    private final MappedFileSpool spool;
+    private final int spoolDrainCountPerTick;
+    private volatile boolean stopped = false;
+
 
     public TcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory) {
-        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), newDefaultMessageSerializer());
+        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), newDefaultMessageSerializer(), null, 0);
     }
 
     private static ThriftMessageSerializer newDefaultMessageSerializer() {
@@ -85,10 +92,21 @@ public class TcpDataSender implements EnhancedDataSender<Object> {
     }
 
     public TcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory, MessageSerializer<byte[]> messageSerializer) {
-        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), messageSerializer);
+        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), messageSerializer, null, 0);
     }
 
-    private TcpDataSender(String name, ClientFactoryUtils.PinpointClientProvider clientProvider, MessageSerializer<byte[]> messageSerializer) {
+    /**
+     * @param spool keeps the messages sent while disconnected from the collector
+     * @param spoolDrainRate max number of spooled messages sent per second after reconnect
+     */
+    public TcpDataSender(String name, String host, int port, PinpointClientFactory clientFactory, MessageSerializer<byte[]> messageSerializer,
+                         MappedFileSpool spool, int spoolDrainRate) {
+        this(name, ClientFactoryUtils.newPinpointClientProvider(host, port, clientFactory), messageSerializer,
+                Assert.requireNonNull(spool, "spool must not be null"), spoolDrainRate);
+    }
+
+    private TcpDataSender(String name, ClientFactoryUtils.PinpointClientProvider clientProvider, MessageSerializer<byte[]> messageSerializer,
+                          MappedFileSpool spool, int spoolDrainRate) {
         this.logger = newLogger(name);
 
         Assert.requireNonNull(clientProvider, "clientProvider must not be null");
@@ -101,6 +119,13 @@ public class TcpDataSender implements EnhancedDataSender<Object> {
 
         final String executorName = getExecutorName(name);
         this.executor = createAsyncQueueingExecutor(1024 * 5, executorName);
+
+        this.spool = spool;
+        this.spoolDrainCountPerTick = (int) Math.max(1, spoolDrainRate * SPOOL_DRAIN_INTERVAL_MS / 1000);
+        if (spool != null) {
+            logger.info("spool enabled. {}", spool);
+            scheduleSpoolDrain();
+        }
     }
 
     private AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName) {
@@ -184,6 +209,7 @@ public class TcpDataSender implements EnhancedDataSender<Object> {
 
     @Override
     public void stop() {
+        this.stopped = true;
         executor.stop();
 
         Set<Timeout> stop = timer.stop();
@@ -194,6 +220,11 @@ public class TcpDataSender implements EnhancedDataSender<Object> {
         if (client != null) {
             client.close();
         }
+
+        if (spool != null) {
+            spool.flush();
+            logger.info("spool stopped. pending:{}, {}", spool.getPendingCount(), spool);
+        }
     }
 
     protected void sendPacket(Object message) {
@@ -210,12 +241,69 @@ public class TcpDataSender implements EnhancedDataSender<Object> {
                 logger.error("sendPacket fail. invalid dto type:{}", message.getClass());
                 return;
             }
+            if (spool != null) {
+                if (client.isConnected()) {
+                    sendOrSpool(copy, false);
+                } else {
+                    spool.write(copy);
+                }
+                return;
+            }
             doSend(copy);
         } catch (Exception e) {
             logger.warn("tcp send fail. Caused:{}", e.getMessage(), e);
         }
     }
 
+    private void scheduleSpoolDrain() {
+        if (stopped) {
+            return;
+        }
+        timer.newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                try {
+                    drainSpool();
+                } catch (Exception e) {
+                    logger.warn("spool drain fail. Caused:{}", e.getMessage(), e);
+                } finally {
+                    scheduleSpoolDrain();
+                }
+            }
+        }, SPOOL_DRAIN_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void drainSpool() {
+        for (int i = 0; i < spoolDrainCountPerTick; i++) {
+            if (stopped || !client.isConnected()) {
+                return;
+            }
+            final byte[] spooled = spool.read();
+            if (spooled == null) {
+                return;
+            }
+            sendOrSpool(spooled, true);
+        }
+    }
+
+    // the message is written back to the spool if the collector did not receive it
+    private void sendOrSpool(final byte[] data, final boolean spooled) {
+        final Future write = this.client.sendAsync(data);
+        write.setListener(new FutureListener() {
+            @Override
+            public void onComplete(Future future) {
+                if (future.isSuccess()) {
+                    return;
+                }
+                if (spooled) {
+                    spool.requeue(data);
+                } else {
+                    spool.write(data);
+                }
+            }
+        });
+    }
+
     private boolean doRequest(RequestMessage<?> requestMessage) {
         final Object message = requestMessage.getMessage();
 
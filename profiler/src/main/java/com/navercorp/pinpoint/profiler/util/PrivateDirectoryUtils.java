@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util;
+
+import com.navercorp.pinpoint.common.util.Assert;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Directories of the agent that hold data read back by the agent (transform cache, spool, ...).
+ * Such directories must not be writable by other users, otherwise they could plant data executed or sent by the agent.
+ */
+public final class PrivateDirectoryUtils {
+
+    // ${pinpoint.agent.dir}/log
+    private static final String AGENT_LOG_PATH = "pinpoint.log";
+
+    private PrivateDirectoryUtils() {
+    }
+
+    /**
+     * @return {@code ${pinpoint.agent.dir}/name}, or {@code null} if the agent directory is unknown
+     */
+    public static File getAgentDataDirectory(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        final String logPath = System.getProperty(AGENT_LOG_PATH);
+        if (logPath == null) {
+            return null;
+        }
+        final File agentDir = new File(logPath).getParentFile();
+        if (agentDir == null) {
+            return null;
+        }
+        return new File(agentDir, name);
+    }
+
+    /**
+     * Creates the directory accessible only by the current user if it does not exist,
+     * and checks that it is owned by the current user and not writable by group and others.
+     *
+     * @throws IllegalStateException if the directory can not be created or is not private
+     */
+    public static void createPrivateDirectory(File directory) {
+        Assert.requireNonNull(directory, "directory must not be null");
+        if (!directory.exists()) {
+            if (!directory.mkdirs() && !directory.isDirectory()) {
+                throw new IllegalStateException("can't create directory. path:" + directory);
+            }
+            setOwnerOnly(directory);
+        }
+        if (!directory.isDirectory() || !directory.canWrite()) {
+            throw new IllegalStateException("directory is not writable. path:" + directory);
+        }
+        verifyPrivate(directory);
+    }
+
+    private static void setOwnerOnly(File directory) {
+        directory.setReadable(false, false);
+        directory.setReadable(true, true);
+        directory.setWritable(false, false);
+        directory.setWritable(true, true);
+        directory.setExecutable(false, false);
+        directory.setExecutable(true, true);
+    }
+
+    // java.nio.file is not available on java 6
+    static void verifyPrivate(File directory) {
+        final Object path;
+        try {
+            path = File.class.getMethod("toPath").invoke(directory);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("directory owner can not be verified before java 7. path:" + directory);
+        } catch (Exception e) {
+            throw new IllegalStateException("directory owner can not be verified. path:" + directory, e);
+        }
+
+        try {
+            final Class<?> filesClass = Class.forName("java.nio.file.Files");
+            final Class<?> pathClass = Class.forName("java.nio.file.Path");
+            final Class<?> linkOptionClass = Class.forName("java.nio.file.LinkOption");
+            final Object noLinkOptions = Array.newInstance(linkOptionClass, 0);
+
+            final Method getOwner = filesClass.getMethod("getOwner", pathClass, noLinkOptions.getClass());
+            final Principal owner = (Principal) getOwner.invoke(null, path, noLinkOptions);
+            if (!isCurrentUser(owner.getName())) {
+                throw new IllegalStateException("directory is not owned by the current user. path:" + directory + " owner:" + owner.getName());
+            }
+
+            final Method getPosixFilePermissions = filesClass.getMethod("getPosixFilePermissions", pathClass, noLinkOptions.getClass());
+            final Set<?> permissions;
+            try {
+                permissions = (Set<?>) getPosixFilePermissions.invoke(null, path, noLinkOptions);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof UnsupportedOperationException) {
+                    // not a posix file system, access is limited by the owner check
+                    return;
+                }
+                throw e;
+            }
+            for (Object permission : permissions) {
+                final String name = permission.toString();
+                if ("GROUP_WRITE".equals(name) || "OTHERS_WRITE".equals(name)) {
+                    throw new IllegalStateException("directory is writable by other users. path:" + directory + " permissions:" + permissions);
+                }
+            }
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("directory owner can not be verified. path:" + directory, e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException("directory owner can not be verified. path:" + directory, e);
+        }
+    }
+
+    private static boolean isCurrentUser(String ownerName) {
+        final String userName = System.getProperty("user.name");
+        if (userName == null || ownerName == null) {
+            return false;
+        }
+        if (ownerName.equals(userName)) {
+            return true;
+        }
+        // DOMAIN\\user on windows
+        return ownerName.endsWith("\\" + userName);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread local variable stored in a slot of a per-thread array that is shared by all instances.
+ * <p>
+ * The agent keeps its per-thread state (the current trace, the invocation state of every interceptor scope)
+ * in this single {@link ThreadLocal} entry instead of one entry per variable, so the thread's ThreadLocalMap
+ * stays small and every lookup is one probe of the same entry followed by an array read.
+ * <p>
+ * Slots are never reused. Instances are meant to live as long as the agent, like the trace binder and interceptor scopes.
+ */
+public class SharedThreadLocal<T> {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+
+    private static final NamedThreadLocal<Object[]> SLOTS = new NamedThreadLocal<Object[]>("SharedThreadLocal") {
+        @Override
+        protected Object[] initialValue() {
+            return new Object[INITIAL_CAPACITY];
+        }
+    };
+
+    private final String name;
+    private final int slot;
+
+    public SharedThreadLocal(String name) {
+        this.name = name;
+        this.slot = NEXT_SLOT.getAndIncrement();
+    }
+
+    protected T initialValue() {
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get() {
+        final Object[] slots = SLOTS.get();
+        if (slot < slots.length) {
+            final Object value = slots[slot];
+            if (value != null) {
+                return (T) value;
+            }
+        }
+        final T initialValue = initialValue();
+        if (initialValue != null) {
+            set(initialValue);
+        }
+        return initialValue;
+    }
+
+    public void set(T value) {
+        Object[] slots = SLOTS.get();
+        if (slot >= slots.length) {
+            if (value == null) {
+                return;
+            }
+            slots = Arrays.copyOf(slots, Math.max(slots.length << 1, slot + 1));
+            SLOTS.set(slots);
+        }
+        slots[slot] = value;
+    }
+
+    public void remove() {
+        final Object[] slots = SLOTS.get();
+        if (slot < slots.length) {
+            slots[slot] = null;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "SharedThreadLocal{name=" + name + ", slot=" + slot + '}';
+    }
+}
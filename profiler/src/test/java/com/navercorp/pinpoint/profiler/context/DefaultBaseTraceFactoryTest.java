@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.EmptyActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.TraceRootFactory;
+import com.navercorp.pinpoint.profiler.context.recorder.RecorderFactory;
+import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class DefaultBaseTraceFactoryTest {
+
+    private Sampler sampler;
+    private ActiveTraceRepository activeTraceRepository;
+    private ResponseTimeCollector responseTimeCollector;
+
+    private BaseTraceFactory baseTraceFactory;
+
+    @Before
+    public void setUp() {
+        this.sampler = mock(Sampler.class);
+        when(sampler.isSampling()).thenReturn(false);
+
+        this.activeTraceRepository = mock(ActiveTraceRepository.class);
+        this.responseTimeCollector = mock(ResponseTimeCollector.class);
+        final ActiveTraceRepository unsampledActiveTraceRepository = new EmptyActiveTraceRepository(responseTimeCollector);
+
+        @SuppressWarnings("unchecked")
+        final CallStackFactory<SpanEvent> callStackFactory = mock(CallStackFactory.class);
+        this.baseTraceFactory = new DefaultBaseTraceFactory(mock(TraceRootFactory.class), callStackFactory, mock(StorageFactory.class),
+                sampler, mock(IdGenerator.class), mock(SpanFactory.class), mock(RecorderFactory.class),
+                activeTraceRepository, unsampledActiveTraceRepository);
+    }
+
+    @Test
+    public void unsampledTrace() {
+        final Trace trace = baseTraceFactory.newTraceObject();
+        Assert.assertFalse(trace.canSampled());
+        Assert.assertNull(trace.getScope("scope"));
+
+        trace.close();
+        trace.close();
+
+        verifyZeroInteractions(activeTraceRepository);
+        verify(responseTimeCollector, times(1)).add(anyLong());
+    }
+
+    @Test
+    public void disableSampling() {
+        final Trace trace = baseTraceFactory.disableSampling();
+        Assert.assertFalse(trace.canSampled());
+
+        trace.addScope("scope");
+        Assert.assertNotNull(trace.getScope("scope"));
+        trace.close();
+
+        verifyZeroInteractions(activeTraceRepository);
+        verify(responseTimeCollector, times(1)).add(anyLong());
+    }
+}
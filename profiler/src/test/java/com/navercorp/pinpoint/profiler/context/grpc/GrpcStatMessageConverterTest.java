@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.grpc;
+
+import com.navercorp.pinpoint.grpc.trace.PAgentStat;
+import com.navercorp.pinpoint.grpc.trace.PSpool;
+import com.navercorp.pinpoint.profiler.monitor.metric.AgentStatMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetricSnapshot;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GrpcStatMessageConverterTest {
+
+    @Test
+    public void convertSpool() {
+        AgentStatMetricSnapshot agentStatMetricSnapshot = new AgentStatMetricSnapshot();
+        agentStatMetricSnapshot.setSpool(new SpoolMetricSnapshot(1, 2, 3, 4, 5, 6));
+
+        GrpcStatMessageConverter converter = new GrpcStatMessageConverter();
+        PAgentStat agentStat = (PAgentStat) converter.toMessage(agentStatMetricSnapshot);
+
+        Assert.assertTrue(agentStat.hasSpool());
+        PSpool spool = agentStat.getSpool();
+        Assert.assertEquals(1, spool.getPendingCount());
+        Assert.assertEquals(2, spool.getWriteCount());
+        Assert.assertEquals(3, spool.getReadCount());
+        Assert.assertEquals(4, spool.getRequeueCount());
+        Assert.assertEquals(5, spool.getEvictCount());
+        Assert.assertEquals(6, spool.getDropCount());
+    }
+
+    @Test
+    public void convertSpool_notCollected() {
+        AgentStatMetricSnapshot agentStatMetricSnapshot = new AgentStatMetricSnapshot();
+
+        GrpcStatMessageConverter converter = new GrpcStatMessageConverter();
+        PAgentStat agentStat = (PAgentStat) converter.toMessage(agentStatMetricSnapshot);
+
+        Assert.assertFalse(agentStat.hasSpool());
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.cache;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.lang.instrument.ClassFileTransformer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+
+public class CachingClassFileTransformerTest {
+
+    private static final String CLASS_NAME = "com/navercorp/test/Foo";
+    private static final byte[] CLASS_FILE = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 1, 2, 3};
+    private static final byte[] TRANSFORMED = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 4, 5, 6};
+    private static final String VERSION = "1.0.0";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private int cacheDirCount;
+
+    @Test
+    public void fileCache() throws Exception {
+        TransformCache transformCache = new FileTransformCache(newCacheDir(), VERSION);
+        Assert.assertNull(transformCache.get("key", CLASS_FILE));
+
+        transformCache.put("key", CLASS_FILE, new TransformCacheEntry(new int[]{1, -1, 2, 10}, TRANSFORMED));
+
+        TransformCacheEntry entry = transformCache.get("key", CLASS_FILE);
+        Assert.assertArrayEquals(new int[]{1, -1, 2, 10}, entry.getBindings());
+        Assert.assertArrayEquals(TRANSFORMED, entry.getBytecode());
+    }
+
+    @Test
+    public void fileCache_differentClassFile() throws Exception {
+        TransformCache transformCache = new FileTransformCache(newCacheDir(), VERSION);
+        transformCache.put("key", CLASS_FILE, new TransformCacheEntry(new int[]{1}, TRANSFORMED));
+
+        byte[] otherClassFile = CLASS_FILE.clone();
+        otherClassFile[otherClassFile.length - 1]++;
+        Assert.assertNull(transformCache.get("key", otherClassFile));
+    }
+
+    @Test
+    public void fileCache_differentAgentVersion() throws Exception {
+        File cacheDir = newCacheDir();
+        new FileTransformCache(cacheDir, VERSION).put("key", CLASS_FILE, new TransformCacheEntry(new int[]{1}, TRANSFORMED));
+
+        Assert.assertNull(new FileTransformCache(cacheDir, "2.0.0").get("key", CLASS_FILE));
+        Assert.assertNotNull(new FileTransformCache(cacheDir, VERSION).get("key", CLASS_FILE));
+    }
+
+    @Test
+    public void fileCache_tampered() throws Exception {
+        File cacheDir = newCacheDir();
+        TransformCache transformCache = new FileTransformCache(cacheDir, VERSION);
+        transformCache.put("key", CLASS_FILE, new TransformCacheEntry(new int[]{1}, TRANSFORMED));
+
+        File[] files = cacheDir.listFiles();
+        Assert.assertEquals(1, files.length);
+        RandomAccessFile file = new RandomAccessFile(files[0], "rw");
+        try {
+            file.seek(file.length() - 1);
+            file.write(0x7F);
+        } finally {
+            file.close();
+        }
+        Assert.assertNull(transformCache.get("key", CLASS_FILE));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fileCache_writableByOthers() throws Exception {
+        File cacheDir = temporaryFolder.newFolder();
+        Assume.assumeTrue(cacheDir.setWritable(true, false));
+        Assume.assumeTrue(isPosixFileSystem());
+        Assume.assumeTrue(hasMethod(File.class, "toPath"));
+
+        new FileTransformCache(cacheDir, VERSION);
+    }
+
+    @Test
+    public void fileCache_createPrivateDirectory() throws Exception {
+        File cacheDir = new File(temporaryFolder.getRoot(), "transform-cache");
+        new FileTransformCache(cacheDir, VERSION);
+        Assert.assertTrue(cacheDir.isDirectory());
+    }
+
+    @Test
+    public void reuseCachedBytecode_sameBinding() throws Exception {
+        TransformCache transformCache = new FileTransformCache(newCacheDir(), VERSION);
+        TransformCacheKeyFactory keyFactory = new TransformCacheKeyFactory("fingerprint");
+
+        MockTransformer cold = new MockTransformer(7, new byte[]{1});
+        byte[] coldResult = new CachingClassFileTransformer(cold, transformCache, keyFactory).transform(null, CLASS_NAME, null, null, CLASS_FILE);
+        Assert.assertArrayEquals(new byte[]{1}, coldResult);
+        Assert.assertEquals(1, cold.writeCount);
+
+        MockTransformer warm = new MockTransformer(7, new byte[]{2});
+        byte[] warmResult = new CachingClassFileTransformer(warm, transformCache, keyFactory).transform(null, CLASS_NAME, null, null, CLASS_FILE);
+        Assert.assertArrayEquals(coldResult, warmResult);
+        Assert.assertEquals(0, warm.writeCount);
+    }
+
+    @Test
+    public void rewriteBytecode_differentBinding() throws Exception {
+        TransformCache transformCache = new FileTransformCache(newCacheDir(), VERSION);
+        TransformCacheKeyFactory keyFactory = new TransformCacheKeyFactory("fingerprint");
+
+        new CachingClassFileTransformer(new MockTransformer(7, new byte[]{1}), transformCache, keyFactory).transform(null, CLASS_NAME, null, null, CLASS_FILE);
+
+        MockTransformer rebound = new MockTransformer(8, new byte[]{2});
+        byte[] result = new CachingClassFileTransformer(rebound, transformCache, keyFactory).transform(null, CLASS_NAME, null, null, CLASS_FILE);
+        Assert.assertArrayEquals(new byte[]{2}, result);
+        Assert.assertEquals(1, rebound.writeCount);
+
+        MockTransformer warm = new MockTransformer(8, new byte[]{3});
+        result = new CachingClassFileTransformer(warm, transformCache, keyFactory).transform(null, CLASS_NAME, null, null, CLASS_FILE);
+        Assert.assertArrayEquals(new byte[]{2}, result);
+        Assert.assertEquals(0, warm.writeCount);
+    }
+
+    @Test
+    public void differentFingerprint() throws Exception {
+        TransformCacheKeyFactory keyFactory = new TransformCacheKeyFactory("fingerprint");
+        TransformCacheKeyFactory otherKeyFactory = new TransformCacheKeyFactory("other-fingerprint");
+        Assert.assertEquals(keyFactory.newKey(null, null, CLASS_NAME, CLASS_FILE), keyFactory.newKey(null, null, CLASS_NAME, CLASS_FILE));
+        Assert.assertNotEquals(keyFactory.newKey(null, null, CLASS_NAME, CLASS_FILE), otherKeyFactory.newKey(null, null, CLASS_NAME, CLASS_FILE));
+    }
+
+    @Test
+    public void differentClassLoader() throws Exception {
+        TransformCacheKeyFactory keyFactory = new TransformCacheKeyFactory("fingerprint");
+        ClassLoader classLoader = new URLClassLoader(new URL[0], null);
+        ProtectionDomain protectionDomain = newProtectionDomain("file:/app/lib/foo.jar");
+
+        String key = keyFactory.newKey(classLoader, protectionDomain, CLASS_NAME, CLASS_FILE);
+        Assert.assertEquals(key, keyFactory.newKey(new URLClassLoader(new URL[0], null), newProtectionDomain("file:/app/lib/foo.jar"), CLASS_NAME, CLASS_FILE));
+        Assert.assertNotEquals(key, keyFactory.newKey(null, protectionDomain, CLASS_NAME, CLASS_FILE));
+        Assert.assertNotEquals(key, keyFactory.newKey(new ClassLoader(null) {}, protectionDomain, CLASS_NAME, CLASS_FILE));
+        Assert.assertNotEquals(key, keyFactory.newKey(classLoader, newProtectionDomain("file:/other/lib/foo.jar"), CLASS_NAME, CLASS_FILE));
+        Assert.assertNotEquals(key, keyFactory.newKey(classLoader, null, CLASS_NAME, CLASS_FILE));
+    }
+
+    @Test
+    public void rewriteBytecode_differentClassLoader() throws Exception {
+        TransformCache transformCache = new FileTransformCache(newCacheDir(), VERSION);
+        TransformCacheKeyFactory keyFactory = new TransformCacheKeyFactory("fingerprint");
+        ClassLoader classLoader = new URLClassLoader(new URL[0], null);
+
+        new CachingClassFileTransformer(new MockTransformer(7, new byte[]{1}), transformCache, keyFactory).transform(null, CLASS_NAME, null, null, CLASS_FILE);
+
+        MockTransformer otherClassLoader = new MockTransformer(7, new byte[]{2});
+        byte[] result = new CachingClassFileTransformer(otherClassLoader, transformCache, keyFactory).transform(classLoader, CLASS_NAME, null, newProtectionDomain("file:/app/lib/foo.jar"), CLASS_FILE);
+        Assert.assertArrayEquals(new byte[]{2}, result);
+        Assert.assertEquals(1, otherClassLoader.writeCount);
+    }
+
+    private ProtectionDomain newProtectionDomain(String location) throws Exception {
+        CodeSource codeSource = new CodeSource(new URL(location), (Certificate[]) null);
+        return new ProtectionDomain(codeSource, null);
+    }
+
+    private File newCacheDir() {
+        // TemporaryFolder creates directories with the default umask
+        return new File(temporaryFolder.getRoot(), "cache-" + cacheDirCount++);
+    }
+
+    private boolean isPosixFileSystem() {
+        return File.separatorChar == '/';
+    }
+
+    private boolean hasMethod(Class<?> clazz, String name) {
+        try {
+            clazz.getMethod(name);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * behaves like a plugin transform callback : binds an interceptor and writes the class through ASMClass.toBytecode()
+     */
+    private static class MockTransformer implements ClassFileTransformer {
+        private final int interceptorId;
+        private final byte[] bytecode;
+        private int writeCount;
+
+        private MockTransformer(int interceptorId, byte[] bytecode) {
+            this.interceptorId = interceptorId;
+            this.bytecode = bytecode;
+        }
+
+        @Override
+        public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+            TransformCacheContext.recordBinding(interceptorId, -1);
+            final byte[] cachedBytecode = TransformCacheContext.findBytecode(className);
+            if (cachedBytecode != null) {
+                return cachedBytecode;
+            }
+            writeCount++;
+            return bytecode;
+        }
+    }
+}
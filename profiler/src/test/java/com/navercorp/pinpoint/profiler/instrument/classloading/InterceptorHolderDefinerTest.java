@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classloading;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.profiler.instrument.mock.ArgsArrayInterceptor;
+import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
+import com.navercorp.pinpoint.profiler.util.TestInterceptorRegistryBinder;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class InterceptorHolderDefinerTest {
+    private final static InterceptorRegistryBinder interceptorRegistryBinder = new TestInterceptorRegistryBinder();
+
+    @BeforeClass
+    public static void beforeClass() {
+        interceptorRegistryBinder.bind();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        interceptorRegistryBinder.unbind();
+    }
+
+    @Test
+    public void defineHolder() throws Exception {
+        final Interceptor interceptor = new ArgsArrayInterceptor();
+        final int interceptorId = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addInterceptor(interceptor);
+
+        final ClassLoader classLoader = new URLClassLoader(new URL[0], this.getClass().getClassLoader());
+        final InterceptorHolderDefiner definer = new InterceptorHolderDefiner();
+        final String holderInternalName = definer.defineHolder(classLoader, interceptorId);
+        assertEquals(InterceptorHolderDefiner.getHolderInternalName(interceptorId), holderInternalName);
+
+        final Class<?> holderClass = Class.forName(holderInternalName.replace('/', '.'), true, classLoader);
+        assertSame(classLoader, holderClass.getClassLoader());
+        final Field field = holderClass.getField(InterceptorHolderDefiner.HOLDER_FIELD_NAME);
+        assertSame(interceptor, field.get(null));
+
+        // already defined
+        assertEquals(holderInternalName, definer.defineHolder(classLoader, interceptorId));
+    }
+
+    @Test
+    public void bootstrapClassLoader() {
+        assertNull(new InterceptorHolderDefiner().defineHolder(null, 1));
+    }
+}
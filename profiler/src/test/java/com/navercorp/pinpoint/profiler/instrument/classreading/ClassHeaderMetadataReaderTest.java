@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.classreading;
+
+import com.navercorp.pinpoint.common.util.ClassLoaderUtils;
+import com.navercorp.pinpoint.profiler.util.BytecodeUtils;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClassHeaderMetadataReaderTest {
+
+    @Test
+    public void sameAsInternalClassMetadataReader() throws Exception {
+        final Class<?>[] classes = {String.class, Object.class, Thread.State.class, Runnable.class, Deprecated.class,
+                ClassHeaderMetadataReaderTest.class, TestClass.class, TestAnnotation.class, new Runnable() {
+                    @Override
+                    public void run() {
+                    }
+                }.getClass()};
+
+        for (Class<?> clazz : classes) {
+            final byte[] classBinary = BytecodeUtils.getClassFile(ClassLoaderUtils.getDefaultClassLoader(), clazz.getName());
+            final InternalClassMetadata expected = InternalClassMetadataReader.readInternalClassMetadata(classBinary);
+            final InternalClassMetadata actual = ClassHeaderMetadataReader.readInternalClassMetadata(classBinary);
+
+            assertEquals(expected.getClassInternalName(), actual.getClassInternalName());
+            assertEquals(expected.getSuperClassInternalName(), actual.getSuperClassInternalName());
+            assertEquals(expected.getInterfaceInternalNames(), actual.getInterfaceInternalNames());
+            assertEquals(expected.getAnnotationInternalNames(), actual.getAnnotationInternalNames());
+            assertEquals(expected.isInterface(), actual.isInterface());
+            assertEquals(expected.isAnnotation(), actual.isAnnotation());
+            assertEquals(expected.isSynthetic(), actual.isSynthetic());
+            assertEquals(expected.isInnerClass(), actual.isInnerClass());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidMagic() {
+        ClassHeaderMetadataReader.readInternalClassMetadata(new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Documented
+    @interface TestAnnotation {
+        String value() default "";
+
+        int[] numbers() default {};
+    }
+
+    @TestAnnotation(value = "test", numbers = {1, 2})
+    @Deprecated
+    static class TestClass implements Serializable, Comparable<TestClass> {
+        @Override
+        public int compareTo(TestClass o) {
+            return 0;
+        }
+    }
+}
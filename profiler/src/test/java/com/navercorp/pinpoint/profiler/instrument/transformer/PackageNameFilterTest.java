@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PackageNameFilterTest {
+
+    @Test
+    public void mightMatch() {
+        PackageNameFilter filter = new PackageNameFilter();
+        assertFalse(filter.mightMatch("java/lang/String"));
+
+        filter.add("org/apache/catalina");
+        filter.add("com/mysql/jdbc");
+        filter.add("com/mysql");
+
+        assertTrue(filter.mightMatch("org/apache/catalina/core/StandardHostValve"));
+        assertTrue(filter.mightMatch("com/mysql/jdbc/ConnectionImpl"));
+        assertTrue(filter.mightMatch("com/mysql/cj/jdbc/ConnectionImpl"));
+        assertTrue(filter.mightMatch("org/apache/catalinaX"));
+
+        assertFalse(filter.mightMatch("com/mys"));
+        assertFalse(filter.mightMatch("java/lang/String"));
+        assertFalse(filter.mightMatch("org/apache/coyote/Request"));
+    }
+}
@@ -60,4 +60,47 @@ public class DefaultCachingSqlNormalizerTest {
         boolean newCache_parsingResult1_recached = normalizer.normalizedSql(parsingResult1_recached);
         Assert.assertTrue(newCache_parsingResult1_recached);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testNormalizedSql_originalSqlCache() throws Exception {
+        CachingSqlNormalizer normalizer = new DefaultCachingSqlNormalizer(10);
+        ParsingResult parsingResult = normalizer.wrapSql("select * from member where id = 10 and name = 'pinpoint'");
+        Assert.assertTrue(normalizer.normalizedSql(parsingResult));
+
+        // new string instance with the same sql
+        ParsingResult sameSql = normalizer.wrapSql(new String("select * from member where id = 10 and name = 'pinpoint'"));
+        Assert.assertFalse(normalizer.normalizedSql(sameSql));
+        Assert.assertEquals(parsingResult.getId(), sameSql.getId());
+        Assert.assertEquals(parsingResult.getSql(), sameSql.getSql());
+        Assert.assertEquals(parsingResult.getOutput(), sameSql.getOutput());
+
+        // different original sql with the same normalized sql
+        ParsingResult sameNormalizedSql = normalizer.wrapSql("select * from member where id = 20 and name = 'naver'");
+        Assert.assertFalse(normalizer.normalizedSql(sameNormalizedSql));
+        Assert.assertEquals(parsingResult.getId(), sameNormalizedSql.getId());
+        Assert.assertEquals(parsingResult.getSql(), sameNormalizedSql.getSql());
+        Assert.assertEquals("20,naver", sameNormalizedSql.getOutput());
+    }
+
+    @Test
+    public void testNormalizedSql_originalSqlCache_evicted_from_sqlCache() throws Exception {
+        CachingSqlNormalizer normalizer = new DefaultCachingSqlNormalizer(2);
+        ParsingResult parsingResult = normalizer.wrapSql("select * from member where id = ?");
+        Assert.assertTrue(normalizer.normalizedSql(parsingResult));
+
+        // sql with literals is not kept in the original sql cache but evicts the normalized sql from the sql id cache
+        Assert.assertTrue(normalizer.normalizedSql(normalizer.wrapSql("select * from team where id = 1")));
+        Assert.assertTrue(normalizer.normalizedSql(normalizer.wrapSql("select * from role where id = 2")));
+
+        // registered again with a new id
+        ParsingResult reRegistered = normalizer.wrapSql("select * from member where id = ?");
+        Assert.assertTrue(normalizer.normalizedSql(reRegistered));
+        Assert.assertNotEquals(parsingResult.getId(), reRegistered.getId());
+        Assert.assertEquals(parsingResult.getSql(), reRegistered.getSql());
+
+        ParsingResult cached = normalizer.wrapSql("select * from member where id = ?");
+        Assert.assertFalse(normalizer.normalizedSql(cached));
+        Assert.assertEquals(reRegistered.getId(), cached.getId());
+        Assert.assertEquals("", cached.getOutput());
+    }
+}
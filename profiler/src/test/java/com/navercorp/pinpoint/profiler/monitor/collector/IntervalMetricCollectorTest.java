@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector;
+
+import com.navercorp.pinpoint.bootstrap.config.DefaultProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.profiler.monitor.collector.deadlock.DeadlockIntervalMetricCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.ThreadDumpMetricSnapshot;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Properties;
+
+public class IntervalMetricCollectorTest {
+
+    @Test
+    public void collect() {
+        final CountingMetricCollector delegate = new CountingMetricCollector();
+        final AgentStatMetricCollector<Integer> collector = IntervalMetricCollector.wrap(delegate, 3);
+
+        Assert.assertEquals(Integer.valueOf(1), collector.collect());
+        Assert.assertEquals(Integer.valueOf(1), collector.collect());
+        Assert.assertEquals(Integer.valueOf(1), collector.collect());
+        Assert.assertEquals(Integer.valueOf(2), collector.collect());
+        Assert.assertEquals(Integer.valueOf(2), collector.collect());
+        Assert.assertEquals(Integer.valueOf(2), collector.collect());
+        Assert.assertEquals(Integer.valueOf(3), collector.collect());
+    }
+
+    @Test
+    public void wrap_everyCollection() {
+        final CountingMetricCollector delegate = new CountingMetricCollector();
+        Assert.assertSame(delegate, IntervalMetricCollector.wrap(delegate, 1));
+        Assert.assertSame(delegate, IntervalMetricCollector.wrap(delegate, 0));
+    }
+
+    @Test
+    public void collect_retryOnFailure() {
+        final AgentStatMetricCollector<Integer> delegate = new AgentStatMetricCollector<Integer>() {
+            private int count = 0;
+
+            @Override
+            public Integer collect() {
+                if (++count == 1) {
+                    throw new IllegalStateException("collect fail");
+                }
+                return count;
+            }
+        };
+        final AgentStatMetricCollector<Integer> collector = IntervalMetricCollector.wrap(delegate, 3);
+        try {
+            collector.collect();
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+            // skip
+        }
+        Assert.assertEquals(Integer.valueOf(2), collector.collect());
+        Assert.assertEquals(Integer.valueOf(2), collector.collect());
+    }
+
+    @Test
+    public void collect_deadlockReplayWithoutThreadDump() {
+        final AgentStatMetricCollector<DeadlockMetricSnapshot> delegate = new AgentStatMetricCollector<DeadlockMetricSnapshot>() {
+            @Override
+            public DeadlockMetricSnapshot collect() {
+                final DeadlockMetricSnapshot snapshot = new DeadlockMetricSnapshot();
+                snapshot.setDeadlockedThreadCount(2);
+                snapshot.addDeadlockedThread(new ThreadDumpMetricSnapshot());
+                snapshot.addDeadlockedThread(new ThreadDumpMetricSnapshot());
+                return snapshot;
+            }
+        };
+        final AgentStatMetricCollector<DeadlockMetricSnapshot> collector = DeadlockIntervalMetricCollector.wrapDeadlock(delegate, 3);
+
+        final DeadlockMetricSnapshot collected = collector.collect();
+        Assert.assertEquals(2, collected.getDeadlockedThreadList().size());
+
+        final DeadlockMetricSnapshot replayed = collector.collect();
+        Assert.assertEquals(2, replayed.getDeadlockedThreadCount());
+        Assert.assertTrue(replayed.getDeadlockedThreadList().isEmpty());
+        Assert.assertTrue(collector.collect().getDeadlockedThreadList().isEmpty());
+        // dumps are not modified for the replay
+        Assert.assertEquals(2, collected.getDeadlockedThreadList().size());
+
+        Assert.assertEquals(2, collector.collect().getDeadlockedThreadList().size());
+    }
+
+    @Test
+    public void collect_deadlockReplayNoDeadlock() {
+        final AgentStatMetricCollector<DeadlockMetricSnapshot> delegate = new AgentStatMetricCollector<DeadlockMetricSnapshot>() {
+            @Override
+            public DeadlockMetricSnapshot collect() {
+                return null;
+            }
+        };
+        final AgentStatMetricCollector<DeadlockMetricSnapshot> collector = DeadlockIntervalMetricCollector.wrapDeadlock(delegate, 3);
+        Assert.assertNull(collector.collect());
+        Assert.assertNull(collector.collect());
+    }
+
+    @Test
+    public void getCollectRatio() {
+        final Properties properties = new Properties();
+        properties.setProperty("profiler.jvm.stat.collect.interval", "5000");
+        properties.setProperty(AgentStatCollector.DATASOURCE_COLLECT_INTERVAL, "30000");
+        properties.setProperty(AgentStatCollector.DEADLOCK_COLLECT_INTERVAL, "12000");
+        properties.setProperty(AgentStatCollector.FILE_DESCRIPTOR_COLLECT_INTERVAL, "1000");
+        final ProfilerConfig profilerConfig = new DefaultProfilerConfig(properties);
+
+        Assert.assertEquals(6, AgentStatCollector.getCollectRatio(profilerConfig, AgentStatCollector.DATASOURCE_COLLECT_INTERVAL));
+        Assert.assertEquals(2, AgentStatCollector.getCollectRatio(profilerConfig, AgentStatCollector.DEADLOCK_COLLECT_INTERVAL));
+        Assert.assertEquals(1, AgentStatCollector.getCollectRatio(profilerConfig, AgentStatCollector.FILE_DESCRIPTOR_COLLECT_INTERVAL));
+        Assert.assertEquals(1, AgentStatCollector.getCollectRatio(profilerConfig, AgentStatCollector.DIRECT_BUFFER_COLLECT_INTERVAL));
+    }
+
+    private static class CountingMetricCollector implements AgentStatMetricCollector<Integer> {
+        private int count = 0;
+
+        @Override
+        public Integer collect() {
+            return ++count;
+        }
+    }
+}
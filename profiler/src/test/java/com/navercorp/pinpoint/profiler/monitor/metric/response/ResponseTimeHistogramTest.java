@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.metric.response;
+
+import com.navercorp.pinpoint.common.trace.LogLinearHistogramSchema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+public class ResponseTimeHistogramTest {
+
+    @Test
+    public void bucketBoundTest() {
+        for (long value = 0; value < 100000; value++) {
+            final int index = LogLinearHistogramSchema.getBucketIndex(value);
+            Assert.assertTrue(LogLinearHistogramSchema.getBucketLowerBound(index) <= value);
+            Assert.assertTrue(LogLinearHistogramSchema.getBucketUpperBound(index) >= value);
+        }
+        Assert.assertEquals(LogLinearHistogramSchema.BUCKET_COUNT - 1, LogLinearHistogramSchema.getBucketIndex(Long.MAX_VALUE));
+        Assert.assertEquals(0, LogLinearHistogramSchema.getBucketIndex(-1));
+    }
+
+    @Test
+    public void percentileTest() {
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram(4);
+        for (int i = 1; i <= 100; i++) {
+            histogram.add(i * 10);
+        }
+
+        long[] bucketCounts = histogram.getBucketCounts();
+        Assert.assertEquals(LogLinearHistogramSchema.getBucketIndex(1000) + 1, bucketCounts.length);
+
+        assertWithinBucket(500, LogLinearHistogramSchema.getPercentile(bucketCounts, 50));
+        assertWithinBucket(900, LogLinearHistogramSchema.getPercentile(bucketCounts, 90));
+        assertWithinBucket(990, LogLinearHistogramSchema.getPercentile(bucketCounts, 99));
+        Assert.assertEquals(-1, LogLinearHistogramSchema.getPercentile(new long[0], 50));
+    }
+
+    private void assertWithinBucket(long expected, long actual) {
+        Assert.assertEquals(LogLinearHistogramSchema.getBucketUpperBound(LogLinearHistogramSchema.getBucketIndex(expected)), actual);
+    }
+
+    @Test
+    public void concurrentAddTest() throws Exception {
+        final ResponseTimeHistogram histogram = new ResponseTimeHistogram(8);
+        final int threadCount = 8;
+        final int addCount = 10000;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < addCount; j++) {
+                        histogram.add(j);
+                    }
+                    latch.countDown();
+                }
+            });
+            thread.start();
+        }
+        latch.await();
+
+        long totalCount = 0;
+        for (long bucketCount : histogram.getBucketCounts()) {
+            totalCount += bucketCount;
+        }
+        Assert.assertEquals(threadCount * addCount, totalCount);
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.plugin;
+
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPlugin;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPluginGlobalContext;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPluginSetupContext;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.CodeSourceUtils;
+import com.navercorp.pinpoint.profiler.instrument.classloading.ClassInjector;
+import com.navercorp.pinpoint.profiler.instrument.classloading.ClassInjectorFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DefaultProfilerPluginContextLoaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private JarFile jarFile;
+    private List<PluginJar> pluginJars;
+
+    @Before
+    public void setUp() throws Exception {
+        final File file = temporaryFolder.newFile("test-plugin.jar");
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        final JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file), manifest);
+        jarOutputStream.close();
+
+        // the test plugins are loaded from the test classes, not from the jar
+        final URL pluginUrl = CodeSourceUtils.getCodeLocation(TestPlugin.class);
+        this.jarFile = new JarFile(file);
+        this.pluginJars = Collections.singletonList(new PluginJar(pluginUrl, jarFile));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (jarFile != null) {
+            jarFile.close();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void applicationTypeInPluginOrder() {
+        final CountDownLatch laterPluginRegistering = new CountDownLatch(1);
+        final TestPlugin firstPlugin = new TestPlugin() {
+            @Override
+            void setup(ProfilerPluginGlobalContext globalContext) throws Exception {
+                // the later plugin tries to register first
+                laterPluginRegistering.await();
+                Thread.sleep(100);
+                globalContext.registerApplicationType(ServiceType.STAND_ALONE);
+            }
+        };
+        final TestPlugin laterPlugin = new TestPlugin() {
+            @Override
+            void setup(ProfilerPluginGlobalContext globalContext) {
+                laterPluginRegistering.countDown();
+                globalContext.registerApplicationType(ServiceType.TEST_STAND_ALONE);
+            }
+        };
+
+        final ProfilerPluginContextLoader loader = newLoader(newParallelConfig(2));
+        final PluginsSetupResult result = loader.load(Arrays.<ProfilerPlugin>asList(firstPlugin, laterPlugin));
+
+        Assert.assertEquals(ServiceType.STAND_ALONE, result.getApplicationType());
+        final List<PluginSetupResult> setupResults = result.getPluginSetupResults();
+        Assert.assertEquals(2, setupResults.size());
+        Assert.assertSame(firstPlugin.setupResult, setupResults.get(0));
+        Assert.assertSame(laterPlugin.setupResult, setupResults.get(1));
+    }
+
+    @Test(timeout = 10000)
+    public void setupFailure() {
+        final TestPlugin failedPlugin = new TestPlugin() {
+            @Override
+            void setup(ProfilerPluginGlobalContext globalContext) throws Exception {
+                Thread.sleep(100);
+                throw new IllegalStateException("setup failed");
+            }
+        };
+        final List<ProfilerPlugin> plugins = new ArrayList<ProfilerPlugin>();
+        plugins.add(failedPlugin);
+        for (int i = 0; i < 3; i++) {
+            // waits for the failed plugin
+            plugins.add(new TestPlugin() {
+                @Override
+                void setup(ProfilerPluginGlobalContext globalContext) {
+                    globalContext.registerApplicationType(ServiceType.TEST_STAND_ALONE);
+                }
+            });
+        }
+
+        final ProfilerPluginContextLoader loader = newLoader(newParallelConfig(4));
+        try {
+            loader.load(plugins);
+            Assert.fail("setup failure expected");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("setup failed", e.getMessage());
+        }
+    }
+
+    private ProfilerConfig newParallelConfig(int threadCount) {
+        final ProfilerConfig profilerConfig = mock(ProfilerConfig.class);
+        when(profilerConfig.getDisabledPlugins()).thenReturn(Collections.<String>emptyList());
+        when(profilerConfig.readBoolean(eq(DefaultProfilerPluginContextLoader.PLUGIN_SETUP_PARALLEL), eq(false))).thenReturn(true);
+        when(profilerConfig.readInt(eq(DefaultProfilerPluginContextLoader.PLUGIN_SETUP_THREAD_COUNT), anyInt())).thenReturn(threadCount);
+        return profilerConfig;
+    }
+
+    private ProfilerPluginContextLoader newLoader(ProfilerConfig profilerConfig) {
+        final PluginSetup pluginSetup = new PluginSetup() {
+            @Override
+            public PluginSetupResult setupPlugin(ProfilerPluginGlobalContext globalContext, ProfilerPlugin plugin, ClassInjector classInjector) {
+                final TestPlugin testPlugin = (TestPlugin) plugin;
+                try {
+                    testPlugin.setup(globalContext);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+                return testPlugin.setupResult;
+            }
+        };
+        return new DefaultProfilerPluginContextLoader(profilerConfig, ServiceType.UNDEFINED, mock(ClassInjectorFactory.class), pluginSetup, pluginJars);
+    }
+
+    private abstract static class TestPlugin implements ProfilerPlugin {
+        private final PluginSetupResult setupResult = mock(PluginSetupResult.class);
+
+        @Override
+        public void setup(ProfilerPluginSetupContext context) {
+        }
+
+        abstract void setup(ProfilerPluginGlobalContext globalContext) throws Exception;
+    }
+}
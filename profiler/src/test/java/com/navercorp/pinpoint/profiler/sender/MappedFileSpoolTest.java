@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetric;
+import com.navercorp.pinpoint.profiler.monitor.metric.spool.SpoolMetricSnapshot;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+public class MappedFileSpoolTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void writeAndRead() throws IOException {
+        final MappedFileSpool spool = new MappedFileSpool(temporaryFolder.getRoot(), 64, 1024);
+        Assert.assertTrue(spool.isEmpty());
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(spool.write(message(i)));
+        }
+        Assert.assertEquals(10, spool.getPendingCount());
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertArrayEquals(message(i), spool.read());
+        }
+        Assert.assertNull(spool.read());
+        Assert.assertTrue(spool.isEmpty());
+        Assert.assertEquals(10, spool.getWriteCount());
+        Assert.assertEquals(10, spool.getReadCount());
+    }
+
+    @Test
+    public void readWhileWriting() throws IOException {
+        final MappedFileSpool spool = new MappedFileSpool(temporaryFolder.getRoot(), 64, 1024);
+
+        spool.write(message(0));
+        Assert.assertArrayEquals(message(0), spool.read());
+        Assert.assertNull(spool.read());
+
+        spool.write(message(1));
+        Assert.assertArrayEquals(message(1), spool.read());
+        Assert.assertNull(spool.read());
+    }
+
+    @Test
+    public void requeue() throws IOException {
+        final MappedFileSpool spool = new MappedFileSpool(temporaryFolder.getRoot(), 64, 1024);
+        spool.write(message(0));
+        spool.write(message(1));
+
+        // send failed after read
+        final byte[] failed = spool.read();
+        Assert.assertTrue(spool.requeue(failed));
+
+        Assert.assertArrayEquals(message(1), spool.read());
+        Assert.assertArrayEquals(message(0), spool.read());
+        Assert.assertNull(spool.read());
+        Assert.assertEquals(2, spool.getWriteCount());
+        Assert.assertEquals(1, spool.getRequeueCount());
+    }
+
+    @Test
+    public void spoolMetric() throws IOException {
+        final SpoolMetric spoolMetric = new SpoolMetric();
+        final MappedFileSpool spool1 = new MappedFileSpool(temporaryFolder.newFolder(), 64, 1024);
+        final MappedFileSpool spool2 = new MappedFileSpool(temporaryFolder.newFolder(), 64, 1024);
+        spoolMetric.register(spool1);
+        spoolMetric.register(spool2);
+
+        spool1.write(message(0));
+        spool2.write(message(1));
+        spool2.write(message(2));
+        spool2.requeue(spool2.read());
+
+        final SpoolMetricSnapshot snapshot = spoolMetric.getSnapshot();
+        Assert.assertEquals(3, snapshot.getPendingCount());
+        Assert.assertEquals(3, snapshot.getWriteCount());
+        Assert.assertEquals(1, snapshot.getReadCount());
+        Assert.assertEquals(1, snapshot.getRequeueCount());
+    }
+
+    @Test
+    public void evictOldest() throws IOException {
+        // 3 records per segment, 2 segments
+        final MappedFileSpool spool = new MappedFileSpool(temporaryFolder.getRoot(), 64, 128);
+        for (int i = 0; i < 9; i++) {
+            spool.write(message(i));
+        }
+        Assert.assertEquals(3, spool.getEvictCount());
+        Assert.assertEquals(6, spool.getPendingCount());
+        Assert.assertEquals(2, segmentFileCount());
+
+        for (int i = 3; i < 9; i++) {
+            Assert.assertArrayEquals(message(i), spool.read());
+        }
+        Assert.assertNull(spool.read());
+    }
+
+    @Test
+    public void dropTooLarge() throws IOException {
+        final MappedFileSpool spool = new MappedFileSpool(temporaryFolder.getRoot(), 64, 128);
+        Assert.assertFalse(spool.write(new byte[61]));
+        Assert.assertFalse(spool.write(new byte[0]));
+        Assert.assertTrue(spool.write(new byte[60]));
+        Assert.assertEquals(2, spool.getDropCount());
+    }
+
+    @Test
+    public void recover() throws IOException {
+        final MappedFileSpool spool = new MappedFileSpool(temporaryFolder.getRoot(), 64, 1024);
+        for (int i = 0; i < 5; i++) {
+            spool.write(message(i));
+        }
+        Assert.assertArrayEquals(message(0), spool.read());
+        Assert.assertArrayEquals(message(1), spool.read());
+        spool.flush();
+
+        final MappedFileSpool recovered = new MappedFileSpool(temporaryFolder.getRoot(), 64, 1024);
+        Assert.assertEquals(3, recovered.getPendingCount());
+        recovered.write(message(5));
+        for (int i = 2; i < 6; i++) {
+            Assert.assertArrayEquals(message(i), recovered.read());
+        }
+        Assert.assertNull(recovered.read());
+    }
+
+    private int segmentFileCount() {
+        final File[] files = temporaryFolder.getRoot().listFiles();
+        return files == null ? 0 : files.length;
+    }
+
+    // 16 bytes + 4 bytes header
+    private static byte[] message(int value) {
+        final byte[] message = new byte[16];
+        for (int i = 0; i < message.length; i++) {
+            message[i] = (byte) (value + i);
+        }
+        return message;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SharedThreadLocalTest {
+
+    @Test
+    public void getSetRemove() {
+        SharedThreadLocal<String> threadLocal = new SharedThreadLocal<String>("test");
+        Assert.assertNull(threadLocal.get());
+
+        threadLocal.set("value");
+        Assert.assertEquals("value", threadLocal.get());
+
+        threadLocal.remove();
+        Assert.assertNull(threadLocal.get());
+    }
+
+    @Test
+    public void initialValue() {
+        SharedThreadLocal<List<String>> threadLocal = new SharedThreadLocal<List<String>>("test") {
+            @Override
+            protected List<String> initialValue() {
+                return new ArrayList<String>();
+            }
+        };
+        List<String> list = threadLocal.get();
+        Assert.assertSame(list, threadLocal.get());
+
+        threadLocal.remove();
+        Assert.assertNotSame(list, threadLocal.get());
+    }
+
+    @Test
+    public void manySlots() {
+        List<SharedThreadLocal<Integer>> threadLocals = new ArrayList<SharedThreadLocal<Integer>>();
+        for (int i = 0; i < 100; i++) {
+            SharedThreadLocal<Integer> threadLocal = new SharedThreadLocal<Integer>("test" + i);
+            threadLocal.set(i);
+            threadLocals.add(threadLocal);
+        }
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(Integer.valueOf(i), threadLocals.get(i).get());
+        }
+    }
+
+    @Test
+    public void isolatedPerThread() throws Exception {
+        final SharedThreadLocal<String> threadLocal = new SharedThreadLocal<String>("test");
+        threadLocal.set("main");
+
+        final AtomicReference<String> otherThreadValue = new AtomicReference<String>("not set");
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                otherThreadValue.set(threadLocal.get());
+                threadLocal.set("other");
+            }
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertNull(otherThreadValue.get());
+        Assert.assertEquals("main", threadLocal.get());
+    }
+}
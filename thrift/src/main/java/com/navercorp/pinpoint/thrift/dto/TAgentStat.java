@@ -24,6 +24,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final org.apache.thrift.protocol.TField DEADLOCK_FIELD_DESC = new org.apache.thrift.protocol.TField("deadlock", org.apache.thrift.protocol.TType.STRUCT, (short)70);
   private static final org.apache.thrift.protocol.TField FILE_DESCRIPTOR_FIELD_DESC = new org.apache.thrift.protocol.TField("fileDescriptor", org.apache.thrift.protocol.TType.STRUCT, (short)80);
   private static final org.apache.thrift.protocol.TField DIRECT_BUFFER_FIELD_DESC = new org.apache.thrift.protocol.TField("directBuffer", org.apache.thrift.protocol.TType.STRUCT, (short)90);
+  private static final org.apache.thrift.protocol.TField SPOOL_FIELD_DESC = new org.apache.thrift.protocol.TField("spool", org.apache.thrift.protocol.TType.STRUCT, (short)100);
   private static final org.apache.thrift.protocol.TField METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("metadata", org.apache.thrift.protocol.TType.STRING, (short)200);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new TAgentStatStandardSchemeFactory();
@@ -42,6 +43,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private TDeadlock deadlock; // optional
   private TFileDescriptor fileDescriptor; // optional
   private TDirectBuffer directBuffer; // optional
+  private TSpool spool; // optional
   private java.lang.String metadata; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
@@ -59,6 +61,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     DEADLOCK((short)70, "deadlock"),
     FILE_DESCRIPTOR((short)80, "fileDescriptor"),
     DIRECT_BUFFER((short)90, "directBuffer"),
+    SPOOL((short)100, "spool"),
     METADATA((short)200, "metadata");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
@@ -100,6 +103,8 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           return FILE_DESCRIPTOR;
         case 90: // DIRECT_BUFFER
           return DIRECT_BUFFER;
+        case 100: // SPOOL
+          return SPOOL;
         case 200: // METADATA
           return METADATA;
         default:
@@ -146,7 +151,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final int __TIMESTAMP_ISSET_ID = 1;
   private static final int __COLLECTINTERVAL_ISSET_ID = 2;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.COLLECT_INTERVAL,_Fields.GC,_Fields.CPU_LOAD,_Fields.TRANSACTION,_Fields.ACTIVE_TRACE,_Fields.DATA_SOURCE_LIST,_Fields.RESPONSE_TIME,_Fields.DEADLOCK,_Fields.FILE_DESCRIPTOR,_Fields.DIRECT_BUFFER,_Fields.METADATA};
+  private static final _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.COLLECT_INTERVAL,_Fields.GC,_Fields.CPU_LOAD,_Fields.TRANSACTION,_Fields.ACTIVE_TRACE,_Fields.DATA_SOURCE_LIST,_Fields.RESPONSE_TIME,_Fields.DEADLOCK,_Fields.FILE_DESCRIPTOR,_Fields.DIRECT_BUFFER,_Fields.SPOOL,_Fields.METADATA};
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -176,6 +181,8 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRUCT        , "TFileDescriptor")));
     tmpMap.put(_Fields.DIRECT_BUFFER, new org.apache.thrift.meta_data.FieldMetaData("directBuffer", org.apache.thrift.TFieldRequirementType.OPTIONAL,
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TDirectBuffer.class)));
+    tmpMap.put(_Fields.SPOOL, new org.apache.thrift.meta_data.FieldMetaData("spool", org.apache.thrift.TFieldRequirementType.OPTIONAL,
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSpool.class)));
     tmpMap.put(_Fields.METADATA, new org.apache.thrift.meta_data.FieldMetaData("metadata", org.apache.thrift.TFieldRequirementType.OPTIONAL,
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
@@ -223,6 +230,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (other.isSetDirectBuffer()) {
       this.directBuffer = new TDirectBuffer(other.directBuffer);
     }
+    if (other.isSetSpool()) {
+      this.spool = new TSpool(other.spool);
+    }
     if (other.isSetMetadata()) {
       this.metadata = other.metadata;
     }
@@ -250,6 +260,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     this.deadlock = null;
     this.fileDescriptor = null;
     this.directBuffer = null;
+    this.spool = null;
     this.metadata = null;
   }
 
@@ -549,6 +560,29 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     }
   }
 
+  public TSpool getSpool() {
+    return this.spool;
+  }
+
+  public void setSpool(TSpool spool) {
+    this.spool = spool;
+  }
+
+  public void unsetSpool() {
+    this.spool = null;
+  }
+
+  /** Returns true if field spool is set (has been assigned a value) and false otherwise */
+  public boolean isSetSpool() {
+    return this.spool != null;
+  }
+
+  public void setSpoolIsSet(boolean value) {
+    if (!value) {
+      this.spool = null;
+    }
+  }
+
   public java.lang.String getMetadata() {
     return this.metadata;
   }
@@ -678,6 +712,14 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       break;
 
+    case SPOOL:
+      if (value == null) {
+        unsetSpool();
+      } else {
+        setSpool((TSpool)value);
+      }
+      break;
+
     case METADATA:
       if (value == null) {
         unsetMetadata();
@@ -730,6 +772,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     case DIRECT_BUFFER:
       return getDirectBuffer();
 
+    case SPOOL:
+      return getSpool();
+
     case METADATA:
       return getMetadata();
 
@@ -770,6 +815,8 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       return isSetFileDescriptor();
     case DIRECT_BUFFER:
       return isSetDirectBuffer();
+    case SPOOL:
+      return isSetSpool();
     case METADATA:
       return isSetMetadata();
     }
@@ -908,6 +955,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return false;
     }
 
+    boolean this_present_spool = true && this.isSetSpool();
+    boolean that_present_spool = true && that.isSetSpool();
+    if (this_present_spool || that_present_spool) {
+      if (!(this_present_spool && that_present_spool))
+        return false;
+      if (!this.spool.equals(that.spool))
+        return false;
+    }
+
     boolean this_present_metadata = true && this.isSetMetadata();
     boolean that_present_metadata = true && that.isSetMetadata();
     if (this_present_metadata || that_present_metadata) {
@@ -976,6 +1032,10 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (isSetDirectBuffer())
       hashCode = hashCode * 8191 + directBuffer.hashCode();
 
+    hashCode = hashCode * 8191 + ((isSetSpool()) ? 131071 : 524287);
+    if (isSetSpool())
+      hashCode = hashCode * 8191 + spool.hashCode();
+
     hashCode = hashCode * 8191 + ((isSetMetadata()) ? 131071 : 524287);
     if (isSetMetadata())
       hashCode = hashCode * 8191 + metadata.hashCode();
@@ -1121,6 +1181,16 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(isSetSpool()).compareTo(other.isSetSpool());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSpool()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.spool, other.spool);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     lastComparison = java.lang.Boolean.valueOf(isSetMetadata()).compareTo(other.isSetMetadata());
     if (lastComparison != 0) {
       return lastComparison;
@@ -1268,6 +1338,16 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       first = false;
     }
+    if (isSetSpool()) {
+      if (!first) sb.append(", ");
+      sb.append("spool:");
+      if (this.spool == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.spool);
+      }
+      first = false;
+    }
     if (isSetMetadata()) {
       if (!first) sb.append(", ");
       sb.append("metadata:");
@@ -1306,6 +1386,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (directBuffer != null) {
       directBuffer.validate();
     }
+    if (spool != null) {
+      spool.validate();
+    }
   }
 
   private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -1457,6 +1540,15 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 100: // SPOOL
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.spool = new TSpool();
+              struct.spool.read(iprot);
+              struct.setSpoolIsSet(true);
+            } else {
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           case 200: // METADATA
             if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
               struct.metadata = iprot.readString();
@@ -1563,6 +1655,13 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           oprot.writeFieldEnd();
         }
       }
+      if (struct.spool != null) {
+        if (struct.isSetSpool()) {
+          oprot.writeFieldBegin(SPOOL_FIELD_DESC);
+          struct.spool.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
       if (struct.metadata != null) {
         if (struct.isSetMetadata()) {
           oprot.writeFieldBegin(METADATA_FIELD_DESC);
@@ -1627,10 +1726,13 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetDirectBuffer()) {
         optionals.set(12);
       }
-      if (struct.isSetMetadata()) {
+      if (struct.isSetSpool()) {
         optionals.set(13);
       }
-      oprot.writeBitSet(optionals, 14);
+      if (struct.isSetMetadata()) {
+        optionals.set(14);
+      }
+      oprot.writeBitSet(optionals, 15);
       if (struct.isSetAgentId()) {
         oprot.writeString(struct.agentId);
       }
@@ -1670,6 +1772,9 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetDirectBuffer()) {
         struct.directBuffer.write(oprot);
       }
+      if (struct.isSetSpool()) {
+        struct.spool.write(oprot);
+      }
       if (struct.isSetMetadata()) {
         oprot.writeString(struct.metadata);
       }
@@ -1678,7 +1783,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TAgentStat struct) throws org.apache.thrift.TException {
       org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(14);
+      java.util.BitSet incoming = iprot.readBitSet(15);
       if (incoming.get(0)) {
         struct.agentId = iprot.readString();
         struct.setAgentIdIsSet(true);
@@ -1741,6 +1846,11 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         struct.setDirectBufferIsSet(true);
       }
       if (incoming.get(13)) {
+        struct.spool = new TSpool();
+        struct.spool.read(iprot);
+        struct.setSpoolIsSet(true);
+      }
+      if (incoming.get(14)) {
         struct.metadata = iprot.readString();
         struct.setMetadataIsSet(true);
       }
@@ -68,6 +68,15 @@ struct TDirectBuffer {
     4: optional i64 mappedMemoryUsed
 }
 
+struct TSpool {
+    1: optional i64 pendingCount
+    2: optional i64 writeCount
+    3: optional i64 readCount
+    4: optional i64 requeueCount
+    5: optional i64 evictCount
+    6: optional i64 dropCount
+}
+
 struct TJvmGcDetailed {
     1: optional i64 jvmGcNewCount
     2: optional i64 jvmGcNewTime
@@ -125,6 +134,7 @@ struct TAgentStat {
     70: optional TDeadlock deadlock
     80: optional TFileDescriptor fileDescriptor
     90: optional TDirectBuffer directBuffer
+    100: optional TSpool spool
     200: optional string    metadata
 }
 
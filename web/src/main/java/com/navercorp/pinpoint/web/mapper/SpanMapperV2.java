@@ -44,6 +44,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -58,17 +59,27 @@ public class SpanMapperV2 implements RowMapper<List<SpanBo>> {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private final SpanDecoder spanDecoder = new SpanDecoderV0();
+    private final SpanDecoder spanDecoder;
 
     private final RowKeyDecoder<TransactionId> rowKeyDecoder;
 
+    public SpanMapperV2(RowKeyDecoder<TransactionId> rowKeyDecoder) {
+        this(rowKeyDecoder, false);
+    }
+
+    /**
+     * @param lazyDecode if true, annotations and span events are decoded when they are first accessed
+     *                   so that readers only looking at span headers skip most of the decoding
+     */
     @Autowired
-    public SpanMapperV2(@Qualifier("traceRowKeyDecoderV2") RowKeyDecoder<TransactionId> rowKeyDecoder) {
+    public SpanMapperV2(@Qualifier("traceRowKeyDecoderV2") RowKeyDecoder<TransactionId> rowKeyDecoder,
+                        @Value("#{pinpointWebProps['web.hbase.trace.lazyDecode'] ?: false}") boolean lazyDecode) {
         if (rowKeyDecoder == null) {
             throw new NullPointerException("rowKeyDecoder must not be null");
         }
 
         this.rowKeyDecoder = rowKeyDecoder;
+        this.spanDecoder = new SpanDecoderV0(lazyDecode);
     }
 
     @Override
@@ -155,6 +166,10 @@ public class SpanMapperV2 implements RowMapper<List<SpanBo>> {
 
     private void sortSpanEvent(List<SpanBo> spanBoList) {
         for (SpanBo spanBo : spanBoList) {
+            if (!spanBo.isBodyDecoded()) {
+                // sorted when decoded
+                continue;
+            }
             List<SpanEventBo> spanEventBoList = spanBo.getSpanEventBoList();
             spanEventBoList.sort(SpanEventComparator.INSTANCE);
         }
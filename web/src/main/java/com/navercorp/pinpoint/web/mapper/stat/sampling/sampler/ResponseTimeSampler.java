@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.web.mapper.stat.sampling.sampler;
 
 import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.trace.LogLinearHistogramSchema;
 import com.navercorp.pinpoint.web.vo.stat.SampledResponseTime;
 import com.navercorp.pinpoint.web.vo.stat.chart.DownSampler;
 import com.navercorp.pinpoint.web.vo.stat.chart.DownSamplers;
@@ -24,6 +25,7 @@ import com.navercorp.pinpoint.web.vo.stat.chart.agent.AgentStatPoint;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -42,7 +44,14 @@ public class ResponseTimeSampler implements AgentStatSampler<ResponseTimeBo, Sam
         List<Long> maxs = getMax(dataPoints);
         AgentStatPoint<Long> max = createPoint(timestamp, maxs);
 
-        SampledResponseTime sampledResponseTime = new SampledResponseTime(avg, max);
+        // percentiles can not be averaged, they are read from the histogram merged over the time window
+        final long[] histogram = mergeHistogram(dataPoints);
+        final long maxValue = getMaxValue(maxs);
+        AgentStatPoint<Long> p50 = createPoint(timestamp, getPercentile(histogram, 50, maxValue));
+        AgentStatPoint<Long> p90 = createPoint(timestamp, getPercentile(histogram, 90, maxValue));
+        AgentStatPoint<Long> p99 = createPoint(timestamp, getPercentile(histogram, 99, maxValue));
+
+        SampledResponseTime sampledResponseTime = new SampledResponseTime(avg, max, p50, p90, p99);
         return sampledResponseTime;
     }
 
@@ -62,6 +71,36 @@ public class ResponseTimeSampler implements AgentStatSampler<ResponseTimeBo, Sam
         return maxs;
     }
 
+    private long[] mergeHistogram(List<ResponseTimeBo> dataPoints) {
+        final long[] merged = new long[LogLinearHistogramSchema.BUCKET_COUNT];
+        for (ResponseTimeBo responseTimeBo : dataPoints) {
+            final long[] histogram = responseTimeBo.getHistogram();
+            final int length = Math.min(histogram.length, merged.length);
+            for (int i = 0; i < length; i++) {
+                merged[i] += histogram[i];
+            }
+        }
+        return merged;
+    }
+
+    private long getMaxValue(List<Long> maxs) {
+        long maxValue = Long.MIN_VALUE;
+        for (Long max : maxs) {
+            maxValue = Math.max(maxValue, max);
+        }
+        return maxValue;
+    }
+
+    private List<Long> getPercentile(long[] histogram, double percentile, long maxValue) {
+        final long value = LogLinearHistogramSchema.getPercentile(histogram, percentile);
+        if (value == -1) {
+            // agents without histogram support, or no transactions in this time window
+            return Collections.emptyList();
+        }
+        // the bucket upper bound may overshoot the actual maximum
+        return Collections.singletonList(Math.min(value, maxValue));
+    }
+
     private AgentStatPoint<Long> createPoint(long timestamp, List<Long> values) {
         if (values.isEmpty()) {
             return SampledResponseTime.UNCOLLECTED_POINT_CREATOR.createUnCollectedPoint(timestamp);
@@ -36,10 +36,16 @@ public class SampledResponseTime implements SampledAgentStatDataPoint {
 
     private final AgentStatPoint<Long> avg;
     private final AgentStatPoint<Long> max;
+    private final AgentStatPoint<Long> p50;
+    private final AgentStatPoint<Long> p90;
+    private final AgentStatPoint<Long> p99;
 
-    public SampledResponseTime(AgentStatPoint<Long> avg, AgentStatPoint<Long> max) {
+    public SampledResponseTime(AgentStatPoint<Long> avg, AgentStatPoint<Long> max, AgentStatPoint<Long> p50, AgentStatPoint<Long> p90, AgentStatPoint<Long> p99) {
         this.avg = Objects.requireNonNull(avg, "avg must not be null");
         this.max = Objects.requireNonNull(max, "max must not be null");
+        this.p50 = Objects.requireNonNull(p50, "p50 must not be null");
+        this.p90 = Objects.requireNonNull(p90, "p90 must not be null");
+        this.p99 = Objects.requireNonNull(p99, "p99 must not be null");
     }
 
     public AgentStatPoint<Long> getAvg() {
@@ -50,6 +56,18 @@ public class SampledResponseTime implements SampledAgentStatDataPoint {
         return max;
     }
 
+    public AgentStatPoint<Long> getP50() {
+        return p50;
+    }
+
+    public AgentStatPoint<Long> getP90() {
+        return p90;
+    }
+
+    public AgentStatPoint<Long> getP99() {
+        return p99;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -58,7 +76,10 @@ public class SampledResponseTime implements SampledAgentStatDataPoint {
         SampledResponseTime that = (SampledResponseTime) o;
 
         if (avg != null ? !avg.equals(that.avg) : that.avg != null) return false;
-        return max != null ? max.equals(that.max) : that.max == null;
+        if (max != null ? !max.equals(that.max) : that.max != null) return false;
+        if (p50 != null ? !p50.equals(that.p50) : that.p50 != null) return false;
+        if (p90 != null ? !p90.equals(that.p90) : that.p90 != null) return false;
+        return p99 != null ? p99.equals(that.p99) : that.p99 == null;
 
     }
 
@@ -66,6 +87,9 @@ public class SampledResponseTime implements SampledAgentStatDataPoint {
     public int hashCode() {
         int result = avg != null ? avg.hashCode() : 0;
         result = 31 * result + (max != null ? max.hashCode() : 0);
+        result = 31 * result + (p50 != null ? p50.hashCode() : 0);
+        result = 31 * result + (p90 != null ? p90.hashCode() : 0);
+        result = 31 * result + (p99 != null ? p99.hashCode() : 0);
         return result;
     }
 
@@ -74,6 +98,9 @@ public class SampledResponseTime implements SampledAgentStatDataPoint {
         final StringBuilder sb = new StringBuilder("SampledResponseTime{");
         sb.append("avg=").append(avg);
         sb.append(", max=").append(max);
+        sb.append(", p50=").append(p50);
+        sb.append(", p90=").append(p90);
+        sb.append(", p99=").append(p99);
         sb.append('}');
         return sb.toString();
     }
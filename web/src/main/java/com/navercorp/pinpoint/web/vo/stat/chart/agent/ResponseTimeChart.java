@@ -52,7 +52,10 @@ public class ResponseTimeChart implements StatChart {
 
         public enum ResponseTimeChartType implements AgentChartType {
             AVG,
-            MAX
+            MAX,
+            P50,
+            P90,
+            P99
         }
 
         public ResponseTimeChartGroup(TimeWindow timeWindow, List<SampledResponseTime> sampledResponseTimes) {
@@ -64,10 +67,16 @@ public class ResponseTimeChart implements StatChart {
             TimeSeriesChartBuilder<AgentStatPoint<Long>> chartBuilder = new TimeSeriesChartBuilder<>(this.timeWindow, SampledResponseTime.UNCOLLECTED_POINT_CREATOR);
             Chart<AgentStatPoint<Long>> avgChart = chartBuilder.build(sampledResponseTimes, SampledResponseTime::getAvg);
             Chart<AgentStatPoint<Long>> maxChart = chartBuilder.build(sampledResponseTimes, SampledResponseTime::getMax);
+            Chart<AgentStatPoint<Long>> p50Chart = chartBuilder.build(sampledResponseTimes, SampledResponseTime::getP50);
+            Chart<AgentStatPoint<Long>> p90Chart = chartBuilder.build(sampledResponseTimes, SampledResponseTime::getP90);
+            Chart<AgentStatPoint<Long>> p99Chart = chartBuilder.build(sampledResponseTimes, SampledResponseTime::getP99);
 
             ImmutableMap.Builder<ChartType, Chart<? extends Point>> builder = ImmutableMap.builder();
             builder.put(ResponseTimeChartType.AVG, avgChart);
             builder.put(ResponseTimeChartType.MAX, maxChart);
+            builder.put(ResponseTimeChartType.P50, p50Chart);
+            builder.put(ResponseTimeChartType.P90, p90Chart);
+            builder.put(ResponseTimeChartType.P99, p99Chart);
             return builder.build();
         }
 
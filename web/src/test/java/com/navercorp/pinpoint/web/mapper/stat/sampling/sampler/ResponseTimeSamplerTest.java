@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.mapper.stat.sampling.sampler;
+
+import com.navercorp.pinpoint.common.server.bo.stat.ResponseTimeBo;
+import com.navercorp.pinpoint.common.trace.LogLinearHistogramSchema;
+import com.navercorp.pinpoint.web.vo.stat.SampledResponseTime;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ResponseTimeSamplerTest {
+
+    private final ResponseTimeSampler sampler = new ResponseTimeSampler();
+
+    @Test
+    public void percentileOfMergedHistogram() {
+        final ResponseTimeBo fast = newResponseTimeBo(1, 99);
+        final ResponseTimeBo slow = newResponseTimeBo(1000, 1);
+
+        final SampledResponseTime sampled = sampler.sampleDataPoints(0, 1000L, Arrays.asList(fast, slow), null);
+
+        // 99 of the 100 transactions of the window took 1ms
+        Assert.assertEquals(Long.valueOf(1), sampled.getP50().getMaxYVal());
+        Assert.assertEquals(Long.valueOf(1), sampled.getP99().getMaxYVal());
+        Assert.assertEquals(Long.valueOf(1), sampled.getP99().getMinYVal());
+    }
+
+    @Test
+    public void percentileCappedByMax() {
+        final ResponseTimeBo responseTimeBo = newResponseTimeBo(1000, 10);
+
+        final SampledResponseTime sampled = sampler.sampleDataPoints(0, 1000L, Collections.singletonList(responseTimeBo), null);
+
+        Assert.assertEquals(Long.valueOf(1000), sampled.getP99().getMaxYVal());
+    }
+
+    @Test
+    public void noHistogram() {
+        final ResponseTimeBo responseTimeBo = new ResponseTimeBo();
+        responseTimeBo.setAvg(10);
+        responseTimeBo.setMax(20);
+
+        final SampledResponseTime sampled = sampler.sampleDataPoints(0, 1000L, Collections.singletonList(responseTimeBo), null);
+
+        Assert.assertEquals(Long.valueOf(SampledResponseTime.UNCOLLECTED_RESPONSE_TIME), sampled.getP99().getMaxYVal());
+    }
+
+    private ResponseTimeBo newResponseTimeBo(long value, int count) {
+        final long[] histogram = new long[LogLinearHistogramSchema.BUCKET_COUNT];
+        histogram[LogLinearHistogramSchema.getBucketIndex(value)] = count;
+
+        final ResponseTimeBo responseTimeBo = new ResponseTimeBo();
+        responseTimeBo.setAvg(value);
+        responseTimeBo.setMax(value);
+        responseTimeBo.setHistogram(histogram);
+        return responseTimeBo;
+    }
+}